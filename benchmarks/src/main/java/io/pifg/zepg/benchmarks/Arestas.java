@@ -0,0 +1,77 @@
+package io.pifg.zepg.benchmarks;
+
+import java.util.Arrays;
+
+import io.pifg.zepg.grafo.ConstrutorGrafo;
+import io.pifg.zepg.grafo.Digrafo;
+
+/**
+ * Lista de arcos gerada por uma {@link Forma}, sobre vértices 0..n-1. Pode conter arcos
+ * repetidos, que o grafo rejeita na inclusão.
+ */
+public class Arestas {
+	final int vertices;
+	int[] origens;
+	int[] destinos;
+	int tamanho;
+	final Integer[] objetos;
+
+	Arestas(int vertices, int capacidade) {
+		this.vertices = vertices;
+		origens = new int[Math.max(capacidade, 1)];
+		destinos = new int[Math.max(capacidade, 1)];
+		objetos = new Integer[vertices];
+
+		for (int i = 0; i < vertices; i++)
+			objetos[i] = Integer.valueOf(i);
+	}
+
+	void adicionar(int u, int v) {
+		if (tamanho == origens.length) {
+			origens = Arrays.copyOf(origens, tamanho * 2);
+			destinos = Arrays.copyOf(destinos, tamanho * 2);
+		}
+
+		origens[tamanho] = u;
+		destinos[tamanho] = v;
+		tamanho++;
+	}
+
+	/**
+	 * Descarta a capacidade excedente dos vetores de arcos.
+	 */
+	Arestas ajustar() {
+		origens = Arrays.copyOf(origens, tamanho);
+		destinos = Arrays.copyOf(destinos, tamanho);
+
+		return this;
+	}
+
+	/**
+	 * Insere os vértices e arcos em um grafo vazio. Os ids atribuídos coincidem com os
+	 * índices dos vértices, pois são inseridos em ordem.
+	 */
+	<G extends Digrafo<Integer>> G preencher(G grafo) {
+		for (Integer obj : objetos)
+			grafo.adicionarVertice(obj);
+
+		for (int i = 0; i < tamanho; i++)
+			grafo.adicionarAresta(origens[i], destinos[i]);
+
+		return grafo;
+	}
+
+	/**
+	 * Constrói o digrafo em lote, por {@link ConstrutorGrafo}.
+	 */
+	Digrafo<Integer> carregar(boolean paralelo) {
+		ConstrutorGrafo<Integer> C;
+
+		C = new ConstrutorGrafo<Integer>(vertices, tamanho).setParalelo(paralelo);
+
+		for (Integer obj : objetos)
+			C.adicionarVertice(obj);
+
+		return C.adicionarArestas(origens, destinos).construirDigrafo();
+	}
+}
@@ -0,0 +1,109 @@
+package io.pifg.zepg.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.pifg.zepg.grafo.AvaliadorIncremental;
+import io.pifg.zepg.grafo.DAG;
+import io.pifg.zepg.grafo.Regra;
+
+/**
+ * Recálculo de valores sobre um DAG após alterar entradas: avaliação completa contra
+ * recálculo incremental, sequencial e paralelo, de lotes de vértices marcados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvaliadorIncrementalBenchmark {
+	@Param({ "POTENCIA", "DAG_DENSO" })
+	public Forma forma;
+
+	@Param({ "100000" })
+	public int tamanho;
+
+	@Param({ "1", "64" })
+	public int lote;
+
+	private DAG<Integer> G;
+	private long[] entradas;
+	private AvaliadorIncremental<Integer, Long> completo, incremental;
+	private int[] marcados;
+	private int proximo;
+
+	@Setup
+	public void preparar() {
+		Random r;
+		Regra<Integer, Long> soma;
+
+		G = forma.gerar(tamanho, 42).preencher(new DAG<Integer>());
+		entradas = new long[tamanho];
+		soma = (obj, valores) -> {
+			int v = G.getId(obj);
+			long total = entradas[obj];
+
+			for (int i = 0; i < G.grauEntrada(v); i++)
+				total += valores.apply(G.getObjeto(G.antecessor(v, i)));
+
+			return total;
+		};
+
+		completo = new AvaliadorIncremental<Integer, Long>(G, soma);
+		incremental = new AvaliadorIncremental<Integer, Long>(G, soma);
+		incremental.recalcular();
+
+		// alterações concentradas na metade final dos ids, como entradas perto das folhas
+		r = new Random(7);
+		marcados = new int[4096];
+		for (int i = 0; i < marcados.length; i++)
+			marcados[i] = tamanho / 2 + r.nextInt(tamanho / 2);
+	}
+
+	private void alterar(AvaliadorIncremental<Integer, Long> A) {
+		for (int k = 0; k < lote; k++) {
+			int v = marcados[proximo];
+
+			proximo = (proximo + 1) & (marcados.length - 1);
+			entradas[v]++;
+			A.marcar(v);
+		}
+	}
+
+	@Benchmark
+	public int completo() {
+		alterar(completo);
+		for (int v = 0; v < tamanho; v++)
+			completo.marcar(v);
+
+		return completo.recalcular();
+	}
+
+	@Benchmark
+	public int incremental() {
+		alterar(incremental);
+
+		return incremental.recalcular();
+	}
+
+	@Benchmark
+	public int incrementalParalelo() {
+		alterar(incremental);
+
+		return incremental.recalcular(ForkJoinPool.commonPool());
+	}
+}
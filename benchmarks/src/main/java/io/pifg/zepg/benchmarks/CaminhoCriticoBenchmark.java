@@ -0,0 +1,92 @@
+package io.pifg.zepg.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.pifg.zepg.grafo.CaminhoCritico;
+import io.pifg.zepg.grafo.DAG;
+
+/**
+ * Análise de cenários hipotéticos pelo caminho crítico: cada cenário altera a duração de uma
+ * atividade, consulta a duração total e desfaz a alteração. Compara o cálculo do zero com a
+ * atualização incremental.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CaminhoCriticoBenchmark {
+	@Param({ "POTENCIA", "DAG_DENSO" })
+	public Forma forma;
+
+	@Param({ "100000" })
+	public int tamanho;
+
+	private DAG<Integer> G;
+	private double[] duracoes;
+	private CaminhoCritico<Integer> C;
+	private int[] cenarios;
+	private int proximo;
+
+	@Setup
+	public void preparar() {
+		Random r;
+
+		G = forma.gerar(tamanho, 42).preencher(new DAG<Integer>());
+		r = new Random(7);
+		duracoes = new double[tamanho];
+		for (int i = 0; i < tamanho; i++)
+			duracoes[i] = 1 + r.nextInt(100);
+
+		C = new CaminhoCritico<Integer>(G, v -> duracoes[v]);
+		cenarios = new int[4096];
+		for (int i = 0; i < cenarios.length; i++)
+			cenarios[i] = r.nextInt(tamanho);
+	}
+
+	private int cenario() {
+		int v = cenarios[proximo];
+
+		proximo = (proximo + 1) & (cenarios.length - 1);
+
+		return v;
+	}
+
+	@Benchmark
+	public double completo() {
+		int v = cenario();
+		double original = duracoes[v], total;
+
+		duracoes[v] = 2 * original;
+		total = new CaminhoCritico<Integer>(G, w -> duracoes[w]).getDuracaoTotal();
+		duracoes[v] = original;
+
+		return total;
+	}
+
+	@Benchmark
+	public double incremental() {
+		int v = cenario();
+		double original = C.getDuracao(v), total;
+
+		C.setDuracao(v, 2 * original);
+		total = C.getDuracaoTotal();
+		C.setDuracao(v, original);
+
+		return total;
+	}
+}
@@ -0,0 +1,140 @@
+package io.pifg.zepg.benchmarks;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.pifg.zepg.grafo.DigrafoPonderado;
+import io.pifg.zepg.search.CaminhoMinimo;
+
+/**
+ * Dijkstra com heap indexado primitivo, com e sem parada antecipada, contra a versão de
+ * referência com {@link PriorityQueue} de entradas e inserção preguiçosa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CaminhoMinimoBenchmark {
+	@Param({ "ALEATORIO", "POTENCIA" })
+	public Forma forma;
+
+	@Param({ "100000" })
+	public int tamanho;
+
+	private DigrafoPonderado<Integer> G;
+	private CaminhoMinimo busca;
+	private int[] consultas;
+	private int proxima;
+	private int origem;
+
+	@Setup
+	public void preparar() {
+		Arestas arestas;
+		Random r;
+
+		arestas = forma.gerar(tamanho, 42);
+		G = new DigrafoPonderado<Integer>();
+		r = new Random(3);
+
+		for (Integer obj : arestas.objetos)
+			G.adicionarVertice(obj);
+
+		for (int i = 0; i < arestas.tamanho; i++)
+			G.adicionarAresta(arestas.origens[i], arestas.destinos[i], 1 + r.nextInt(100));
+
+		busca = new CaminhoMinimo();
+		consultas = new int[256];
+		for (int i = 0; i < consultas.length; i++)
+			consultas[i] = r.nextInt(tamanho);
+
+		for (int v = 0; v < tamanho; v++)
+			if (G.grauSaida(v) > G.grauSaida(origem))
+				origem = v;
+	}
+
+	@Benchmark
+	public double todos() {
+		busca.dijkstra(G, origem, -1);
+
+		return busca.getDistancia(consultas[1]);
+	}
+
+	@Benchmark
+	public double todosPriorityQueue() {
+		return priorityQueue(origem)[consultas[1]];
+	}
+
+	@Benchmark
+	public double pontoAPonto() {
+		int s, t;
+
+		s = consultas[proxima];
+		t = consultas[proxima + 1];
+		proxima = (proxima + 2) & (consultas.length - 1);
+
+		return busca.dijkstra(G, s, t);
+	}
+
+	private static final class Entrada implements Comparable<Entrada> {
+		final int id;
+		final double distancia;
+
+		Entrada(int id, double distancia) {
+			this.id = id;
+			this.distancia = distancia;
+		}
+
+		public int compareTo(Entrada o) {
+			return Double.compare(distancia, o.distancia);
+		}
+	}
+
+	/**
+	 * Versão de referência: entradas alocadas por relaxamento e descartadas ao sair da fila
+	 * se já superadas.
+	 */
+	private double[] priorityQueue(int origem) {
+		double[] d;
+		PriorityQueue<Entrada> fila;
+		Entrada e;
+		int v, w;
+
+		d = new double[G.getCapacidade()];
+		Arrays.fill(d, Double.POSITIVE_INFINITY);
+		d[origem] = 0;
+		fila = new PriorityQueue<Entrada>();
+		fila.add(new Entrada(origem, 0));
+
+		while ((e = fila.poll()) != null) {
+			if (e.distancia > d[v = e.id])
+				continue;
+
+			for (int i = 0; i < G.grauSaida(v); i++) {
+				w = G.sucessor(v, i);
+
+				if (d[v] + G.peso(v, i) < d[w]) {
+					d[w] = d[v] + G.peso(v, i);
+					fila.add(new Entrada(w, d[w]));
+				}
+			}
+		}
+
+		return d;
+	}
+}
@@ -0,0 +1,62 @@
+package io.pifg.zepg.benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.pifg.zepg.grafo.ComponentesFortes;
+import io.pifg.zepg.grafo.DAG;
+import io.pifg.zepg.grafo.Digrafo;
+
+/**
+ * Componentes fortemente conexos por Tarjan iterativo e pela decomposição paralela para
+ * frente e para trás, e geração da condensação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComponentesFortesBenchmark {
+	@Param({ "ALEATORIO", "POTENCIA" })
+	public Forma forma;
+
+	@Param({ "100000" })
+	public int tamanho;
+
+	private Digrafo<Integer> G;
+	private ComponentesFortes componentes;
+
+	@Setup
+	public void preparar() {
+		G = forma.gerar(tamanho, 42).carregar(false);
+		componentes = G.componentesFortes();
+	}
+
+	@Benchmark
+	public int tarjan() {
+		return G.componentesFortes().getNumComponentes();
+	}
+
+	@Benchmark
+	public int paralelo() {
+		return G.componentesFortes(ForkJoinPool.commonPool()).getNumComponentes();
+	}
+
+	@Benchmark
+	public DAG<Integer> condensacao() {
+		return componentes.condensacao();
+	}
+}
@@ -0,0 +1,57 @@
+package io.pifg.zepg.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.pifg.zepg.grafo.Digrafo;
+
+/**
+ * Custo de construção de um grafo completo por adicionarVertice/adicionarAresta. A construção
+ * de DAGs, que mantém a ordem topológica, é medida em {@link DAGBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConstrucaoBenchmark {
+	@Param({ "ALEATORIO", "POTENCIA", "CADEIA", "DAG_DENSO" })
+	public Forma forma;
+
+	@Param({ "1000", "100000" })
+	public int tamanho;
+
+	private Arestas arestas;
+
+	@Setup
+	public void preparar() {
+		arestas = forma.gerar(tamanho, 42);
+	}
+
+	@Benchmark
+	public Digrafo<Integer> digrafo() {
+		return arestas.preencher(new Digrafo<Integer>());
+	}
+
+	@Benchmark
+	public Digrafo<Integer> construtor() {
+		return arestas.carregar(false);
+	}
+
+	@Benchmark
+	public Digrafo<Integer> construtorParalelo() {
+		return arestas.carregar(true);
+	}
+}
@@ -0,0 +1,118 @@
+package io.pifg.zepg.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.pifg.zepg.grafo.Digrafo;
+import io.pifg.zepg.search.Searcher;
+
+/**
+ * Consultas sobre um digrafo já construído: vizinhança, fechos, conexidade e busca.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConsultaBenchmark {
+	@Param({ "ALEATORIO", "POTENCIA", "CADEIA" })
+	public Forma forma;
+
+	@Param({ "1000", "100000" })
+	public int tamanho;
+
+	private Digrafo<Integer> G, comCache;
+	private Integer primeiro, ultimo;
+	private int proximo;
+
+	@Setup
+	public void preparar() {
+		G = forma.gerar(tamanho, 42).preencher(new Digrafo<Integer>());
+		primeiro = G.getObjeto(0);
+		ultimo = G.getObjeto(tamanho - 1);
+		comCache = forma.gerar(tamanho, 42).preencher(new Digrafo<Integer>());
+		comCache.habilitarCacheFechos(64 << 20);
+	}
+
+	private int proximoVertice() {
+		if (++proximo == tamanho)
+			proximo = 0;
+
+		return proximo;
+	}
+
+	@Benchmark
+	public ArrayList<Integer> sucessores() {
+		return G.sucessores(proximoVertice());
+	}
+
+	@Benchmark
+	public void visaoSucessores(Blackhole bh) {
+		for (Integer w : G.visaoSucessores(proximoVertice()))
+			bh.consume(w);
+	}
+
+	@Benchmark
+	public ArrayList<Integer> fechoTransitivo() {
+		return G.fechoTransitivo(primeiro);
+	}
+
+	@Benchmark
+	public ArrayList<Integer> fechoTransitivoDireto() {
+		return G.fechoTransitivoDireto(primeiro);
+	}
+
+	@Benchmark
+	public ArrayList<Integer> fechoTransitivoDiretoCache() {
+		return comCache.fechoTransitivoDireto(primeiro);
+	}
+
+	@Benchmark
+	public ArrayList<Integer> fechoTransitivoIndireto() {
+		return G.fechoTransitivoIndireto(ultimo);
+	}
+
+	@Benchmark
+	public boolean ehConexo() {
+		return G.ehConexo();
+	}
+
+	@Benchmark
+	public boolean mesmoComponente() {
+		return G.mesmoComponente(proximoVertice(), proximoVertice());
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public int recalcularComponentes() {
+		G.recalcularComponentes(ForkJoinPool.commonPool());
+
+		return G.getNumComponentes();
+	}
+
+	@Benchmark
+	public boolean ehArvore() {
+		return G.ehArvore();
+	}
+
+	@Benchmark
+	public Integer searcherDfs() {
+		return Searcher.dfs(G, primeiro, ultimo);
+	}
+}
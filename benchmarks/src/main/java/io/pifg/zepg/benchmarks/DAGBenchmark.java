@@ -0,0 +1,83 @@
+package io.pifg.zepg.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.pifg.zepg.grafo.DAG;
+
+/**
+ * Ordenação topológica, níveis e alcançabilidade sobre DAGs sintéticos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DAGBenchmark {
+	@Param({ "POTENCIA", "CADEIA", "DAG_DENSO" })
+	public Forma forma;
+
+	@Param({ "1000", "100000" })
+	public int tamanho;
+
+	private Arestas arestas;
+	private DAG<Integer> G;
+	private int[] consultas;
+	private int proxima;
+
+	@Setup
+	public void preparar() {
+		Random r;
+
+		arestas = forma.gerar(tamanho, 42);
+		G = arestas.preencher(new DAG<Integer>());
+		G.getIndiceAlcancabilidade();
+
+		r = new Random(7);
+		consultas = new int[2048];
+		for (int i = 0; i < consultas.length; i++)
+			consultas[i] = r.nextInt(tamanho);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public DAG<Integer> construir() {
+		return arestas.preencher(new DAG<Integer>());
+	}
+
+	@Benchmark
+	public ArrayList<Integer> ordenacaoTopologica() {
+		return G.ordenacaoTopologica();
+	}
+
+	@Benchmark
+	public ArrayList<ArrayList<Integer>> niveisTopologicos() {
+		return G.niveisTopologicos();
+	}
+
+	@Benchmark
+	public boolean alcanca() {
+		int a, b;
+
+		a = consultas[proxima];
+		b = consultas[proxima + 1];
+		proxima = (proxima + 2) & (consultas.length - 1);
+
+		return G.alcanca(a, b);
+	}
+}
@@ -0,0 +1,19 @@
+package io.pifg.zepg.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada do jar de benchmarks: aceita as mesmas opções da linha de comando do JMH
+ * e acrescenta o perfilador de GC, que reporta a taxa de alocação de cada benchmark.
+ */
+public class Executar {
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
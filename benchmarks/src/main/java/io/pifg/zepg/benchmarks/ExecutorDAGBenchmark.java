@@ -0,0 +1,84 @@
+package io.pifg.zepg.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.pifg.zepg.grafo.DAG;
+import io.pifg.zepg.grafo.ExecucaoDAG;
+import io.pifg.zepg.grafo.ExecutorDAG;
+
+/**
+ * Execução de tarefas com dependências: o {@link ExecutorDAG}, que libera cada vértice assim
+ * que seus antecessores terminam, contra a execução nível a nível, com uma barreira entre
+ * níveis topológicos. As tarefas consomem CPU em quantidades sorteadas, de modo que os níveis
+ * ficam desbalanceados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutorDAGBenchmark {
+	@Param({ "POTENCIA", "DAG_DENSO" })
+	public Forma forma;
+
+	@Param({ "1000", "10000" })
+	public int tamanho;
+
+	@Param({ "4" })
+	public int paralelismo;
+
+	private DAG<Integer> G;
+	private long[] custos;
+	private ForkJoinPool pool;
+	private ExecutorDAG<Integer> executor;
+	private ArrayList<ArrayList<Integer>> niveis;
+
+	@Setup
+	public void preparar() {
+		Random r;
+
+		G = forma.gerar(tamanho, 42).preencher(new DAG<Integer>());
+		r = new Random(7);
+		custos = new long[tamanho];
+		for (int i = 0; i < tamanho; i++)
+			custos[i] = 1 + (r.nextInt(10) == 0 ? r.nextInt(2000) : r.nextInt(100));
+
+		pool = new ForkJoinPool(paralelismo);
+		executor = new ExecutorDAG<Integer>(G, pool, paralelismo, obj -> custos[obj]);
+		niveis = G.niveisTopologicos(pool);
+	}
+
+	@TearDown
+	public void encerrar() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public ExecucaoDAG<Integer> executor() throws InterruptedException {
+		return executor.executar(obj -> Blackhole.consumeCPU(custos[obj]));
+	}
+
+	@Benchmark
+	public void niveis() {
+		for (ArrayList<Integer> nivel : niveis)
+			pool.submit(() -> nivel.parallelStream().forEach(obj -> Blackhole.consumeCPU(custos[obj]))).join();
+	}
+}
@@ -0,0 +1,93 @@
+package io.pifg.zepg.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.pifg.zepg.grafo.ConstrutorForaHeap;
+import io.pifg.zepg.grafo.DigrafoForaHeap;
+import io.pifg.zepg.grafo.GrafoCSR;
+import io.pifg.zepg.search.Direcao;
+import io.pifg.zepg.search.ResultadoBfs;
+import io.pifg.zepg.search.Searcher;
+
+/**
+ * Construção e percursos sobre o CSR fora do heap, comparados ao CSR em vetores do heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ForaHeapBenchmark {
+	@Param({ "ALEATORIO", "POTENCIA" })
+	public Forma forma;
+
+	@Param({ "100000" })
+	public int tamanho;
+
+	private Arestas arestas;
+	private GrafoCSR<Integer> csr;
+	private DigrafoForaHeap<Integer> foraHeap;
+
+	@Setup
+	public void preparar() {
+		arestas = forma.gerar(tamanho, 42);
+		csr = arestas.carregar(false).congelar();
+		foraHeap = construir();
+	}
+
+	@TearDown
+	public void liberar() {
+		foraHeap.close();
+	}
+
+	@Benchmark
+	public DigrafoForaHeap<Integer> construir() {
+		ConstrutorForaHeap<Integer> C;
+
+		C = new ConstrutorForaHeap<Integer>(tamanho, arestas.tamanho);
+
+		for (Integer obj : arestas.objetos)
+			C.adicionarVertice(obj);
+
+		for (int i = 0; i < arestas.tamanho; i++)
+			C.adicionarAresta(arestas.origens[i], arestas.destinos[i]);
+
+		return C.construir();
+	}
+
+	@Benchmark
+	public ArrayList<Integer> fechoCSR() {
+		return csr.fechoTransitivoDireto(0);
+	}
+
+	@Benchmark
+	public ArrayList<Integer> fechoForaHeap() {
+		return foraHeap.fechoTransitivoDireto(0);
+	}
+
+	@Benchmark
+	public ResultadoBfs bfsCSR() {
+		return Searcher.bfsParalelo(csr, 0, Direcao.SUCESSORES, ForkJoinPool.commonPool());
+	}
+
+	@Benchmark
+	public ResultadoBfs bfsForaHeap() {
+		return Searcher.bfsParalelo(foraHeap, 0, Direcao.SUCESSORES, ForkJoinPool.commonPool());
+	}
+}
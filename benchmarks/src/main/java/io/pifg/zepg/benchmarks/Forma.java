@@ -0,0 +1,78 @@
+package io.pifg.zepg.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Formas de grafos sintéticos usadas nos benchmarks. Todos os arcos gerados partem de um
+ * id menor para um maior, exceto em {@link #ALEATORIO}, de modo que as demais formas são
+ * acíclicas e podem alimentar um DAG sem reordenações.
+ */
+public enum Forma {
+	/** Arcos uniformemente aleatórios, grau médio {@link #GRAU}; pode ter ciclos. */
+	ALEATORIO {
+		Arestas gerar(int n, Random r) {
+			Arestas a = new Arestas(n, GRAU * n);
+
+			while (a.tamanho < a.origens.length) {
+				int u = r.nextInt(n), v = r.nextInt(n);
+
+				if (u != v)
+					a.adicionar(u, v);
+			}
+
+			return a;
+		}
+	},
+	/** Anexação preferencial (Barabási–Albert): graus seguem lei de potência. */
+	POTENCIA {
+		Arestas gerar(int n, Random r) {
+			Arestas a = new Arestas(n, GRAU * n);
+
+			for (int v = 1; v < n; v++)
+				for (int k = 0; k < Math.min(GRAU, v); k++) {
+					int u;
+
+					if (a.tamanho == 0 || r.nextBoolean())
+						u = r.nextInt(v);
+					else
+						u = a.origens[r.nextInt(a.tamanho)];
+
+					a.adicionar(u, v);
+				}
+
+			return a;
+		}
+	},
+	/** Caminho simples 0 -> 1 -> ... -> n - 1. */
+	CADEIA {
+		Arestas gerar(int n, Random r) {
+			Arestas a = new Arestas(n, n - 1);
+
+			for (int v = 1; v < n; v++)
+				a.adicionar(v - 1, v);
+
+			return a;
+		}
+	},
+	/** DAG com {@link #GRAU_DENSO} arcos por vértice para vértices posteriores próximos. */
+	DAG_DENSO {
+		Arestas gerar(int n, Random r) {
+			Arestas a = new Arestas(n, GRAU_DENSO * n);
+
+			for (int u = 0; u < n - 1; u++)
+				for (int k = 0; k < GRAU_DENSO; k++)
+					a.adicionar(u, u + 1 + r.nextInt(Math.min(n - u - 1, 4 * GRAU_DENSO)));
+
+			return a;
+		}
+	};
+
+	static final int GRAU = 4;
+	static final int GRAU_DENSO = 32;
+
+	abstract Arestas gerar(int n, Random r);
+
+	public Arestas gerar(int n, long semente) {
+		return gerar(n, new Random(semente)).ajustar();
+	}
+}
@@ -0,0 +1,79 @@
+package io.pifg.zepg.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.pifg.zepg.grafo.DigrafoConcorrente;
+
+/**
+ * Vazão de {@link DigrafoConcorrente} sob contenção. Para observar a escala com o número de
+ * threads, varie -t (somente leituras) ou -tg leitores,escritores (grupo misto).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GrafoConcorrenteBenchmark {
+	@Param({ "100000" })
+	public int tamanho;
+
+	private DigrafoConcorrente<Integer> G;
+
+	@State(Scope.Thread)
+	public static class Aleatorio {
+		final Random r = new Random(Thread.currentThread().getId());
+	}
+
+	@Setup
+	public void preparar() {
+		Random r;
+
+		G = new DigrafoConcorrente<Integer>();
+		r = new Random(42);
+
+		for (int i = 0; i < tamanho; i++)
+			G.adicionarVertice(i);
+
+		for (int i = 0; i < 4 * tamanho; i++)
+			G.adicionarAresta(r.nextInt(tamanho), r.nextInt(tamanho));
+	}
+
+	@Benchmark
+	public int leitura(Aleatorio a) {
+		int v;
+
+		v = a.r.nextInt(tamanho);
+
+		return G.getGrauSaida(v) + G.sucessores(v).size();
+	}
+
+	@Benchmark
+	@Group("misto")
+	@GroupThreads(3)
+	public int lerMisto(Aleatorio a) {
+		return leitura(a);
+	}
+
+	@Benchmark
+	@Group("misto")
+	@GroupThreads(1)
+	public boolean escreverMisto(Aleatorio a) {
+		return G.adicionarAresta(a.r.nextInt(tamanho), a.r.nextInt(tamanho));
+	}
+}
@@ -0,0 +1,75 @@
+package io.pifg.zepg.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.pifg.zepg.grafo.ConstrutorGrafo;
+import io.pifg.zepg.grafo.Digrafo;
+import io.pifg.zepg.io.ExportadorTexto;
+import io.pifg.zepg.io.FormatoTexto;
+import io.pifg.zepg.io.ImportadorTexto;
+
+/**
+ * Importação e exportação de listas de arestas e de adjacência.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImportacaoBenchmark {
+	@Param({ "LISTA_ARESTAS", "LISTA_ADJACENCIA" })
+	public FormatoTexto formato;
+
+	@Param({ "100000" })
+	public int tamanho;
+
+	private Digrafo<Integer> G;
+	private Path arquivo, saida;
+
+	@Setup
+	public void preparar() throws IOException {
+		File f;
+
+		G = Forma.POTENCIA.gerar(tamanho, 42).carregar(false);
+		f = File.createTempFile("zepg", ".txt");
+		f.deleteOnExit();
+		arquivo = f.toPath();
+		f = File.createTempFile("zepg", ".txt");
+		f.deleteOnExit();
+		saida = f.toPath();
+		ExportadorTexto.exportar(G, Integer::intValue, formato, arquivo);
+	}
+
+	@Benchmark
+	public Digrafo<Integer> importar() throws IOException {
+		ConstrutorGrafo<Integer> C;
+
+		C = new ConstrutorGrafo<Integer>(tamanho, 4 * tamanho);
+		new ImportadorTexto().importar(arquivo, formato, C);
+
+		return C.construirDigrafo();
+	}
+
+	@Benchmark
+	public Path exportar() throws IOException {
+		ExportadorTexto.exportar(G, Integer::intValue, formato, saida);
+
+		return saida;
+	}
+}
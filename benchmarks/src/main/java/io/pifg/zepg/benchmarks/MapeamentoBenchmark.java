@@ -0,0 +1,82 @@
+package io.pifg.zepg.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.pifg.zepg.grafo.Codificador;
+import io.pifg.zepg.grafo.Digrafo;
+import io.pifg.zepg.grafo.GrafoMapeado;
+
+/**
+ * Tempo de abertura de um grafo gravado em disco, comparado à reconstrução em memória, e
+ * custo das consultas servidas pelas páginas mapeadas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapeamentoBenchmark {
+	@Param({ "100000" })
+	public int tamanho;
+
+	private Arestas arestas;
+	private Path arquivo;
+	private GrafoMapeado<Integer> mapeado;
+	private int proximo;
+
+	@Setup
+	public void preparar() throws IOException {
+		File f;
+
+		arestas = Forma.POTENCIA.gerar(tamanho, 42);
+		f = File.createTempFile("zepg", ".grafo");
+		f.deleteOnExit();
+		arquivo = f.toPath();
+		GrafoMapeado.escrever(arestas.carregar(false), Codificador.INTEIRO, arquivo);
+		mapeado = new GrafoMapeado<Integer>(arquivo, Codificador.INTEIRO);
+	}
+
+	@TearDown
+	public void encerrar() throws IOException {
+		mapeado.close();
+	}
+
+	@Benchmark
+	public int abrir() throws IOException {
+		try (GrafoMapeado<Integer> M = new GrafoMapeado<Integer>(arquivo, Codificador.INTEIRO)) {
+			return M.getOrdem();
+		}
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public Digrafo<Integer> reconstruir() {
+		return arestas.carregar(false);
+	}
+
+	@Benchmark
+	public ArrayList<Integer> sucessoresMapeados() {
+		if (++proximo == tamanho)
+			proximo = 0;
+
+		return mapeado.sucessores(proximo);
+	}
+}
@@ -0,0 +1,97 @@
+package io.pifg.zepg.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.pifg.zepg.grafo.Digrafo;
+import io.pifg.zepg.metricas.Contadores;
+import io.pifg.zepg.metricas.Metricas;
+import io.pifg.zepg.metricas.OuvinteJFR;
+import io.pifg.zepg.metricas.OuvinteMetricas;
+import io.pifg.zepg.search.Searcher;
+
+/**
+ * Custo da instrumentação: as mesmas consultas e inclusões sem ouvintes, com contadores em
+ * memória e com eventos do Flight Recorder (registrados, mas sem gravação ativa, a menos que
+ * a JVM seja iniciada com -XX:StartFlightRecording).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricasBenchmark {
+	public enum Ouvinte {
+		NENHUM, CONTADORES, JFR
+	}
+
+	@Param({ "NENHUM", "CONTADORES", "JFR" })
+	public Ouvinte ouvinte;
+
+	@Param({ "ALEATORIO" })
+	public Forma forma;
+
+	@Param({ "1000", "100000" })
+	public int tamanho;
+
+	private Arestas arestas;
+	private Digrafo<Integer> G;
+	private Integer primeiro, ultimo;
+	private OuvinteMetricas registrado;
+
+	@Setup
+	public void preparar() {
+		arestas = forma.gerar(tamanho, 42);
+		G = arestas.preencher(new Digrafo<Integer>());
+		primeiro = G.getObjeto(0);
+		ultimo = G.getObjeto(tamanho - 1);
+
+		if (ouvinte == Ouvinte.CONTADORES)
+			registrado = new Contadores();
+		else if (ouvinte == Ouvinte.JFR)
+			registrado = new OuvinteJFR();
+
+		if (registrado != null)
+			Metricas.registrar(registrado);
+	}
+
+	@TearDown
+	public void encerrar() {
+		if (registrado != null)
+			Metricas.remover(registrado);
+	}
+
+	@Benchmark
+	public ArrayList<Integer> fechoTransitivoDireto() {
+		return G.fechoTransitivoDireto(primeiro);
+	}
+
+	@Benchmark
+	public Integer searcherDfs() {
+		return Searcher.dfs(G, primeiro, ultimo);
+	}
+
+	@Benchmark
+	public ArrayList<Integer> sucessores() {
+		return G.sucessores(primeiro);
+	}
+
+	@Benchmark
+	public Digrafo<Integer> preencher() {
+		return arestas.preencher(new Digrafo<Integer>());
+	}
+}
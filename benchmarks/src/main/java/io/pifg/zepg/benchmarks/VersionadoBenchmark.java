@@ -0,0 +1,142 @@
+package io.pifg.zepg.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.pifg.zepg.grafo.Digrafo;
+import io.pifg.zepg.grafo.DigrafoConcorrente;
+import io.pifg.zepg.grafo.DigrafoVersionado;
+
+/**
+ * Vazão de leituras longas (fecho transitivo direto) sob escritas contínuas: versões fixadas
+ * de {@link DigrafoVersionado} contra {@link Digrafo} protegido por uma trava global (suas
+ * consultas reaproveitam o estado de percurso do grafo, de modo que nem leituras podem ser
+ * simultâneas) e contra {@link DigrafoConcorrente}, cujas leituras são apenas fracamente
+ * consistentes.
+ * Cada grupo tem três leitores e um escritor, que alterna a inclusão e a remoção de arcos de
+ * um conjunto fixo, mantendo a densidade do grafo estável.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VersionadoBenchmark {
+	@Param({ "20000" })
+	public int tamanho;
+
+	private DigrafoVersionado<Integer> versionado;
+	private Digrafo<Integer> travado;
+	private ReentrantLock trava;
+	private DigrafoConcorrente<Integer> concorrente;
+	private int[] origens, destinos;
+
+	@State(Scope.Thread)
+	public static class Aleatorio {
+		final Random r = new Random(Thread.currentThread().getId());
+	}
+
+	@Setup
+	public void preparar() {
+		Arestas a;
+		Random r;
+
+		a = Forma.ALEATORIO.gerar(tamanho, 42);
+		travado = a.preencher(new Digrafo<Integer>());
+		trava = new ReentrantLock();
+		versionado = new DigrafoVersionado<Integer>();
+		concorrente = new DigrafoConcorrente<Integer>();
+
+		for (Integer obj : a.objetos) {
+			versionado.adicionarVertice(obj);
+			concorrente.adicionarVertice(obj);
+		}
+
+		for (int i = 0; i < a.tamanho; i++) {
+			versionado.adicionarAresta(a.origens[i], a.destinos[i]);
+			concorrente.adicionarAresta(a.origens[i], a.destinos[i]);
+		}
+
+		r = new Random(7);
+		origens = new int[4096];
+		destinos = new int[4096];
+		for (int i = 0; i < origens.length; i++) {
+			origens[i] = r.nextInt(tamanho);
+			destinos[i] = r.nextInt(tamanho);
+		}
+	}
+
+	@Benchmark
+	@Group("versionado")
+	@GroupThreads(3)
+	public int lerVersionado(Aleatorio a) {
+		return versionado.fixar().fechoTransitivoDireto(a.r.nextInt(tamanho)).size();
+	}
+
+	@Benchmark
+	@Group("versionado")
+	@GroupThreads(1)
+	public boolean escreverVersionado(Aleatorio a) {
+		int k = a.r.nextInt(origens.length);
+
+		return versionado.adicionarAresta(origens[k], destinos[k]) || versionado.removerAresta(origens[k], destinos[k]);
+	}
+
+	@Benchmark
+	@Group("travado")
+	@GroupThreads(3)
+	public int lerTravado(Aleatorio a) {
+		trava.lock();
+		try {
+			return travado.fechoTransitivoDireto(a.r.nextInt(tamanho)).size();
+		} finally {
+			trava.unlock();
+		}
+	}
+
+	@Benchmark
+	@Group("travado")
+	@GroupThreads(1)
+	public boolean escreverTravado(Aleatorio a) {
+		int k = a.r.nextInt(origens.length);
+
+		trava.lock();
+		try {
+			return travado.adicionarAresta(origens[k], destinos[k]) || travado.removerAresta(origens[k], destinos[k]);
+		} finally {
+			trava.unlock();
+		}
+	}
+
+	@Benchmark
+	@Group("concorrente")
+	@GroupThreads(3)
+	public int lerConcorrente(Aleatorio a) {
+		return concorrente.fechoTransitivoDireto(a.r.nextInt(tamanho)).size();
+	}
+
+	@Benchmark
+	@Group("concorrente")
+	@GroupThreads(1)
+	public boolean escreverConcorrente(Aleatorio a) {
+		int k = a.r.nextInt(origens.length);
+
+		return concorrente.adicionarAresta(origens[k], destinos[k]) || concorrente.removerAresta(origens[k], destinos[k]);
+	}
+}
@@ -0,0 +1,34 @@
+package io.pifg.zepg.grafo;
+
+/**
+ * Conjunto de ids de vértices adjacentes (sucessores ou antecessores) de um vértice.
+ * As implementações armazenam os ids em vetores primitivos, sem alocação por arco, e
+ * permitem acesso posicional para iteração: {@code for (int i = 0; i < a.tamanho(); i++) a.get(i)}.
+ * A ordem posicional é estável enquanto o conjunto não é alterado.
+ */
+public interface Adjacencia {
+	/**
+	 * Adiciona um id ao conjunto.
+	 * @param id - id do vértice
+	 * @return true se o id foi adicionado; false se já estava presente.
+	 */
+	boolean adicionar(int id);
+	
+	/**
+	 * Remove um id do conjunto.
+	 * @param id - id do vértice
+	 * @return true se o id foi removido; false se não estava presente.
+	 */
+	boolean remover(int id);
+	
+	boolean contem(int id);
+	
+	int tamanho();
+	
+	/**
+	 * Retorna o id armazenado em uma posição.
+	 * @param i - posição em [0, tamanho())
+	 * @return int correspondente ao id do vértice.
+	 */
+	int get(int i);
+}
@@ -0,0 +1,158 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Arrays;
+
+/**
+ * Adjacência armazenada em um vetor denso de ids, indexado por uma tabela de endereçamento
+ * aberto (sondagem linear) que guarda a posição de cada id no vetor. A tabela só é criada
+ * quando o grau ultrapassa {@link #LIMIAR}; abaixo disso a busca é linear. Remoções movem o
+ * último id para a posição liberada e usam deslocamento regressivo na tabela, sem marcadores.
+ */
+class AdjacenciaHash implements Adjacencia {
+	private static final int[] VAZIO = new int[0];
+	private static final int LIMIAR = 8;
+	
+	private int[] elementos;
+	private int[] tabela;
+	private int tamanho;
+	
+	AdjacenciaHash() {
+		elementos = VAZIO;
+	}
+	
+	/**
+	 * @param ids - vetor contendo, em [inicio, fim), ids distintos
+	 */
+	AdjacenciaHash(int[] ids, int inicio, int fim) {
+		elementos = inicio == fim ? VAZIO : Arrays.copyOfRange(ids, inicio, fim);
+		tamanho = fim - inicio;
+		
+		if (tamanho > LIMIAR)
+			reindexar();
+	}
+	
+	private static int espalhar(int id) {
+		id *= 0x9E3779B9;
+		return id ^ (id >>> 16);
+	}
+	
+	/**
+	 * @return int correspondente à posição do id no vetor denso, ou -1 se ausente.
+	 */
+	int posicao(int id) {
+		if (tabela == null) {
+			for (int i = 0; i < tamanho; i++)
+				if (elementos[i] == id)
+					return i;
+			
+			return -1;
+		}
+		
+		int mascara, i, p;
+		
+		mascara = tabela.length - 1;
+		
+		for (i = espalhar(id) & mascara; (p = tabela[i]) != 0; i = (i + 1) & mascara)
+			if (elementos[p - 1] == id)
+				return p - 1;
+		
+		return -1;
+	}
+	
+	private int slot(int id) {
+		int mascara, i;
+		
+		mascara = tabela.length - 1;
+		
+		for (i = espalhar(id) & mascara; elementos[tabela[i] - 1] != id; i = (i + 1) & mascara)
+			;
+		
+		return i;
+	}
+	
+	private void indexar(int p) {
+		int mascara, i;
+		
+		mascara = tabela.length - 1;
+		
+		for (i = espalhar(elementos[p]) & mascara; tabela[i] != 0; i = (i + 1) & mascara)
+			;
+		
+		tabela[i] = p + 1;
+	}
+	
+	private void reindexar() {
+		tabela = new int[Integer.highestOneBit(elementos.length) * 4];
+		
+		for (int p = 0; p < tamanho; p++)
+			indexar(p);
+	}
+	
+	public boolean adicionar(int id) {
+		if (posicao(id) >= 0)
+			return false;
+		
+		if (tamanho == elementos.length)
+			elementos = Arrays.copyOf(elementos, Math.max(4, tamanho * 2));
+		
+		elementos[tamanho++] = id;
+		
+		if (tabela != null && tamanho * 2 <= tabela.length)
+			indexar(tamanho - 1);
+		else if (tamanho > LIMIAR)
+			reindexar();
+		
+		return true;
+	}
+	
+	public boolean remover(int id) {
+		int p, ultimo;
+		
+		if ((p = posicao(id)) < 0)
+			return false;
+		
+		ultimo = tamanho - 1;
+		
+		if (tabela != null) {
+			liberar(slot(id));
+			
+			if (p != ultimo)
+				tabela[slot(elementos[ultimo])] = p + 1;
+		}
+		
+		elementos[p] = elementos[ultimo];
+		tamanho--;
+		
+		return true;
+	}
+	
+	private void liberar(int i) {
+		int mascara, j, k;
+		
+		mascara = tabela.length - 1;
+		
+		for (j = (i + 1) & mascara; tabela[j] != 0; j = (j + 1) & mascara) {
+			k = espalhar(elementos[tabela[j] - 1]) & mascara;
+			
+			if (i <= j ? (i < k && k <= j) : (i < k || k <= j))
+				continue;
+			
+			tabela[i] = tabela[j];
+			i = j;
+		}
+		
+		tabela[i] = 0;
+	}
+	
+	public boolean contem(int id) {
+		return posicao(id) >= 0;
+	}
+	
+	public int tamanho() {
+		return tamanho;
+	}
+	
+	public int get(int i) {
+		return elementos[i];
+	}
+}
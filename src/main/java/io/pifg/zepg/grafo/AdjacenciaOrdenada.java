@@ -0,0 +1,67 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Arrays;
+
+/**
+ * Adjacência armazenada em um vetor de ids mantido em ordem crescente.
+ */
+class AdjacenciaOrdenada implements Adjacencia {
+	private static final int[] VAZIO = new int[0];
+	
+	private int[] elementos;
+	private int tamanho;
+	
+	AdjacenciaOrdenada() {
+		elementos = VAZIO;
+	}
+	
+	/**
+	 * @param ids - vetor contendo, em [inicio, fim), ids distintos em ordem crescente
+	 */
+	AdjacenciaOrdenada(int[] ids, int inicio, int fim) {
+		elementos = inicio == fim ? VAZIO : Arrays.copyOfRange(ids, inicio, fim);
+		tamanho = fim - inicio;
+	}
+	
+	public boolean adicionar(int id) {
+		int i;
+		
+		if ((i = Arrays.binarySearch(elementos, 0, tamanho, id)) >= 0)
+			return false;
+		
+		i = -i - 1;
+		
+		if (tamanho == elementos.length)
+			elementos = Arrays.copyOf(elementos, Math.max(4, tamanho * 2));
+		
+		System.arraycopy(elementos, i, elementos, i + 1, tamanho - i);
+		elementos[i] = id;
+		tamanho++;
+		
+		return true;
+	}
+	
+	public boolean remover(int id) {
+		int i;
+		
+		if ((i = Arrays.binarySearch(elementos, 0, tamanho, id)) < 0)
+			return false;
+		
+		System.arraycopy(elementos, i + 1, elementos, i, tamanho - i - 1);
+		tamanho--;
+		
+		return true;
+	}
+	
+	public boolean contem(int id) {
+		return Arrays.binarySearch(elementos, 0, tamanho, id) >= 0;
+	}
+	
+	public int tamanho() {
+		return tamanho;
+	}
+	
+	public int get(int i) {
+		return elementos[i];
+	}
+}
@@ -0,0 +1,74 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Arrays;
+
+/**
+ * Adjacência de sucessores com o peso de cada arco em um vetor primitivo paralelo ao vetor
+ * de ids: o peso do arco para get(i) é peso(i). Acompanha a política de {@link AdjacenciaHash},
+ * que acrescenta ao fim e, na remoção, move o último id para a posição liberada.
+ */
+final class AdjacenciaPonderada extends AdjacenciaHash {
+	static final double PESO_PADRAO = 1.0;
+
+	private double[] pesos;
+
+	AdjacenciaPonderada() {
+		pesos = new double[0];
+	}
+
+	@Override
+	public boolean adicionar(int id) {
+		return adicionar(id, PESO_PADRAO);
+	}
+
+	boolean adicionar(int id, double peso) {
+		int n;
+
+		if (!super.adicionar(id))
+			return false;
+
+		if ((n = tamanho()) > pesos.length)
+			pesos = Arrays.copyOf(pesos, Math.max(4, pesos.length * 2));
+
+		pesos[n - 1] = peso;
+
+		return true;
+	}
+
+	@Override
+	public boolean remover(int id) {
+		int p;
+
+		if ((p = posicao(id)) < 0)
+			return false;
+
+		super.remover(id);
+		pesos[p] = pesos[tamanho()];
+
+		return true;
+	}
+
+	double peso(int i) {
+		return pesos[i];
+	}
+
+	/**
+	 * @return double correspondente ao peso do arco para o id, ou NaN se não há arco.
+	 */
+	double getPeso(int id) {
+		int p;
+
+		return (p = posicao(id)) < 0 ? Double.NaN : pesos[p];
+	}
+
+	boolean setPeso(int id, double peso) {
+		int p;
+
+		if ((p = posicao(id)) < 0)
+			return false;
+
+		pesos[p] = peso;
+
+		return true;
+	}
+}
@@ -0,0 +1,277 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Arrays;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+
+import io.pifg.zepg.search.Direcao;
+import io.pifg.zepg.search.Percurso;
+
+/**
+ * Avaliação incremental de valores sobre um {@link DAG}, no padrão de planilhas e sistemas de
+ * build: o valor de cada vértice é calculado por uma {@link Regra} a partir dos valores de
+ * seus antecessores. Alterações em dados externos são informadas por {@link #marcar(Object)};
+ * cada recálculo reúne todas as marcações pendentes, obtém os vértices afetados pelo fecho
+ * transitivo direto dos marcados e recalcula cada afetado uma única vez, depois de todos os
+ * seus antecessores afetados. Os demais vértices mantêm o valor anterior.
+ * <p>
+ * Na primeira avaliação, e sempre que a estrutura do grafo é alterada, todos os vértices são
+ * recalculados. Instâncias não são thread-safe; o recálculo paralelo usa o pool informado
+ * apenas durante a chamada.
+ * @param <T> tipo dos objetos representados como vértices
+ * @param <V> tipo dos valores calculados
+ */
+public class AvaliadorIncremental<T, V> {
+	private static final int GRAO = 256;
+
+	private final DAG<T> G;
+	private final Regra<T, V> regra;
+	private final Function<T, V> consulta;
+	private final Percurso percurso;
+	private Object[] valores;
+	private boolean[] marcados;
+	private int[] marcas;
+	private int numMarcas;
+	private int[] afetados;
+	private int numAfetados;
+	private AtomicIntegerArray pendentes;
+	private long versao;
+	private boolean avaliado;
+	private int recalculados;
+
+	public AvaliadorIncremental(DAG<T> G, Regra<T, V> regra) {
+		this.G = G;
+		this.regra = regra;
+		consulta = this::getValor;
+		percurso = new Percurso(G);
+		valores = new Object[0];
+		marcados = new boolean[0];
+		marcas = new int[16];
+		afetados = new int[0];
+		pendentes = new AtomicIntegerArray(0);
+	}
+
+	/**
+	 * Marca um objeto cujo valor precisa ser recalculado, juntamente com todos os seus
+	 * descendentes, no próximo recálculo.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 */
+	public void marcar(T obj) {
+		marcar(G.getId(obj));
+	}
+
+	/**
+	 * @param id - id do objeto armazenado como vértice no grafo
+	 */
+	public void marcar(int id) {
+		if (!G.contemVertice(id))
+			throw new NonVerticeException();
+
+		if (id >= marcados.length)
+			marcados = Arrays.copyOf(marcados, Math.max(id + 1, 2 * marcados.length));
+
+		if (marcados[id])
+			return;
+
+		marcados[id] = true;
+
+		if (numMarcas == marcas.length)
+			marcas = Arrays.copyOf(marcas, 2 * numMarcas);
+
+		marcas[numMarcas++] = id;
+	}
+
+	/**
+	 * @return int correspondente ao número de objetos marcados desde o último recálculo.
+	 */
+	public int getNumMarcados() {
+		return numMarcas;
+	}
+
+	/**
+	 * Retorna o valor de um objeto calculado no último recálculo.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return V correspondente ao valor, ou null se ainda não calculado.
+	 */
+	public V getValor(T obj) {
+		return getValor(G.getId(obj));
+	}
+
+	@SuppressWarnings("unchecked")
+	public V getValor(int id) {
+		if (!G.contemVertice(id))
+			throw new NonVerticeException();
+
+		return id < valores.length ? (V) valores[id] : null;
+	}
+
+	/**
+	 * @return int correspondente ao número de vértices recalculados pela última chamada.
+	 */
+	public int getNumRecalculados() {
+		return recalculados;
+	}
+
+	/**
+	 * Recalcula, em ordem topológica, os objetos marcados e seus descendentes.
+	 * @return int correspondente ao número de objetos recalculados.
+	 */
+	public int recalcular() {
+		preparar();
+
+		return recalcularOrdenado();
+	}
+
+	/**
+	 * Recalcula os objetos marcados e seus descendentes em paralelo: cada afetado é calculado
+	 * assim que terminam os seus antecessores afetados, de modo que subgrafos independentes
+	 * avançam ao mesmo tempo. Conjuntos pequenos de afetados são recalculados sequencialmente.
+	 * @param pool - pool em que os objetos são recalculados
+	 * @return int correspondente ao número de objetos recalculados.
+	 */
+	public int recalcular(ForkJoinPool pool) {
+		int v, w, numFontes;
+		int[] fontes;
+
+		preparar();
+
+		if (numAfetados < GRAO)
+			return recalcularOrdenado();
+
+		for (int i = 0; i < numAfetados; i++)
+			pendentes.set(afetados[i], 0);
+
+		for (int i = 0; i < numAfetados; i++) {
+			v = afetados[i];
+
+			for (int j = 0; j < G.grauSaida(v); j++)
+				if (percurso.getVisitados().marcado(w = G.sucessor(v, j)))
+					pendentes.set(w, pendentes.get(w) + 1);
+		}
+
+		fontes = new int[numAfetados];
+		numFontes = 0;
+
+		for (int i = 0; i < numAfetados; i++)
+			if (pendentes.get(afetados[i]) == 0)
+				fontes[numFontes++] = afetados[i];
+
+		pool.invoke(new Recalculo(null, -1, Arrays.copyOf(fontes, numFontes)));
+
+		return concluir();
+	}
+
+	private int recalcularOrdenado() {
+		long[] chaves;
+
+		chaves = new long[numAfetados];
+
+		for (int i = 0; i < numAfetados; i++)
+			chaves[i] = (long) G.posicaoTopologica(afetados[i]) << 32 | afetados[i];
+
+		Arrays.sort(chaves);
+
+		for (long chave : chaves)
+			calcular((int) chave);
+
+		return concluir();
+	}
+
+	/**
+	 * Reúne os afetados: todos os vértices, se a estrutura mudou desde a última avaliação;
+	 * caso contrário, o fecho transitivo direto dos marcados.
+	 */
+	private void preparar() {
+		int n;
+
+		n = G.getCapacidade();
+
+		if (valores.length < n) {
+			valores = Arrays.copyOf(valores, n);
+			pendentes = new AtomicIntegerArray(n);
+		}
+
+		if (afetados.length < n)
+			afetados = new int[n];
+
+		numAfetados = 0;
+		percurso.reiniciar();
+
+		if (!avaliado || versao != G.getVersao()) {
+			for (int v = 0; v < n; v++) {
+				if (G.contemVertice(v)) {
+					percurso.getVisitados().marcar(v);
+					afetados[numAfetados++] = v;
+				} else {
+					valores[v] = null;
+				}
+			}
+
+			return;
+		}
+
+		for (int i = 0; i < numMarcas; i++)
+			if (G.contemVertice(marcas[i]))
+				percurso.explorarDfs(marcas[i], Direcao.SUCESSORES, (v, pai) -> {
+					afetados[numAfetados++] = v;
+					return true;
+				}, null);
+	}
+
+	private void calcular(int v) {
+		valores[v] = regra.calcular(G.getObjeto(v), consulta);
+	}
+
+	private int concluir() {
+		for (int i = 0; i < numMarcas; i++)
+			if (marcas[i] < marcados.length)
+				marcados[marcas[i]] = false;
+
+		numMarcas = 0;
+		versao = G.getVersao();
+		avaliado = true;
+
+		return recalculados = numAfetados;
+	}
+
+	/**
+	 * Recalcula um vértice e dispara os sucessores afetados cujos antecessores afetados já
+	 * terminaram. A raiz (v = -1) dispara as fontes, afetados sem antecessores afetados.
+	 */
+	private final class Recalculo extends CountedCompleter<Void> {
+		private static final long serialVersionUID = 1L;
+		private final int v;
+		private final int[] fontes;
+
+		Recalculo(Recalculo pai, int v, int[] fontes) {
+			super(pai);
+			this.v = v;
+			this.fontes = fontes;
+		}
+
+		@Override
+		public void compute() {
+			int w;
+
+			if (v < 0) {
+				for (int fonte : fontes)
+					disparar(fonte);
+			} else {
+				calcular(v);
+
+				for (int j = 0; j < G.grauSaida(v); j++)
+					if (percurso.getVisitados().marcado(w = G.sucessor(v, j)) && pendentes.decrementAndGet(w) == 0)
+						disparar(w);
+			}
+
+			tryComplete();
+		}
+
+		private void disparar(int w) {
+			addToPendingCount(1);
+			new Recalculo(this, w, null).fork();
+		}
+	}
+}
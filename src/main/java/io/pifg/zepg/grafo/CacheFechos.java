@@ -0,0 +1,292 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import io.pifg.zepg.search.Direcao;
+
+/**
+ * Cache dos fechos transitivos de um {@link Grafo}, limitado pelo espaço ocupado e despejado
+ * na ordem do uso menos recente. Cada entrada guarda os ids do fecho na ordem do percurso e,
+ * para testar pertinência, uma cópia ordenada dos ids (fechos esparsos) ou um mapa de bits
+ * sobre todos os ids (fechos densos), o que for menor.
+ * <p>
+ * O cache é válido para uma versão do grafo. As alterações notificadas pelo grafo descartam
+ * apenas as entradas afetadas: a inclusão ou remoção de um arco u -&gt; v afeta os fechos de
+ * sucessores que contêm u, os de antecessores que contêm v e os sem orientação que contêm
+ * qualquer um dos dois; a remoção de um vértice afeta os fechos que o contêm; a inclusão de um
+ * vértice não afeta nenhum. Se a versão do grafo avançar sem notificação, todas as entradas
+ * são descartadas na próxima consulta.
+ * Os métodos são sincronizados: consultas concorrentes a um grafo que não está sendo alterado
+ * podem compartilhar o cache, já que um acerto reordena a lista de uso.
+ */
+public class CacheFechos {
+	private static final int DIRECOES = Direcao.values().length;
+
+	private final long bytesMaximos;
+	private final LinkedHashMap<Long, Entrada> entradas;
+	private long versao;
+	private long bytes;
+	private long acertos;
+	private long faltas;
+	private long invalidacoes;
+	private long despejos;
+
+	/**
+	 * @param bytesMaximos - espaço máximo ocupado pelos ids das entradas
+	 * @param versao - versão atual do grafo
+	 */
+	CacheFechos(long bytesMaximos, long versao) {
+		if (bytesMaximos <= 0)
+			throw new IllegalArgumentException();
+
+		this.bytesMaximos = bytesMaximos;
+		this.versao = versao;
+		entradas = new LinkedHashMap<Long, Entrada>(16, 0.75f, true);
+	}
+
+	private static Long chave(int id, Direcao direcao) {
+		return Long.valueOf((long) id * DIRECOES + direcao.ordinal());
+	}
+
+	/**
+	 * Busca um fecho no cache.
+	 * @param id - id do vértice de origem
+	 * @param direcao - sentido do fecho
+	 * @param versao - versão atual do grafo
+	 * @return int[] com os ids do fecho na ordem do percurso (não deve ser alterado), ou null se
+	 * não está no cache.
+	 */
+	synchronized int[] obter(int id, Direcao direcao, long versao) {
+		Entrada e;
+
+		sincronizar(versao);
+
+		if ((e = entradas.get(chave(id, direcao))) == null) {
+			faltas++;
+			return null;
+		}
+
+		acertos++;
+
+		return e.ids;
+	}
+
+	/**
+	 * Guarda um fecho recém-calculado, despejando as entradas menos usadas até haver espaço.
+	 * Fechos maiores que o próprio cache não são guardados.
+	 * @param id - id do vértice de origem
+	 * @param direcao - sentido do fecho
+	 * @param ids - ids do fecho na ordem do percurso (passa a pertencer ao cache)
+	 * @param capacidade - limite dos ids do grafo
+	 * @param versao - versão do grafo em que o fecho foi calculado
+	 */
+	synchronized void guardar(int id, Direcao direcao, int[] ids, int capacidade, long versao) {
+		Entrada e, anterior;
+		Iterator<Entrada> it;
+
+		sincronizar(versao);
+		e = new Entrada(direcao, ids, capacidade);
+
+		if (e.bytes > bytesMaximos)
+			return;
+
+		if ((anterior = entradas.put(chave(id, direcao), e)) != null)
+			bytes -= anterior.bytes;
+
+		bytes += e.bytes;
+		it = entradas.values().iterator();
+
+		while (bytes > bytesMaximos) {
+			bytes -= it.next().bytes;
+			it.remove();
+			despejos++;
+		}
+	}
+
+	/**
+	 * Registra a inclusão ou remoção do arco u -&gt; v, feita na versão informada.
+	 */
+	synchronized void arcoAlterado(int u, int v, long versao) {
+		if (!avancar(versao))
+			return;
+
+		for (Iterator<Entrada> it = entradas.values().iterator(); it.hasNext();) {
+			Entrada e = it.next();
+
+			if (e.afetadaPor(u, v))
+				descartar(it, e);
+		}
+	}
+
+	/**
+	 * Registra a inclusão ou remoção de uma aresta de orientação desconhecida entre a e b.
+	 */
+	synchronized void arestaAlterada(int a, int b, long versao) {
+		if (!avancar(versao))
+			return;
+
+		for (Iterator<Entrada> it = entradas.values().iterator(); it.hasNext();) {
+			Entrada e = it.next();
+
+			if (e.contem(a) || e.contem(b))
+				descartar(it, e);
+		}
+	}
+
+	/**
+	 * Registra a remoção de um vértice, com todos os seus arcos.
+	 */
+	synchronized void verticeRemovido(int id, long versao) {
+		if (!avancar(versao))
+			return;
+
+		for (Iterator<Entrada> it = entradas.values().iterator(); it.hasNext();) {
+			Entrada e = it.next();
+
+			if (e.contem(id))
+				descartar(it, e);
+		}
+	}
+
+	/**
+	 * Registra uma alteração que não muda nenhum fecho, como a inclusão de um vértice.
+	 */
+	synchronized void preservar(long versao) {
+		avancar(versao);
+	}
+
+	/**
+	 * Avança o cache para a versão seguinte a uma única alteração.
+	 * @return true se as entradas estavam válidas antes da alteração; caso contrário, false
+	 * (e o cache foi esvaziado).
+	 */
+	private boolean avancar(long versao) {
+		boolean valido;
+
+		valido = sincronizar(versao - 1);
+		this.versao = versao;
+
+		return valido;
+	}
+
+	/**
+	 * Descarta todas as entradas se a versão do grafo difere da do cache.
+	 * @return true se o cache estava na versão informada; caso contrário, false.
+	 */
+	private boolean sincronizar(long versao) {
+		if (this.versao == versao)
+			return true;
+
+		invalidacoes += entradas.size();
+		entradas.clear();
+		bytes = 0;
+		this.versao = versao;
+
+		return false;
+	}
+
+	private void descartar(Iterator<Entrada> it, Entrada e) {
+		it.remove();
+		bytes -= e.bytes;
+		invalidacoes++;
+	}
+
+	/**
+	 * Descarta todas as entradas, preservando os contadores.
+	 */
+	public synchronized void limpar() {
+		entradas.clear();
+		bytes = 0;
+	}
+
+	/**
+	 * @return long correspondente ao número de consultas respondidas pelo cache.
+	 */
+	public synchronized long getAcertos() {
+		return acertos;
+	}
+
+	/**
+	 * @return long correspondente ao número de consultas que precisaram calcular o fecho.
+	 */
+	public synchronized long getFaltas() {
+		return faltas;
+	}
+
+	/**
+	 * @return long correspondente ao número de entradas descartadas por alterações no grafo.
+	 */
+	public synchronized long getInvalidacoes() {
+		return invalidacoes;
+	}
+
+	/**
+	 * @return long correspondente ao número de entradas despejadas por falta de espaço.
+	 */
+	public synchronized long getDespejos() {
+		return despejos;
+	}
+
+	public synchronized int getNumEntradas() {
+		return entradas.size();
+	}
+
+	/**
+	 * @return long correspondente ao espaço ocupado pelas entradas, em bytes.
+	 */
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	public long getBytesMaximos() {
+		return bytesMaximos;
+	}
+
+	private static final class Entrada {
+		final Direcao direcao;
+		final int[] ids;
+		final int[] ordenados;
+		final long[] bits;
+		final long bytes;
+
+		Entrada(Direcao direcao, int[] ids, int capacidade) {
+			this.direcao = direcao;
+			this.ids = ids;
+
+			if ((long) ids.length * 32 < capacidade) {
+				ordenados = ids.clone();
+				Arrays.sort(ordenados);
+				bits = null;
+				bytes = 8L * ids.length;
+			} else {
+				ordenados = null;
+				bits = new long[(capacidade + 63) >>> 6];
+
+				for (int id : ids)
+					bits[id >>> 6] |= 1L << id;
+
+				bytes = 4L * ids.length + 8L * bits.length;
+			}
+		}
+
+		boolean contem(int id) {
+			if (bits != null)
+				return (id >>> 6) < bits.length && (bits[id >>> 6] & (1L << id)) != 0;
+
+			return Arrays.binarySearch(ordenados, id) >= 0;
+		}
+
+		boolean afetadaPor(int u, int v) {
+			switch (direcao) {
+			case SUCESSORES:
+				return contem(u);
+			case ANTECESSORES:
+				return contem(v);
+			default:
+				return contem(u) || contem(v);
+			}
+		}
+	}
+}
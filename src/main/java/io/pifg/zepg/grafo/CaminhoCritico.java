@@ -0,0 +1,597 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Método do caminho crítico sobre um {@link DAG}: cada vértice é uma atividade com duração
+ * própria e cada arco u -&gt; v obriga v a começar depois do término de u, acrescido da duração
+ * do arco. Calcula os inícios e términos mais cedo e mais tarde, a folga de cada atividade, a
+ * duração total (o caminho mais longo) e um caminho crítico.
+ * <p>
+ * A estrutura do grafo é copiada na construção para vetores compactos, com os vértices
+ * renumerados na ordem topológica, e os tempos são calculados em uma passada para frente
+ * (início mais cedo) e outra para trás (cauda: o caminho mais longo do início do vértice até o
+ * fim). Como os tempos mais tarde derivam da cauda e da duração total, a alteração de uma
+ * duração só recalcula os descendentes cujo início mais cedo muda e os ascendentes cuja cauda
+ * muda, o que permite avaliar muitos cenários hipotéticos em sequência.
+ * <p>
+ * Reflete a estrutura do grafo no momento da construção; alterações posteriores no grafo
+ * exigem uma nova instância. Instâncias não são thread-safe.
+ * @param <T> tipo dos objetos representados como vértices
+ */
+public class CaminhoCritico<T> {
+	private static final double TOLERANCIA = 1e-9;
+
+	private final DAG<T> G;
+	private final int n;
+	private final int[] ids;
+	private final int[] posicoes;
+	private final int[] inicios;
+	private final int[] destinos;
+	private final int[] iniciosEntrada;
+	private final int[] origens;
+	private final int[] arcosEntrada;
+	private final int[] fontes;
+	private final double[] duracoes;
+	private final double[] duracoesArcos;
+	private final double[] cedo;
+	private final double[] cauda;
+	private final Fila frente;
+	private final Fila tras;
+	private double total;
+	private int atualizados;
+
+	/**
+	 * @param G - grafo de dependências
+	 * @param duracao - duração não negativa da atividade de cada objeto (null equivale a
+	 * duração 1 para todos)
+	 */
+	public CaminhoCritico(DAG<T> G, ToDoubleFunction<? super T> duracao) {
+		this(G, duracao, null);
+	}
+
+	/**
+	 * @param G - grafo de dependências
+	 * @param duracao - duração não negativa da atividade de cada objeto (null equivale a
+	 * duração 1 para todos)
+	 * @param duracaoArco - duração não negativa de cada arco, da origem para a extremidade
+	 * (null equivale a duração 0 para todos)
+	 */
+	public CaminhoCritico(DAG<T> G, ToDoubleFunction<? super T> duracao, ToDoubleBiFunction<? super T, ? super T> duracaoArco) {
+		int arcos, id, k;
+		int[] contagem;
+		T obj;
+
+		this.G = G;
+		ids = G.ordemIds();
+		n = ids.length;
+		posicoes = new int[G.getCapacidade()];
+		Arrays.fill(posicoes, -1);
+
+		for (int p = 0; p < n; p++)
+			posicoes[ids[p]] = p;
+
+		// sucessores por posição topológica
+		inicios = new int[n + 1];
+		arcos = 0;
+
+		for (int p = 0; p < n; p++) {
+			inicios[p] = arcos;
+			arcos += G.grauSaida(ids[p]);
+		}
+
+		inicios[n] = arcos;
+		destinos = new int[arcos];
+		duracoesArcos = new double[arcos];
+		duracoes = new double[n];
+		contagem = new int[n + 1];
+
+		for (int p = 0; p < n; p++) {
+			id = ids[p];
+			obj = G.getObjeto(id);
+			duracoes[p] = duracao == null ? 1 : validar(duracao.applyAsDouble(obj));
+
+			for (int i = 0; i < G.grauSaida(id); i++) {
+				k = inicios[p] + i;
+				destinos[k] = posicoes[G.sucessor(id, i)];
+				duracoesArcos[k] = duracaoArco == null ? 0 : validar(duracaoArco.applyAsDouble(obj, G.getObjeto(G.sucessor(id, i))));
+				contagem[destinos[k] + 1]++;
+			}
+		}
+
+		// antecessores, com o índice de cada arco nos vetores de sucessores
+		iniciosEntrada = new int[n + 1];
+
+		for (int p = 0; p < n; p++)
+			iniciosEntrada[p + 1] = iniciosEntrada[p] + contagem[p + 1];
+
+		origens = new int[arcos];
+		arcosEntrada = new int[arcos];
+		contagem = Arrays.copyOf(iniciosEntrada, n);
+
+		for (int p = 0; p < n; p++) {
+			for (k = inicios[p]; k < inicios[p + 1]; k++) {
+				origens[contagem[destinos[k]]] = p;
+				arcosEntrada[contagem[destinos[k]]++] = k;
+			}
+		}
+
+		k = 0;
+		contagem = new int[n];
+
+		for (int p = 0; p < n; p++)
+			if (iniciosEntrada[p] == iniciosEntrada[p + 1])
+				contagem[k++] = p;
+
+		fontes = Arrays.copyOf(contagem, k);
+		cedo = new double[n];
+		cauda = new double[n];
+		frente = new Fila(n);
+		tras = new Fila(n);
+		calcular();
+	}
+
+	private static double validar(double duracao) {
+		if (!(duracao >= 0) || Double.isInfinite(duracao))
+			throw new IllegalArgumentException("Duração inválida: " + duracao);
+
+		return duracao;
+	}
+
+	/**
+	 * Calcula todos os tempos em uma passada para frente e outra para trás na ordem topológica.
+	 */
+	private void calcular() {
+		for (int p = 0; p < n; p++)
+			cedo[p] = calcularCedo(p);
+
+		for (int p = n - 1; p >= 0; p--)
+			cauda[p] = calcularCauda(p);
+
+		atualizados = n;
+		calcularTotal();
+	}
+
+	private double calcularCedo(int p) {
+		double maximo;
+		int o;
+
+		maximo = 0;
+
+		for (int k = iniciosEntrada[p]; k < iniciosEntrada[p + 1]; k++) {
+			o = origens[k];
+			maximo = Math.max(maximo, cedo[o] + duracoes[o] + duracoesArcos[arcosEntrada[k]]);
+		}
+
+		return maximo;
+	}
+
+	private double calcularCauda(int p) {
+		double maximo;
+
+		maximo = 0;
+
+		for (int k = inicios[p]; k < inicios[p + 1]; k++)
+			maximo = Math.max(maximo, duracoesArcos[k] + cauda[destinos[k]]);
+
+		return duracoes[p] + maximo;
+	}
+
+	private void calcularTotal() {
+		total = 0;
+
+		for (int f : fontes)
+			total = Math.max(total, cauda[f]);
+	}
+
+	/**
+	 * Propaga as alterações pendentes nas filas: para frente, em ordem topológica crescente,
+	 * enquanto o início mais cedo muda; para trás, em ordem decrescente, enquanto a cauda muda.
+	 * Quando a propagação alcança uma fração grande do grafo, as posições marcadas restantes são
+	 * percorridas em sequência, sem o custo da fila de prioridade.
+	 */
+	private void propagar() {
+		int limite;
+		boolean fonteAlterada;
+
+		limite = n >>> 4;
+		atualizados = 0;
+
+		while (!frente.vazia()) {
+			if (atualizados > limite) {
+				for (int p = frente.esvaziar(); p < n; p++)
+					if (frente.retirar(p))
+						atualizarCedo(p);
+
+				frente.retomar();
+				break;
+			}
+
+			atualizarCedo(frente.remover());
+		}
+
+		fonteAlterada = false;
+		limite += atualizados;
+
+		while (!tras.vazia()) {
+			if (atualizados > limite) {
+				for (int p = n - 1 - tras.esvaziar(); p >= 0; p--)
+					if (tras.retirar(n - 1 - p))
+						fonteAlterada |= atualizarCauda(p);
+
+				tras.retomar();
+				break;
+			}
+
+			fonteAlterada |= atualizarCauda(n - 1 - tras.remover());
+		}
+
+		if (fonteAlterada)
+			calcularTotal();
+	}
+
+	private void atualizarCedo(int p) {
+		double valor;
+
+		atualizados++;
+
+		if ((valor = calcularCedo(p)) != cedo[p]) {
+			cedo[p] = valor;
+
+			for (int k = inicios[p]; k < inicios[p + 1]; k++)
+				frente.inserir(destinos[k]);
+		}
+	}
+
+	/**
+	 * @return true se a cauda de uma fonte mudou; caso contrário, false.
+	 */
+	private boolean atualizarCauda(int p) {
+		double valor;
+
+		atualizados++;
+
+		if ((valor = calcularCauda(p)) == cauda[p])
+			return false;
+
+		cauda[p] = valor;
+
+		for (int k = iniciosEntrada[p]; k < iniciosEntrada[p + 1]; k++)
+			tras.inserir(n - 1 - origens[k]);
+
+		return iniciosEntrada[p] == iniciosEntrada[p + 1];
+	}
+
+	private int posicao(int id) {
+		int p;
+
+		if (id < 0 || id >= posicoes.length || (p = posicoes[id]) < 0)
+			throw new NonVerticeException();
+
+		return p;
+	}
+
+	/**
+	 * Retorna o índice do arco entre duas posições nos vetores de sucessores.
+	 * @return int correspondente ao índice, ou -1 se o arco não existe.
+	 */
+	private int arco(int p, int q) {
+		for (int k = inicios[p]; k < inicios[p + 1]; k++)
+			if (destinos[k] == q)
+				return k;
+
+		return -1;
+	}
+
+	/**
+	 * @return double correspondente à duração total: o maior término mais cedo, ou seja, o
+	 * comprimento do caminho mais longo.
+	 */
+	public double getDuracaoTotal() {
+		return total;
+	}
+
+	public double getInicioMaisCedo(T obj) {
+		return getInicioMaisCedo(G.getId(obj));
+	}
+
+	public double getInicioMaisCedo(int id) {
+		return cedo[posicao(id)];
+	}
+
+	public double getTerminoMaisCedo(T obj) {
+		return getTerminoMaisCedo(G.getId(obj));
+	}
+
+	public double getTerminoMaisCedo(int id) {
+		int p;
+
+		p = posicao(id);
+
+		return cedo[p] + duracoes[p];
+	}
+
+	/**
+	 * Retorna o instante mais tarde em que a atividade de um objeto pode começar sem atrasar
+	 * a duração total.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return double correspondente ao início mais tarde.
+	 */
+	public double getInicioMaisTarde(T obj) {
+		return getInicioMaisTarde(G.getId(obj));
+	}
+
+	public double getInicioMaisTarde(int id) {
+		return total - cauda[posicao(id)];
+	}
+
+	public double getTerminoMaisTarde(T obj) {
+		return getTerminoMaisTarde(G.getId(obj));
+	}
+
+	public double getTerminoMaisTarde(int id) {
+		int p;
+
+		p = posicao(id);
+
+		return total - cauda[p] + duracoes[p];
+	}
+
+	/**
+	 * Retorna quanto a atividade de um objeto pode atrasar sem atrasar a duração total.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return double correspondente à folga, maior ou igual a zero.
+	 */
+	public double getFolga(T obj) {
+		return getFolga(G.getId(obj));
+	}
+
+	public double getFolga(int id) {
+		int p;
+
+		p = posicao(id);
+
+		return Math.max(0, total - cedo[p] - cauda[p]);
+	}
+
+	/**
+	 * Verifica se a atividade de um objeto está em algum caminho crítico (folga nula, a menos
+	 * de erros de arredondamento).
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return true se a atividade é crítica; caso contrário, false.
+	 */
+	public boolean ehCritico(T obj) {
+		return ehCritico(G.getId(obj));
+	}
+
+	public boolean ehCritico(int id) {
+		return getFolga(id) <= TOLERANCIA * Math.max(1, total);
+	}
+
+	/**
+	 * Retorna um caminho crítico: uma sequência de atividades, de uma fonte até um sumidouro,
+	 * cuja soma das durações (e das durações dos arcos) é igual à duração total.
+	 * @return ArrayList<T> com os objetos do caminho, vazia se o grafo não possui vértices.
+	 */
+	public ArrayList<T> caminhoCritico() {
+		ArrayList<T> caminho;
+		int p, proximo;
+		double maximo;
+
+		caminho = new ArrayList<T>();
+		p = -1;
+
+		for (int f : fontes)
+			if (p < 0 || cauda[f] > cauda[p])
+				p = f;
+
+		while (p >= 0) {
+			caminho.add(G.getObjeto(ids[p]));
+			proximo = -1;
+			maximo = 0;
+
+			for (int k = inicios[p]; k < inicios[p + 1]; k++) {
+				if (proximo < 0 || duracoesArcos[k] + cauda[destinos[k]] > maximo) {
+					proximo = destinos[k];
+					maximo = duracoesArcos[k] + cauda[destinos[k]];
+				}
+			}
+
+			p = proximo;
+		}
+
+		return caminho;
+	}
+
+	public double getDuracao(T obj) {
+		return getDuracao(G.getId(obj));
+	}
+
+	public double getDuracao(int id) {
+		return duracoes[posicao(id)];
+	}
+
+	/**
+	 * Altera a duração da atividade de um objeto e atualiza incrementalmente os tempos
+	 * afetados.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @param duracao - nova duração, não negativa
+	 */
+	public void setDuracao(T obj, double duracao) {
+		setDuracao(G.getId(obj), duracao);
+	}
+
+	public void setDuracao(int id, double duracao) {
+		int p;
+
+		p = posicao(id);
+		validar(duracao);
+
+		if (duracoes[p] == duracao)
+			return;
+
+		duracoes[p] = duracao;
+
+		for (int k = inicios[p]; k < inicios[p + 1]; k++)
+			frente.inserir(destinos[k]);
+
+		tras.inserir(n - 1 - p);
+		propagar();
+	}
+
+	/**
+	 * Retorna a duração do arco partindo de um objeto e chegando em outro.
+	 * @param obj1 - objeto armazenado como vértice no grafo (origem do arco)
+	 * @param obj2 - objeto armazenado como vértice no grafo (extremidade do arco)
+	 * @return double correspondente à duração do arco, ou NaN se o arco não existe.
+	 */
+	public double getDuracaoArco(T obj1, T obj2) {
+		return getDuracaoArco(G.getId(obj1), G.getId(obj2));
+	}
+
+	public double getDuracaoArco(int obj1Id, int obj2Id) {
+		int k;
+
+		k = arco(posicao(obj1Id), posicao(obj2Id));
+
+		return k < 0 ? Double.NaN : duracoesArcos[k];
+	}
+
+	/**
+	 * Altera a duração de um arco e atualiza incrementalmente os tempos afetados.
+	 * @param obj1 - objeto armazenado como vértice no grafo (origem do arco)
+	 * @param obj2 - objeto armazenado como vértice no grafo (extremidade do arco)
+	 * @param duracao - nova duração, não negativa
+	 * @return true se o arco existe; caso contrário, false.
+	 */
+	public boolean setDuracaoArco(T obj1, T obj2, double duracao) {
+		return setDuracaoArco(G.getId(obj1), G.getId(obj2), duracao);
+	}
+
+	public boolean setDuracaoArco(int obj1Id, int obj2Id, double duracao) {
+		int p, q, k;
+
+		p = posicao(obj1Id);
+		q = posicao(obj2Id);
+		validar(duracao);
+
+		if ((k = arco(p, q)) < 0)
+			return false;
+
+		if (duracoesArcos[k] != duracao) {
+			duracoesArcos[k] = duracao;
+			frente.inserir(q);
+			tras.inserir(n - 1 - p);
+			propagar();
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return int correspondente ao número de vértices recalculados pela última atualização.
+	 */
+	public int getNumAtualizados() {
+		return atualizados;
+	}
+
+	/**
+	 * Fila de prioridade mínima de posições, sem repetições. Pode ser esvaziada mantendo as
+	 * marcações, para que as posições restantes sejam percorridas em sequência; nesse modo,
+	 * inserções apenas marcam a posição.
+	 */
+	private static final class Fila {
+		private final int[] heap;
+		private final boolean[] presentes;
+		private int tamanho;
+		private boolean sequencial;
+
+		Fila(int n) {
+			heap = new int[n];
+			presentes = new boolean[n];
+		}
+
+		boolean vazia() {
+			return tamanho == 0;
+		}
+
+		void inserir(int p) {
+			int i, pai;
+
+			if (presentes[p])
+				return;
+
+			presentes[p] = true;
+
+			if (sequencial)
+				return;
+
+			i = tamanho++;
+
+			while (i > 0 && heap[pai = (i - 1) >>> 1] > p) {
+				heap[i] = heap[pai];
+				i = pai;
+			}
+
+			heap[i] = p;
+		}
+
+		int remover() {
+			int raiz, ultimo, i, filho;
+
+			raiz = heap[0];
+			ultimo = heap[--tamanho];
+			i = 0;
+
+			while ((filho = 2 * i + 1) < tamanho) {
+				if (filho + 1 < tamanho && heap[filho + 1] < heap[filho])
+					filho++;
+
+				if (heap[filho] >= ultimo)
+					break;
+
+				heap[i] = heap[filho];
+				i = filho;
+			}
+
+			heap[i] = ultimo;
+			presentes[raiz] = false;
+
+			return raiz;
+		}
+
+		/**
+		 * Passa ao modo sequencial, mantendo as posições marcadas.
+		 * @return int correspondente à menor posição marcada.
+		 */
+		int esvaziar() {
+			sequencial = true;
+			tamanho = 0;
+
+			return heap[0];
+		}
+
+		/**
+		 * Desmarca uma posição no modo sequencial.
+		 * @return true se a posição estava marcada; caso contrário, false.
+		 */
+		boolean retirar(int p) {
+			boolean marcada;
+
+			marcada = presentes[p];
+			presentes[p] = false;
+
+			return marcada;
+		}
+
+		/**
+		 * Volta ao modo normal, depois de percorridas todas as posições marcadas.
+		 */
+		void retomar() {
+			sequencial = false;
+		}
+	}
+}
@@ -0,0 +1,9 @@
+package io.pifg.zepg.grafo;
+
+public class CicloException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public CicloException() {
+		super("Grafo possui ciclo.");
+	}
+}
@@ -0,0 +1,56 @@
+package io.pifg.zepg.grafo;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Conversão entre objetos representados como vértices e sua forma binária, usada pelo
+ * formato em disco de {@link GrafoMapeado}. Dois objetos iguais devem ter a mesma codificação,
+ * pois a busca por objeto compara os bytes codificados.
+ * @param <T> tipo de objeto codificado.
+ */
+public interface Codificador<T> {
+	/** Texto em UTF-8. */
+	Codificador<String> TEXTO = new Codificador<String>() {
+		public byte[] codificar(String obj) {
+			return obj.getBytes(StandardCharsets.UTF_8);
+		}
+
+		public String decodificar(ByteBuffer origem, int posicao, int tamanho) {
+			byte[] bytes;
+
+			bytes = new byte[tamanho];
+			for (int i = 0; i < tamanho; i++)
+				bytes[i] = origem.get(posicao + i);
+
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	};
+
+	/** Inteiro de 32 bits. */
+	Codificador<Integer> INTEIRO = new Codificador<Integer>() {
+		public byte[] codificar(Integer obj) {
+			int v;
+
+			v = obj;
+
+			return new byte[] { (byte) (v >>> 24), (byte) (v >>> 16), (byte) (v >>> 8), (byte) v };
+		}
+
+		public Integer decodificar(ByteBuffer origem, int posicao, int tamanho) {
+			return (origem.get(posicao) & 0xFF) << 24 | (origem.get(posicao + 1) & 0xFF) << 16
+					| (origem.get(posicao + 2) & 0xFF) << 8 | (origem.get(posicao + 3) & 0xFF);
+		}
+	};
+
+	byte[] codificar(T obj);
+
+	/**
+	 * Reconstrói um objeto a partir de seus bytes, lidos por posição absoluta.
+	 * @param origem - buffer que contém a codificação
+	 * @param posicao - posição do primeiro byte
+	 * @param tamanho - número de bytes da codificação
+	 * @return objeto T decodificado.
+	 */
+	T decodificar(ByteBuffer origem, int posicao, int tamanho);
+}
@@ -0,0 +1,251 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import io.pifg.zepg.metricas.Metricas;
+import io.pifg.zepg.metricas.Operacao;
+
+/**
+ * Componentes conexos de um grafo, desconsiderando orientação, em uma floresta de conjuntos
+ * disjuntos com compressão de caminhos e união por posto. Inclusões de vértices e arestas são
+ * refletidas incrementalmente, em tempo quase constante; remoções exigem
+ * {@link #recalcular(ForkJoinPool)}, que reconstrói a floresta em paralelo, unindo os arcos
+ * sem travas por compare-and-set e ligando sempre a raiz de maior id à de menor.
+ * Instâncias não são thread-safe.
+ */
+public class ComponentesConexos {
+	private static final int GRAO = 1024;
+
+	private final GrafoIndexado<?> G;
+	private int[] pais;
+	private byte[] postos;
+	private int numComponentes;
+
+	ComponentesConexos(GrafoIndexado<?> G) {
+		this.G = G;
+		pais = new int[0];
+		postos = new byte[0];
+	}
+
+	/**
+	 * Reconstrói os componentes a partir do estado atual do grafo.
+	 * @param pool - pool em que os arcos são unidos
+	 */
+	void recalcular(ForkJoinPool pool) {
+		AtomicIntegerArray raizes;
+		long inicio;
+		int n;
+
+		inicio = Metricas.inicio();
+		n = G.getCapacidade();
+		raizes = new AtomicIntegerArray(n);
+
+		for (int v = 0; v < n; v++)
+			raizes.lazySet(v, v);
+
+		pool.invoke(new Uniao(raizes, 0, n));
+
+		pais = new int[Math.max(n, 16)];
+		postos = new byte[pais.length];
+		numComponentes = 0;
+
+		for (int v = 0; v < pais.length; v++)
+			pais[v] = v;
+
+		// pais[v] <= v: percorrendo em ordem crescente, o pai de v já aponta para a raiz
+		for (int v = 0; v < n; v++) {
+			pais[v] = pais[raizes.get(v)];
+
+			if (pais[v] == v) {
+				if (G.contemVertice(v))
+					numComponentes++;
+			} else {
+				postos[pais[v]] = 1;
+			}
+		}
+
+		if (inicio != 0)
+			Metricas.consulta(Operacao.COMPONENTES_CONEXOS, inicio, contarVertices(G), contarArcos(G));
+	}
+
+	static long contarVertices(GrafoIndexado<?> G) {
+		long vertices;
+
+		vertices = 0;
+		for (int v = 0; v < G.getCapacidade(); v++)
+			if (G.contemVertice(v))
+				vertices++;
+
+		return vertices;
+	}
+
+	static long contarArcos(GrafoIndexado<?> G) {
+		long arcos;
+
+		arcos = 0;
+		for (int v = 0; v < G.getCapacidade(); v++)
+			if (G.contemVertice(v))
+				arcos += G.grauSaida(v);
+
+		return arcos;
+	}
+
+	/**
+	 * Registra um vértice recém-incluído no grafo, isolado.
+	 */
+	void adicionarVertice(int id) {
+		if (id >= pais.length) {
+			int anterior = pais.length;
+
+			pais = Arrays.copyOf(pais, Math.max(id + 1, anterior * 2));
+			postos = Arrays.copyOf(postos, pais.length);
+
+			for (int v = anterior; v < pais.length; v++)
+				pais[v] = v;
+		}
+
+		pais[id] = id;
+		postos[id] = 0;
+		numComponentes++;
+	}
+
+	/**
+	 * Registra uma aresta recém-incluída no grafo.
+	 * @return true se a aresta uniu dois componentes; caso contrário, false.
+	 */
+	boolean unir(int a, int b) {
+		int t;
+
+		if ((a = raiz(a)) == (b = raiz(b)))
+			return false;
+
+		if (postos[a] < postos[b]) {
+			t = a;
+			a = b;
+			b = t;
+		}
+
+		pais[b] = a;
+
+		if (postos[a] == postos[b])
+			postos[a]++;
+
+		numComponentes--;
+
+		return true;
+	}
+
+	private int raiz(int v) {
+		int p;
+
+		while ((p = pais[v]) != v) {
+			pais[v] = pais[p];
+			v = p;
+		}
+
+		return v;
+	}
+
+	private void validar(int id) {
+		if (!G.contemVertice(id))
+			throw new NonVerticeException();
+	}
+
+	/**
+	 * Retorna o representante do componente de um vértice. Dois vértices estão no mesmo
+	 * componente se e somente se têm o mesmo representante, que pode mudar após novas inclusões.
+	 * @param id - id do vértice
+	 * @return int correspondente ao id do representante.
+	 */
+	public int componente(int id) {
+		validar(id);
+
+		return raiz(id);
+	}
+
+	/**
+	 * Verifica se existe caminho, desconsiderando orientação, entre dois vértices.
+	 * @param a - id de um vértice
+	 * @param b - id de outro vértice
+	 * @return true se os vértices estão no mesmo componente; caso contrário, false.
+	 */
+	public boolean mesmoComponente(int a, int b) {
+		validar(a);
+		validar(b);
+
+		return raiz(a) == raiz(b);
+	}
+
+	/**
+	 * @return int correspondente ao número de componentes conexos (0 para o grafo vazio).
+	 */
+	public int getNumComponentes() {
+		return numComponentes;
+	}
+
+	private class Uniao extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final AtomicIntegerArray raizes;
+		private final int inicio, fim;
+
+		Uniao(AtomicIntegerArray raizes, int inicio, int fim) {
+			this.raizes = raizes;
+			this.inicio = inicio;
+			this.fim = fim;
+		}
+
+		@Override
+		protected void compute() {
+			if (fim - inicio > GRAO) {
+				int meio = (inicio + fim) >>> 1;
+
+				invokeAll(new Uniao(raizes, inicio, meio), new Uniao(raizes, meio, fim));
+
+				return;
+			}
+
+			for (int v = inicio; v < fim; v++)
+				if (G.contemVertice(v))
+					for (int i = 0; i < G.grauSaida(v); i++)
+						unir(v, G.sucessor(v, i));
+		}
+
+		private void unir(int a, int b) {
+			int t;
+
+			while (true) {
+				if ((a = raiz(a)) == (b = raiz(b)))
+					return;
+
+				if (a < b) {
+					t = a;
+					a = b;
+					b = t;
+				}
+
+				if (raizes.compareAndSet(a, a, b))
+					return;
+			}
+		}
+
+		/**
+		 * Localiza a raiz reduzindo o caminho pela metade; como os pais só diminuem, apontar
+		 * para o avô nunca desfaz uma ligação concorrente.
+		 */
+		private int raiz(int v) {
+			int p, avo;
+
+			while ((p = raizes.get(v)) != v) {
+				if ((avo = raizes.get(p)) != p)
+					raizes.compareAndSet(v, p, avo);
+
+				v = p;
+			}
+
+			return v;
+		}
+	}
+}
@@ -0,0 +1,485 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.pifg.zepg.metricas.Metricas;
+import io.pifg.zepg.metricas.Operacao;
+
+/**
+ * Componentes fortemente conexos de um grafo orientado. Os componentes são numerados de 0 a
+ * getNumComponentes() - 1 em ordem topológica: todo arco u -&gt; v satisfaz
+ * componente(u) &lt;= componente(v), de modo que a condensação é um DAG cujos arcos vão sempre
+ * de um componente a outro de índice maior.
+ * <p>
+ * O cálculo sequencial é o algoritmo de Tarjan com pilha explícita, que não esgota a pilha de
+ * chamadas em caminhos longos. O paralelo é a decomposição para frente e para trás (Fleischer,
+ * Hendrickson e Pinar): os vértices sem antecessores ou sem sucessores na partição são
+ * removidos como componentes unitários; a partir de um pivô, o componente do pivô é a
+ * interseção entre os vértices que ele alcança e os que o alcançam, e as três partições
+ * restantes são resolvidas independentemente no pool.
+ * Reflete o grafo no momento do cálculo.
+ */
+public class ComponentesFortes {
+	private static final int GRAO = 256;
+
+	private final GrafoIndexado<?> G;
+	private final int[] componentes;
+	private int numComponentes;
+	private int[] inicios;
+	private int[] membros;
+
+	/**
+	 * Calcula os componentes pelo algoritmo de Tarjan.
+	 * @param G - grafo orientado
+	 */
+	public ComponentesFortes(GrafoIndexado<?> G) {
+		long inicio;
+
+		inicio = Metricas.inicio();
+		this.G = G;
+		componentes = new int[G.getCapacidade()];
+		tarjan();
+
+		for (int v = 0; v < componentes.length; v++)
+			if (componentes[v] >= 0)
+				componentes[v] = numComponentes - 1 - componentes[v];
+
+		agrupar();
+
+		if (inicio != 0)
+			Metricas.consulta(Operacao.COMPONENTES_FORTES, inicio, membros.length, ComponentesConexos.contarArcos(G));
+	}
+
+	/**
+	 * Calcula os componentes pela decomposição para frente e para trás, em paralelo.
+	 * @param G - grafo orientado
+	 * @param pool - pool em que as partições são resolvidas
+	 */
+	public ComponentesFortes(GrafoIndexado<?> G, ForkJoinPool pool) {
+		long inicio;
+
+		inicio = Metricas.inicio();
+		this.G = G;
+		componentes = new int[G.getCapacidade()];
+		new Decomposicao(pool).executar();
+		ordenar();
+		agrupar();
+
+		if (inicio != 0)
+			Metricas.consulta(Operacao.COMPONENTES_FORTES, inicio, membros.length, ComponentesConexos.contarArcos(G));
+	}
+
+	private void tarjan() {
+		int n, contador, topo, topoComponente, v, w, u;
+		int[] indices, minimos, pilha, cursores, pilhaComponente;
+
+		n = componentes.length;
+		indices = new int[n];
+		minimos = new int[n];
+		pilha = new int[n];
+		cursores = new int[n];
+		pilhaComponente = new int[n];
+		contador = 0;
+		topoComponente = 0;
+		Arrays.fill(componentes, -1);
+
+		for (int s = 0; s < n; s++) {
+			if (indices[s] != 0 || !G.contemVertice(s))
+				continue;
+
+			indices[s] = minimos[s] = ++contador;
+			pilhaComponente[topoComponente++] = s;
+			pilha[0] = s;
+			cursores[0] = 0;
+			topo = 1;
+
+			while (topo > 0) {
+				v = pilha[topo - 1];
+
+				if (cursores[topo - 1] < G.grauSaida(v)) {
+					w = G.sucessor(v, cursores[topo - 1]++);
+
+					if (indices[w] == 0) {
+						indices[w] = minimos[w] = ++contador;
+						pilhaComponente[topoComponente++] = w;
+						pilha[topo] = w;
+						cursores[topo] = 0;
+						topo++;
+					} else if (componentes[w] < 0 && indices[w] < minimos[v]) {
+						minimos[v] = indices[w];
+					}
+
+					continue;
+				}
+
+				topo--;
+
+				if (minimos[v] == indices[v]) {
+					do {
+						u = pilhaComponente[--topoComponente];
+						componentes[u] = numComponentes;
+					} while (u != v);
+
+					numComponentes++;
+				}
+
+				if (topo > 0 && minimos[v] < minimos[pilha[topo - 1]])
+					minimos[pilha[topo - 1]] = minimos[v];
+			}
+		}
+	}
+
+	/**
+	 * Renumera componentes de numeração arbitrária em ordem topológica da condensação, pelo
+	 * algoritmo de Kahn.
+	 */
+	private void ordenar() {
+		int n, c, d, fim;
+		int[] grausEntrada, novos, fila;
+
+		agrupar();
+		n = numComponentes;
+		grausEntrada = new int[n];
+
+		for (int v = 0; v < componentes.length; v++)
+			if ((c = componentes[v]) >= 0)
+				for (int i = 0; i < G.grauSaida(v); i++)
+					if ((d = componentes[G.sucessor(v, i)]) != c)
+						grausEntrada[d]++;
+
+		fila = new int[n];
+		novos = new int[n];
+		fim = 0;
+
+		for (c = 0; c < n; c++)
+			if (grausEntrada[c] == 0)
+				fila[fim++] = c;
+
+		for (int k = 0; k < fim; k++) {
+			c = fila[k];
+			novos[c] = k;
+
+			for (int j = inicios[c]; j < inicios[c + 1]; j++) {
+				int v = membros[j];
+
+				for (int i = 0; i < G.grauSaida(v); i++)
+					if ((d = componentes[G.sucessor(v, i)]) != c && --grausEntrada[d] == 0)
+						fila[fim++] = d;
+			}
+		}
+
+		for (int v = 0; v < componentes.length; v++)
+			if (componentes[v] >= 0)
+				componentes[v] = novos[componentes[v]];
+	}
+
+	/**
+	 * Distribui os vértices por componente (ordenação por contagem).
+	 */
+	private void agrupar() {
+		int[] cursores;
+		int c, tamanho;
+
+		inicios = new int[numComponentes + 1];
+		tamanho = 0;
+
+		for (int v = 0; v < componentes.length; v++)
+			if ((c = componentes[v]) >= 0) {
+				inicios[c + 1]++;
+				tamanho++;
+			}
+
+		for (c = 0; c < numComponentes; c++)
+			inicios[c + 1] += inicios[c];
+
+		membros = new int[tamanho];
+		cursores = Arrays.copyOf(inicios, numComponentes);
+
+		for (int v = 0; v < componentes.length; v++)
+			if ((c = componentes[v]) >= 0)
+				membros[cursores[c]++] = v;
+	}
+
+	/**
+	 * @return int correspondente ao número de componentes fortemente conexos.
+	 */
+	public int getNumComponentes() {
+		return numComponentes;
+	}
+
+	/**
+	 * Retorna o índice do componente de um vértice.
+	 * @param id - id do vértice
+	 * @return int em [0, getNumComponentes()).
+	 */
+	public int componente(int id) {
+		if (id < 0 || id >= componentes.length || componentes[id] < 0)
+			throw new NonVerticeException();
+
+		return componentes[id];
+	}
+
+	public boolean mesmoComponente(int a, int b) {
+		return componente(a) == componente(b);
+	}
+
+	/**
+	 * @param c - índice do componente
+	 * @return int[] com os ids dos vértices do componente, em ordem crescente.
+	 */
+	public int[] membros(int c) {
+		return Arrays.copyOfRange(membros, inicios[c], inicios[c + 1]);
+	}
+
+	public int tamanho(int c) {
+		return inicios[c + 1] - inicios[c];
+	}
+
+	/**
+	 * Gera a condensação do grafo: um DAG com um vértice por componente, cujo objeto é o índice
+	 * do componente (e coincide com seu id no DAG), e um arco c -&gt; d sempre que algum arco
+	 * do grafo liga um membro de c a um membro de d.
+	 * @return DAG<Integer> com os componentes como vértices.
+	 */
+	public DAG<Integer> condensacao() {
+		ConstrutorGrafo<Integer> C;
+		int[] marcas;
+		int d;
+
+		C = new ConstrutorGrafo<Integer>(numComponentes, membros.length);
+		marcas = new int[numComponentes];
+		Arrays.fill(marcas, -1);
+
+		for (int c = 0; c < numComponentes; c++)
+			C.adicionarVertice(c);
+
+		for (int c = 0; c < numComponentes; c++) {
+			marcas[c] = c;
+
+			for (int j = inicios[c]; j < inicios[c + 1]; j++)
+				for (int i = 0; i < G.grauSaida(membros[j]); i++)
+					if (marcas[d = componentes[G.sucessor(membros[j], i)]] != c) {
+						marcas[d] = c;
+						C.adicionarAresta(c, d);
+					}
+		}
+
+		return C.construirDAG();
+	}
+
+	private class Decomposicao {
+		private final ForkJoinPool pool;
+		private final int[] cores;
+		private final int[] marcasFrente;
+		private final int[] marcasTras;
+		private final int[] grausEntrada;
+		private final int[] grausSaida;
+		private final AtomicInteger proximaCor;
+		private final AtomicInteger proximoComponente;
+
+		Decomposicao(ForkJoinPool pool) {
+			int n;
+
+			this.pool = pool;
+			n = componentes.length;
+			cores = new int[n];
+			marcasFrente = new int[n];
+			marcasTras = new int[n];
+			grausEntrada = new int[n];
+			grausSaida = new int[n];
+			proximaCor = new AtomicInteger(1);
+			proximoComponente = new AtomicInteger();
+		}
+
+		void executar() {
+			int[] vertices;
+			int tamanho;
+
+			vertices = new int[componentes.length];
+			tamanho = 0;
+			Arrays.fill(componentes, -1);
+
+			for (int v = 0; v < componentes.length; v++)
+				if (G.contemVertice(v)) {
+					cores[v] = 1;
+					vertices[tamanho++] = v;
+				}
+
+			proximaCor.set(2);
+			pool.invoke(new Particao(Arrays.copyOf(vertices, tamanho), 1));
+			numComponentes = proximoComponente.get();
+		}
+
+		private void fechar(int v) {
+			cores[v] = 0;
+			componentes[v] = proximoComponente.getAndIncrement();
+		}
+
+		/**
+		 * Remove, repetidamente, os vértices sem antecessores ou sem sucessores da mesma cor,
+		 * que formam componentes unitários.
+		 * @return int[] com os vértices restantes.
+		 */
+		private int[] aparar(int[] vertices, int cor) {
+			int[] fila, restantes;
+			int fim, tamanho, v, w;
+
+			for (int k = 0; k < vertices.length; k++) {
+				v = vertices[k];
+				grausEntrada[v] = 0;
+				grausSaida[v] = 0;
+			}
+
+			for (int k = 0; k < vertices.length; k++) {
+				v = vertices[k];
+
+				for (int i = 0; i < G.grauSaida(v); i++)
+					if (cores[w = G.sucessor(v, i)] == cor && w != v) {
+						grausSaida[v]++;
+						grausEntrada[w]++;
+					}
+			}
+
+			fila = new int[vertices.length];
+			fim = 0;
+
+			for (int k = 0; k < vertices.length; k++)
+				if (grausEntrada[v = vertices[k]] == 0 || grausSaida[v] == 0) {
+					fila[fim++] = v;
+					fechar(v);
+				}
+
+			for (int k = 0; k < fim; k++) {
+				v = fila[k];
+
+				for (int i = 0; i < G.grauSaida(v); i++)
+					if (cores[w = G.sucessor(v, i)] == cor && --grausEntrada[w] == 0) {
+						fila[fim++] = w;
+						fechar(w);
+					}
+
+				for (int i = 0; i < G.grauEntrada(v); i++)
+					if (cores[w = G.antecessor(v, i)] == cor && --grausSaida[w] == 0) {
+						fila[fim++] = w;
+						fechar(w);
+					}
+			}
+
+			restantes = new int[vertices.length - fim];
+			tamanho = 0;
+
+			for (int k = 0; k < vertices.length; k++)
+				if (cores[v = vertices[k]] == cor)
+					restantes[tamanho++] = v;
+
+			return restantes;
+		}
+
+		/**
+		 * Marca com a cor os vértices da mesma cor alcançáveis a partir do pivô, seguindo
+		 * sucessores (frente) ou antecessores (trás).
+		 */
+		private void alcancar(int pivo, int cor, boolean frente, int[] fila) {
+			int[] marcas;
+			int fim, v, w, grau;
+
+			marcas = frente ? marcasFrente : marcasTras;
+			marcas[pivo] = cor;
+			fila[0] = pivo;
+			fim = 1;
+
+			for (int k = 0; k < fim; k++) {
+				v = fila[k];
+				grau = frente ? G.grauSaida(v) : G.grauEntrada(v);
+
+				for (int i = 0; i < grau; i++) {
+					w = frente ? G.sucessor(v, i) : G.antecessor(v, i);
+
+					if (cores[w] == cor && marcas[w] != cor) {
+						marcas[w] = cor;
+						fila[fim++] = w;
+					}
+				}
+			}
+		}
+
+		private class Particao extends RecursiveAction {
+			private static final long serialVersionUID = 1L;
+			private final int[] vertices;
+			private final int cor;
+
+			Particao(int[] vertices, int cor) {
+				this.vertices = vertices;
+				this.cor = cor;
+			}
+
+			@Override
+			protected void compute() {
+				final int[] restantes;
+				final int pivo;
+				int[] frente, tras, resto;
+				int nf, nt, nr, corFrente, corTras, corResto, componente, v;
+				RecursiveAction paraTras;
+
+				if ((restantes = aparar(vertices, cor)).length == 0)
+					return;
+
+				pivo = restantes[0];
+
+				if (restantes.length > GRAO) {
+					paraTras = new RecursiveAction() {
+						private static final long serialVersionUID = 1L;
+
+						@Override
+						protected void compute() {
+							alcancar(pivo, cor, false, new int[restantes.length]);
+						}
+					};
+					paraTras.fork();
+					alcancar(pivo, cor, true, new int[restantes.length]);
+					paraTras.join();
+				} else {
+					frente = new int[restantes.length];
+					alcancar(pivo, cor, true, frente);
+					alcancar(pivo, cor, false, frente);
+				}
+
+				frente = new int[restantes.length];
+				tras = new int[restantes.length];
+				resto = new int[restantes.length];
+				nf = nt = nr = 0;
+				corFrente = proximaCor.getAndIncrement();
+				corTras = proximaCor.getAndIncrement();
+				corResto = proximaCor.getAndIncrement();
+				componente = proximoComponente.getAndIncrement();
+
+				for (int k = 0; k < restantes.length; k++) {
+					v = restantes[k];
+
+					if (marcasFrente[v] == cor) {
+						if (marcasTras[v] == cor) {
+							cores[v] = 0;
+							componentes[v] = componente;
+						} else {
+							cores[v] = corFrente;
+							frente[nf++] = v;
+						}
+					} else if (marcasTras[v] == cor) {
+						cores[v] = corTras;
+						tras[nt++] = v;
+					} else {
+						cores[v] = corResto;
+						resto[nr++] = v;
+					}
+				}
+
+				invokeAll(new Particao(Arrays.copyOf(frente, nf), corFrente),
+						new Particao(Arrays.copyOf(tras, nt), corTras),
+						new Particao(Arrays.copyOf(resto, nr), corResto));
+			}
+		}
+	}
+}
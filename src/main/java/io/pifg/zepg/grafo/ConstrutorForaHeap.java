@@ -0,0 +1,205 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Arrays;
+
+/**
+ * Carga em lote de um {@link DigrafoForaHeap} sem materializar os arcos no heap. Os arcos são
+ * acumulados fora do heap como pares (origem, extremidade), em número que pode exceder 2^31;
+ * na construção, são distribuídos por origem (ordenação por contagem), cada linha é ordenada
+ * e tem os repetidos descartados, e os antecessores saem ordenados de uma segunda
+ * distribuição. O pico de memória fora do heap é de cerca de 20 bytes por arco.
+ * <p>
+ * Os ids atribuídos aos vértices são densos, na ordem de inclusão, e são os mesmos no grafo
+ * construído. Após {@link #construir()}, os arcos acumulados são descartados.
+ * @param <T> tipo de objeto que será representado como vértice.
+ */
+public class ConstrutorForaHeap<T> {
+	private final DicionarioVertices<T> ids;
+	private final int deslocamento;
+	private MemoriaForaHeap arcos;
+	private long numArcos;
+
+	public ConstrutorForaHeap() {
+		this(16, 16);
+	}
+
+	/**
+	 * @param verticesEsperados - número de vértices esperado, usado para pré-dimensionamento
+	 * @param arcosEsperados - número de arcos esperado, usado para pré-dimensionamento
+	 */
+	public ConstrutorForaHeap(int verticesEsperados, long arcosEsperados) {
+		this(verticesEsperados, arcosEsperados, MemoriaForaHeap.DESLOCAMENTO_PADRAO);
+	}
+
+	/**
+	 * @param deslocamento - log2 do tamanho dos blocos de memória; valores pequenos servem para
+	 * exercitar o endereçamento entre blocos sem alocar gigabytes
+	 */
+	ConstrutorForaHeap(int verticesEsperados, long arcosEsperados, int deslocamento) {
+		ids = new DicionarioVertices<T>(verticesEsperados);
+		this.deslocamento = deslocamento;
+		arcos = new MemoriaForaHeap(8 * Math.max(16, arcosEsperados), deslocamento);
+	}
+
+	/**
+	 * Registra um objeto como vértice.
+	 * @param obj - objeto que será armazenado como vértice
+	 * @return int correspondente ao id do vértice (novo ou já existente).
+	 */
+	public int adicionarVertice(T obj) {
+		return ids.adicionar(obj);
+	}
+
+	/**
+	 * Registra um arco entre dois objetos, registrando também como vértices os que ainda não
+	 * o foram.
+	 * @param obj1 - objeto de origem
+	 * @param obj2 - objeto de extremidade
+	 */
+	public ConstrutorForaHeap<T> adicionarAresta(T obj1, T obj2) {
+		return adicionarAresta(ids.adicionar(obj1), ids.adicionar(obj2));
+	}
+
+	/**
+	 * Registra um arco entre dois vértices já registrados.
+	 * @param obj1Id - id do vértice de origem
+	 * @param obj2Id - id do vértice de extremidade
+	 * @throws NonVerticeException se algum dos ids não corresponde a um vértice registrado.
+	 */
+	public ConstrutorForaHeap<T> adicionarAresta(int obj1Id, int obj2Id) {
+		if (obj1Id < 0 || obj1Id >= ids.capacidade() || obj2Id < 0 || obj2Id >= ids.capacidade())
+			throw new NonVerticeException();
+
+		if (arcos == null)
+			throw new IllegalStateException("Construtor já utilizado");
+
+		if (8 * (numArcos + 1) > arcos.capacidade())
+			arcos.garantir(2 * arcos.capacidade());
+
+		arcos.putInt(8 * numArcos, obj1Id);
+		arcos.putInt(8 * numArcos + 4, obj2Id);
+		numArcos++;
+
+		return this;
+	}
+
+	public long getNumeroArcos() {
+		return numArcos;
+	}
+
+	public DigrafoForaHeap<T> construir() {
+		MemoriaForaHeap inicioSucessores, sucessores, inicioAntecessores, antecessores;
+		DicionarioVertices<T> copia;
+		int n, tamanho;
+		int[] linha;
+		long inicio, fim, escrita;
+
+		if (arcos == null)
+			throw new IllegalStateException("Construtor já utilizado");
+
+		copia = ids.copiar();
+		n = copia.capacidade();
+
+		inicioSucessores = contar(n);
+		sucessores = new MemoriaForaHeap(4 * Math.max(numArcos, 1), deslocamento);
+		distribuir(inicioSucessores, n, sucessores);
+
+		linha = new int[16];
+		escrita = 0;
+		inicio = 0;
+
+		for (int v = 0; v < n; v++) {
+			fim = inicioSucessores.getLong(8L * (v + 1));
+			tamanho = (int) (fim - inicio);
+
+			if (tamanho > linha.length)
+				linha = new int[Math.max(tamanho, 2 * linha.length)];
+
+			for (int i = 0; i < tamanho; i++)
+				linha[i] = sucessores.getInt(4 * (inicio + i));
+
+			Arrays.sort(linha, 0, tamanho);
+			inicioSucessores.putLong(8L * v, escrita);
+
+			for (int i = 0; i < tamanho; i++)
+				if (i == 0 || linha[i] != linha[i - 1])
+					sucessores.putInt(4 * escrita++, linha[i]);
+
+			inicio = fim;
+		}
+
+		inicioSucessores.putLong(8L * n, escrita);
+		arcos.liberar();
+		arcos = null;
+
+		inicioAntecessores = new MemoriaForaHeap(8L * (n + 1), deslocamento);
+
+		for (long a = 0; a < escrita; a++) {
+			int w = sucessores.getInt(4 * a);
+			inicioAntecessores.putLong(8L * (w + 1), inicioAntecessores.getLong(8L * (w + 1)) + 1);
+		}
+
+		acumular(inicioAntecessores, n);
+		antecessores = new MemoriaForaHeap(4 * Math.max(escrita, 1), deslocamento);
+
+		for (int v = 0; v < n; v++)
+			for (long a = inicioSucessores.getLong(8L * v); a < inicioSucessores.getLong(8L * (v + 1)); a++) {
+				int w = sucessores.getInt(4 * a);
+				long posicao = inicioAntecessores.getLong(8L * w);
+
+				antecessores.putInt(4 * posicao, v);
+				inicioAntecessores.putLong(8L * w, posicao + 1);
+			}
+
+		// cada início avançou até o início seguinte: desloca uma posição para restaurar
+		for (int w = n; w > 0; w--)
+			inicioAntecessores.putLong(8L * w, inicioAntecessores.getLong(8L * (w - 1)));
+		inicioAntecessores.putLong(0, 0);
+
+		return new DigrafoForaHeap<T>(copia, inicioSucessores, sucessores, inicioAntecessores, antecessores);
+	}
+
+	/**
+	 * Conta os arcos por origem e acumula as contagens em inícios de linha.
+	 */
+	private MemoriaForaHeap contar(int n) {
+		MemoriaForaHeap inicios;
+		int v;
+
+		inicios = new MemoriaForaHeap(8L * (n + 1), deslocamento);
+
+		for (long a = 0; a < numArcos; a++) {
+			v = arcos.getInt(8 * a);
+			inicios.putLong(8L * (v + 1), inicios.getLong(8L * (v + 1)) + 1);
+		}
+
+		acumular(inicios, n);
+
+		return inicios;
+	}
+
+	private static void acumular(MemoriaForaHeap inicios, int n) {
+		for (int v = 0; v < n; v++)
+			inicios.putLong(8L * (v + 1), inicios.getLong(8L * (v + 1)) + inicios.getLong(8L * v));
+	}
+
+	/**
+	 * Distribui as extremidades dos arcos pelas linhas de suas origens, usando os inícios como
+	 * cursores e restaurando-os ao final.
+	 */
+	private void distribuir(MemoriaForaHeap inicios, int n, MemoriaForaHeap destino) {
+		long posicao;
+		int v;
+
+		for (long a = 0; a < numArcos; a++) {
+			v = arcos.getInt(8 * a);
+			posicao = inicios.getLong(8L * v);
+			destino.putInt(4 * posicao, arcos.getInt(8 * a + 4));
+			inicios.putLong(8L * v, posicao + 1);
+		}
+
+		for (int w = n; w > 0; w--)
+			inicios.putLong(8L * w, inicios.getLong(8L * (w - 1)));
+		inicios.putLong(0, 0);
+	}
+}
@@ -0,0 +1,263 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.IntStream;
+
+/**
+ * Carga em lote de grafos. Os vértices são registrados em um dicionário pré-dimensionado e os
+ * arcos acumulados em vetores primitivos; na construção, os arcos são distribuídos por origem
+ * (ordenação por contagem), cada linha é ordenada e tem os repetidos descartados, e as
+ * adjacências de cada vértice são criadas de uma só vez, já com o tamanho final. Os
+ * antecessores saem ordenados de uma segunda distribuição, sem nova ordenação.
+ * Com {@link #setParalelo(boolean)}, ordenação das linhas e criação das adjacências usam o
+ * pool comum do fork/join.
+ * <p>
+ * Os ids atribuídos aos vértices são densos, na ordem de inclusão, e são os mesmos no grafo
+ * construído. O construtor pode ser reutilizado: cada chamada a construir gera um grafo
+ * independente com o conteúdo acumulado até então.
+ * @param <T> tipo de objeto que será representado como vértice pela estrutura de grafo.
+ */
+public class ConstrutorGrafo<T> {
+	private final DicionarioVertices<T> ids;
+	private int[] origens;
+	private int[] destinos;
+	private int numArcos;
+	private TipoAdjacencia tipoAdjacencia;
+	private boolean paralelo;
+
+	public ConstrutorGrafo() {
+		this(16, 16);
+	}
+
+	/**
+	 * @param verticesEsperados - número de vértices esperado, usado para pré-dimensionamento
+	 * @param arcosEsperados - número de arcos esperado, usado para pré-dimensionamento
+	 */
+	public ConstrutorGrafo(int verticesEsperados, int arcosEsperados) {
+		ids = new DicionarioVertices<T>(verticesEsperados);
+		origens = new int[Math.max(16, arcosEsperados)];
+		destinos = new int[origens.length];
+		tipoAdjacencia = TipoAdjacencia.HASH;
+	}
+
+	/**
+	 * @param tipoAdjacencia - estratégia de armazenamento das adjacências do grafo construído
+	 */
+	public ConstrutorGrafo<T> setTipoAdjacencia(TipoAdjacencia tipoAdjacencia) {
+		this.tipoAdjacencia = tipoAdjacencia;
+		return this;
+	}
+
+	/**
+	 * @param paralelo - true para ordenar e montar as adjacências em paralelo
+	 */
+	public ConstrutorGrafo<T> setParalelo(boolean paralelo) {
+		this.paralelo = paralelo;
+		return this;
+	}
+
+	/**
+	 * Registra um objeto como vértice.
+	 * @param obj - objeto que será armazenado como vértice
+	 * @return int correspondente ao id do vértice (novo ou já existente).
+	 */
+	public int adicionarVertice(T obj) {
+		return ids.adicionar(obj);
+	}
+
+	public ConstrutorGrafo<T> adicionarVertices(Collection<? extends T> objs) {
+		for (T obj : objs)
+			ids.adicionar(obj);
+
+		return this;
+	}
+
+	/**
+	 * Registra um arco entre dois objetos, registrando também como vértices os que ainda não
+	 * o foram.
+	 * @param obj1 - objeto de origem
+	 * @param obj2 - objeto de extremidade
+	 */
+	public ConstrutorGrafo<T> adicionarAresta(T obj1, T obj2) {
+		return adicionarAresta(ids.adicionar(obj1), ids.adicionar(obj2));
+	}
+
+	/**
+	 * Registra um arco entre dois vértices já registrados.
+	 * @param obj1Id - id do vértice de origem
+	 * @param obj2Id - id do vértice de extremidade
+	 * @throws NonVerticeException se algum dos ids não corresponde a um vértice registrado.
+	 */
+	public ConstrutorGrafo<T> adicionarAresta(int obj1Id, int obj2Id) {
+		validar(obj1Id);
+		validar(obj2Id);
+		reservar(1);
+		origens[numArcos] = obj1Id;
+		destinos[numArcos++] = obj2Id;
+
+		return this;
+	}
+
+	/**
+	 * Registra os arcos origens[i] -> destinos[i] entre vértices já registrados.
+	 * @param origens - ids dos vértices de origem
+	 * @param destinos - ids dos vértices de extremidade, com o mesmo tamanho de origens
+	 * @throws NonVerticeException se algum dos ids não corresponde a um vértice registrado.
+	 */
+	public ConstrutorGrafo<T> adicionarArestas(int[] origens, int[] destinos) {
+		if (origens.length != destinos.length)
+			throw new IllegalArgumentException();
+
+		for (int i = 0; i < origens.length; i++) {
+			validar(origens[i]);
+			validar(destinos[i]);
+		}
+
+		reservar(origens.length);
+		System.arraycopy(origens, 0, this.origens, numArcos, origens.length);
+		System.arraycopy(destinos, 0, this.destinos, numArcos, destinos.length);
+		numArcos += origens.length;
+
+		return this;
+	}
+
+	private void validar(int id) {
+		if (id < 0 || id >= ids.capacidade())
+			throw new NonVerticeException();
+	}
+
+	private void reservar(int n) {
+		int capacidade;
+
+		if (numArcos + n > origens.length) {
+			capacidade = Math.max(numArcos + n, origens.length * 2);
+			origens = Arrays.copyOf(origens, capacidade);
+			destinos = Arrays.copyOf(destinos, capacidade);
+		}
+	}
+
+	public Grafo<T> construirGrafo() {
+		Grafo<T> G;
+
+		G = new Grafo<T>(tipoAdjacencia);
+		preencher(G);
+
+		return G;
+	}
+
+	public Digrafo<T> construirDigrafo() {
+		Digrafo<T> G;
+
+		G = new Digrafo<T>(tipoAdjacencia);
+		preencher(G);
+
+		return G;
+	}
+
+	/**
+	 * Constrói um DAG, rejeitando o conjunto de arcos se ele contiver ciclo.
+	 * @throws CicloException se os arcos acumulados formam ciclo (inclusive laços).
+	 */
+	public DAG<T> construirDAG() {
+		DAG<T> G;
+		
+		G = new DAG<T>(tipoAdjacencia);
+		preencher(G);
+		
+		return G;
+	}
+
+	private void preencher(Grafo<T> G) {
+		final int n;
+		final int[] inicioSucessores, inicioAntecessores, sucessores, antecessores, tamanhos;
+		final ArrayList<Vertice<T>> vertices;
+		final DicionarioVertices<T> copia;
+		final Vertice<?>[] novos;
+		int[] cursores;
+		int arcos;
+
+		copia = ids.copiar();
+		n = copia.capacidade();
+
+		inicioSucessores = new int[n + 1];
+		for (int i = 0; i < numArcos; i++)
+			inicioSucessores[origens[i] + 1]++;
+		for (int v = 0; v < n; v++)
+			inicioSucessores[v + 1] += inicioSucessores[v];
+
+		sucessores = new int[numArcos];
+		cursores = Arrays.copyOf(inicioSucessores, n);
+		for (int i = 0; i < numArcos; i++)
+			sucessores[cursores[origens[i]]++] = destinos[i];
+
+		tamanhos = new int[n];
+
+		faixa(n).forEach(v -> tamanhos[v] = ordenarSemRepetidos(sucessores, inicioSucessores[v], inicioSucessores[v + 1]));
+
+		arcos = 0;
+		for (int v = 0; v < n; v++) {
+			System.arraycopy(sucessores, inicioSucessores[v], sucessores, arcos, tamanhos[v]);
+			inicioSucessores[v] = arcos;
+			arcos += tamanhos[v];
+		}
+		inicioSucessores[n] = arcos;
+
+		inicioAntecessores = new int[n + 1];
+		for (int i = 0; i < arcos; i++)
+			inicioAntecessores[sucessores[i] + 1]++;
+		for (int v = 0; v < n; v++)
+			inicioAntecessores[v + 1] += inicioAntecessores[v];
+
+		antecessores = new int[arcos];
+		cursores = Arrays.copyOf(inicioAntecessores, n);
+		for (int v = 0; v < n; v++)
+			for (int i = inicioSucessores[v]; i < inicioSucessores[v + 1]; i++)
+				antecessores[cursores[sucessores[i]]++] = v;
+
+		novos = new Vertice<?>[n];
+
+		faixa(n).forEach(v -> {
+			T obj;
+
+			if ((obj = copia.getObjeto(v)) != null)
+				novos[v] = new Vertice<T>(obj, v,
+						tipoAdjacencia.criar(sucessores, inicioSucessores[v], inicioSucessores[v + 1]),
+						tipoAdjacencia.criar(antecessores, inicioAntecessores[v], inicioAntecessores[v + 1]));
+		});
+
+		vertices = new ArrayList<Vertice<T>>(n);
+		for (int v = 0; v < n; v++) {
+			@SuppressWarnings("unchecked")
+			Vertice<T> vertice = (Vertice<T>) novos[v];
+			vertices.add(vertice);
+		}
+
+		G.carregar(copia, vertices);
+	}
+
+	private IntStream faixa(int n) {
+		return paralelo ? IntStream.range(0, n).parallel() : IntStream.range(0, n);
+	}
+
+	/**
+	 * Ordena um trecho de vetor e move os valores distintos para seu início.
+	 * @return int correspondente ao número de valores distintos.
+	 */
+	private static int ordenarSemRepetidos(int[] valores, int inicio, int fim) {
+		int m;
+
+		if (inicio == fim)
+			return 0;
+
+		Arrays.sort(valores, inicio, fim);
+
+		m = inicio + 1;
+		for (int i = inicio + 1; i < fim; i++)
+			if (valores[i] != valores[m - 1])
+				valores[m++] = valores[i];
+
+		return m - inicio;
+	}
+}
@@ -1,32 +1,204 @@
 package io.pifg.zepg.grafo;
 
 import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
 
 public class DAG<T> extends Digrafo<T> {
-	public ArrayList<T> ordenacaoTopologica() {
-		ArrayList<T> lista = new ArrayList<T>();
-		ArrayList<T> fontes = new ArrayList<T>();
-		ArrayList<T> visitados = new ArrayList<T>();
+	private volatile IndiceVersionado indice;
+	private OrdemTopologicaDinamica ordem;
+	
+	public DAG() {
+		this(TipoAdjacencia.HASH);
+	}
+	
+	/**
+	 * @param tipoAdjacencia - estratégia de armazenamento das adjacências de cada vértice
+	 */
+	public DAG(TipoAdjacencia tipoAdjacencia) {
+		super(tipoAdjacencia);
+		ordem = new OrdemTopologicaDinamica(this);
+	}
+	
+	@Override
+	public boolean adicionarVertice(T obj) {
+		if (!super.adicionarVertice(obj))
+			return false;
+		
+		ordem.adicionarVertice(getId(obj));
+		
+		return true;
+	}
+	
+	/**
+	 * Adiciona um arco ao grafo, desde que não crie um ciclo. A ordem topológica mantida pelo
+	 * grafo é ajustada apenas na região entre as posições dos dois vértices.
+	 * @param obj1Id - id do objeto armazenado como vértice no grafo (origem do arco)
+	 * @param obj2Id - id do objeto armazenado como vértice no grafo (extremidade do arco)
+	 * @return true se o arco foi adicionado; false se já existia, se algum dos vértices não
+	 * está no grafo ou se o arco criaria um ciclo.
+	 */
+	@Override
+	public boolean adicionarAresta(int obj1Id, int obj2Id) {
+		if (!contemVertice(obj1Id) || !contemVertice(obj2Id) || contemArco(obj1Id, obj2Id))
+			return false;
+		
+		if (!ordem.adicionarArco(obj1Id, obj2Id))
+			return false;
+		
+		return super.adicionarAresta(obj1Id, obj2Id);
+	}
+	
+	/**
+	 * Substitui o conteúdo do grafo por vértices e arcos já construídos, reconstruindo a ordem
+	 * topológica mantida a partir dos níveis topológicos.
+	 * @throws CicloException se os arcos formam ciclo.
+	 */
+	@Override
+	void carregar(DicionarioVertices<T> ids, ArrayList<Vertice<T>> vertices) {
+		super.carregar(ids, vertices);
+		ordem = new OrdemTopologicaDinamica(this);
+		
+		for (int[] nivel : new NiveisTopologicos(this).calcular(ForkJoinPool.commonPool()))
+			for (int id : nivel)
+				ordem.adicionarVertice(id);
+	}
+	
+	@Override
+	protected boolean removerVertice(Vertice<T> v) {
+		if (!super.removerVertice(v))
+			return false;
+		
+		ordem.removerVertice(v.getId());
+		
+		return true;
+	}
+	
+	/**
+	 * Verifica se existe caminho de um objeto a outro, ambos representados como vértices no grafo.
+	 * As consultas usam um índice de alcançabilidade, reconstruído automaticamente na primeira
+	 * consulta após qualquer alteração no grafo.
+	 * @param obj1 - objeto armazenado como vértice no grafo (origem)
+	 * @param obj2 - objeto armazenado como vértice no grafo (destino)
+	 * @return true se obj2 é alcançável a partir de obj1; caso contrário, false.
+	 */
+	public boolean alcanca(T obj1, T obj2) {
+		return alcanca(getId(obj1), getId(obj2));
+	}
+	
+	/**
+	 * Verifica se existe caminho de um objeto a outro, ambos representados como vértices no grafo.
+	 * @param objId1 - id do objeto armazenado como vértice no grafo (origem)
+	 * @param objId2 - id do objeto armazenado como vértice no grafo (destino)
+	 * @return true se obj2 é alcançável a partir de obj1; caso contrário, false.
+	 */
+	public boolean alcanca(int objId1, int objId2) {
+		return getIndiceAlcancabilidade().alcanca(objId1, objId2);
+	}
+	
+	/**
+	 * Retorna o índice de alcançabilidade do estado atual do grafo, reconstruindo-o se houve
+	 * alteração desde a última construção. O índice e a versão em que foi construído são
+	 * publicados juntos, de modo que leitores concorrentes de um grafo que não está sendo
+	 * alterado sempre obtêm um índice completo; no pior caso, mais de um deles o reconstrói.
+	 * @return IndiceAlcancabilidade atualizado.
+	 */
+	public IndiceAlcancabilidade getIndiceAlcancabilidade() {
+		IndiceVersionado atual;
+		
+		if ((atual = indice) == null || atual.versao != getVersao())
+			indice = atual = new IndiceVersionado(new IndiceAlcancabilidade(this), getVersao());
+		
+		return atual.indice;
+	}
+	
+	private static final class IndiceVersionado {
+		final IndiceAlcancabilidade indice;
+		final long versao;
 		
-		for (T obj : this.getVertices()) {
-			if (this.antecessores(obj).isEmpty())
-				fontes.add(obj);
+		IndiceVersionado(IndiceAlcancabilidade indice, long versao) {
+			this.indice = indice;
+			this.versao = versao;
 		}
+	}
+	
+	/**
+	 * Retorna os objetos do grafo em uma ordem topológica: cada objeto aparece antes de todos
+	 * os seus sucessores. A ordem é mantida incrementalmente a cada arco incluído, de modo que
+	 * a consulta custa O(V).
+	 * @return ArrayList<T> contendo os objetos em ordem topológica.
+	 */
+	public ArrayList<T> ordenacaoTopologica() {
+		ArrayList<T> lista;
+		int[] ids;
 		
-		for (T obj : fontes)
-			ordernacaoTopologica(lista, visitados, obj);
+		ids = ordem.ordem();
+		lista = new ArrayList<T>(ids.length);
+		
+		for (int id : ids)
+			lista.add(getObjeto(id));
 		
 		return lista;
 	}
-
-	private void ordernacaoTopologica(ArrayList<T> lista, ArrayList<T> visitados, T obj) {
-		if (!visitados.contains(obj)) {
-			visitados.add(obj);
+	
+	/**
+	 * Calcula os tempos do método do caminho crítico, tratando cada objeto como uma atividade.
+	 * @param duracao - duração não negativa da atividade de cada objeto
+	 * @return CaminhoCritico com os tempos, a folga e o caminho mais longo do estado atual do grafo.
+	 */
+	public CaminhoCritico<T> caminhoCritico(ToDoubleFunction<? super T> duracao) {
+		return new CaminhoCritico<T>(this, duracao);
+	}
+	
+	/**
+	 * Retorna os ids dos vértices na ordem topológica mantida pelo grafo.
+	 * @return int[] com os ids dos vértices.
+	 */
+	int[] ordemIds() {
+		return ordem.ordem();
+	}
+	
+	/**
+	 * Retorna a posição de um vértice na ordem topológica mantida pelo grafo. Posições são
+	 * comparáveis entre si, mas não são contíguas.
+	 */
+	int posicaoTopologica(int id) {
+		return ordem.posicao(id);
+	}
+	
+	/**
+	 * Particiona os objetos do grafo em níveis topológicos, calculados em paralelo no pool comum.
+	 * @return ArrayList<ArrayList<T>> com os níveis, do nível 0 (fontes) em diante.
+	 * @throws CicloException se o grafo possui ciclo.
+	 */
+	public ArrayList<ArrayList<T>> niveisTopologicos() {
+		return niveisTopologicos(ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Particiona os objetos do grafo em níveis topológicos (anticadeias): o nível 0 contém os
+	 * objetos sem antecessores e cada objeto fica no nível seguinte ao de seu antecessor mais
+	 * profundo. Objetos de um mesmo nível não dependem uns dos outros e podem ser processados
+	 * concorrentemente, desde que os níveis anteriores tenham sido concluídos.
+	 * @param pool - pool em que os níveis são calculados
+	 * @return ArrayList<ArrayList<T>> com os níveis, do nível 0 (fontes) em diante.
+	 * @throws CicloException se o grafo possui ciclo.
+	 */
+	public ArrayList<ArrayList<T>> niveisTopologicos(ForkJoinPool pool) {
+		ArrayList<ArrayList<T>> niveis;
+		ArrayList<T> objetos;
+		
+		niveis = new ArrayList<ArrayList<T>>();
+		
+		for (int[] nivel : new NiveisTopologicos(this).calcular(pool)) {
+			objetos = new ArrayList<T>(nivel.length);
 			
-			for (T w : this.sucessores(obj))
-				ordernacaoTopologica(lista, visitados, w);
+			for (int id : nivel)
+				objetos.add(getObjeto(id));
 			
-			lista.add(0, obj);
+			niveis.add(objetos);
 		}
+		
+		return niveis;
 	}
 }
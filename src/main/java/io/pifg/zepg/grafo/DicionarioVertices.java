@@ -0,0 +1,216 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Arrays;
+
+/**
+ * Dicionário que associa cada objeto a um id inteiro denso e único, usado como identidade
+ * dos vértices no grafo. A igualdade dos objetos é verificada com equals, de modo que objetos
+ * distintos com o mesmo hashCode recebem ids distintos. Os ids ficam em [0, capacidade()) e
+ * são reaproveitados após remoções, podendo indexar diretamente vetores primitivos.
+ * Implementado com endereçamento aberto (sondagem linear) sobre vetores primitivos.
+ * @param <T> tipo de objeto armazenado.
+ */
+public class DicionarioVertices<T> {
+	private static final int VAZIO = -1;
+	private static final int REMOVIDO = -2;
+	private static final int CAPACIDADE_INICIAL = 16;
+
+	private int[] tabela;
+	private int[] hashes;
+	private Object[] objetos;
+	private int[] livres;
+	private int numLivres;
+	private int capacidade;
+	private int tamanho;
+	private int ocupados;
+
+	public DicionarioVertices() {
+		this(CAPACIDADE_INICIAL);
+	}
+
+	/**
+	 * @param tamanhoEsperado - número de objetos esperado, usado para pré-dimensionar as tabelas
+	 */
+	public DicionarioVertices(int tamanhoEsperado) {
+		int n;
+
+		n = Math.max(CAPACIDADE_INICIAL, tamanhoEsperado);
+		tabela = new int[tamanhoTabela(n)];
+		Arrays.fill(tabela, VAZIO);
+		hashes = new int[n];
+		objetos = new Object[n];
+		livres = new int[0];
+	}
+
+	private DicionarioVertices(DicionarioVertices<T> d) {
+		tabela = d.tabela.clone();
+		hashes = d.hashes.clone();
+		objetos = d.objetos.clone();
+		livres = Arrays.copyOf(d.livres, d.numLivres);
+		numLivres = d.numLivres;
+		capacidade = d.capacidade;
+		tamanho = d.tamanho;
+		ocupados = d.ocupados;
+	}
+
+	private static int tamanhoTabela(int n) {
+		return Integer.highestOneBit(Math.max(2, n) * 2 - 1) << 1;
+	}
+
+	private static int espalhar(int h) {
+		h *= 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Retorna o id de um objeto.
+	 * @param obj - objeto armazenado no dicionário
+	 * @return int correspondente ao id do objeto, ou -1 se o objeto não está no dicionário.
+	 */
+	public int getId(T obj) {
+		int h, mascara, i, id;
+
+		h = espalhar(obj.hashCode());
+		mascara = tabela.length - 1;
+
+		for (i = h & mascara; (id = tabela[i]) != VAZIO; i = (i + 1) & mascara)
+			if (id != REMOVIDO && hashes[id] == h && obj.equals(objetos[id]))
+				return id;
+
+		return -1;
+	}
+
+	/**
+	 * Adiciona um objeto ao dicionário, caso ainda não esteja presente.
+	 * @param obj - objeto a ser adicionado
+	 * @return int correspondente ao id do objeto (novo ou já existente).
+	 */
+	public int adicionar(T obj) {
+		int h, mascara, i, id, livre;
+
+		h = espalhar(obj.hashCode());
+		mascara = tabela.length - 1;
+		livre = -1;
+
+		for (i = h & mascara; (id = tabela[i]) != VAZIO; i = (i + 1) & mascara)
+			if (id == REMOVIDO) {
+				if (livre < 0)
+					livre = i;
+			} else if (hashes[id] == h && obj.equals(objetos[id]))
+				return id;
+
+		if (livre < 0) {
+			livre = i;
+			ocupados++;
+		}
+
+		id = novoId();
+		hashes[id] = h;
+		objetos[id] = obj;
+		tabela[livre] = id;
+		tamanho++;
+
+		if (ocupados * 2 > tabela.length)
+			redimensionar();
+
+		return id;
+	}
+
+	private int novoId() {
+		if (numLivres > 0)
+			return livres[--numLivres];
+
+		if (capacidade == objetos.length) {
+			objetos = Arrays.copyOf(objetos, capacidade * 2);
+			hashes = Arrays.copyOf(hashes, capacidade * 2);
+		}
+
+		return capacidade++;
+	}
+
+	/**
+	 * Remove um objeto do dicionário, liberando seu id para reaproveitamento.
+	 * @param obj - objeto armazenado no dicionário
+	 * @return int correspondente ao id que o objeto possuía, ou -1 se não estava no dicionário.
+	 */
+	public int remover(T obj) {
+		int h, mascara, i, id;
+
+		h = espalhar(obj.hashCode());
+		mascara = tabela.length - 1;
+
+		for (i = h & mascara; (id = tabela[i]) != VAZIO; i = (i + 1) & mascara)
+			if (id != REMOVIDO && hashes[id] == h && obj.equals(objetos[id])) {
+				tabela[i] = REMOVIDO;
+				objetos[id] = null;
+				tamanho--;
+
+				if (numLivres == livres.length)
+					livres = Arrays.copyOf(livres, Math.max(8, numLivres * 2));
+				livres[numLivres++] = id;
+
+				return id;
+			}
+
+		return -1;
+	}
+
+	private void redimensionar() {
+		int mascara, i;
+
+		tabela = new int[tamanhoTabela(Math.max(tamanho, CAPACIDADE_INICIAL))];
+		Arrays.fill(tabela, VAZIO);
+		mascara = tabela.length - 1;
+
+		for (int id = 0; id < capacidade; id++)
+			if (objetos[id] != null) {
+				for (i = hashes[id] & mascara; tabela[i] != VAZIO; i = (i + 1) & mascara)
+					;
+				tabela[i] = id;
+			}
+
+		ocupados = tamanho;
+	}
+
+	/**
+	 * Retorna o objeto associado a um id.
+	 * @param id - id do objeto
+	 * @return objeto T correspondente, ou null se o id não está em uso.
+	 */
+	@SuppressWarnings("unchecked")
+	public T getObjeto(int id) {
+		if (id < 0 || id >= capacidade)
+			return null;
+
+		return (T) objetos[id];
+	}
+
+	public boolean contem(int id) {
+		return id >= 0 && id < capacidade && objetos[id] != null;
+	}
+
+	/**
+	 * Retorna o número de objetos no dicionário.
+	 * @return int correspondente ao número de objetos.
+	 */
+	public int tamanho() {
+		return tamanho;
+	}
+
+	/**
+	 * Retorna o limite superior (exclusivo) dos ids em uso, adequado para dimensionar
+	 * vetores indexados por id.
+	 * @return int correspondente ao maior id emitido mais um.
+	 */
+	public int capacidade() {
+		return capacidade;
+	}
+
+	/**
+	 * Retorna uma cópia independente do dicionário, preservando os ids.
+	 * @return DicionarioVertices<T> com o mesmo conteúdo.
+	 */
+	public DicionarioVertices<T> copiar() {
+		return new DicionarioVertices<T>(this);
+	}
+}
@@ -1,9 +1,24 @@
 package io.pifg.zepg.grafo;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+
+import io.pifg.zepg.metricas.Metricas;
+import io.pifg.zepg.metricas.Mutacao;
+import io.pifg.zepg.search.Direcao;
 
 public class Digrafo<T> extends Grafo<T> {
+	public Digrafo() {
+		super();
+	}
+	
+	/**
+	 * @param tipoAdjacencia - estratégia de armazenamento das adjacências de cada vértice
+	 */
+	public Digrafo(TipoAdjacencia tipoAdjacencia) {
+		super(tipoAdjacencia);
+	}
+	
 	/**
 	 * Remove aresta do grafo, desligando dois objetos representados por v�rtices.
 	 * @param v1 - v�rtice no grafo (representa a origem da aresta)
@@ -18,6 +33,10 @@ public class Digrafo<T> extends Grafo<T> {
 			return false;
 		
 		v2.removerAntecessor(v1);
+		invalidarComponentes();
+		versao++;
+		Metricas.mutacao(Mutacao.ARESTA_REMOVIDA);
+		arcoRemovido(v1.getId(), v2.getId());
 		
 		return true;
 	}
@@ -28,21 +47,21 @@ public class Digrafo<T> extends Grafo<T> {
 	 * @return int correpondente ao grau de entrada do v�rtice
 	 */
 	public int getGrauEntrada(T obj) {
-		return getGrauEntrada(obj.hashCode());
+		return getGrauEntrada(getId(obj));
 	}
 	
 	/**
 	 * Retorna o grau de entrada de um objeto representado como v�rtice no grafo.
-	 * @param obj - hashCode do objeto armazenado como v�rtice no grafo
+	 * @param objId - id do objeto armazenado como v�rtice no grafo
 	 * @return int correpondente ao grau de entrada do v�rtice
 	 */
 	public int getGrauEntrada(int objId) {
 		Vertice<T> v;
 		
-		if ((v = vertices.get(objId)) == null)
+		if ((v = vertice(objId)) == null)
 			throw new NonVerticeException();
 		
-		return v.getAntecessores().size();
+		return v.getAntecessores().tamanho();
 	}
 	
 	/**
@@ -51,21 +70,21 @@ public class Digrafo<T> extends Grafo<T> {
 	 * @return int correpondente ao grau de saida do v�rtice
 	 */
 	public int getGrauSaida(T obj) {
-		return getGrauSaida(obj.hashCode());
+		return getGrauSaida(getId(obj));
 	}
 	
 	/**
 	 * Retorna o grau de saida de um objeto representado como v�rtice no grafo.
-	 * @param obj - hashCode do objeto armazenado como v�rtice no grafo
+	 * @param objId - id do objeto armazenado como v�rtice no grafo
 	 * @return int correpondente ao grau de saida do v�rtice
 	 */
 	public int getGrauSaida(int objId) {
 		Vertice<T> v;
 		
-		if ((v = vertices.get(objId)) == null)
+		if ((v = vertice(objId)) == null)
 			throw new NonVerticeException();
 		
-		return v.getSucessores().size();
+		return v.getSucessores().tamanho();
 	}
 	
 	/**
@@ -74,21 +93,35 @@ public class Digrafo<T> extends Grafo<T> {
 	 * @return ArrayList<T> contendo objetos T no grafo.
 	 */
 	public ArrayList<T> sucessores(T obj) {
-		return sucessores(obj.hashCode());
+		return sucessores(getId(obj));
 	}
 	
 	/**
 	 * Retorna uma lista contendo os objetos sucessores de um objeto representado como v�rtice no grafo.
-	 * @param objId - hashCode do objeto armazenado como v�rtice no grafo
+	 * @param objId - id do objeto armazenado como v�rtice no grafo
 	 * @return ArrayList<T> contendo objetos T no grafo.
 	 */
 	public ArrayList<T> sucessores(int objId) {
+		return visaoSucessores(objId).paraLista();
+	}
+	
+	/**
+	 * Retorna uma visão somente leitura, sem cópia, dos objetos sucessores de um objeto
+	 * representado como vértice no grafo.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return Visao<T> dos objetos T sucessores.
+	 */
+	public Visao<T> visaoSucessores(T obj) {
+		return visaoSucessores(getId(obj));
+	}
+	
+	public Visao<T> visaoSucessores(int objId) {
 		Vertice<T> v;
 		
-		if ((v = vertices.get(objId)) == null)
+		if ((v = vertice(objId)) == null)
 			throw new NonVerticeException();
 		
-		return verticesParaT(v.getSucessores());
+		return visao(v.getSucessores());
 	}
 	
 	/**
@@ -97,21 +130,35 @@ public class Digrafo<T> extends Grafo<T> {
 	 * @return ArrayList<T> contendo objetos T no grafo.
 	 */
 	public ArrayList<T> antecessores(T obj) {
-		return antecessores(obj.hashCode());
+		return antecessores(getId(obj));
 	}
 	
 	/**
 	 * Retorna uma lista contendo os objetos antecessores de um objeto representado como v�rtice no grafo.
-	 * @param objId - hashCode do objeto armazenado como v�rtice no grafo
+	 * @param objId - id do objeto armazenado como v�rtice no grafo
 	 * @return ArrayList<T> contendo objetos T no grafo.
 	 */
 	public ArrayList<T> antecessores(int objId) {
+		return visaoAntecessores(objId).paraLista();
+	}
+	
+	/**
+	 * Retorna uma visão somente leitura, sem cópia, dos objetos antecessores de um objeto
+	 * representado como vértice no grafo.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return Visao<T> dos objetos T antecessores.
+	 */
+	public Visao<T> visaoAntecessores(T obj) {
+		return visaoAntecessores(getId(obj));
+	}
+	
+	public Visao<T> visaoAntecessores(int objId) {
 		Vertice<T> v;
 		
-		if ((v = vertices.get(objId)) == null)
+		if ((v = vertice(objId)) == null)
 			throw new NonVerticeException();
 		
-		return verticesParaT(v.getAntecessores());
+		return visao(v.getAntecessores());
 	}
 	
 	/**
@@ -121,37 +168,17 @@ public class Digrafo<T> extends Grafo<T> {
 	 * @return ArrayList<T> contendo objetos T no grafo.
 	 */
 	public ArrayList<T> fechoTransitivoDireto(T obj) {
-		return fechoTransitivoDireto(obj.hashCode());
+		return fechoTransitivoDireto(getId(obj));
 	}
 	
 	/**
 	 * Retorna uma lista contendo os objetos que s�o transitivamente alcanc�veis
 	 * partindo-se de um objeto representado como v�rtice no grafo.
-	 * @param obj - hashCode do objeto armazenado como v�rtice no grafo
+	 * @param objId - id do objeto armazenado como v�rtice no grafo
 	 * @return ArrayList<T> contendo objetos T no grafo.
 	 */
 	public ArrayList<T> fechoTransitivoDireto(int objId) {
-		Vertice<T> v;
-		
-		if ((v = vertices.get(objId)) == null)
-			throw new NonVerticeException();
-		
-		Collection<Vertice<T>> F;
-	
-		F = new ArrayList<Vertice<T>>();
-		
-		F.add(v);
-		fechoTransitivoDiretoR(F, v);
-		
-		return verticesParaT(F);
-	}
-	
-	private void fechoTransitivoDiretoR(Collection<Vertice<T>> F, Vertice<T> v) {
-		for (Vertice<T> w : v.getSucessores())
-			if (!F.contains(w)) {
-				F.add(w);
-				fechoTransitivoDiretoR(F, w);
-			}
+		return fecho(objId, Direcao.SUCESSORES);
 	}
 	
 	/**
@@ -161,45 +188,83 @@ public class Digrafo<T> extends Grafo<T> {
 	 * @return ArrayList<T> contendo objetos T no grafo.
 	 */
 	public ArrayList<T> fechoTransitivoIndireto(T obj) {
-		return fechoTransitivoIndireto(obj.hashCode());
+		return fechoTransitivoIndireto(getId(obj));
 	}
 	
 	/**
 	 * Retorna uma lista contendo os objetos que alcan�am transitivamente
 	 * um objeto representado como v�rtice no grafo.
-	 * @param obj - hashCode do objeto armazenado como v�rtice no grafo
+	 * @param objId - id do objeto armazenado como v�rtice no grafo
 	 * @return ArrayList<T> contendo objetos T no grafo.
 	 */
 	public ArrayList<T> fechoTransitivoIndireto(int objId) {
+		return fecho(objId, Direcao.ANTECESSORES);
+	}
+	
+	public boolean contemArco(T obj1, T obj2) {
+		return contemArco(getId(obj1), getId(obj2));
+	}
+	
+	public boolean contemArco(int objId1, int objId2) {
 		Vertice<T> v;
 		
-		if ((v = vertices.get(objId)) == null)
+		if ((v = vertice(objId1)) == null)
 			throw new NonVerticeException();
 		
-		Collection<Vertice<T>> F;
-		
-		F = new ArrayList<Vertice<T>>();
-		
-		F.add(v);
-		fechoTransitivoIndiretoR(F, v);
-		
-		return verticesParaT(F);
+		return v.contemSucessor(objId2);
 	}
 	
-	private void fechoTransitivoIndiretoR(Collection<Vertice<T>> F, Vertice<T> v) {
-		for (Vertice<T> w : v.getAntecessores())
-			if (!F.contains(w)) {
-				F.add(w);
-				fechoTransitivoIndiretoR(F, w);
-			}
+	/**
+	 * Calcula os componentes fortemente conexos do estado atual do grafo (Tarjan iterativo).
+	 * @return ComponentesFortes numerados em ordem topológica da condensação.
+	 */
+	public ComponentesFortes componentesFortes() {
+		return new ComponentesFortes(this);
 	}
 	
-	public boolean contemArco(int objId1, int objId2) {
-		for (T sucessor : sucessores(objId1)) {
-			if (sucessor.hashCode() == objId2)
-				return true;
+	/**
+	 * Calcula os componentes fortemente conexos do estado atual do grafo em paralelo, pela
+	 * decomposição para frente e para trás; indicado para grafos muito grandes.
+	 * @param pool - pool em que o cálculo é feito
+	 * @return ComponentesFortes numerados em ordem topológica da condensação.
+	 */
+	public ComponentesFortes componentesFortes(ForkJoinPool pool) {
+		return new ComponentesFortes(this, pool);
+	}
+	
+	/**
+	 * Particiona os objetos do grafo em componentes fortemente conexos: dois objetos estão no
+	 * mesmo componente se e somente se cada um alcança o outro.
+	 * @return ArrayList<ArrayList<T>> com os componentes, em ordem topológica da condensação.
+	 */
+	public ArrayList<ArrayList<T>> getComponentesFortes() {
+		ArrayList<ArrayList<T>> lista;
+		ArrayList<T> objetos;
+		ComponentesFortes C;
+		
+		C = componentesFortes();
+		lista = new ArrayList<ArrayList<T>>(C.getNumComponentes());
+		
+		for (int c = 0; c < C.getNumComponentes(); c++) {
+			objetos = new ArrayList<T>(C.tamanho(c));
+			
+			for (int id : C.membros(c))
+				objetos.add(getObjeto(id));
+			
+			lista.add(objetos);
 		}
 		
-		return false;
+		return lista;
+	}
+	
+	/**
+	 * Gera a condensação do grafo, contraindo cada componente fortemente conexo a um vértice,
+	 * para que algoritmos de DAG (ordenação topológica, alcançabilidade) possam ser aplicados
+	 * a grafos com ciclos. O objeto de cada vértice do DAG é o índice do componente em
+	 * {@link #componentesFortes()}.
+	 * @return DAG<Integer> com os componentes como vértices.
+	 */
+	public DAG<Integer> condensacao() {
+		return componentesFortes().condensacao();
 	}
 }
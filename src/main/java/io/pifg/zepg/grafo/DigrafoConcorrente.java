@@ -0,0 +1,108 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+
+import io.pifg.zepg.search.Direcao;
+
+/**
+ * Variante thread-safe de {@link Digrafo}; ver {@link GrafoConcorrente} para as garantias
+ * de concorrência.
+ * @param <T> tipo de objeto que será representado como vértice pela estrutura de grafo.
+ */
+public class DigrafoConcorrente<T> extends GrafoConcorrente<T> {
+	public DigrafoConcorrente() {
+		super();
+	}
+
+	/**
+	 * Remove o arco partindo de um vértice e chegando em outro.
+	 * @param obj1Id - id do objeto armazenado como vértice no grafo (origem do arco)
+	 * @param obj2Id - id do objeto armazenado como vértice no grafo (extremidade do arco)
+	 * @return true se o arco foi removido com sucesso; caso contrário, false.
+	 */
+	@Override
+	public boolean removerAresta(int obj1Id, int obj2Id) {
+		if (no(obj1Id) == null || no(obj2Id) == null)
+			return false;
+
+		return desligar(obj1Id, obj2Id);
+	}
+
+	/**
+	 * Retorna o grau de entrada de um objeto representado como vértice no grafo.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return int correpondente ao grau de entrada do vértice
+	 */
+	public int getGrauEntrada(T obj) {
+		return getGrauEntrada(getId(obj));
+	}
+
+	public int getGrauEntrada(int objId) {
+		return noExistente(objId).antecessores.tamanho;
+	}
+
+	/**
+	 * Retorna o grau de saída de um objeto representado como vértice no grafo.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return int correpondente ao grau de saída do vértice
+	 */
+	public int getGrauSaida(T obj) {
+		return getGrauSaida(getId(obj));
+	}
+
+	public int getGrauSaida(int objId) {
+		return noExistente(objId).sucessores.tamanho;
+	}
+
+	public ArrayList<T> sucessores(T obj) {
+		return sucessores(getId(obj));
+	}
+
+	public ArrayList<T> sucessores(int objId) {
+		return idsParaT(noExistente(objId).sucessores);
+	}
+
+	public ArrayList<T> antecessores(T obj) {
+		return antecessores(getId(obj));
+	}
+
+	public ArrayList<T> antecessores(int objId) {
+		return idsParaT(noExistente(objId).antecessores);
+	}
+
+	/**
+	 * Retorna uma lista contendo os objetos que são transitivamente alcançáveis
+	 * partindo-se de um objeto representado como vértice no grafo.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return ArrayList<T> contendo objetos T no grafo.
+	 */
+	public ArrayList<T> fechoTransitivoDireto(T obj) {
+		return fechoTransitivoDireto(getId(obj));
+	}
+
+	public ArrayList<T> fechoTransitivoDireto(int objId) {
+		return fecho(objId, Direcao.SUCESSORES);
+	}
+
+	/**
+	 * Retorna uma lista contendo os objetos que alcançam transitivamente
+	 * um objeto representado como vértice no grafo.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return ArrayList<T> contendo objetos T no grafo.
+	 */
+	public ArrayList<T> fechoTransitivoIndireto(T obj) {
+		return fechoTransitivoIndireto(getId(obj));
+	}
+
+	public ArrayList<T> fechoTransitivoIndireto(int objId) {
+		return fecho(objId, Direcao.ANTECESSORES);
+	}
+
+	public boolean contemArco(T obj1, T obj2) {
+		return contemArco(getId(obj1), getId(obj2));
+	}
+
+	public boolean contemArco(int objId1, int objId2) {
+		return noExistente(objId1).sucessores.posicao(objId2) >= 0;
+	}
+}
@@ -0,0 +1,392 @@
+package io.pifg.zepg.grafo;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Representação imutável de um grafo orientado no formato CSR com as adjacências fora do heap,
+ * para grafos grandes demais para o heap ou cujo volume tornaria as pausas de coleta
+ * inaceitáveis. Início das adjacências (long por vértice), sucessores e antecessores (int por
+ * arco) e o estado dos percursos (marcas e pilha, int por vértice) ficam em
+ * {@link MemoriaForaHeap}, endereçada por posições long, de modo que o número de arcos pode
+ * passar de 2^31. Apenas o dicionário de objetos permanece no heap.
+ * <p>
+ * As consultas espelham as de {@link GrafoCSR}, e as buscas de {@link io.pifg.zepg.search.Searcher}
+ * sobre {@link GrafoIndexado} funcionam sem alteração. Obtida por {@link Grafo#congelarForaHeap()}
+ * ou, sem passar pelo heap, por {@link ConstrutorForaHeap}. As consultas de vizinhança são
+ * thread-safe; os fechos transitivos reaproveitam o estado do percurso e não devem ser
+ * chamados concorrentemente. Após {@link #close()}, a memória é descartada.
+ * @param <T> tipo de objeto representado como vértice.
+ */
+public class DigrafoForaHeap<T> implements GrafoIndexado<T>, Closeable {
+	private final DicionarioVertices<T> ids;
+	private final long numeroArcos;
+	private MemoriaForaHeap inicioSucessores;
+	private MemoriaForaHeap sucessores;
+	private MemoriaForaHeap inicioAntecessores;
+	private MemoriaForaHeap antecessores;
+	private MemoriaForaHeap marcas;
+	private MemoriaForaHeap pilha;
+	private int rodada;
+
+	DigrafoForaHeap(DicionarioVertices<T> ids, MemoriaForaHeap inicioSucessores, MemoriaForaHeap sucessores,
+			MemoriaForaHeap inicioAntecessores, MemoriaForaHeap antecessores) {
+		this.ids = ids;
+		this.inicioSucessores = inicioSucessores;
+		this.sucessores = sucessores;
+		this.inicioAntecessores = inicioAntecessores;
+		this.antecessores = antecessores;
+		numeroArcos = inicioSucessores.getLong(8L * ids.capacidade());
+	}
+
+	/**
+	 * Copia para fora do heap os vértices e arcos de um grafo.
+	 */
+	static <T> DigrafoForaHeap<T> copiar(DicionarioVertices<T> ids, List<Vertice<T>> vertices) {
+		MemoriaForaHeap inicioSucessores, sucessores, inicioAntecessores, antecessores;
+		long arcosSucessores, arcosAntecessores;
+		int n;
+		Vertice<T> v;
+
+		n = ids.capacidade();
+		inicioSucessores = new MemoriaForaHeap(8L * (n + 1));
+		inicioAntecessores = new MemoriaForaHeap(8L * (n + 1));
+		arcosSucessores = 0;
+		arcosAntecessores = 0;
+
+		for (int i = 0; i < n; i++)
+			if ((v = vertices.get(i)) != null) {
+				arcosSucessores += v.getSucessores().tamanho();
+				arcosAntecessores += v.getAntecessores().tamanho();
+			}
+
+		sucessores = new MemoriaForaHeap(4 * arcosSucessores);
+		antecessores = new MemoriaForaHeap(4 * arcosAntecessores);
+		arcosSucessores = 0;
+		arcosAntecessores = 0;
+
+		for (int i = 0; i < n; i++) {
+			inicioSucessores.putLong(8L * i, arcosSucessores);
+			inicioAntecessores.putLong(8L * i, arcosAntecessores);
+
+			if ((v = vertices.get(i)) == null)
+				continue;
+
+			arcosSucessores = copiarOrdenado(v.getSucessores(), sucessores, arcosSucessores);
+			arcosAntecessores = copiarOrdenado(v.getAntecessores(), antecessores, arcosAntecessores);
+		}
+
+		inicioSucessores.putLong(8L * n, arcosSucessores);
+		inicioAntecessores.putLong(8L * n, arcosAntecessores);
+
+		return new DigrafoForaHeap<T>(ids.copiar(), inicioSucessores, sucessores, inicioAntecessores, antecessores);
+	}
+
+	private static long copiarOrdenado(Adjacencia adjacencia, MemoriaForaHeap destino, long posicao) {
+		int[] linha;
+
+		linha = new int[adjacencia.tamanho()];
+
+		for (int i = 0; i < linha.length; i++)
+			linha[i] = adjacencia.get(i);
+
+		Arrays.sort(linha);
+
+		for (int w : linha)
+			destino.putInt(4 * posicao++, w);
+
+		return posicao;
+	}
+
+	/**
+	 * Retorna o id de um objeto representado como vértice.
+	 * @param obj - objeto armazenado como vértice
+	 * @return int correspondente ao id do vértice, ou -1 se o objeto não está no grafo.
+	 */
+	public int getId(T obj) {
+		return ids.getId(obj);
+	}
+
+	public T getObjeto(int id) {
+		validar(id);
+		return ids.getObjeto(id);
+	}
+
+	public int getCapacidade() {
+		return ids.capacidade();
+	}
+
+	public int getOrdem() {
+		return ids.tamanho();
+	}
+
+	/**
+	 * Retorna o número de arcos, que pode exceder Integer.MAX_VALUE.
+	 * @return long correspondente ao número de arcos.
+	 */
+	public long getNumeroArcos() {
+		return numeroArcos;
+	}
+
+	public boolean contemVertice(T obj) {
+		return getId(obj) >= 0;
+	}
+
+	public boolean contemVertice(int id) {
+		return ids.contem(id);
+	}
+
+	private void validar(int id) {
+		if (sucessores == null)
+			throw new IllegalStateException("Grafo fechado");
+
+		if (!contemVertice(id))
+			throw new NonVerticeException();
+	}
+
+	public int getGrau(T obj) {
+		return getGrau(getId(obj));
+	}
+
+	public int getGrau(int id) {
+		return getGrauEntrada(id) + getGrauSaida(id);
+	}
+
+	public int getGrauEntrada(T obj) {
+		return getGrauEntrada(getId(obj));
+	}
+
+	public int getGrauEntrada(int id) {
+		validar(id);
+		return grauEntrada(id);
+	}
+
+	public int getGrauSaida(T obj) {
+		return getGrauSaida(getId(obj));
+	}
+
+	public int getGrauSaida(int id) {
+		validar(id);
+		return grauSaida(id);
+	}
+
+	public int grauSaida(int id) {
+		return (int) (inicioSucessores.getLong(8L * id + 8) - inicioSucessores.getLong(8L * id));
+	}
+
+	public int grauEntrada(int id) {
+		return (int) (inicioAntecessores.getLong(8L * id + 8) - inicioAntecessores.getLong(8L * id));
+	}
+
+	/**
+	 * Retorna o i-ésimo sucessor (em ordem crescente de id) de um vértice, sem alocação.
+	 * @param id - id denso do vértice
+	 * @param i - índice em [0, getGrauSaida(id))
+	 * @return int correspondente ao id do sucessor.
+	 */
+	public int sucessor(int id, int i) {
+		return sucessores.getInt(4 * (inicioSucessores.getLong(8L * id) + i));
+	}
+
+	/**
+	 * Retorna o i-ésimo antecessor (em ordem crescente de id) de um vértice, sem alocação.
+	 * @param id - id denso do vértice
+	 * @param i - índice em [0, getGrauEntrada(id))
+	 * @return int correspondente ao id do antecessor.
+	 */
+	public int antecessor(int id, int i) {
+		return antecessores.getInt(4 * (inicioAntecessores.getLong(8L * id) + i));
+	}
+
+	public ArrayList<T> sucessores(T obj) {
+		return sucessores(getId(obj));
+	}
+
+	public ArrayList<T> sucessores(int id) {
+		ArrayList<T> objetos;
+
+		validar(id);
+		objetos = new ArrayList<T>(grauSaida(id));
+
+		for (int i = 0; i < grauSaida(id); i++)
+			objetos.add(ids.getObjeto(sucessor(id, i)));
+
+		return objetos;
+	}
+
+	public ArrayList<T> antecessores(T obj) {
+		return antecessores(getId(obj));
+	}
+
+	public ArrayList<T> antecessores(int id) {
+		ArrayList<T> objetos;
+
+		validar(id);
+		objetos = new ArrayList<T>(grauEntrada(id));
+
+		for (int i = 0; i < grauEntrada(id); i++)
+			objetos.add(ids.getObjeto(antecessor(id, i)));
+
+		return objetos;
+	}
+
+	public ArrayList<T> adjacentes(T obj) {
+		return adjacentes(getId(obj));
+	}
+
+	public ArrayList<T> adjacentes(int id) {
+		ArrayList<T> adjacentes;
+
+		adjacentes = sucessores(id);
+		adjacentes.addAll(antecessores(id));
+
+		return adjacentes;
+	}
+
+	/**
+	 * Verifica se existe arco partindo de um vértice e chegando em outro.
+	 * @param obj1 - objeto armazenado como vértice (origem)
+	 * @param obj2 - objeto armazenado como vértice (extremidade)
+	 * @return true se o arco existe; caso contrário, false.
+	 */
+	public boolean contemArco(T obj1, T obj2) {
+		return contemArco(getId(obj1), getId(obj2));
+	}
+
+	public boolean contemArco(int id1, int id2) {
+		int inicio, fim, meio, w;
+
+		validar(id1);
+		inicio = 0;
+		fim = grauSaida(id1) - 1;
+
+		while (inicio <= fim) {
+			meio = (inicio + fim) >>> 1;
+
+			if ((w = sucessor(id1, meio)) < id2)
+				inicio = meio + 1;
+			else if (w > id2)
+				fim = meio - 1;
+			else
+				return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Retorna os objetos transitivamente alcançáveis a partir de um vértice. Orientação é ignorada.
+	 * @param obj - objeto armazenado como vértice
+	 * @return ArrayList<T> contendo objetos T.
+	 */
+	public ArrayList<T> fechoTransitivo(T obj) {
+		return fechoTransitivo(getId(obj));
+	}
+
+	public ArrayList<T> fechoTransitivo(int id) {
+		return fecho(id, true, true);
+	}
+
+	/**
+	 * Retorna os objetos transitivamente alcançáveis a partir de um vértice, seguindo os arcos.
+	 * @param obj - objeto armazenado como vértice
+	 * @return ArrayList<T> contendo objetos T.
+	 */
+	public ArrayList<T> fechoTransitivoDireto(T obj) {
+		return fechoTransitivoDireto(getId(obj));
+	}
+
+	public ArrayList<T> fechoTransitivoDireto(int id) {
+		return fecho(id, true, false);
+	}
+
+	/**
+	 * Retorna os objetos que alcançam transitivamente um vértice.
+	 * @param obj - objeto armazenado como vértice
+	 * @return ArrayList<T> contendo objetos T.
+	 */
+	public ArrayList<T> fechoTransitivoIndireto(T obj) {
+		return fechoTransitivoIndireto(getId(obj));
+	}
+
+	public ArrayList<T> fechoTransitivoIndireto(int id) {
+		return fecho(id, false, true);
+	}
+
+	/**
+	 * Percurso em profundidade com marcas por rodada e pilha fora do heap, reaproveitadas
+	 * entre consultas.
+	 */
+	private ArrayList<T> fecho(int id, boolean direto, boolean indireto) {
+		ArrayList<T> F;
+		long topo;
+		int v, w;
+
+		validar(id);
+		reiniciarPercurso();
+		F = new ArrayList<T>();
+
+		marcar(id);
+		pilha.putInt(0, id);
+		topo = 1;
+
+		while (topo > 0) {
+			v = pilha.getInt(4 * --topo);
+			F.add(ids.getObjeto(v));
+
+			if (direto)
+				for (long a = inicioSucessores.getLong(8L * v), fim = inicioSucessores.getLong(8L * v + 8); a < fim; a++)
+					if (marcar(w = sucessores.getInt(4 * a)))
+						pilha.putInt(4 * topo++, w);
+
+			if (indireto)
+				for (long a = inicioAntecessores.getLong(8L * v), fim = inicioAntecessores.getLong(8L * v + 8); a < fim; a++)
+					if (marcar(w = antecessores.getInt(4 * a)))
+						pilha.putInt(4 * topo++, w);
+		}
+
+		return F;
+	}
+
+	private void reiniciarPercurso() {
+		long bytes;
+
+		bytes = 4L * Math.max(ids.capacidade(), 1);
+
+		if (marcas == null) {
+			marcas = new MemoriaForaHeap(bytes);
+			pilha = new MemoriaForaHeap(bytes);
+		}
+
+		if (++rodada == Integer.MAX_VALUE) {
+			marcas.zerar(0, marcas.capacidade());
+			rodada = 1;
+		}
+	}
+
+	private boolean marcar(int id) {
+		if (marcas.getInt(4L * id) == rodada)
+			return false;
+
+		marcas.putInt(4L * id, rodada);
+
+		return true;
+	}
+
+	/**
+	 * Descarta a memória fora do heap; consultas posteriores falham.
+	 */
+	public void close() {
+		MemoriaForaHeap[] regioes = { inicioSucessores, sucessores, inicioAntecessores, antecessores, marcas, pilha };
+
+		for (MemoriaForaHeap regiao : regioes)
+			if (regiao != null)
+				regiao.liberar();
+
+		sucessores = null;
+		marcas = null;
+		pilha = null;
+	}
+}
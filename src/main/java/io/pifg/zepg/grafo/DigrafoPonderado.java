@@ -0,0 +1,100 @@
+package io.pifg.zepg.grafo;
+
+/**
+ * Digrafo com pesos reais não negativos nos arcos, armazenados em vetores primitivos
+ * paralelos às adjacências de sucessores, sem objetos por arco. Arcos adicionados sem peso
+ * recebem peso 1.
+ * @param <T> tipo de objeto que será representado como vértice pela estrutura de grafo.
+ */
+public class DigrafoPonderado<T> extends Digrafo<T> implements GrafoIndexadoPonderado<T> {
+	public DigrafoPonderado() {
+		super(TipoAdjacencia.HASH);
+	}
+
+	@Override
+	protected Vertice<T> criarVertice(T obj, int id) {
+		return new Vertice<T>(obj, id, new AdjacenciaPonderada(), tipoAdjacencia.criar());
+	}
+
+	private AdjacenciaPonderada pesos(Vertice<T> v) {
+		return (AdjacenciaPonderada) v.getSucessores();
+	}
+
+	private static void validarPeso(double peso) {
+		if (!(peso >= 0) || Double.isInfinite(peso))
+			throw new IllegalArgumentException("Peso inválido: " + peso);
+	}
+
+	/**
+	 * Adiciona um arco com peso ao grafo.
+	 * @param obj1 - objeto armazenado como vértice no grafo (origem do arco)
+	 * @param obj2 - objeto armazenado como vértice no grafo (extremidade do arco)
+	 * @param peso - peso do arco, finito e não negativo
+	 * @return true se o arco foi adicionado com sucesso; caso contrário, false.
+	 */
+	public boolean adicionarAresta(T obj1, T obj2, double peso) {
+		return adicionarAresta(getId(obj1), getId(obj2), peso);
+	}
+
+	public boolean adicionarAresta(int obj1Id, int obj2Id, double peso) {
+		validarPeso(peso);
+
+		if (!adicionarAresta(obj1Id, obj2Id))
+			return false;
+
+		pesos(vertice(obj1Id)).setPeso(obj2Id, peso);
+
+		return true;
+	}
+
+	/**
+	 * Retorna o peso do arco partindo de um vértice e chegando em outro.
+	 * @param obj1 - objeto armazenado como vértice no grafo (origem do arco)
+	 * @param obj2 - objeto armazenado como vértice no grafo (extremidade do arco)
+	 * @return double correspondente ao peso do arco, ou NaN se o arco não existe.
+	 */
+	public double getPeso(T obj1, T obj2) {
+		return getPeso(getId(obj1), getId(obj2));
+	}
+
+	public double getPeso(int obj1Id, int obj2Id) {
+		Vertice<T> v;
+
+		if ((v = vertice(obj1Id)) == null)
+			throw new NonVerticeException();
+
+		return pesos(v).getPeso(obj2Id);
+	}
+
+	/**
+	 * Altera o peso de um arco existente.
+	 * @param obj1 - objeto armazenado como vértice no grafo (origem do arco)
+	 * @param obj2 - objeto armazenado como vértice no grafo (extremidade do arco)
+	 * @param peso - novo peso do arco, finito e não negativo
+	 * @return true se o arco existe e teve o peso alterado; caso contrário, false.
+	 */
+	public boolean setPeso(T obj1, T obj2, double peso) {
+		return setPeso(getId(obj1), getId(obj2), peso);
+	}
+
+	public boolean setPeso(int obj1Id, int obj2Id, double peso) {
+		Vertice<T> v;
+
+		validarPeso(peso);
+
+		if ((v = vertice(obj1Id)) == null)
+			throw new NonVerticeException();
+
+		if (!pesos(v).setPeso(obj2Id, peso))
+			return false;
+
+		versao++;
+		alcancabilidadePreservada();
+
+		return true;
+	}
+
+	public double peso(int objId, int i) {
+		return pesos(vertices.get(objId)).peso(i);
+	}
+}
@@ -0,0 +1,181 @@
+package io.pifg.zepg.grafo;
+
+import io.pifg.zepg.grafo.GrafoConcorrente.Lista;
+import io.pifg.zepg.grafo.Instantaneo.No;
+
+/**
+ * Digrafo com controle de concorrência por múltiplas versões (MVCC). Cada alteração publica
+ * uma nova versão imutável ({@link Instantaneo}); leitores obtêm a versão atual com
+ * {@link #fixar()}, em O(1) e sem travas, e a percorrem pelo tempo que precisarem enquanto
+ * escritores publicam versões seguintes.
+ * <ul>
+ * <li>Vértices ficam em um vetor persistente e os ids dos objetos em um mapa persistente:
+ * uma alteração copia somente os caminhos até os vértices tocados e compartilha o restante
+ * com a versão anterior.</li>
+ * <li>Inclusões de arcos acrescentam ao fim do vetor de adjacências compartilhado, como em
+ * {@link GrafoConcorrente}, de modo que versões anteriores continuam vendo um prefixo estável.</li>
+ * <li>Escritas são serializadas por uma única trava; leituras nunca esperam por escritores.</li>
+ * <li>Versões antigas são recolhidas pelo coletor de lixo assim que nenhum leitor mantém
+ * referência a elas; não há liberação explícita.</li>
+ * </ul>
+ * Os ids não são reaproveitados após remoções.
+ * @param <T> tipo de objeto que será representado como vértice pela estrutura de grafo.
+ */
+public class DigrafoVersionado<T> {
+	private volatile Instantaneo<T> atual;
+
+	public DigrafoVersionado() {
+		atual = new Instantaneo<T>(0, 0, 0, VetorPersistente.<No<T>>vazio(), MapaIds.VAZIO);
+	}
+
+	/**
+	 * Retorna a versão atual do grafo, que permanece inalterada enquanto for usada.
+	 * @return Instantaneo<T> correspondente à última versão publicada.
+	 */
+	public Instantaneo<T> fixar() {
+		return atual;
+	}
+
+	/**
+	 * @return long correspondente ao número de alterações feitas no grafo.
+	 */
+	public long getVersao() {
+		return atual.getVersao();
+	}
+
+	public int getOrdem() {
+		return atual.getOrdem();
+	}
+
+	/**
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return int correspondente ao id do vértice na versão atual, ou -1 se o objeto não está
+	 * no grafo.
+	 */
+	public int getId(T obj) {
+		return atual.getId(obj);
+	}
+
+	private void publicar(Instantaneo<T> G, int ordem, int capacidade, VetorPersistente<No<T>> nos, MapaIds ids) {
+		atual = new Instantaneo<T>(G.getVersao() + 1, ordem, capacidade, nos, ids);
+	}
+
+	/**
+	 * Adiciona um novo vértice no grafo.
+	 * @param obj - objeto que será armazenado como um vértice do grafo
+	 * @return true se vértice foi adicionado com sucesso; caso contrário, false.
+	 */
+	public synchronized boolean adicionarVertice(T obj) {
+		Instantaneo<T> G;
+		int id;
+
+		G = atual;
+
+		if (G.contemVertice(obj))
+			return false;
+
+		id = G.getCapacidade();
+		publicar(G, G.getOrdem() + 1, id + 1, G.nos.com(id, new No<T>(obj, id, Lista.VAZIA, Lista.VAZIA)), G.ids.com(obj, id));
+
+		return true;
+	}
+
+	/**
+	 * Remove um vértice do grafo, juntamente com todas as conexões.
+	 * @param obj - objeto armazenado como vértice no grafo que será removido
+	 * @return true se o vértice foi removido com sucesso; caso contrário, false.
+	 */
+	public synchronized boolean removerVertice(T obj) {
+		Instantaneo<T> G;
+		VetorPersistente<No<T>> nos;
+		No<T> v, w;
+		int id;
+
+		G = atual;
+
+		if ((id = G.getId(obj)) < 0)
+			return false;
+
+		v = G.no(id);
+		nos = G.nos;
+
+		for (int i = 0; i < v.sucessores.tamanho; i++) {
+			if ((w = nos.obter(v.sucessores.ids[i])).id != id)
+				nos = nos.com(w.id, new No<T>(w.obj, w.id, w.sucessores, w.antecessores.sem(w.antecessores.posicao(id))));
+		}
+
+		for (int i = 0; i < v.antecessores.tamanho; i++) {
+			if ((w = nos.obter(v.antecessores.ids[i])).id != id)
+				nos = nos.com(w.id, new No<T>(w.obj, w.id, w.sucessores.sem(w.sucessores.posicao(id)), w.antecessores));
+		}
+
+		publicar(G, G.getOrdem() - 1, G.getCapacidade(), nos.com(id, null), G.ids.sem(obj));
+
+		return true;
+	}
+
+	/**
+	 * Adiciona um arco ao grafo, partindo de um objeto e chegando em outro.
+	 * @param obj1 - objeto armazenado como vértice no grafo (origem do arco)
+	 * @param obj2 - objeto armazenado como vértice no grafo (extremidade do arco)
+	 * @return true se o arco foi adicionado com sucesso; caso contrário, false.
+	 */
+	public boolean adicionarAresta(T obj1, T obj2) {
+		Instantaneo<T> G;
+
+		G = atual;
+
+		return adicionarAresta(G.getId(obj1), G.getId(obj2));
+	}
+
+	public synchronized boolean adicionarAresta(int obj1Id, int obj2Id) {
+		Instantaneo<T> G;
+		VetorPersistente<No<T>> nos;
+		No<T> v1, v2;
+
+		G = atual;
+
+		if ((v1 = G.no(obj1Id)) == null || G.no(obj2Id) == null || v1.sucessores.posicao(obj2Id) >= 0)
+			return false;
+
+		nos = G.nos.com(obj1Id, new No<T>(v1.obj, obj1Id, v1.sucessores.com(obj2Id), v1.antecessores));
+		v2 = nos.obter(obj2Id);
+		nos = nos.com(obj2Id, new No<T>(v2.obj, obj2Id, v2.sucessores, v2.antecessores.com(obj1Id)));
+		publicar(G, G.getOrdem(), G.getCapacidade(), nos, G.ids);
+
+		return true;
+	}
+
+	/**
+	 * Remove o arco partindo de um objeto e chegando em outro.
+	 * @param obj1 - objeto armazenado como vértice no grafo (origem do arco)
+	 * @param obj2 - objeto armazenado como vértice no grafo (extremidade do arco)
+	 * @return true se o arco foi removido com sucesso; caso contrário, false.
+	 */
+	public boolean removerAresta(T obj1, T obj2) {
+		Instantaneo<T> G;
+
+		G = atual;
+
+		return removerAresta(G.getId(obj1), G.getId(obj2));
+	}
+
+	public synchronized boolean removerAresta(int obj1Id, int obj2Id) {
+		Instantaneo<T> G;
+		VetorPersistente<No<T>> nos;
+		No<T> v1, v2;
+		int p;
+
+		G = atual;
+
+		if ((v1 = G.no(obj1Id)) == null || G.no(obj2Id) == null || (p = v1.sucessores.posicao(obj2Id)) < 0)
+			return false;
+
+		nos = G.nos.com(obj1Id, new No<T>(v1.obj, obj1Id, v1.sucessores.sem(p), v1.antecessores));
+		v2 = nos.obter(obj2Id);
+		nos = nos.com(obj2Id, new No<T>(v2.obj, obj2Id, v2.sucessores, v2.antecessores.sem(v2.antecessores.posicao(obj1Id))));
+		publicar(G, G.getOrdem(), G.getCapacidade(), nos, G.ids);
+
+		return true;
+	}
+}
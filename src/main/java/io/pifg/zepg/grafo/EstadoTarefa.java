@@ -0,0 +1,17 @@
+package io.pifg.zepg.grafo;
+
+/**
+ * Situação da tarefa de um vértice em uma {@link ExecucaoDAG}.
+ */
+public enum EstadoTarefa {
+	/** Aguardando a conclusão de antecessores ou uma vaga para executar. */
+	PENDENTE,
+	/** Em execução. */
+	EXECUTANDO,
+	/** Executada com sucesso. */
+	CONCLUIDA,
+	/** Executada, terminou com exceção. */
+	FALHOU,
+	/** Não executada: a execução foi cancelada ou algum antecessor falhou ou foi cancelado. */
+	CANCELADA
+}
@@ -0,0 +1,314 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Execução em andamento de um {@link ExecutorDAG}, sobre uma cópia da estrutura do grafo.
+ * A execução termina quando todo vértice foi concluído, falhou ou foi cancelado. Uma falha
+ * cancela apenas os descendentes do vértice; os demais ramos seguem executando.
+ * O cancelamento impede o início de novas tarefas, sem interromper as que estão em execução.
+ * @param <T> tipo dos objetos representados como vértices
+ */
+public class ExecucaoDAG<T> {
+	private static final EstadoTarefa[] ESTADOS = EstadoTarefa.values();
+	private static final int BLOQUEADO = 1 << 30;
+
+	private final DAG<T> G;
+	private final Tarefa<? super T> tarefa;
+	private final ForkJoinPool pool;
+	private final int paralelismo;
+	private final double[] prioridades;
+	private final Object[] objetos;
+	private final int[] inicios;
+	private final int[] sucessores;
+	private final AtomicIntegerArray pendentes;
+	private final AtomicIntegerArray estados;
+	private final AtomicReferenceArray<Throwable> erros;
+	private final int total;
+	private final AtomicInteger restantes;
+	private final AtomicInteger concluidas;
+	private final CountDownLatch fim;
+	private volatile boolean cancelada;
+	private int[] prontos;
+	private int numProntos;
+	private int ativos;
+
+	ExecucaoDAG(DAG<T> G, Tarefa<? super T> tarefa, ForkJoinPool pool, int paralelismo, ExecutorDAG.Plano plano) {
+		this.G = G;
+		this.tarefa = tarefa;
+		this.pool = pool;
+		this.paralelismo = paralelismo;
+		prioridades = plano.prioridades;
+		objetos = plano.objetos;
+		inicios = plano.inicios;
+		sucessores = plano.sucessores;
+		pendentes = new AtomicIntegerArray(plano.grausEntrada);
+		estados = new AtomicIntegerArray(objetos.length);
+		erros = new AtomicReferenceArray<Throwable>(objetos.length);
+		prontos = new int[16];
+		total = plano.total;
+		restantes = new AtomicInteger(total);
+		concluidas = new AtomicInteger();
+		fim = new CountDownLatch(1);
+	}
+
+	void iniciar() {
+		if (total == 0) {
+			fim.countDown();
+			return;
+		}
+
+		synchronized (this) {
+			for (int v = 0; v < objetos.length; v++)
+				if (objetos[v] != null && pendentes.get(v) == 0)
+					inserir(v);
+		}
+
+		despachar();
+	}
+
+	/**
+	 * Submete ao pool trabalhadores para os vértices prontos, até o limite de paralelismo.
+	 */
+	private void despachar() {
+		synchronized (this) {
+			while (ativos < paralelismo && ativos < numProntos) {
+				ativos++;
+				pool.execute(new Trabalhador());
+			}
+		}
+	}
+
+	private synchronized int proximo() {
+		if (numProntos == 0) {
+			ativos--;
+			return -1;
+		}
+
+		return remover();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void executar(int v) {
+		EstadoTarefa estado;
+
+		if (cancelada) {
+			finalizar(v, EstadoTarefa.CANCELADA);
+			return;
+		}
+
+		estados.set(v, EstadoTarefa.EXECUTANDO.ordinal());
+
+		try {
+			tarefa.executar((T) objetos[v]);
+			estado = EstadoTarefa.CONCLUIDA;
+			concluidas.incrementAndGet();
+		} catch (Throwable t) {
+			erros.set(v, t);
+			estado = EstadoTarefa.FALHOU;
+		}
+
+		finalizar(v, estado);
+	}
+
+	/**
+	 * Registra o estado final de um vértice e libera os sucessores cujos antecessores
+	 * terminaram todos. Se o vértice não foi concluído, os sucessores ficam bloqueados e são
+	 * cancelados, em cascata, assim que liberados.
+	 */
+	private void finalizar(int v, EstadoTarefa estado) {
+		int[] pilha, liberados;
+		int topo, u, w, atual, novo, numLiberados;
+		boolean bloquear;
+
+		pilha = null;
+		liberados = null;
+		topo = 0;
+		numLiberados = 0;
+		u = v;
+
+		while (true) {
+			estados.set(u, estado.ordinal());
+			bloquear = estado != EstadoTarefa.CONCLUIDA;
+
+			for (int k = inicios[u]; k < inicios[u + 1]; k++) {
+				w = sucessores[k];
+
+				do {
+					atual = pendentes.get(w);
+					novo = (bloquear ? atual | BLOQUEADO : atual) - 1;
+				} while (!pendentes.compareAndSet(w, atual, novo));
+
+				if (novo == 0) {
+					if (liberados == null)
+						liberados = new int[inicios[u + 1] - k];
+
+					liberados[numLiberados++] = w;
+				} else if (novo == BLOQUEADO) {
+					if (pilha == null)
+						pilha = new int[16];
+					else if (topo == pilha.length)
+						pilha = Arrays.copyOf(pilha, 2 * topo);
+
+					pilha[topo++] = w;
+				}
+			}
+
+			if (restantes.decrementAndGet() == 0)
+				fim.countDown();
+
+			if (topo == 0)
+				break;
+
+			u = pilha[--topo];
+			estado = EstadoTarefa.CANCELADA;
+		}
+
+		if (numLiberados > 0) {
+			synchronized (this) {
+				for (int i = 0; i < numLiberados; i++)
+					inserir(liberados[i]);
+			}
+
+			despachar();
+		}
+	}
+
+	private void inserir(int v) {
+		int i, pai;
+
+		if (numProntos == prontos.length)
+			prontos = Arrays.copyOf(prontos, 2 * numProntos);
+
+		i = numProntos++;
+
+		while (i > 0 && antes(v, prontos[pai = (i - 1) >>> 1])) {
+			prontos[i] = prontos[pai];
+			i = pai;
+		}
+
+		prontos[i] = v;
+	}
+
+	private int remover() {
+		int raiz, ultimo, i, filho;
+
+		raiz = prontos[0];
+		ultimo = prontos[--numProntos];
+		i = 0;
+
+		while ((filho = 2 * i + 1) < numProntos) {
+			if (filho + 1 < numProntos && antes(prontos[filho + 1], prontos[filho]))
+				filho++;
+
+			if (!antes(prontos[filho], ultimo))
+				break;
+
+			prontos[i] = prontos[filho];
+			i = filho;
+		}
+
+		prontos[i] = ultimo;
+
+		return raiz;
+	}
+
+	/**
+	 * Maior caminho crítico restante primeiro; empates pelo menor id.
+	 */
+	private boolean antes(int a, int b) {
+		return prioridades[a] > prioridades[b] || (prioridades[a] == prioridades[b] && a < b);
+	}
+
+	/**
+	 * Impede o início de novas tarefas. As pendentes passam a CANCELADA; as que estão em
+	 * execução terminam normalmente.
+	 */
+	public void cancelar() {
+		cancelada = true;
+	}
+
+	public boolean estaCancelada() {
+		return cancelada;
+	}
+
+	/**
+	 * Aguarda o término da execução.
+	 * @return true se todas as tarefas foram concluídas; false se alguma falhou ou foi cancelada.
+	 * @throws InterruptedException se a thread for interrompida enquanto aguarda.
+	 */
+	public boolean aguardar() throws InterruptedException {
+		fim.await();
+
+		return concluidas.get() == total;
+	}
+
+	/**
+	 * Aguarda o término da execução por um tempo máximo.
+	 * @return true se a execução terminou; caso contrário, false.
+	 * @throws InterruptedException se a thread for interrompida enquanto aguarda.
+	 */
+	public boolean aguardar(long tempo, TimeUnit unidade) throws InterruptedException {
+		return fim.await(tempo, unidade);
+	}
+
+	public boolean estaTerminada() {
+		return fim.getCount() == 0;
+	}
+
+	/**
+	 * @return int correspondente ao número de tarefas concluídas com sucesso até o momento.
+	 */
+	public int getNumConcluidas() {
+		return concluidas.get();
+	}
+
+	/**
+	 * Retorna a situação da tarefa de um objeto.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return EstadoTarefa atual.
+	 */
+	public EstadoTarefa getEstado(T obj) {
+		int id;
+
+		if ((id = G.getId(obj)) < 0 || id >= objetos.length || objetos[id] == null)
+			throw new NonVerticeException();
+
+		return ESTADOS[estados.get(id)];
+	}
+
+	/**
+	 * Retorna as exceções lançadas pelas tarefas que falharam até o momento.
+	 * @return LinkedHashMap<T, Throwable> com a exceção de cada objeto, na ordem dos ids.
+	 */
+	@SuppressWarnings("unchecked")
+	public LinkedHashMap<T, Throwable> getFalhas() {
+		LinkedHashMap<T, Throwable> falhas;
+		Throwable t;
+
+		falhas = new LinkedHashMap<T, Throwable>();
+
+		for (int v = 0; v < objetos.length; v++)
+			if ((t = erros.get(v)) != null)
+				falhas.put((T) objetos[v], t);
+
+		return falhas;
+	}
+
+	private class Trabalhador implements Runnable {
+		@Override
+		public void run() {
+			int v;
+
+			while ((v = proximo()) >= 0)
+				executar(v);
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package io.pifg.zepg.grafo;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Executa uma tarefa por vértice de um {@link DAG}, respeitando as dependências: a tarefa de
+ * um vértice só começa depois de concluídas as de todos os seus antecessores. Cada vértice
+ * mantém um contador atômico de antecessores pendentes; o último antecessor a terminar o
+ * libera. Os vértices liberados aguardam em uma fila de prioridade pelo caminho crítico
+ * restante (a maior soma de custos de um caminho do vértice até um sumidouro), de modo que
+ * as cadeias mais longas começam primeiro e o tempo total de execução tende ao mínimo.
+ * As tarefas rodam em um {@link ForkJoinPool}, com no máximo paralelismo tarefas simultâneas.
+ * O grafo não deve ser alterado durante uma execução.
+ * @param <T> tipo dos objetos representados como vértices
+ */
+public class ExecutorDAG<T> {
+	private final DAG<T> G;
+	private final ForkJoinPool pool;
+	private final int paralelismo;
+	private final ToDoubleFunction<? super T> custo;
+	private Plano plano;
+
+	/**
+	 * Cria um executor no pool comum, com custo unitário por vértice.
+	 * @param G - grafo de dependências
+	 */
+	public ExecutorDAG(DAG<T> G) {
+		this(G, ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism(), null);
+	}
+
+	/**
+	 * @param G - grafo de dependências
+	 * @param pool - pool em que as tarefas são executadas
+	 * @param paralelismo - número máximo de tarefas simultâneas
+	 */
+	public ExecutorDAG(DAG<T> G, ForkJoinPool pool, int paralelismo) {
+		this(G, pool, paralelismo, null);
+	}
+
+	/**
+	 * @param G - grafo de dependências
+	 * @param pool - pool em que as tarefas são executadas
+	 * @param paralelismo - número máximo de tarefas simultâneas
+	 * @param custo - estimativa não negativa da duração da tarefa de cada objeto, usada para
+	 * priorizar o caminho crítico (null equivale a custo 1 para todos); avaliada novamente só
+	 * quando o grafo é alterado
+	 */
+	public ExecutorDAG(DAG<T> G, ForkJoinPool pool, int paralelismo, ToDoubleFunction<? super T> custo) {
+		if (paralelismo < 1)
+			throw new IllegalArgumentException();
+
+		this.G = G;
+		this.pool = pool;
+		this.paralelismo = paralelismo;
+		this.custo = custo;
+	}
+
+	/**
+	 * Inicia a execução das tarefas de todos os vértices, sem aguardar o término.
+	 * @param tarefa - trabalho executado para cada vértice
+	 * @return ExecucaoDAG para acompanhar, aguardar ou cancelar a execução.
+	 */
+	public ExecucaoDAG<T> iniciar(Tarefa<? super T> tarefa) {
+		ExecucaoDAG<T> execucao;
+
+		execucao = new ExecucaoDAG<T>(G, tarefa, pool, paralelismo, planejar());
+		execucao.iniciar();
+
+		return execucao;
+	}
+
+	/**
+	 * Executa as tarefas de todos os vértices e aguarda o término.
+	 * @param tarefa - trabalho executado para cada vértice
+	 * @return ExecucaoDAG terminada.
+	 * @throws InterruptedException se a thread for interrompida enquanto aguarda; a execução
+	 * é cancelada.
+	 */
+	public ExecucaoDAG<T> executar(Tarefa<? super T> tarefa) throws InterruptedException {
+		ExecucaoDAG<T> execucao;
+
+		execucao = iniciar(tarefa);
+
+		try {
+			execucao.aguardar();
+		} catch (InterruptedException e) {
+			execucao.cancelar();
+			throw e;
+		}
+
+		return execucao;
+	}
+
+	/**
+	 * Retorna a cópia da estrutura do grafo usada pelas execuções, refeita somente se o grafo
+	 * foi alterado desde a última.
+	 */
+	private synchronized Plano planejar() {
+		if (plano == null || plano.versao != G.getVersao())
+			plano = new Plano(G, custo);
+
+		return plano;
+	}
+
+	/**
+	 * Estrutura do grafo em uma versão: objetos, sucessores em vetores compactos, grau de
+	 * entrada e caminho crítico restante de cada vértice.
+	 */
+	static final class Plano {
+		final long versao;
+		final int total;
+		final Object[] objetos;
+		final int[] inicios;
+		final int[] sucessores;
+		final int[] grausEntrada;
+		final double[] prioridades;
+
+		<T> Plano(DAG<T> G, ToDoubleFunction<? super T> custo) {
+			int n, arcos, v;
+			int[] ordem;
+			double maximo;
+
+			versao = G.getVersao();
+			total = G.getOrdem();
+			n = G.getCapacidade();
+			objetos = new Object[n];
+			inicios = new int[n + 1];
+			grausEntrada = new int[n];
+			arcos = 0;
+
+			for (v = 0; v < n; v++) {
+				inicios[v] = arcos;
+
+				if (G.contemVertice(v)) {
+					objetos[v] = G.getObjeto(v);
+					grausEntrada[v] = G.grauEntrada(v);
+					arcos += G.grauSaida(v);
+				}
+			}
+
+			inicios[n] = arcos;
+			sucessores = new int[arcos];
+
+			for (v = 0; v < n; v++)
+				for (int i = 0; i < inicios[v + 1] - inicios[v]; i++)
+					sucessores[inicios[v] + i] = G.sucessor(v, i);
+
+			// caminho crítico restante, percorrendo a ordem topológica de trás para frente
+			ordem = G.ordemIds();
+			prioridades = new double[n];
+
+			for (int k = ordem.length - 1; k >= 0; k--) {
+				v = ordem[k];
+				maximo = 0;
+
+				for (int i = inicios[v]; i < inicios[v + 1]; i++)
+					maximo = Math.max(maximo, prioridades[sucessores[i]]);
+
+				prioridades[v] = maximo + (custo == null ? 1 : custo.applyAsDouble(G.getObjeto(v)));
+			}
+		}
+	}
+}
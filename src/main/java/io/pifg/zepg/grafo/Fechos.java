@@ -0,0 +1,70 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+
+import io.pifg.zepg.search.Direcao;
+import io.pifg.zepg.search.Visitados;
+
+/**
+ * Fecho transitivo por id sobre qualquer {@link GrafoIndexado}, comum às representações
+ * imutáveis. Usa pilha explícita e marcas por rodada mantidas por thread e reaproveitadas entre
+ * consultas, de modo que uma consulta custa o tamanho do fecho mais os arcos examinados, sem
+ * alocar vetores do tamanho do grafo, e consultas concorrentes não interferem entre si.
+ */
+final class Fechos {
+	private static final ThreadLocal<Estado> ESTADOS = ThreadLocal.withInitial(Estado::new);
+
+	private static final class Estado {
+		final Visitados visitados = new Visitados();
+		int[] pilha = new int[16];
+	}
+
+	private Fechos() {
+	}
+
+	/**
+	 * Retorna os objetos alcançáveis a partir de um vértice seguindo os arcos na direção
+	 * informada. O id deve ter sido validado pelo chamador.
+	 * @param G - grafo que não está sendo alterado
+	 * @param id - id do vértice de origem
+	 * @param direcao - sentido em que os arcos são seguidos
+	 * @return ArrayList<T> contendo objetos T no grafo, a começar pelo próprio objeto.
+	 */
+	static <T> ArrayList<T> fecho(GrafoIndexado<T> G, int id, Direcao direcao) {
+		ArrayList<T> F;
+		Estado estado;
+		int topo, v;
+
+		estado = ESTADOS.get();
+		estado.visitados.reiniciar(G.getCapacidade());
+		if (estado.pilha.length < G.getCapacidade())
+			estado.pilha = new int[G.getCapacidade()];
+
+		F = new ArrayList<T>();
+		estado.visitados.marcar(id);
+		estado.pilha[0] = id;
+		topo = 1;
+
+		while (topo > 0) {
+			v = estado.pilha[--topo];
+			F.add(G.getObjeto(v));
+
+			if (direcao != Direcao.ANTECESSORES)
+				for (int i = 0, grau = G.grauSaida(v); i < grau; i++)
+					topo = empilhar(estado, topo, G.sucessor(v, i));
+
+			if (direcao != Direcao.SUCESSORES)
+				for (int i = 0, grau = G.grauEntrada(v); i < grau; i++)
+					topo = empilhar(estado, topo, G.antecessor(v, i));
+		}
+
+		return F;
+	}
+
+	private static int empilhar(Estado estado, int topo, int w) {
+		if (estado.visitados.marcar(w))
+			estado.pilha[topo++] = w;
+
+		return topo;
+	}
+}
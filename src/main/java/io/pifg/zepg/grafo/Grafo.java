@@ -1,22 +1,103 @@
 package io.pifg.zepg.grafo;
 
-import java.util.Map;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import io.pifg.zepg.metricas.Metricas;
+import io.pifg.zepg.metricas.Mutacao;
+import io.pifg.zepg.metricas.Operacao;
+import io.pifg.zepg.search.Direcao;
+import io.pifg.zepg.search.Percurso;
+import io.pifg.zepg.search.Visitante;
 
 /**
  * Estrutura de dados para representa��o computacional de grafos.
  * @author joaov.aporto@gmail.com
  * @param <T> tipo de objeto que ser� representado como v�rtice pela estrutura de grafo.
  */
-public class Grafo<T> {
-	protected static int ordem;
-	protected Map<Integer,Vertice<T>> vertices;
+public class Grafo<T> implements GrafoIndexado<T> {
+	protected DicionarioVertices<T> ids;
+	protected ArrayList<Vertice<T>> vertices;
+	protected TipoAdjacencia tipoAdjacencia;
+	private final ThreadLocal<Percurso> percursos = ThreadLocal.withInitial(() -> new Percurso(this));
+	protected long versao;
+	private ComponentesConexos componentes;
+	private boolean componentesValidos;
+	private CacheFechos cacheFechos;
 	
 	public Grafo() {
-		ordem = 0;
-		vertices = new HashMap<Integer,Vertice<T>>();
+		this(TipoAdjacencia.HASH);
+	}
+	
+	/**
+	 * @param tipoAdjacencia - estratégia de armazenamento das adjacências de cada vértice
+	 */
+	public Grafo(TipoAdjacencia tipoAdjacencia) {
+		this.tipoAdjacencia = tipoAdjacencia;
+		ids = new DicionarioVertices<T>();
+		vertices = new ArrayList<Vertice<T>>();
+	}
+	
+	/**
+	 * Retorna o id denso de um objeto representado como vértice no grafo. Os ids ficam em
+	 * [0, getCapacidade()) e identificam o vértice em todos os métodos que recebem objId.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return int correspondente ao id do vértice, ou -1 se o objeto não está no grafo.
+	 */
+	public int getId(T obj) {
+		return ids.getId(obj);
+	}
+	
+	/**
+	 * Retorna o objeto representado pelo vértice de id informado.
+	 * @param objId - id do objeto armazenado como vértice no grafo
+	 * @return objeto T correspondente, ou null se o id não está em uso.
+	 */
+	public T getObjeto(int objId) {
+		return ids.getObjeto(objId);
+	}
+	
+	/**
+	 * Retorna o limite superior (exclusivo) dos ids de vértices, adequado para dimensionar
+	 * vetores indexados por id.
+	 * @return int correspondente ao maior id em uso mais um.
+	 */
+	public int getCapacidade() {
+		return ids.capacidade();
+	}
+	
+	public int grauSaida(int objId) {
+		return vertices.get(objId).getSucessores().tamanho();
+	}
+	
+	public int grauEntrada(int objId) {
+		return vertices.get(objId).getAntecessores().tamanho();
+	}
+	
+	public int sucessor(int objId, int i) {
+		return vertices.get(objId).getSucessores().get(i);
+	}
+	
+	public int antecessor(int objId, int i) {
+		return vertices.get(objId).getAntecessores().get(i);
+	}
+	
+	/**
+	 * Retorna o número de alterações estruturais (inclusão ou remoção de vértices e arestas)
+	 * já feitas no grafo. Permite que estruturas derivadas detectem que ficaram desatualizadas.
+	 * @return long correspondente à versão atual do grafo.
+	 */
+	public long getVersao() {
+		return versao;
+	}
+	
+	protected Vertice<T> vertice(int objId) {
+		if (objId < 0 || objId >= vertices.size())
+			return null;
+		
+		return vertices.get(objId);
 	}
 	
 	/**
@@ -25,19 +106,42 @@ public class Grafo<T> {
 	 * @return true se v�rtice foi adicionado com sucesso; caso contr�rio, false.
 	 */
 	public boolean adicionarVertice(T obj) {
-		if (vertices.containsKey(obj.hashCode()))
+		if (ids.getId(obj) >= 0)
 				return false;
 		
 		Vertice<T> v;
+		int id;
+		
+		id = ids.adicionar(obj);
+		v = criarVertice(obj, id);
+		
+		if (id == vertices.size())
+			vertices.add(v);
+		else
+			vertices.set(id, v);
+		
+		if (componentesValidos)
+			componentes.adicionarVertice(id);
 		
-		v = new Vertice<T>(obj);
+		versao++;
+		Metricas.mutacao(Mutacao.VERTICE_ADICIONADO);
 		
-		vertices.put(obj.hashCode(), v);		
-		ordem++;
+		if (cacheFechos != null)
+			cacheFechos.preservar(versao);
 		
 		return true;
 	}
 
+	/**
+	 * Cria o vértice que representará um objeto recém-adicionado ao grafo.
+	 * @param obj - objeto armazenado como vértice
+	 * @param id - id atribuído ao objeto
+	 * @return Vertice<T> com adjacências vazias.
+	 */
+	protected Vertice<T> criarVertice(T obj, int id) {
+		return new Vertice<T>(obj, id, tipoAdjacencia);
+	}
+	
 	/**
 	 * Adiciona uma aresta ao grafo, ligando dois objetos representados por v�rtices.
 	 * @param obj1 - objeto armazenado como v�rtice no grafo (representar� a origem da aresta
@@ -47,19 +151,19 @@ public class Grafo<T> {
 	 * @return true se aresta foi adicionada com sucesso; caso contr�rio, false.
 	 */
 	public boolean adicionarAresta(T obj1, T obj2) {
-		return adicionarAresta(obj1.hashCode(), obj2.hashCode());
+		return adicionarAresta(getId(obj1), getId(obj2));
 	}
 	
 	/**
 	 * Adiciona uma aresta ao grafo, ligando dois objetos representados por v�rtices.
-	 * @param obj1Id - hashCode do objeto armazenado como v�rtice no grafo (representar� a origem da
+	 * @param obj1Id - id do objeto armazenado como v�rtice no grafo (representar� a origem da
 	 * aresta se grafo considerado orientado)
-	 * @param obj2Id - hashCode do objeto armazenado como v�rtice no grafo (representar� a extremidade
+	 * @param obj2Id - id do objeto armazenado como v�rtice no grafo (representar� a extremidade
 	 * da aresta se grafo considerado orientado)
 	 * @return true se aresta foi adicionada com sucesso; caso contr�rio, false.
 	 */
 	public boolean adicionarAresta(int obj1Id, int obj2Id) {
-		return adicionarAresta(vertices.get(obj1Id), vertices.get(obj2Id));
+		return adicionarAresta(vertice(obj1Id), vertice(obj2Id));
 	}
 
 	/**
@@ -77,6 +181,15 @@ public class Grafo<T> {
 		
 		v2.adicionarAntecessor(v1);
 		
+		if (componentesValidos)
+			componentes.unir(v1.getId(), v2.getId());
+		
+		versao++;
+		Metricas.mutacao(Mutacao.ARESTA_ADICIONADA);
+		
+		if (cacheFechos != null)
+			cacheFechos.arcoAlterado(v1.getId(), v2.getId(), versao);
+		
 		return true;
 	}
 	
@@ -86,16 +199,16 @@ public class Grafo<T> {
 	 * @return true se o v�rtice foi removido com sucesso; caso contr�rio, false.
 	 */
 	public boolean removerVertice(T obj) {		
-		return removerVertice(obj.hashCode());
+		return removerVertice(getId(obj));
 	}	
 	
 	/**
 	 * Remove um v�rtice do grafo, juntamente com todas as conex�es.
-	 * @param objId - hashCode do objeto armazenado como v�rtice no grafo que ser� removido
+	 * @param objId - id do objeto armazenado como v�rtice no grafo que ser� removido
 	 * @return true se o v�rtice foi removido com sucesso; caso contr�rio, false.
 	 */
 	public boolean removerVertice(int objId) {		
-		return removerVertice(vertices.get(objId));
+		return removerVertice(vertice(objId));
 	}	
 	
 	/**
@@ -107,15 +220,25 @@ public class Grafo<T> {
 		if (v == null)
 			return false;
 		
-		Collection<Vertice<T>> adjacentes;
+		Adjacencia adjacentes;
 		
 		adjacentes = v.getSucessores();
-		for (Vertice<T> w : adjacentes)
-			w.removerAntecessor(v);
+		for (int i = 0; i < adjacentes.tamanho(); i++)
+			vertices.get(adjacentes.get(i)).removerAntecessor(v);
 		
 		adjacentes = v.getAntecessores();
-		for (Vertice<T> w : adjacentes)
-			w.removerSucessor(v);
+		for (int i = 0; i < adjacentes.tamanho(); i++)
+			vertices.get(adjacentes.get(i)).removerSucessor(v);
+		
+		ids.remover(v.getObj());
+		vertices.set(v.getId(), null);
+		
+		componentesValidos = false;
+		versao++;
+		Metricas.mutacao(Mutacao.VERTICE_REMOVIDO);
+		
+		if (cacheFechos != null)
+			cacheFechos.verticeRemovido(v.getId(), versao);
 		
 		return true;
 	}
@@ -129,19 +252,19 @@ public class Grafo<T> {
 	 * @return true se a aresta foi removida com sucesso; caso contr�rio, false.
 	 */ 
 	public boolean removerAresta(T obj1, T obj2) {
-		return removerAresta(obj1.hashCode(), obj2.hashCode());
+		return removerAresta(getId(obj1), getId(obj2));
 	}
 	
 	/**
 	 * Remove aresta do grafo, desligando dois objetos representados por v�rtices.
-	 * @param obj1Id - hashCode do objeto armazenado como v�rtice no grafo (representa a origem da aresta
+	 * @param obj1Id - id do objeto armazenado como v�rtice no grafo (representa a origem da aresta
 	 * se grafo considerado orientado)
-	 * @param obj2Id - hashCode do objeto armazenado como v�rtice no grafo (representa a extremidade da aresta
+	 * @param obj2Id - id do objeto armazenado como v�rtice no grafo (representa a extremidade da aresta
 	 * se grafo considerado orientado)
 	 * @return true se a aresta foi removida com sucesso; caso contr�rio, false.
 	 */
 	public boolean removerAresta(int obj1Id, int obj2Id) {
-		return removerAresta(vertices.get(obj1Id), vertices.get(obj1Id));
+		return removerAresta(vertice(obj1Id), vertice(obj2Id));
 	}
 
 	/**
@@ -160,16 +283,51 @@ public class Grafo<T> {
 			if (!(v2.removerSucessor(v1) && v1.removerAntecessor(v2)))
 				return false;
 		
+		componentesValidos = false;
+		versao++;
+		Metricas.mutacao(Mutacao.ARESTA_REMOVIDA);
+		
+		if (cacheFechos != null)
+			cacheFechos.arestaAlterada(v1.getId(), v2.getId(), versao);
+		
 		return true;
 	}
 	
+	/**
+	 * Invalida os componentes conexos mantidos pelo grafo, que serão recalculados na próxima
+	 * consulta. Deve ser chamado por subclasses que removem arestas sem passar por este grafo.
+	 */
+	protected void invalidarComponentes() {
+		componentesValidos = false;
+	}
+	
+	/**
+	 * Informa ao cache de fechos a remoção de um arco feita por subclasses. Deve ser chamado
+	 * logo após o avanço da versão correspondente.
+	 * @param origem - id da origem do arco
+	 * @param extremidade - id da extremidade do arco
+	 */
+	protected void arcoRemovido(int origem, int extremidade) {
+		if (cacheFechos != null)
+			cacheFechos.arcoAlterado(origem, extremidade, versao);
+	}
+	
+	/**
+	 * Informa ao cache de fechos que a última alteração, feita por subclasses, não muda a
+	 * alcançabilidade entre vértices (como a troca do peso de um arco). Deve ser chamado logo
+	 * após o avanço da versão correspondente.
+	 */
+	protected void alcancabilidadePreservada() {
+		if (cacheFechos != null)
+			cacheFechos.preservar(versao);
+	}
+	
 	/**
 	 * Retorna o n�mero de v�rtices do grafo.
 	 * @return int correspondente ao n�mero de v�rtices do grafo.
 	 */
 	public int getOrdem() {
-		getClass();
-		return ordem;
+		return ids.tamanho();
 	}
 	
 	/**
@@ -177,7 +335,16 @@ public class Grafo<T> {
 	 * @return ArrayList<T> contendo objetos T no grafo.
 	 */
 	public ArrayList<T> getVertices() {
-		return verticesParaT(this.vertices.values());
+		return visaoVertices().paraLista();
+	}
+	
+	/**
+	 * Retorna uma visão somente leitura dos objetos representados como vértices no grafo,
+	 * sem cópia. Ver {@link Visao}.
+	 * @return Visao<T> dos objetos T no grafo, em ordem de id.
+	 */
+	public Visao<T> visaoVertices() {
+		return new VisaoVertices<T>(vertices, ids);
 	}
 	
 	/**
@@ -185,7 +352,11 @@ public class Grafo<T> {
 	 * @return objeto T qualquer no grafo.
 	 */
 	public T getVerticeQualquer() {
-		return (getVertices().get(0));
+		for (Vertice<T> v : vertices)
+			if (v != null)
+				return v.getObj();
+		
+		throw new IndexOutOfBoundsException();
 	}
 	
 	/**
@@ -194,21 +365,21 @@ public class Grafo<T> {
 	 * @return int correpondente ao grau do v�rtice.
 	 */
 	public int getGrau(T obj) {
-		return getGrau(obj.hashCode());
+		return getGrau(getId(obj));
 	}
 	
 	/**
 	 * Retorna o grau de um objeto representado como v�rtice no grafo.
-	 * @param obj - hashCode do objeto armazenado como v�rtice no grafo
+	 * @param objId - id do objeto armazenado como v�rtice no grafo
 	 * @return int correpondente ao grau do v�rtice
 	 */
 	public int getGrau(int objId) {
 		Vertice<T> v;
 		
-		if ((v = vertices.get(objId)) == null)
+		if ((v = vertice(objId)) == null)
 			throw new NonVerticeException();
 		
-		return v.getAntecessores().size() + v.getSucessores().size();
+		return v.getAntecessores().tamanho() + v.getSucessores().tamanho();
 	}
 	
 	/**
@@ -216,16 +387,14 @@ public class Grafo<T> {
 	 * @return true se grafo � regular; caso contr�rio, false.
 	 */
 	public boolean ehRegular() {
-		Collection<Vertice<T>> vertices;
 		T v;
 		int grau;
 		
-		vertices = this.vertices.values();
 		v = getVerticeQualquer();
-		grau = getGrau(v.hashCode());
+		grau = getGrau(getId(v));
 		
 		for (Vertice<T> w : vertices)
-			if (getGrau(w.hashCode()) != grau)
+			if (w != null && getGrau(w.getId()) != grau)
 				return false;
 		
 		return true;
@@ -236,12 +405,8 @@ public class Grafo<T> {
 	 * @return true se grafo � completo; caso contr�rio, false.
 	 */
 	public boolean ehCompleto() {
-		Collection<Vertice<T>> vertices;
-		
-		vertices = this.vertices.values();
-		
 		for (Vertice<T> w : vertices)
-			if (getGrau(w.hashCode()) != getOrdem() - 1)
+			if (w != null && getGrau(w.getId()) != getOrdem() - 1)
 				return false;
 		
 		return true;
@@ -253,22 +418,36 @@ public class Grafo<T> {
 	 * @return ArrayList<T> contendo objetos T no grafo.
 	 */
 	public ArrayList<T> adjacentes(T obj) {
-		return adjacentes(obj.hashCode());
+		return adjacentes(getId(obj));
 	}
 	
 	/**
 	 * Retorna uma lista contendo os objetos adjacentes de um objeto representado como v�rtice no grafo.
-	 * @param objId - hashCode do objeto armazenado como v�rtice no grafo
+	 * @param objId - id do objeto armazenado como v�rtice no grafo
 	 * @return ArrayList<T> contendo objetos T no grafo.
 	 */
 	public ArrayList<T> adjacentes(int objId) {
+		return visaoAdjacentes(objId).paraLista();
+	}
+	
+	/**
+	 * Retorna uma visão somente leitura, sem cópia, dos objetos adjacentes de um objeto
+	 * representado como vértice no grafo: sucessores seguidos de antecessores.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return Visao<T> dos objetos T adjacentes.
+	 */
+	public Visao<T> visaoAdjacentes(T obj) {
+		return visaoAdjacentes(getId(obj));
+	}
+	
+	public Visao<T> visaoAdjacentes(int objId) {
 		Vertice<T> v;
 		
-		if ((v = vertices.get(objId)) == null)
+		if ((v = vertice(objId)) == null)
 			throw new NonVerticeException();
 		
-		return verticesParaT(v.getAdjacentes());
-	}	
+		return new VisaoAdjacencia<T>(vertices, v.getSucessores(), v.getAntecessores());
+	}
 	
 	/**
 	 * Retorna uma lista contendo os objetos que s�o transitivamente alcanc�veis
@@ -277,50 +456,183 @@ public class Grafo<T> {
 	 * @return ArrayList<T> contendo objetos T no grafo.
 	 */
 	public ArrayList<T> fechoTransitivo(T obj) {
-		return fechoTransitivo(obj.hashCode());
+		return fechoTransitivo(getId(obj));
 	}
 	
 	/**
 	 * Retorna uma lista contendo os objetos que s�o transitivamente alcanc�veis
 	 * partindo-se de um objeto representado como v�rtice no grafo. Orienta��o � ignorada.
-	 * @param obj - hashCode do objeto armazenado como v�rtice no grafo
+	 * @param objId - id do objeto armazenado como v�rtice no grafo
 	 * @return ArrayList<T> contendo objetos T no grafo.
 	 */
 	public ArrayList<T> fechoTransitivo(int objId) {
-		Vertice<T> v;
-		
-		if ((v = vertices.get(objId)) == null)
+		return fecho(objId, Direcao.ADJACENTES);
+	}
+	
+	/**
+	 * Retorna os objetos alcançáveis a partir de um vértice seguindo os arcos na direção
+	 * informada, na ordem de um percurso em profundidade.
+	 * @param objId - id do objeto armazenado como vértice no grafo
+	 * @param direcao - sentido em que os arcos são seguidos
+	 * @return ArrayList<T> contendo objetos T no grafo, a começar pelo próprio objeto.
+	 */
+	protected ArrayList<T> fecho(int objId, Direcao direcao) {
+		if (!contemVertice(objId))
 			throw new NonVerticeException();
 		
-		Collection<Vertice<T>> F;
-		
-		F = new ArrayList<Vertice<T>>();
-		
-		F.add(v);
-		fechoTransitivoR(F, v);
-		
-		return verticesParaT(F);
+		int[] ids;
+		long inicio, visitados, arcos;
+		Percurso percurso;
+		CacheFechos cache;
+		ColetorFecho coletor;
+		ArrayList<T> F;
+		
+		inicio = Metricas.inicio();
+		visitados = 0;
+		arcos = 0;
+		cache = cacheFechos;
+		
+		if (cache != null && (ids = cache.obter(objId, direcao, versao)) != null) {
+			F = new ArrayList<T>(ids.length);
+			
+			for (int id : ids)
+				F.add(getObjeto(id));
+		} else {
+			coletor = new ColetorFecho(cache != null);
+			percurso = getPercurso();
+			percurso.dfs(objId, direcao, coletor);
+			
+			F = coletor.objetos;
+			visitados = percurso.getVerticesVisitados();
+			arcos = percurso.getArcosExaminados();
+			
+			if (cache != null)
+				cache.guardar(objId, direcao, Arrays.copyOf(coletor.ids, coletor.tamanho), getCapacidade(), versao);
+		}
+		
+		if (inicio != 0) {
+			Metricas.consulta(Operacao.FECHO, inicio, visitados, arcos);
+			Metricas.materializacao(Operacao.FECHO, F.size());
+		}
+		
+		return F;
 	}
 	
-	private void fechoTransitivoR(Collection<Vertice<T>> F, Vertice<T> v) {
-		for (Vertice<T> w : v.getAdjacentes())
-			if (!F.contains(w)) {
-				F.add(w);
-				fechoTransitivoR(F, w);
+	/**
+	 * Acumula, em pré-ordem, os objetos de um fecho e, quando o fecho será guardado no cache,
+	 * também os seus ids. O estado é local a cada consulta.
+	 */
+	private final class ColetorFecho implements Visitante {
+		final ArrayList<T> objetos;
+		int[] ids;
+		int tamanho;
+		
+		ColetorFecho(boolean guardarIds) {
+			objetos = new ArrayList<T>();
+			ids = guardarIds ? new int[16] : null;
+		}
+		
+		public boolean visitar(int v, int pai) {
+			objetos.add(getObjeto(v));
+			
+			if (ids != null) {
+				if (tamanho == ids.length)
+					ids = Arrays.copyOf(ids, 2 * tamanho);
+				
+				ids[tamanho++] = v;
 			}
+			
+			return true;
+		}
+	}
+	
+	/**
+	 * Passa a guardar os fechos transitivos consultados em um cache limitado pelo espaço
+	 * ocupado, que descarta a cada alteração do grafo apenas os fechos afetados por ela.
+	 * Um cache já habilitado é substituído por um vazio. O cache é sincronizado: consultas
+	 * concorrentes a um grafo que não está sendo alterado continuam seguras com ele habilitado,
+	 * mas são serializadas a cada acesso ao cache.
+	 * @param bytesMaximos - espaço máximo ocupado pelos fechos guardados
+	 * @return CacheFechos criado, com os contadores de acertos e faltas.
+	 */
+	public CacheFechos habilitarCacheFechos(long bytesMaximos) {
+		return cacheFechos = new CacheFechos(bytesMaximos, versao);
+	}
+	
+	public void desabilitarCacheFechos() {
+		cacheFechos = null;
+	}
+	
+	/**
+	 * @return CacheFechos em uso, ou null se o cache não está habilitado.
+	 */
+	public CacheFechos getCacheFechos() {
+		return cacheFechos;
+	}
+	
+	/**
+	 * Retorna o motor de percurso da thread atual sobre este grafo, reaproveitado entre as
+	 * consultas dessa thread para evitar alocações. Cada thread recebe a sua instância, de modo
+	 * que consultas concorrentes a um grafo que não está sendo alterado não interferem entre si.
+	 * @return Percurso sobre este grafo.
+	 */
+	public Percurso getPercurso() {
+		return percursos.get();
 	}
 	
 	/**
 	 * Verifica se existe pelo menos um caminho entre cada par de v�rtices do grafo.
-	 * @return true se grafo � conexo; caso contr�rio, false.
+	 * @return true se grafo � conexo (ou vazio); caso contr�rio, false.
 	 */
 	public boolean ehConexo() {
-		T v;
+		return getComponentesConexos().getNumComponentes() <= 1;
+	}
+	
+	/**
+	 * Retorna o número de componentes conexos do grafo, desconsiderando orientação.
+	 * @return int correspondente ao número de componentes.
+	 */
+	public int getNumComponentes() {
+		return getComponentesConexos().getNumComponentes();
+	}
+	
+	/**
+	 * Verifica se existe caminho entre dois objetos, desconsiderando orientação.
+	 * @param obj1 - objeto armazenado como vértice no grafo
+	 * @param obj2 - objeto armazenado como vértice no grafo
+	 * @return true se os objetos estão no mesmo componente conexo; caso contrário, false.
+	 */
+	public boolean mesmoComponente(T obj1, T obj2) {
+		return mesmoComponente(getId(obj1), getId(obj2));
+	}
+	
+	public boolean mesmoComponente(int obj1Id, int obj2Id) {
+		return getComponentesConexos().mesmoComponente(obj1Id, obj2Id);
+	}
+	
+	/**
+	 * Retorna os componentes conexos do estado atual do grafo. São calculados na primeira
+	 * consulta e, a partir dela, mantidos a cada vértice ou aresta incluídos; após uma remoção,
+	 * são recalculados em paralelo no pool comum na consulta seguinte.
+	 * @return ComponentesConexos atualizados, válidos até a próxima remoção.
+	 */
+	public ComponentesConexos getComponentesConexos() {
+		if (!componentesValidos)
+			recalcularComponentes(ForkJoinPool.commonPool());
 		
-		v = getVerticeQualquer();
+		return componentes;
+	}
+	
+	/**
+	 * Recalcula os componentes conexos a partir do estado atual do grafo.
+	 * @param pool - pool em que o cálculo é feito
+	 */
+	public void recalcularComponentes(ForkJoinPool pool) {
+		if (componentes == null)
+			componentes = new ComponentesConexos(this);
 		
-		ArrayList<T> fecho = fechoTransitivo(v.hashCode());
-		return fecho.equals(getVertices());
+		componentes.recalcular(pool);
+		componentesValidos = true;
 	}
 	
 	/**
@@ -328,32 +640,58 @@ public class Grafo<T> {
 	 * @return true se grafo � uma �rvore; caso contr�rio, false.
 	 */
 	public boolean ehArvore() {
-		if (!ehConexo())
+		if (!ehConexo() || possuiLaco())
 			return false;
 		
-		Vertice<T> v;
-		
-		ArrayList<Vertice<T>> F;
-		v = vertices.get(getVerticeQualquer().hashCode());
-		
-		F = new ArrayList<Vertice<T>>();
-		
-		return !haCicloCom(v, v, F);
+		return contarArestas() == getOrdem() - 1;
 	}
 	
-	protected boolean haCicloCom(Vertice<T> u, Vertice<T> v, Collection<Vertice<T>> F) {
-		if (F.contains(v))
-			return true;
+	/**
+	 * Verifica se algum vértice possui um arco para si mesmo.
+	 * @return true se o grafo possui laço; caso contrário, false.
+	 */
+	private boolean possuiLaco() {
+		for (Vertice<T> v : vertices)
+			if (v != null && v.contemSucessor(v.getId()))
+				return true;
 		
-		for (Vertice<T> w : v.getAdjacentes())
-			if (!w.equals(u))
-				if (haCicloCom(v, w, F))
-					return true;
-				
-		F.remove(v);
 		return false;
 	}
 	
+	/**
+	 * Conta as arestas do grafo desconsiderando orientação: arcos opostos entre o mesmo par
+	 * de vértices contam uma única vez e laços não são contados.
+	 * @return long correspondente ao número de arestas.
+	 */
+	private long contarArestas() {
+		Adjacencia sucessores;
+		long arestas;
+		int w;
+		
+		arestas = 0;
+		
+		for (Vertice<T> v : vertices) {
+			if (v == null)
+				continue;
+			
+			sucessores = v.getSucessores();
+			
+			for (int i = 0; i < sucessores.tamanho(); i++)
+				if ((w = sucessores.get(i)) != v.getId() && (w > v.getId() || !v.contemAntecessor(w)))
+					arestas++;
+		}
+		
+		return arestas;
+	}
+	
+	protected ArrayList<T> verticesParaT(Adjacencia adjacencia) {
+		return visao(adjacencia).paraLista();
+	}
+	
+	protected Visao<T> visao(Adjacencia adjacencia) {
+		return new VisaoAdjacencia<T>(vertices, adjacencia, null);
+	}
+	
 	protected ArrayList<T> verticesParaT(Collection<Vertice<T>> vertices) {
 		ArrayList<T> objetos;
 		
@@ -366,23 +704,49 @@ public class Grafo<T> {
 	}
 	
 	public boolean contemVertice(T obj) {
-		return contemVertice(obj.hashCode());
+		return getId(obj) >= 0;
 	}
 	
 	public boolean contemVertice(int objId) {
-		return vertices.containsKey(objId);
+		return ids.contem(objId);
 	}
 	
 	public ArrayList<T> getAdjacentes(T obj) {
-		return getAdjacentes(obj.hashCode());
+		return getAdjacentes(getId(obj));
 	}
 	
 	public ArrayList<T> getAdjacentes(int objId) {
-		ArrayList<T> adjacentes = new ArrayList<T>();
-		
-		for (Vertice<T> v : vertices.get(objId).getAdjacentes())
-			adjacentes.add(v.getObj());
-		
-		return adjacentes;
+		return adjacentes(objId);
+	}
+	
+	/**
+	 * Substitui o conteúdo do grafo por vértices e adjacências já construídos.
+	 * @param ids - dicionário com os ids de todos os vértices
+	 * @param vertices - vértices indexados por id
+	 */
+	void carregar(DicionarioVertices<T> ids, ArrayList<Vertice<T>> vertices) {
+		this.ids = ids;
+		this.vertices = vertices;
+		componentesValidos = false;
+		versao++;
+	}
+	
+	/**
+	 * Gera uma representação imutável e compacta (CSR) do estado atual do grafo,
+	 * adequada para cargas de trabalho com muitas consultas e nenhuma alteração.
+	 * @return GrafoCSR<T> com os mesmos vértices e arcos do grafo.
+	 */
+	public GrafoCSR<T> congelar() {
+		return new GrafoCSR<T>(ids, vertices);
+	}
+	
+	/**
+	 * Gera uma representação imutável e compacta do estado atual do grafo com as adjacências
+	 * fora do heap. Arestas de grafos não orientados são copiadas como estão armazenadas, um
+	 * arco por aresta.
+	 * @return DigrafoForaHeap<T> com os mesmos vértices e arcos do grafo.
+	 */
+	public DigrafoForaHeap<T> congelarForaHeap() {
+		return DigrafoForaHeap.copiar(ids, vertices);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,270 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.pifg.zepg.search.Direcao;
+
+/**
+ * Representação imutável de um grafo no formato CSR (compressed sparse row).
+ * Os vértices mantêm os ids densos do grafo de origem e suas conexões ficam armazenadas
+ * em vetores primitivos contíguos, ordenados por id dentro de cada vértice.
+ * Obtida através de {@link Grafo#congelar()}; alterações posteriores no grafo de
+ * origem não são refletidas.
+ * @param <T> tipo de objeto representado como vértice.
+ */
+public class GrafoCSR<T> implements GrafoIndexado<T> {
+	private final DicionarioVertices<T> ids;
+	private final int[] inicioSucessores;
+	private final int[] sucessores;
+	private final int[] inicioAntecessores;
+	private final int[] antecessores;
+
+	GrafoCSR(DicionarioVertices<T> ids, List<Vertice<T>> vertices) {
+		int n, i, arcos;
+		Vertice<T> v;
+
+		this.ids = ids.copiar();
+		n = ids.capacidade();
+		inicioSucessores = new int[n + 1];
+		inicioAntecessores = new int[n + 1];
+
+		for (i = 0; i < n; i++) {
+			v = vertices.get(i);
+			inicioSucessores[i + 1] = inicioSucessores[i] + (v == null ? 0 : v.getSucessores().tamanho());
+			inicioAntecessores[i + 1] = inicioAntecessores[i] + (v == null ? 0 : v.getAntecessores().tamanho());
+		}
+
+		sucessores = new int[inicioSucessores[n]];
+		antecessores = new int[inicioAntecessores[n]];
+
+		for (i = 0; i < n; i++) {
+			if ((v = vertices.get(i)) == null)
+				continue;
+
+			arcos = inicioSucessores[i];
+			for (int j = 0; j < v.getSucessores().tamanho(); j++)
+				sucessores[arcos++] = v.getSucessores().get(j);
+			Arrays.sort(sucessores, inicioSucessores[i], arcos);
+
+			arcos = inicioAntecessores[i];
+			for (int j = 0; j < v.getAntecessores().tamanho(); j++)
+				antecessores[arcos++] = v.getAntecessores().get(j);
+			Arrays.sort(antecessores, inicioAntecessores[i], arcos);
+		}
+	}
+
+	/**
+	 * Retorna o id de um objeto representado como vértice. Os ids são os mesmos do grafo
+	 * de origem no momento do congelamento.
+	 * @param obj - objeto armazenado como vértice
+	 * @return int correspondente ao id do vértice, ou -1 se o objeto não está no grafo.
+	 */
+	public int getId(T obj) {
+		return ids.getId(obj);
+	}
+
+	/**
+	 * Retorna o objeto representado pelo vértice de id informado.
+	 * @param id - id do vértice
+	 * @return objeto T correspondente.
+	 */
+	public T getObjeto(int id) {
+		validar(id);
+		return ids.getObjeto(id);
+	}
+
+	/**
+	 * Retorna o limite superior (exclusivo) dos ids de vértices.
+	 * @return int correspondente ao maior id em uso mais um.
+	 */
+	public int getCapacidade() {
+		return ids.capacidade();
+	}
+
+	/**
+	 * Retorna o número de vértices.
+	 * @return int correspondente ao número de vértices.
+	 */
+	public int getOrdem() {
+		return ids.tamanho();
+	}
+
+	/**
+	 * Retorna o número de arcos (arestas, se grafo não orientado).
+	 * @return int correspondente ao número de arcos.
+	 */
+	public int getNumeroArcos() {
+		return sucessores.length;
+	}
+
+	public boolean contemVertice(T obj) {
+		return getId(obj) >= 0;
+	}
+
+	public boolean contemVertice(int id) {
+		return ids.contem(id);
+	}
+
+	private void validar(int id) {
+		if (!contemVertice(id))
+			throw new NonVerticeException();
+	}
+
+	public int getGrau(T obj) {
+		return getGrau(getId(obj));
+	}
+
+	public int getGrau(int id) {
+		return getGrauEntrada(id) + getGrauSaida(id);
+	}
+
+	public int getGrauEntrada(T obj) {
+		return getGrauEntrada(getId(obj));
+	}
+
+	public int getGrauEntrada(int id) {
+		validar(id);
+		return inicioAntecessores[id + 1] - inicioAntecessores[id];
+	}
+
+	public int getGrauSaida(T obj) {
+		return getGrauSaida(getId(obj));
+	}
+
+	public int getGrauSaida(int id) {
+		validar(id);
+		return inicioSucessores[id + 1] - inicioSucessores[id];
+	}
+
+	public int grauSaida(int id) {
+		return inicioSucessores[id + 1] - inicioSucessores[id];
+	}
+
+	public int grauEntrada(int id) {
+		return inicioAntecessores[id + 1] - inicioAntecessores[id];
+	}
+
+	/**
+	 * Retorna o i-ésimo sucessor (em ordem crescente de id) de um vértice, sem alocação.
+	 * @param id - id denso do vértice
+	 * @param i - índice em [0, getGrauSaida(id))
+	 * @return int correspondente ao id do sucessor.
+	 */
+	public int sucessor(int id, int i) {
+		return sucessores[inicioSucessores[id] + i];
+	}
+
+	/**
+	 * Retorna o i-ésimo antecessor (em ordem crescente de id) de um vértice, sem alocação.
+	 * @param id - id denso do vértice
+	 * @param i - índice em [0, getGrauEntrada(id))
+	 * @return int correspondente ao id do antecessor.
+	 */
+	public int antecessor(int id, int i) {
+		return antecessores[inicioAntecessores[id] + i];
+	}
+
+	public ArrayList<T> sucessores(T obj) {
+		return sucessores(getId(obj));
+	}
+
+	public ArrayList<T> sucessores(int id) {
+		validar(id);
+		return idsParaT(sucessores, inicioSucessores[id], inicioSucessores[id + 1]);
+	}
+
+	public ArrayList<T> antecessores(T obj) {
+		return antecessores(getId(obj));
+	}
+
+	public ArrayList<T> antecessores(int id) {
+		validar(id);
+		return idsParaT(antecessores, inicioAntecessores[id], inicioAntecessores[id + 1]);
+	}
+
+	public ArrayList<T> adjacentes(T obj) {
+		return adjacentes(getId(obj));
+	}
+
+	public ArrayList<T> adjacentes(int id) {
+		ArrayList<T> adjacentes;
+
+		adjacentes = sucessores(id);
+		adjacentes.addAll(antecessores(id));
+
+		return adjacentes;
+	}
+
+	/**
+	 * Verifica se existe arco partindo de um vértice e chegando em outro.
+	 * @param obj1 - objeto armazenado como vértice (origem)
+	 * @param obj2 - objeto armazenado como vértice (extremidade)
+	 * @return true se o arco existe; caso contrário, false.
+	 */
+	public boolean contemArco(T obj1, T obj2) {
+		return contemArco(getId(obj1), getId(obj2));
+	}
+
+	public boolean contemArco(int id1, int id2) {
+		validar(id1);
+		return Arrays.binarySearch(sucessores, inicioSucessores[id1], inicioSucessores[id1 + 1], id2) >= 0;
+	}
+
+	/**
+	 * Retorna os objetos transitivamente alcançáveis a partir de um vértice. Orientação é ignorada.
+	 * @param obj - objeto armazenado como vértice
+	 * @return ArrayList<T> contendo objetos T.
+	 */
+	public ArrayList<T> fechoTransitivo(T obj) {
+		return fechoTransitivo(getId(obj));
+	}
+
+	public ArrayList<T> fechoTransitivo(int id) {
+		return fecho(id, Direcao.ADJACENTES);
+	}
+
+	/**
+	 * Retorna os objetos transitivamente alcançáveis a partir de um vértice, seguindo os arcos.
+	 * @param obj - objeto armazenado como vértice
+	 * @return ArrayList<T> contendo objetos T.
+	 */
+	public ArrayList<T> fechoTransitivoDireto(T obj) {
+		return fechoTransitivoDireto(getId(obj));
+	}
+
+	public ArrayList<T> fechoTransitivoDireto(int id) {
+		return fecho(id, Direcao.SUCESSORES);
+	}
+
+	/**
+	 * Retorna os objetos que alcançam transitivamente um vértice.
+	 * @param obj - objeto armazenado como vértice
+	 * @return ArrayList<T> contendo objetos T.
+	 */
+	public ArrayList<T> fechoTransitivoIndireto(T obj) {
+		return fechoTransitivoIndireto(getId(obj));
+	}
+
+	public ArrayList<T> fechoTransitivoIndireto(int id) {
+		return fecho(id, Direcao.ANTECESSORES);
+	}
+
+	private ArrayList<T> fecho(int id, Direcao direcao) {
+		validar(id);
+
+		return Fechos.fecho(this, id, direcao);
+	}
+
+	private ArrayList<T> idsParaT(int[] ids, int inicio, int fim) {
+		ArrayList<T> objetos;
+
+		objetos = new ArrayList<T>(fim - inicio);
+
+		for (int i = inicio; i < fim; i++)
+			objetos.add(this.ids.getObjeto(ids[i]));
+
+		return objetos;
+	}
+}
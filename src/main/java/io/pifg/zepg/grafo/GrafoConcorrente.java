@@ -0,0 +1,562 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.pifg.zepg.search.Direcao;
+import io.pifg.zepg.search.Visitados;
+
+/**
+ * Variante thread-safe de {@link Grafo} para muitas threads leitoras e poucas escritoras.
+ * <ul>
+ * <li>As adjacências de cada vértice são publicadas como listas imutáveis (referência volátil):
+ * leituras de grau, vizinhos e percursos não usam travas e não esperam por escritores.</li>
+ * <li>Inclusões de arcos acrescentam ao fim de um vetor compartilhado e publicam uma nova
+ * lista, de modo que leitores com a lista anterior continuam vendo um prefixo estável.</li>
+ * <li>Escritas de arcos são serializadas por travas listradas (uma por grupo de vértices);
+ * inclusão e remoção de vértices usam uma trava própria.</li>
+ * </ul>
+ * Leituras são fracamente consistentes: um percurso concorrente a escritas enxerga cada
+ * vértice em algum estado publicado, mas não necessariamente o grafo de um único instante.
+ * Os ids não são reaproveitados após remoções.
+ * <p>
+ * Implementa {@link GrafoIndexado}, de modo que as buscas de {@link io.pifg.zepg.search.Searcher}
+ * rodam sobre ele. Essas buscas dimensionam seu estado pela capacidade lida no início e, por
+ * isso, podem correr junto com inclusões e remoções de arcos e com remoções de vértices, mas não
+ * com inclusões de vértices.
+ * @param <T> tipo de objeto que será representado como vértice pela estrutura de grafo.
+ */
+public class GrafoConcorrente<T> implements GrafoIndexado<T> {
+	private static final int LISTRAS = 64;
+
+	/**
+	 * Lista imutável de ids publicada para leitura. O vetor pode ser compartilhado com listas
+	 * posteriores, que só escrevem além de {@code tamanho}.
+	 * <p>
+	 * Acima de {@link #LIMIAR} ids, a lista mantém, como {@link AdjacenciaHash}, uma tabela de
+	 * endereçamento aberto com a posição (mais um) de cada id, de modo que {@link #posicao(int)}
+	 * custa O(1) esperado. A tabela é compartilhada do mesmo modo que o vetor: listas posteriores
+	 * só acrescentam posições, que as anteriores ignoram por estarem além do seu tamanho.
+	 */
+	static final class Lista {
+		static final Lista VAZIA = new Lista(new int[0], 0, null);
+		private static final int LIMIAR = 8;
+
+		final int[] ids;
+		final int tamanho;
+		private final int[] tabela;
+
+		private Lista(int[] ids, int tamanho, int[] tabela) {
+			this.ids = ids;
+			this.tamanho = tamanho;
+			this.tabela = tabela;
+		}
+
+		private static int espalhar(int id) {
+			id *= 0x9E3779B9;
+			return id ^ (id >>> 16);
+		}
+
+		/**
+		 * @return int correspondente à posição do id na lista, ou -1 se ausente.
+		 */
+		int posicao(int id) {
+			if (tabela == null) {
+				for (int i = 0; i < tamanho; i++)
+					if (ids[i] == id)
+						return i;
+
+				return -1;
+			}
+
+			int mascara, i, p;
+
+			mascara = tabela.length - 1;
+
+			for (i = espalhar(id) & mascara; (p = tabela[i]) != 0; i = (i + 1) & mascara)
+				if (p <= tamanho && ids[p - 1] == id)
+					return p - 1;
+
+			return -1;
+		}
+
+		Lista com(int id) {
+			int[] ids, tabela;
+
+			ids = this.ids;
+			tabela = this.tabela;
+
+			if (tamanho == ids.length)
+				ids = Arrays.copyOf(ids, Math.max(4, tamanho * 2));
+
+			ids[tamanho] = id;
+
+			if (tamanho + 1 > LIMIAR) {
+				if (tabela == null || 2 * (tamanho + 1) > tabela.length)
+					tabela = indexar(ids, tamanho + 1);
+				else
+					indexar(tabela, ids, tamanho);
+			}
+
+			return new Lista(ids, tamanho + 1, tabela);
+		}
+
+		Lista sem(int posicao) {
+			int[] ids;
+
+			ids = Arrays.copyOf(this.ids, tamanho - 1);
+
+			if (posicao < tamanho - 1)
+				ids[posicao] = this.ids[tamanho - 1];
+
+			return new Lista(ids, tamanho - 1, tamanho - 1 > LIMIAR ? indexar(ids, tamanho - 1) : null);
+		}
+
+		/**
+		 * Cria uma tabela com ocupação de no máximo um quarto para as primeiras posições do vetor.
+		 */
+		private static int[] indexar(int[] ids, int tamanho) {
+			int[] tabela;
+
+			tabela = new int[Integer.highestOneBit(tamanho) << 2];
+
+			for (int p = 0; p < tamanho; p++)
+				indexar(tabela, ids, p);
+
+			return tabela;
+		}
+
+		private static void indexar(int[] tabela, int[] ids, int p) {
+			int mascara, i;
+
+			mascara = tabela.length - 1;
+
+			for (i = espalhar(ids[p]) & mascara; tabela[i] != 0; i = (i + 1) & mascara)
+				;
+
+			tabela[i] = p + 1;
+		}
+	}
+
+	static final class No<T> {
+		final T obj;
+		final int id;
+		volatile Lista sucessores;
+		volatile Lista antecessores;
+		volatile boolean removido;
+
+		No(T obj, int id) {
+			this.obj = obj;
+			this.id = id;
+			sucessores = Lista.VAZIA;
+			antecessores = Lista.VAZIA;
+		}
+	}
+
+	private static final class Estado {
+		final Visitados visitados = new Visitados();
+		int[] pilha = new int[16];
+	}
+
+	private final ConcurrentHashMap<T, Integer> ids;
+	private final Object travaVertices;
+	private final Object[] listras;
+	private final AtomicInteger ordem;
+	private final ThreadLocal<Estado> estados;
+	private volatile No<T>[] nos;
+	private volatile int capacidade;
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public GrafoConcorrente() {
+		ids = new ConcurrentHashMap<T, Integer>();
+		travaVertices = new Object();
+		listras = new Object[LISTRAS];
+		for (int i = 0; i < LISTRAS; i++)
+			listras[i] = new Object();
+		ordem = new AtomicInteger();
+		estados = new ThreadLocal<Estado>() {
+			@Override
+			protected Estado initialValue() {
+				return new Estado();
+			}
+		};
+		nos = new No[16];
+	}
+
+	/**
+	 * Adiciona um novo vértice no grafo.
+	 * @param obj - objeto que será armazenado como um vértice do grafo
+	 * @return true se vértice foi adicionado com sucesso; caso contrário, false.
+	 */
+	public boolean adicionarVertice(T obj) {
+		synchronized (travaVertices) {
+			if (ids.containsKey(obj))
+				return false;
+
+			No<T>[] nos;
+			int id;
+
+			nos = this.nos;
+			id = capacidade;
+
+			if (id == nos.length)
+				nos = Arrays.copyOf(nos, id * 2);
+
+			nos[id] = new No<T>(obj, id);
+			this.nos = nos;
+			capacidade = id + 1;
+			ids.put(obj, id);
+			ordem.incrementAndGet();
+
+			return true;
+		}
+	}
+
+	/**
+	 * Remove um vértice do grafo, juntamente com todas as conexões.
+	 * @param obj - objeto armazenado como vértice no grafo que será removido
+	 * @return true se o vértice foi removido com sucesso; caso contrário, false.
+	 */
+	public boolean removerVertice(T obj) {
+		synchronized (travaVertices) {
+			No<T> v;
+			Lista adjacentes;
+
+			if ((v = no(getId(obj))) == null)
+				return false;
+
+			synchronized (listra(v.id)) {
+				v.removido = true;
+			}
+
+			adjacentes = v.sucessores;
+			for (int i = 0; i < adjacentes.tamanho; i++)
+				desligar(v.id, adjacentes.ids[i]);
+
+			adjacentes = v.antecessores;
+			for (int i = 0; i < adjacentes.tamanho; i++)
+				desligar(adjacentes.ids[i], v.id);
+
+			nos[v.id] = null;
+			ids.remove(obj);
+			ordem.decrementAndGet();
+
+			return true;
+		}
+	}
+
+	/**
+	 * Adiciona uma aresta ao grafo, ligando dois objetos representados por vértices.
+	 * @param obj1 - objeto armazenado como vértice no grafo (origem, se orientado)
+	 * @param obj2 - objeto armazenado como vértice no grafo (extremidade, se orientado)
+	 * @return true se aresta foi adicionada com sucesso; caso contrário, false.
+	 */
+	public boolean adicionarAresta(T obj1, T obj2) {
+		return adicionarAresta(getId(obj1), getId(obj2));
+	}
+
+	public boolean adicionarAresta(int obj1Id, int obj2Id) {
+		No<T> v1, v2;
+
+		if ((v1 = no(obj1Id)) == null || (v2 = no(obj2Id)) == null)
+			return false;
+
+		synchronized (primeiraListra(obj1Id, obj2Id)) {
+			synchronized (segundaListra(obj1Id, obj2Id)) {
+				if (v1.removido || v2.removido || v1.sucessores.posicao(obj2Id) >= 0)
+					return false;
+
+				v1.sucessores = v1.sucessores.com(obj2Id);
+				v2.antecessores = v2.antecessores.com(obj1Id);
+
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Remove aresta do grafo, desligando dois objetos representados por vértices.
+	 * @param obj1 - objeto armazenado como vértice no grafo (origem, se orientado)
+	 * @param obj2 - objeto armazenado como vértice no grafo (extremidade, se orientado)
+	 * @return true se a aresta foi removida com sucesso; caso contrário, false.
+	 */
+	public boolean removerAresta(T obj1, T obj2) {
+		return removerAresta(getId(obj1), getId(obj2));
+	}
+
+	public boolean removerAresta(int obj1Id, int obj2Id) {
+		if (no(obj1Id) == null || no(obj2Id) == null)
+			return false;
+
+		return desligar(obj1Id, obj2Id) || desligar(obj2Id, obj1Id);
+	}
+
+	/**
+	 * Remove o arco de origem a destino, se existir.
+	 * @return true se o arco foi removido; caso contrário, false.
+	 */
+	protected boolean desligar(int origem, int destino) {
+		No<T> v1, v2;
+		int p;
+
+		v1 = nos[origem];
+		v2 = nos[destino];
+
+		if (v1 == null || v2 == null)
+			return false;
+
+		synchronized (primeiraListra(origem, destino)) {
+			synchronized (segundaListra(origem, destino)) {
+				if ((p = v1.sucessores.posicao(destino)) < 0)
+					return false;
+
+				v1.sucessores = v1.sucessores.sem(p);
+				v2.antecessores = v2.antecessores.sem(v2.antecessores.posicao(origem));
+
+				return true;
+			}
+		}
+	}
+
+	private Object listra(int id) {
+		return listras[id & (LISTRAS - 1)];
+	}
+
+	private Object primeiraListra(int id1, int id2) {
+		return listras[Math.min(id1 & (LISTRAS - 1), id2 & (LISTRAS - 1))];
+	}
+
+	private Object segundaListra(int id1, int id2) {
+		return listras[Math.max(id1 & (LISTRAS - 1), id2 & (LISTRAS - 1))];
+	}
+
+	protected No<T> no(int objId) {
+		No<T>[] nos;
+		No<T> v;
+
+		nos = this.nos;
+
+		if (objId < 0 || objId >= nos.length || (v = nos[objId]) == null || v.removido)
+			return null;
+
+		return v;
+	}
+
+	protected No<T> noExistente(int objId) {
+		No<T> v;
+
+		if ((v = no(objId)) == null)
+			throw new NonVerticeException();
+
+		return v;
+	}
+
+	/**
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return int correspondente ao id do vértice, ou -1 se o objeto não está no grafo.
+	 */
+	public int getId(T obj) {
+		Integer id;
+
+		return (id = ids.get(obj)) == null ? -1 : id;
+	}
+
+	public T getObjeto(int objId) {
+		No<T> v;
+
+		return (v = no(objId)) == null ? null : v.obj;
+	}
+
+	public boolean contemVertice(T obj) {
+		return ids.containsKey(obj);
+	}
+
+	public boolean contemVertice(int objId) {
+		return no(objId) != null;
+	}
+
+	/**
+	 * Retorna o número de vértices do grafo.
+	 * @return int correspondente ao número de vértices do grafo.
+	 */
+	public int getOrdem() {
+		return ordem.get();
+	}
+
+	public int getCapacidade() {
+		return capacidade;
+	}
+
+	/**
+	 * @return int correspondente ao grau de saída do vértice, ou 0 se ele foi removido.
+	 */
+	public int grauSaida(int objId) {
+		No<T> v;
+
+		return (v = no(objId)) == null ? 0 : v.sucessores.tamanho;
+	}
+
+	public int grauEntrada(int objId) {
+		No<T> v;
+
+		return (v = no(objId)) == null ? 0 : v.antecessores.tamanho;
+	}
+
+	/**
+	 * Retorna o i-ésimo sucessor, sem travas. Se a lista encolheu desde a leitura do grau, a
+	 * posição que deixou de existir devolve o próprio vértice, já visitado por quem o percorre.
+	 */
+	public int sucessor(int objId, int i) {
+		No<T> v;
+
+		return (v = no(objId)) == null ? objId : vizinho(v.sucessores, i, objId);
+	}
+
+	public int antecessor(int objId, int i) {
+		No<T> v;
+
+		return (v = no(objId)) == null ? objId : vizinho(v.antecessores, i, objId);
+	}
+
+	private static int vizinho(Lista lista, int i, int padrao) {
+		return i < lista.tamanho ? lista.ids[i] : padrao;
+	}
+
+	/**
+	 * Retorna uma lista contendo os objetos representados como vértices no grafo.
+	 * @return ArrayList<T> contendo objetos T no grafo.
+	 */
+	public ArrayList<T> getVertices() {
+		ArrayList<T> objetos;
+		No<T>[] nos;
+		int n;
+
+		n = capacidade;
+		nos = this.nos;
+		objetos = new ArrayList<T>(n);
+
+		for (int i = 0; i < n; i++)
+			if (nos[i] != null && !nos[i].removido)
+				objetos.add(nos[i].obj);
+
+		return objetos;
+	}
+
+	public int getGrau(T obj) {
+		return getGrau(getId(obj));
+	}
+
+	public int getGrau(int objId) {
+		No<T> v;
+
+		v = noExistente(objId);
+
+		return v.sucessores.tamanho + v.antecessores.tamanho;
+	}
+
+	public ArrayList<T> adjacentes(T obj) {
+		return adjacentes(getId(obj));
+	}
+
+	public ArrayList<T> adjacentes(int objId) {
+		ArrayList<T> adjacentes;
+		No<T> v;
+
+		v = noExistente(objId);
+		adjacentes = idsParaT(v.sucessores);
+		adjacentes.addAll(idsParaT(v.antecessores));
+
+		return adjacentes;
+	}
+
+	public ArrayList<T> fechoTransitivo(T obj) {
+		return fechoTransitivo(getId(obj));
+	}
+
+	/**
+	 * Retorna os objetos transitivamente alcançáveis a partir de um objeto, ignorando orientação.
+	 * @param objId - id do objeto armazenado como vértice no grafo
+	 * @return ArrayList<T> contendo objetos T no grafo.
+	 */
+	public ArrayList<T> fechoTransitivo(int objId) {
+		return fecho(objId, Direcao.ADJACENTES);
+	}
+
+	/**
+	 * Percorre em profundidade, sem travas, os vértices alcançáveis a partir de um vértice.
+	 * O estado do percurso é mantido por thread e reaproveitado entre chamadas.
+	 */
+	protected ArrayList<T> fecho(int objId, Direcao direcao) {
+		ArrayList<T> F;
+		Estado estado;
+		No<T>[] nos;
+		No<T> v;
+		int topo;
+
+		noExistente(objId);
+		estado = estados.get();
+		nos = this.nos;
+		estado.visitados.reiniciar(nos.length);
+		if (estado.pilha.length < nos.length)
+			estado.pilha = new int[nos.length];
+
+		F = new ArrayList<T>();
+		estado.visitados.marcar(objId);
+		estado.pilha[0] = objId;
+		topo = 1;
+
+		while (topo > 0) {
+			if ((v = nos[estado.pilha[--topo]]) == null)
+				continue;
+
+			F.add(v.obj);
+
+			if (direcao != Direcao.ANTECESSORES)
+				topo = empilhar(estado, topo, v.sucessores);
+
+			if (direcao != Direcao.SUCESSORES)
+				topo = empilhar(estado, topo, v.antecessores);
+		}
+
+		return F;
+	}
+
+	private int empilhar(Estado estado, int topo, Lista lista) {
+		int w;
+
+		for (int i = 0; i < lista.tamanho; i++)
+			if ((w = lista.ids[i]) < estado.pilha.length && estado.visitados.marcar(w))
+				estado.pilha[topo++] = w;
+
+		return topo;
+	}
+
+	/**
+	 * Verifica se existe pelo menos um caminho entre cada par de vértices do grafo.
+	 * @return true se grafo é conexo; caso contrário, false.
+	 */
+	public boolean ehConexo() {
+		ArrayList<T> vertices;
+
+		vertices = getVertices();
+
+		return vertices.isEmpty() || fechoTransitivo(vertices.get(0)).size() == getOrdem();
+	}
+
+	protected ArrayList<T> idsParaT(Lista lista) {
+		ArrayList<T> objetos;
+		No<T>[] nos;
+		No<T> v;
+
+		nos = this.nos;
+		objetos = new ArrayList<T>(lista.tamanho);
+
+		for (int i = 0; i < lista.tamanho; i++)
+			if ((v = nos[lista.ids[i]]) != null)
+				objetos.add(v.obj);
+
+		return objetos;
+	}
+}
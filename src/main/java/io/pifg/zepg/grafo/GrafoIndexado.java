@@ -0,0 +1,46 @@
+package io.pifg.zepg.grafo;
+
+/**
+ * Acesso de baixo nível, por id denso e sem alocação, à estrutura de um grafo. É a visão
+ * usada pelos algoritmos de percurso e busca, independente da representação concreta.
+ * Os métodos de grau e vizinhança não validam o id; cabe ao chamador usar apenas ids
+ * para os quais contemVertice(int) é verdadeiro.
+ * @param <T> tipo de objeto representado como vértice.
+ */
+public interface GrafoIndexado<T> {
+	/**
+	 * Retorna o limite superior (exclusivo) dos ids de vértices.
+	 * @return int correspondente ao maior id em uso mais um.
+	 */
+	int getCapacidade();
+	
+	boolean contemVertice(int id);
+	
+	/**
+	 * @param obj - objeto armazenado como vértice
+	 * @return int correspondente ao id do vértice, ou -1 se o objeto não está no grafo.
+	 */
+	int getId(T obj);
+	
+	T getObjeto(int id);
+	
+	int grauSaida(int id);
+	
+	int grauEntrada(int id);
+	
+	/**
+	 * Retorna o i-ésimo sucessor de um vértice.
+	 * @param id - id do vértice
+	 * @param i - posição em [0, grauSaida(id))
+	 * @return int correspondente ao id do sucessor.
+	 */
+	int sucessor(int id, int i);
+	
+	/**
+	 * Retorna o i-ésimo antecessor de um vértice.
+	 * @param id - id do vértice
+	 * @param i - posição em [0, grauEntrada(id))
+	 * @return int correspondente ao id do antecessor.
+	 */
+	int antecessor(int id, int i);
+}
@@ -0,0 +1,15 @@
+package io.pifg.zepg.grafo;
+
+/**
+ * {@link GrafoIndexado} cujos arcos têm pesos, acessíveis por posição e sem alocação.
+ * @param <T> tipo de objeto representado como vértice.
+ */
+public interface GrafoIndexadoPonderado<T> extends GrafoIndexado<T> {
+	/**
+	 * Retorna o peso do arco para o i-ésimo sucessor de um vértice.
+	 * @param id - id do vértice
+	 * @param i - posição em [0, grauSaida(id))
+	 * @return double correspondente ao peso do arco id -> sucessor(id, i).
+	 */
+	double peso(int id, int i);
+}
@@ -0,0 +1,578 @@
+package io.pifg.zepg.grafo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import io.pifg.zepg.search.Direcao;
+
+/**
+ * Grafo somente leitura servido diretamente de um arquivo binário mapeado em memória
+ * ({@link FileChannel#map}). Abrir o arquivo não desserializa nada: graus, vizinhos e
+ * percursos leem as páginas mapeadas, carregadas sob demanda pelo sistema operacional e
+ * compartilhadas, via cache de páginas, entre processos que abrem o mesmo arquivo.
+ * Os objetos dos vértices são decodificados a cada chamada que os retorna.
+ * <p>
+ * Formato (little-endian; seções alinhadas em 8 bytes, na ordem abaixo):
+ * <ul>
+ * <li>cabeçalho de {@value #TAMANHO_CABECALHO} bytes: mágico, versão, capacidade, ordem,
+ * número de arcos, posições da tabela de busca e bytes de objetos;</li>
+ * <li>presença: um bit por id;</li>
+ * <li>início dos objetos: capacidade + 1 inteiros;</li>
+ * <li>tabela de busca: endereçamento aberto de ids, pelo hash dos bytes codificados;</li>
+ * <li>início dos sucessores e sucessores; início dos antecessores e antecessores, em ordem
+ * crescente de id dentro de cada vértice;</li>
+ * <li>objetos codificados, concatenados.</li>
+ * </ul>
+ * Arquivos de até 2 GB são mapeados de uma só vez; nos maiores, cada seção é mapeada
+ * separadamente e deve ter menos de 2 GB. Os ids são os do grafo
+ * gravado. Instâncias podem ser lidas concorrentemente por várias threads.
+ * @param <T> tipo de objeto representado como vértice.
+ */
+public class GrafoMapeado<T> implements GrafoIndexado<T>, Closeable {
+	private static final int MAGICO = 0x5A455047;
+	private static final int VERSAO = 1;
+	static final int TAMANHO_CABECALHO = 64;
+	private static final int LIVRE = -1;
+
+	private final FileChannel canal;
+	private final ByteBuffer arquivoInteiro;
+	private final Codificador<T> codificador;
+	private final int capacidade;
+	private final int ordem;
+	private final int numArcos;
+	private final LongBuffer presenca;
+	private final IntBuffer inicioObjetos;
+	private final IntBuffer tabela;
+	private final IntBuffer inicioSucessores;
+	private final IntBuffer sucessores;
+	private final IntBuffer inicioAntecessores;
+	private final IntBuffer antecessores;
+	private final ByteBuffer objetos;
+
+	/**
+	 * Abre um arquivo gravado por {@link #escrever}.
+	 * @param arquivo - caminho do arquivo
+	 * @param codificador - codificador usado na gravação
+	 * @throws IOException se o arquivo não pode ser lido ou não está no formato esperado.
+	 */
+	public GrafoMapeado(Path arquivo, Codificador<T> codificador) throws IOException {
+		ByteBuffer cabecalho;
+		int slots, bytesObjetos;
+		long posicao;
+
+		this.codificador = codificador;
+		canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+
+		try {
+			arquivoInteiro = canal.size() <= Integer.MAX_VALUE ? canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()) : null;
+			cabecalho = mapear(0, TAMANHO_CABECALHO);
+
+			if (cabecalho.capacity() < TAMANHO_CABECALHO)
+				throw new IOException("Formato de grafo desconhecido.");
+
+			if (cabecalho.getInt(0) != MAGICO || cabecalho.getInt(4) != VERSAO)
+				throw new IOException("Formato de grafo desconhecido.");
+
+			capacidade = cabecalho.getInt(8);
+			ordem = cabecalho.getInt(12);
+			numArcos = cabecalho.getInt(16);
+			slots = cabecalho.getInt(20);
+			bytesObjetos = cabecalho.getInt(24);
+
+			posicao = TAMANHO_CABECALHO;
+			presenca = mapear(posicao, 8L * palavrasPresenca(capacidade)).asLongBuffer();
+			posicao = proxima(posicao, 8L * palavrasPresenca(capacidade));
+			inicioObjetos = mapear(posicao, 4L * (capacidade + 1)).asIntBuffer();
+			posicao = proxima(posicao, 4L * (capacidade + 1));
+			tabela = mapear(posicao, 4L * slots).asIntBuffer();
+			posicao = proxima(posicao, 4L * slots);
+			inicioSucessores = mapear(posicao, 4L * (capacidade + 1)).asIntBuffer();
+			posicao = proxima(posicao, 4L * (capacidade + 1));
+			sucessores = mapear(posicao, 4L * numArcos).asIntBuffer();
+			posicao = proxima(posicao, 4L * numArcos);
+			inicioAntecessores = mapear(posicao, 4L * (capacidade + 1)).asIntBuffer();
+			posicao = proxima(posicao, 4L * (capacidade + 1));
+			antecessores = mapear(posicao, 4L * numArcos).asIntBuffer();
+			posicao = proxima(posicao, 4L * numArcos);
+			objetos = mapear(posicao, bytesObjetos);
+		} catch (IOException | RuntimeException e) {
+			canal.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Retorna uma seção do arquivo: um recorte do mapeamento único, quando o arquivo cabe em
+	 * um, ou um mapeamento próprio.
+	 */
+	private ByteBuffer mapear(long posicao, long tamanho) throws IOException {
+		ByteBuffer secao;
+
+		if (arquivoInteiro == null)
+			return canal.map(FileChannel.MapMode.READ_ONLY, posicao, tamanho).order(ByteOrder.LITTLE_ENDIAN);
+
+		if (posicao + tamanho > arquivoInteiro.capacity())
+			throw new IOException("Arquivo de grafo truncado.");
+
+		secao = arquivoInteiro.duplicate();
+		secao.position((int) posicao).limit((int) (posicao + tamanho));
+
+		return secao.slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static long proxima(long posicao, long tamanho) {
+		return (posicao + tamanho + 7) & ~7L;
+	}
+
+	private static int palavrasPresenca(int capacidade) {
+		return (capacidade + 63) >>> 6;
+	}
+
+	private static int espalhar(byte[] bytes, int tamanho) {
+		int h;
+
+		h = 0x811C9DC5;
+		for (int i = 0; i < tamanho; i++)
+			h = (h ^ (bytes[i] & 0xFF)) * 0x01000193;
+
+		h *= 0x9E3779B9;
+
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Grava um grafo no formato binário, substituindo o arquivo se existir. Cada objeto é
+	 * codificado uma única vez, e os bytes ficam em memória até o fim da gravação.
+	 * @param G - grafo a ser gravado (não deve ser alterado durante a gravação)
+	 * @param codificador - codificador dos objetos dos vértices
+	 * @param arquivo - caminho do arquivo
+	 * @throws IOException se o arquivo não pode ser gravado ou se o grafo excede os limites do
+	 * formato (contagens e posições de 32 bits, seções de menos de 2 GB); nesse caso o arquivo
+	 * não é alterado.
+	 */
+	public static <T> void escrever(GrafoIndexado<T> G, Codificador<? super T> codificador, Path arquivo) throws IOException {
+		int capacidade, ordem, arcos, slots, bytesObjetos, mascara, h, i;
+		long totalArcos, totalBytes, totalSlots;
+		int[] linha;
+		long[] presenca;
+		int[] tabela;
+		byte[][] codificados;
+		Saida saida;
+
+		capacidade = G.getCapacidade();
+		presenca = new long[palavrasPresenca(capacidade)];
+		// cada objeto é codificado uma única vez e reaproveitado nas seções que dependem dele
+		codificados = new byte[capacidade][];
+		ordem = 0;
+		totalArcos = 0;
+		totalBytes = 0;
+
+		for (int v = 0; v < capacidade; v++)
+			if (G.contemVertice(v)) {
+				presenca[v >>> 6] |= 1L << v;
+				ordem++;
+				totalArcos += G.grauSaida(v);
+				codificados[v] = codificador.codificar(G.getObjeto(v));
+				totalBytes += codificados[v].length;
+			}
+
+		// as somas parciais gravadas nos inícios de objetos e de adjacências ficam limitadas por estes totais
+		campo(capacidade + 1L, 4L * (capacidade + 1), "capacidade");
+		arcos = campo(totalArcos, 4L * totalArcos, "número de arcos");
+		bytesObjetos = campo(totalBytes, totalBytes, "bytes de objetos");
+		totalSlots = Long.highestOneBit(Math.max(2, ordem) * 2L - 1) << 1;
+		slots = campo(totalSlots, 4L * totalSlots, "tabela de busca");
+		mascara = slots - 1;
+		tabela = new int[slots];
+		Arrays.fill(tabela, LIVRE);
+		linha = new int[16];
+
+		try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			saida = new Saida(canal);
+
+			saida.inteiro(MAGICO);
+			saida.inteiro(VERSAO);
+			saida.inteiro(capacidade);
+			saida.inteiro(ordem);
+			saida.inteiro(arcos);
+			saida.inteiro(slots);
+			saida.inteiro(bytesObjetos);
+			saida.completar(TAMANHO_CABECALHO);
+
+			for (long palavra : presenca)
+				saida.longo(palavra);
+			saida.alinhar(8);
+
+			saida.inteiro(0);
+			for (int v = 0, inicio = 0; v < capacidade; v++)
+				saida.inteiro(inicio += codificados[v] == null ? 0 : codificados[v].length);
+			saida.alinhar(8);
+
+			for (int v = 0; v < capacidade; v++)
+				if (codificados[v] != null) {
+					for (i = espalhar(codificados[v], codificados[v].length) & mascara; tabela[i] != LIVRE; i = (i + 1) & mascara)
+						;
+
+					tabela[i] = v;
+				}
+
+			for (int slot : tabela)
+				saida.inteiro(slot);
+			saida.alinhar(8);
+
+			for (int direcao = 0; direcao < 2; direcao++) {
+				saida.inteiro(0);
+				for (int v = 0, inicio = 0; v < capacidade; v++)
+					saida.inteiro(inicio += G.contemVertice(v) ? grau(G, v, direcao) : 0);
+				saida.alinhar(8);
+
+				for (int v = 0; v < capacidade; v++) {
+					if (!G.contemVertice(v))
+						continue;
+
+					h = grau(G, v, direcao);
+					if (linha.length < h)
+						linha = new int[Math.max(h, linha.length * 2)];
+
+					for (i = 0; i < h; i++)
+						linha[i] = direcao == 0 ? G.sucessor(v, i) : G.antecessor(v, i);
+					Arrays.sort(linha, 0, h);
+
+					for (i = 0; i < h; i++)
+						saida.inteiro(linha[i]);
+				}
+				saida.alinhar(8);
+			}
+
+			for (int v = 0; v < capacidade; v++)
+				if (codificados[v] != null)
+					saida.bytes(codificados[v]);
+
+			saida.descarregar();
+		}
+	}
+
+	/**
+	 * Verifica se um valor cabe em um campo inteiro do formato e se a seção correspondente tem
+	 * menos de 2 GB.
+	 * @return int correspondente ao valor.
+	 * @throws IOException se o valor ou a seção excedem o formato.
+	 */
+	private static int campo(long valor, long bytesSecao, String nome) throws IOException {
+		if (valor > Integer.MAX_VALUE || bytesSecao > Integer.MAX_VALUE)
+			throw new IOException("Grafo excede os limites do formato: " + nome + ".");
+
+		return (int) valor;
+	}
+
+	private static int grau(GrafoIndexado<?> G, int v, int direcao) {
+		return direcao == 0 ? G.grauSaida(v) : G.grauEntrada(v);
+	}
+
+	/**
+	 * Escrita sequencial em um canal através de um buffer little-endian.
+	 */
+	private static final class Saida {
+		private final FileChannel canal;
+		private final ByteBuffer buffer;
+		private long posicao;
+
+		Saida(FileChannel canal) {
+			this.canal = canal;
+			buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+		}
+
+		private void reservar(int n) throws IOException {
+			if (buffer.remaining() < n)
+				descarregar();
+		}
+
+		void inteiro(int v) throws IOException {
+			reservar(4);
+			buffer.putInt(v);
+			posicao += 4;
+		}
+
+		void longo(long v) throws IOException {
+			reservar(8);
+			buffer.putLong(v);
+			posicao += 8;
+		}
+
+		void bytes(byte[] bytes) throws IOException {
+			int escritos, n;
+
+			for (escritos = 0; escritos < bytes.length; escritos += n) {
+				reservar(1);
+				n = Math.min(buffer.remaining(), bytes.length - escritos);
+				buffer.put(bytes, escritos, n);
+			}
+
+			posicao += bytes.length;
+		}
+
+		void completar(long ate) throws IOException {
+			while (posicao < ate) {
+				reservar(1);
+				buffer.put((byte) 0);
+				posicao++;
+			}
+		}
+
+		void alinhar(int alinhamento) throws IOException {
+			completar((posicao + alinhamento - 1) / alinhamento * alinhamento);
+		}
+
+		void descarregar() throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining())
+				canal.write(buffer);
+			buffer.clear();
+		}
+	}
+
+	/**
+	 * Libera o arquivo. As páginas mapeadas são liberadas pelo coletor de lixo; o grafo
+	 * não deve ser usado após o fechamento.
+	 */
+	public void close() throws IOException {
+		canal.close();
+	}
+
+	public int getId(T obj) {
+		byte[] bytes;
+		int mascara, i, id, inicio;
+
+		bytes = codificador.codificar(obj);
+		mascara = tabela.capacity() - 1;
+
+		for (i = espalhar(bytes, bytes.length) & mascara; (id = tabela.get(i)) != LIVRE; i = (i + 1) & mascara) {
+			inicio = inicioObjetos.get(id);
+
+			if (inicioObjetos.get(id + 1) - inicio == bytes.length && iguais(bytes, inicio))
+				return id;
+		}
+
+		return -1;
+	}
+
+	private boolean iguais(byte[] bytes, int inicio) {
+		for (int i = 0; i < bytes.length; i++)
+			if (objetos.get(inicio + i) != bytes[i])
+				return false;
+
+		return true;
+	}
+
+	public T getObjeto(int id) {
+		int inicio;
+
+		validar(id);
+		inicio = inicioObjetos.get(id);
+
+		return codificador.decodificar(objetos, inicio, inicioObjetos.get(id + 1) - inicio);
+	}
+
+	public int getCapacidade() {
+		return capacidade;
+	}
+
+	/**
+	 * Retorna o número de vértices.
+	 * @return int correspondente ao número de vértices.
+	 */
+	public int getOrdem() {
+		return ordem;
+	}
+
+	/**
+	 * Retorna o número de arcos (arestas, se grafo não orientado).
+	 * @return int correspondente ao número de arcos.
+	 */
+	public int getNumeroArcos() {
+		return numArcos;
+	}
+
+	public boolean contemVertice(T obj) {
+		return getId(obj) >= 0;
+	}
+
+	public boolean contemVertice(int id) {
+		return id >= 0 && id < capacidade && (presenca.get(id >>> 6) & (1L << id)) != 0;
+	}
+
+	private void validar(int id) {
+		if (!contemVertice(id))
+			throw new NonVerticeException();
+	}
+
+	public int getGrau(T obj) {
+		return getGrau(getId(obj));
+	}
+
+	public int getGrau(int id) {
+		return getGrauEntrada(id) + getGrauSaida(id);
+	}
+
+	public int getGrauEntrada(T obj) {
+		return getGrauEntrada(getId(obj));
+	}
+
+	public int getGrauEntrada(int id) {
+		validar(id);
+		return grauEntrada(id);
+	}
+
+	public int getGrauSaida(T obj) {
+		return getGrauSaida(getId(obj));
+	}
+
+	public int getGrauSaida(int id) {
+		validar(id);
+		return grauSaida(id);
+	}
+
+	public int grauSaida(int id) {
+		return inicioSucessores.get(id + 1) - inicioSucessores.get(id);
+	}
+
+	public int grauEntrada(int id) {
+		return inicioAntecessores.get(id + 1) - inicioAntecessores.get(id);
+	}
+
+	public int sucessor(int id, int i) {
+		return sucessores.get(inicioSucessores.get(id) + i);
+	}
+
+	public int antecessor(int id, int i) {
+		return antecessores.get(inicioAntecessores.get(id) + i);
+	}
+
+	public ArrayList<T> sucessores(T obj) {
+		return sucessores(getId(obj));
+	}
+
+	public ArrayList<T> sucessores(int id) {
+		validar(id);
+		return idsParaT(sucessores, inicioSucessores.get(id), inicioSucessores.get(id + 1));
+	}
+
+	public ArrayList<T> antecessores(T obj) {
+		return antecessores(getId(obj));
+	}
+
+	public ArrayList<T> antecessores(int id) {
+		validar(id);
+		return idsParaT(antecessores, inicioAntecessores.get(id), inicioAntecessores.get(id + 1));
+	}
+
+	public ArrayList<T> adjacentes(T obj) {
+		return adjacentes(getId(obj));
+	}
+
+	public ArrayList<T> adjacentes(int id) {
+		ArrayList<T> adjacentes;
+
+		adjacentes = sucessores(id);
+		adjacentes.addAll(antecessores(id));
+
+		return adjacentes;
+	}
+
+	/**
+	 * Verifica se existe arco partindo de um vértice e chegando em outro.
+	 * @param obj1 - objeto armazenado como vértice (origem)
+	 * @param obj2 - objeto armazenado como vértice (extremidade)
+	 * @return true se o arco existe; caso contrário, false.
+	 */
+	public boolean contemArco(T obj1, T obj2) {
+		return contemArco(getId(obj1), getId(obj2));
+	}
+
+	public boolean contemArco(int id1, int id2) {
+		int inicio, fim, meio, w;
+
+		validar(id1);
+		inicio = inicioSucessores.get(id1);
+		fim = inicioSucessores.get(id1 + 1) - 1;
+
+		while (inicio <= fim) {
+			meio = (inicio + fim) >>> 1;
+
+			if ((w = sucessores.get(meio)) < id2)
+				inicio = meio + 1;
+			else if (w > id2)
+				fim = meio - 1;
+			else
+				return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Retorna os objetos transitivamente alcançáveis a partir de um vértice. Orientação é ignorada.
+	 * @param obj - objeto armazenado como vértice
+	 * @return ArrayList<T> contendo objetos T.
+	 */
+	public ArrayList<T> fechoTransitivo(T obj) {
+		return fechoTransitivo(getId(obj));
+	}
+
+	public ArrayList<T> fechoTransitivo(int id) {
+		return fecho(id, Direcao.ADJACENTES);
+	}
+
+	/**
+	 * Retorna os objetos transitivamente alcançáveis a partir de um vértice, seguindo os arcos.
+	 * @param obj - objeto armazenado como vértice
+	 * @return ArrayList<T> contendo objetos T.
+	 */
+	public ArrayList<T> fechoTransitivoDireto(T obj) {
+		return fechoTransitivoDireto(getId(obj));
+	}
+
+	public ArrayList<T> fechoTransitivoDireto(int id) {
+		return fecho(id, Direcao.SUCESSORES);
+	}
+
+	/**
+	 * Retorna os objetos que alcançam transitivamente um vértice.
+	 * @param obj - objeto armazenado como vértice
+	 * @return ArrayList<T> contendo objetos T.
+	 */
+	public ArrayList<T> fechoTransitivoIndireto(T obj) {
+		return fechoTransitivoIndireto(getId(obj));
+	}
+
+	public ArrayList<T> fechoTransitivoIndireto(int id) {
+		return fecho(id, Direcao.ANTECESSORES);
+	}
+
+	private ArrayList<T> fecho(int id, Direcao direcao) {
+		validar(id);
+
+		return Fechos.fecho(this, id, direcao);
+	}
+
+	private ArrayList<T> idsParaT(IntBuffer ids, int inicio, int fim) {
+		ArrayList<T> objetos;
+
+		objetos = new ArrayList<T>(fim - inicio);
+
+		for (int i = inicio; i < fim; i++)
+			objetos.add(getObjeto(ids.get(i)));
+
+		return objetos;
+	}
+}
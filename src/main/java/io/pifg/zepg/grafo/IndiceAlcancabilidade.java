@@ -0,0 +1,273 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import io.pifg.zepg.search.Visitados;
+
+/**
+ * Índice de alcançabilidade para grafos acíclicos, no estilo GRAIL (Yildirim et al.).
+ * Cada vértice recebe:
+ * <ul>
+ * <li>seu nível topológico (maior distância a partir de uma fonte): se a alcança b, então
+ * nivel(a) &lt; nivel(b);</li>
+ * <li>{@link #ROTULOS} intervalos [menor posto alcançável, posto] obtidos de percursos em
+ * profundidade com ordens de visita distintas: se a alcança b, o intervalo de b está contido
+ * no de a em todos os rotulamentos;</li>
+ * <li>o intervalo de sua subárvore no primeiro percurso: se b está na subárvore de a, então
+ * a alcança b.</li>
+ * </ul>
+ * A maioria das consultas é respondida em O(1) por esses cortes; as demais recorrem a uma
+ * busca em profundidade podada pelos mesmos rótulos. O índice ocupa 2 + 2 * ROTULOS inteiros
+ * por vértice e é construído em O(ROTULOS * (V + E)).
+ * Reflete o grafo no momento da construção. Depois de construído, o índice não é alterado
+ * pelas consultas: a busca de recurso usa estado mantido por thread, de modo que consultas
+ * concorrentes sobre um grafo que não está sendo alterado são seguras.
+ */
+public class IndiceAlcancabilidade {
+	private static final int ROTULOS = 2;
+	private static final ThreadLocal<Estado> ESTADOS = ThreadLocal.withInitial(Estado::new);
+
+	/**
+	 * Estado da busca de recurso, reaproveitado entre as consultas de uma thread.
+	 */
+	private static final class Estado {
+		final Visitados visitados = new Visitados();
+		int[] pilha = new int[16];
+	}
+
+	private final GrafoIndexado<?> G;
+	private final int[] niveis;
+	private final int[] rotulos;
+	private final int[] minimosArvore;
+
+	/**
+	 * Constrói o índice sobre o estado atual de um grafo acíclico.
+	 * @param G - grafo acíclico
+	 * @throws CicloException se o grafo possui ciclo.
+	 */
+	public IndiceAlcancabilidade(GrafoIndexado<?> G) {
+		int n;
+		int[] fontes, pilha, cursores;
+		Visitados visitados;
+
+		this.G = G;
+		n = G.getCapacidade();
+		niveis = new int[n];
+		rotulos = new int[2 * ROTULOS * n];
+		minimosArvore = new int[n];
+		visitados = new Visitados();
+		pilha = new int[n];
+		cursores = new int[n];
+
+		fontes = calcularNiveis();
+
+		for (int r = 0; r < ROTULOS; r++)
+			rotular(r, fontes, visitados, pilha, cursores);
+	}
+
+	/**
+	 * Calcula os níveis topológicos pelo algoritmo de Kahn.
+	 * @return int[] com os ids das fontes (vértices sem antecessores).
+	 */
+	private int[] calcularNiveis() {
+		int n, inicio, fim, vertices, fontes, v, w;
+		int[] grausEntrada, fila;
+
+		n = G.getCapacidade();
+		grausEntrada = new int[n];
+		fila = new int[n];
+		fim = 0;
+		vertices = 0;
+
+		for (v = 0; v < n; v++)
+			if (G.contemVertice(v)) {
+				vertices++;
+
+				if ((grausEntrada[v] = G.grauEntrada(v)) == 0)
+					fila[fim++] = v;
+			}
+
+		fontes = fim;
+
+		for (inicio = 0; inicio < fim; inicio++) {
+			v = fila[inicio];
+
+			for (int i = 0; i < G.grauSaida(v); i++) {
+				w = G.sucessor(v, i);
+
+				if (niveis[w] <= niveis[v])
+					niveis[w] = niveis[v] + 1;
+
+				if (--grausEntrada[w] == 0)
+					fila[fim++] = w;
+			}
+		}
+
+		if (fim < vertices)
+			throw new CicloException();
+
+		return Arrays.copyOf(fila, fontes);
+	}
+
+	/**
+	 * Percorre o grafo em profundidade a partir das fontes, em ordem embaralhada e começando
+	 * a visita aos sucessores de cada vértice em uma posição pseudoaleatória, atribuindo a cada
+	 * vértice seu posto em pós-ordem e o menor posto entre os vértices que alcança.
+	 */
+	private void rotular(int r, int[] fontes, Visitados visitados, int[] pilha, int[] cursores) {
+		int posto, topo, v, w, i, grau, base, minimo;
+		Random aleatorio;
+
+		aleatorio = new Random(r + 1);
+
+		for (i = fontes.length - 1; i > 0; i--) {
+			int j = aleatorio.nextInt(i + 1), t = fontes[i];
+			fontes[i] = fontes[j];
+			fontes[j] = t;
+		}
+
+		visitados.reiniciar(G.getCapacidade());
+		posto = 0;
+
+		for (int fonte : fontes) {
+			visitados.marcar(fonte);
+			pilha[0] = fonte;
+			cursores[0] = 0;
+			topo = 1;
+
+			if (r == 0)
+				minimosArvore[fonte] = Integer.MAX_VALUE;
+
+			while (topo > 0) {
+				v = pilha[topo - 1];
+				grau = G.grauSaida(v);
+
+				if ((i = cursores[topo - 1]) < grau) {
+					cursores[topo - 1]++;
+					w = G.sucessor(v, (i + deslocamento(v, r, grau)) % grau);
+
+					if (visitados.marcar(w)) {
+						pilha[topo] = w;
+						cursores[topo] = 0;
+						topo++;
+
+						if (r == 0)
+							minimosArvore[w] = Integer.MAX_VALUE;
+					}
+
+					continue;
+				}
+
+				topo--;
+				base = 2 * (ROTULOS * v + r);
+				rotulos[base + 1] = posto;
+				minimo = posto;
+
+				for (i = 0; i < grau; i++)
+					minimo = Math.min(minimo, rotulos[2 * (ROTULOS * G.sucessor(v, i) + r)]);
+
+				rotulos[base] = minimo;
+
+				if (r == 0) {
+					minimosArvore[v] = Math.min(minimosArvore[v], posto);
+
+					if (topo > 0)
+						minimosArvore[pilha[topo - 1]] = Math.min(minimosArvore[pilha[topo - 1]], minimosArvore[v]);
+				}
+
+				posto++;
+			}
+		}
+	}
+
+	private static int deslocamento(int v, int r, int grau) {
+		int h;
+
+		if (r == 0)
+			return 0;
+
+		h = (v + r) * 0x9E3779B9;
+
+		return ((h ^ (h >>> 16)) & Integer.MAX_VALUE) % grau;
+	}
+
+	private boolean podeAlcancar(int a, int b) {
+		int ia, ib;
+
+		if (niveis[a] >= niveis[b])
+			return false;
+
+		for (int r = 0; r < ROTULOS; r++) {
+			ia = 2 * (ROTULOS * a + r);
+			ib = 2 * (ROTULOS * b + r);
+
+			if (rotulos[ib] < rotulos[ia] || rotulos[ib + 1] > rotulos[ia + 1])
+				return false;
+		}
+
+		return true;
+	}
+
+	private boolean naSubarvore(int a, int b) {
+		int postoB;
+
+		postoB = rotulos[2 * ROTULOS * b + 1];
+
+		return minimosArvore[a] <= postoB && postoB <= rotulos[2 * ROTULOS * a + 1];
+	}
+
+	/**
+	 * Verifica se existe caminho de um vértice a outro.
+	 * @param a - id do vértice de origem
+	 * @param b - id do vértice de destino
+	 * @return true se b é alcançável a partir de a (todo vértice alcança a si mesmo); caso contrário, false.
+	 */
+	public boolean alcanca(int a, int b) {
+		int topo, v, w;
+		Estado estado;
+		Visitados visitados;
+		int[] pilha;
+
+		if (!G.contemVertice(a) || !G.contemVertice(b))
+			throw new NonVerticeException();
+
+		if (a == b)
+			return true;
+
+		if (!podeAlcancar(a, b))
+			return false;
+
+		if (naSubarvore(a, b))
+			return true;
+
+		estado = ESTADOS.get();
+		if (estado.pilha.length < G.getCapacidade())
+			estado.pilha = new int[G.getCapacidade()];
+
+		visitados = estado.visitados;
+		pilha = estado.pilha;
+		visitados.reiniciar(G.getCapacidade());
+		visitados.marcar(a);
+		pilha[0] = a;
+		topo = 1;
+
+		while (topo > 0) {
+			v = pilha[--topo];
+
+			for (int i = 0; i < G.grauSaida(v); i++) {
+				if ((w = G.sucessor(v, i)) == b)
+					return true;
+
+				if (visitados.marcar(w) && podeAlcancar(w, b)) {
+					if (naSubarvore(w, b))
+						return true;
+
+					pilha[topo++] = w;
+				}
+			}
+		}
+
+		return false;
+	}
+}
@@ -0,0 +1,304 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+
+import io.pifg.zepg.grafo.GrafoConcorrente.Lista;
+import io.pifg.zepg.search.Direcao;
+import io.pifg.zepg.search.Visitados;
+
+/**
+ * Versão imutável de um {@link DigrafoVersionado}. Todas as consultas, inclusive percursos
+ * longos, enxergam o grafo exatamente como era no instante em que a versão foi publicada, sem
+ * travas e sem interferência de escritas posteriores. Versões sucessivas compartilham toda a
+ * estrutura que não foi alterada entre elas; uma versão deixa de ocupar memória assim que
+ * nenhum leitor mantém referência a ela.
+ * @param <T> tipo dos objetos representados como vértices
+ */
+public final class Instantaneo<T> {
+	private static final ThreadLocal<Estado> ESTADOS = new ThreadLocal<Estado>() {
+		@Override
+		protected Estado initialValue() {
+			return new Estado();
+		}
+	};
+
+	/**
+	 * Vértice em uma versão: objeto e adjacências, nunca alterados depois de publicados.
+	 */
+	static final class No<T> {
+		final T obj;
+		final int id;
+		final Lista sucessores;
+		final Lista antecessores;
+
+		No(T obj, int id, Lista sucessores, Lista antecessores) {
+			this.obj = obj;
+			this.id = id;
+			this.sucessores = sucessores;
+			this.antecessores = antecessores;
+		}
+	}
+
+	private static final class Estado {
+		final Visitados visitados = new Visitados();
+		int[] pilha = new int[16];
+	}
+
+	private final long versao;
+	private final int ordem;
+	private final int capacidade;
+	final VetorPersistente<No<T>> nos;
+	final MapaIds ids;
+
+	Instantaneo(long versao, int ordem, int capacidade, VetorPersistente<No<T>> nos, MapaIds ids) {
+		this.versao = versao;
+		this.ordem = ordem;
+		this.capacidade = capacidade;
+		this.nos = nos;
+		this.ids = ids;
+	}
+
+	No<T> no(int objId) {
+		return nos.obter(objId);
+	}
+
+	private No<T> noExistente(int objId) {
+		No<T> v;
+
+		if ((v = nos.obter(objId)) == null)
+			throw new NonVerticeException();
+
+		return v;
+	}
+
+	/**
+	 * @return long correspondente ao número de alterações feitas no grafo até esta versão.
+	 */
+	public long getVersao() {
+		return versao;
+	}
+
+	/**
+	 * Retorna o número de vértices do grafo.
+	 * @return int correspondente ao número de vértices do grafo.
+	 */
+	public int getOrdem() {
+		return ordem;
+	}
+
+	public int getCapacidade() {
+		return capacidade;
+	}
+
+	/**
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return int correspondente ao id do vértice, ou -1 se o objeto não está no grafo.
+	 */
+	public int getId(T obj) {
+		return ids.obter(obj);
+	}
+
+	public T getObjeto(int objId) {
+		No<T> v;
+
+		return (v = nos.obter(objId)) == null ? null : v.obj;
+	}
+
+	public boolean contemVertice(T obj) {
+		return ids.obter(obj) >= 0;
+	}
+
+	public boolean contemVertice(int objId) {
+		return nos.obter(objId) != null;
+	}
+
+	/**
+	 * Retorna uma lista contendo os objetos representados como vértices no grafo.
+	 * @return ArrayList<T> contendo objetos T no grafo, na ordem dos ids.
+	 */
+	public ArrayList<T> getVertices() {
+		ArrayList<T> objetos;
+		No<T> v;
+
+		objetos = new ArrayList<T>(ordem);
+
+		for (int i = 0; i < capacidade; i++)
+			if ((v = nos.obter(i)) != null)
+				objetos.add(v.obj);
+
+		return objetos;
+	}
+
+	public int getGrauEntrada(T obj) {
+		return getGrauEntrada(getId(obj));
+	}
+
+	public int getGrauEntrada(int objId) {
+		return noExistente(objId).antecessores.tamanho;
+	}
+
+	public int getGrauSaida(T obj) {
+		return getGrauSaida(getId(obj));
+	}
+
+	public int getGrauSaida(int objId) {
+		return noExistente(objId).sucessores.tamanho;
+	}
+
+	public ArrayList<T> sucessores(T obj) {
+		return sucessores(getId(obj));
+	}
+
+	public ArrayList<T> sucessores(int objId) {
+		return idsParaT(noExistente(objId).sucessores);
+	}
+
+	public ArrayList<T> antecessores(T obj) {
+		return antecessores(getId(obj));
+	}
+
+	public ArrayList<T> antecessores(int objId) {
+		return idsParaT(noExistente(objId).antecessores);
+	}
+
+	public boolean contemArco(T obj1, T obj2) {
+		return contemArco(getId(obj1), getId(obj2));
+	}
+
+	public boolean contemArco(int objId1, int objId2) {
+		return noExistente(objId1).sucessores.posicao(objId2) >= 0;
+	}
+
+	/**
+	 * Retorna os objetos transitivamente alcançáveis a partir de um objeto, ignorando orientação.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return ArrayList<T> contendo objetos T no grafo.
+	 */
+	public ArrayList<T> fechoTransitivo(T obj) {
+		return fechoTransitivo(getId(obj));
+	}
+
+	public ArrayList<T> fechoTransitivo(int objId) {
+		return fecho(objId, Direcao.ADJACENTES);
+	}
+
+	/**
+	 * Retorna uma lista contendo os objetos que são transitivamente alcançáveis
+	 * partindo-se de um objeto representado como vértice no grafo.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return ArrayList<T> contendo objetos T no grafo.
+	 */
+	public ArrayList<T> fechoTransitivoDireto(T obj) {
+		return fechoTransitivoDireto(getId(obj));
+	}
+
+	public ArrayList<T> fechoTransitivoDireto(int objId) {
+		return fecho(objId, Direcao.SUCESSORES);
+	}
+
+	/**
+	 * Retorna uma lista contendo os objetos que alcançam transitivamente
+	 * um objeto representado como vértice no grafo.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @return ArrayList<T> contendo objetos T no grafo.
+	 */
+	public ArrayList<T> fechoTransitivoIndireto(T obj) {
+		return fechoTransitivoIndireto(getId(obj));
+	}
+
+	public ArrayList<T> fechoTransitivoIndireto(int objId) {
+		return fecho(objId, Direcao.ANTECESSORES);
+	}
+
+	/**
+	 * Percorre em profundidade os vértices alcançáveis a partir de um vértice. O estado do
+	 * percurso é mantido por thread e reaproveitado entre chamadas.
+	 */
+	private ArrayList<T> fecho(int objId, Direcao direcao) {
+		ArrayList<T> F;
+		Estado estado;
+		No<T> v;
+		int topo;
+
+		noExistente(objId);
+		estado = ESTADOS.get();
+		estado.visitados.reiniciar(capacidade);
+		if (estado.pilha.length < capacidade)
+			estado.pilha = new int[capacidade];
+
+		F = new ArrayList<T>();
+		estado.visitados.marcar(objId);
+		estado.pilha[0] = objId;
+		topo = 1;
+
+		while (topo > 0) {
+			v = nos.obter(estado.pilha[--topo]);
+			F.add(v.obj);
+
+			if (direcao != Direcao.ANTECESSORES)
+				topo = empilhar(estado, topo, v.sucessores);
+
+			if (direcao != Direcao.SUCESSORES)
+				topo = empilhar(estado, topo, v.antecessores);
+		}
+
+		return F;
+	}
+
+	private static int empilhar(Estado estado, int topo, Lista lista) {
+		int w;
+
+		for (int i = 0; i < lista.tamanho; i++)
+			if (estado.visitados.marcar(w = lista.ids[i]))
+				estado.pilha[topo++] = w;
+
+		return topo;
+	}
+
+	/**
+	 * Retorna os objetos da versão em uma ordem topológica: cada objeto aparece antes de todos
+	 * os seus sucessores.
+	 * @return ArrayList<T> contendo os objetos em ordem topológica.
+	 * @throws CicloException se o grafo possui ciclo.
+	 */
+	public ArrayList<T> ordenacaoTopologica() {
+		ArrayList<T> lista;
+		int[] pendentes, fila;
+		int inicio, fim, w;
+		No<T> v;
+
+		lista = new ArrayList<T>(ordem);
+		pendentes = new int[capacidade];
+		fila = new int[ordem];
+		fim = 0;
+
+		for (int i = 0; i < capacidade; i++)
+			if ((v = nos.obter(i)) != null && (pendentes[i] = v.antecessores.tamanho) == 0)
+				fila[fim++] = i;
+
+		for (inicio = 0; inicio < fim; inicio++) {
+			v = nos.obter(fila[inicio]);
+			lista.add(v.obj);
+
+			for (int i = 0; i < v.sucessores.tamanho; i++)
+				if (--pendentes[w = v.sucessores.ids[i]] == 0)
+					fila[fim++] = w;
+		}
+
+		if (fim < ordem)
+			throw new CicloException();
+
+		return lista;
+	}
+
+	private ArrayList<T> idsParaT(Lista lista) {
+		ArrayList<T> objetos;
+
+		objetos = new ArrayList<T>(lista.tamanho);
+
+		for (int i = 0; i < lista.tamanho; i++)
+			objetos.add(nos.obter(lista.ids[i]).obj);
+
+		return objetos;
+	}
+}
@@ -0,0 +1,192 @@
+package io.pifg.zepg.grafo;
+
+/**
+ * Mapa imutável de objetos para ids, organizado como uma árvore de prefixos do hash (HAMT):
+ * cada nó consome 5 bits do hash e guarda apenas os filhos presentes, indicados por um mapa
+ * de bits. Inclusões e remoções copiam somente o caminho até a entrada alterada. Objetos com o
+ * mesmo hash ficam encadeados em uma única entrada.
+ */
+final class MapaIds {
+	private static final int BITS = 5;
+	private static final int MASCARA = (1 << BITS) - 1;
+
+	static final MapaIds VAZIO = new MapaIds(0, new Object[0]);
+
+	private final int mapa;
+	private final Object[] itens;
+
+	private MapaIds(int mapa, Object[] itens) {
+		this.mapa = mapa;
+		this.itens = itens;
+	}
+
+	private static final class Entrada {
+		final int hash;
+		final Object obj;
+		final int id;
+		final Entrada proxima;
+
+		Entrada(int hash, Object obj, int id, Entrada proxima) {
+			this.hash = hash;
+			this.obj = obj;
+			this.id = id;
+			this.proxima = proxima;
+		}
+
+		/**
+		 * @return Entrada encadeada sem o objeto, ou esta mesma se o objeto não está na cadeia.
+		 */
+		Entrada sem(Object obj) {
+			Entrada resto;
+
+			if (this.obj.equals(obj))
+				return proxima;
+
+			if (proxima == null || (resto = proxima.sem(obj)) == proxima)
+				return this;
+
+			return new Entrada(hash, this.obj, id, resto);
+		}
+	}
+
+	private static int hash(Object obj) {
+		int h;
+
+		h = obj.hashCode();
+
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * @return int correspondente ao id do objeto, ou -1 se o objeto não está no mapa.
+	 */
+	int obter(Object obj) {
+		MapaIds no;
+		Object item;
+		int hash, bit;
+
+		hash = hash(obj);
+		no = this;
+
+		for (int deslocamento = 0;; deslocamento += BITS) {
+			bit = 1 << ((hash >>> deslocamento) & MASCARA);
+
+			if ((no.mapa & bit) == 0)
+				return -1;
+
+			item = no.itens[Integer.bitCount(no.mapa & (bit - 1))];
+
+			if (item instanceof MapaIds) {
+				no = (MapaIds) item;
+				continue;
+			}
+
+			for (Entrada e = (Entrada) item; e != null; e = e.proxima)
+				if (e.hash == hash && e.obj.equals(obj))
+					return e.id;
+
+			return -1;
+		}
+	}
+
+	/**
+	 * Retorna um novo mapa com o objeto associado ao id; este mapa não é alterado.
+	 */
+	MapaIds com(Object obj, int id) {
+		return com(new Entrada(hash(obj), obj, id, null), 0);
+	}
+
+	private MapaIds com(Entrada nova, int deslocamento) {
+		Object[] itens;
+		Object item;
+		Entrada e;
+		int bit, i;
+
+		bit = 1 << ((nova.hash >>> deslocamento) & MASCARA);
+		i = Integer.bitCount(mapa & (bit - 1));
+
+		if ((mapa & bit) == 0) {
+			itens = new Object[this.itens.length + 1];
+			System.arraycopy(this.itens, 0, itens, 0, i);
+			System.arraycopy(this.itens, i, itens, i + 1, this.itens.length - i);
+			itens[i] = nova;
+
+			return new MapaIds(mapa | bit, itens);
+		}
+
+		item = this.itens[i];
+
+		if (item instanceof MapaIds) {
+			item = ((MapaIds) item).com(nova, deslocamento + BITS);
+		} else if ((e = (Entrada) item).hash == nova.hash) {
+			item = new Entrada(nova.hash, nova.obj, nova.id, e.sem(nova.obj));
+		} else {
+			item = VAZIO.comCadeia(e, deslocamento + BITS).com(nova, deslocamento + BITS);
+		}
+
+		itens = this.itens.clone();
+		itens[i] = item;
+
+		return new MapaIds(mapa, itens);
+	}
+
+	/**
+	 * Retorna um mapa com uma cadeia de entradas de mesmo hash, sem copiá-la.
+	 */
+	private MapaIds comCadeia(Entrada cadeia, int deslocamento) {
+		return new MapaIds(1 << ((cadeia.hash >>> deslocamento) & MASCARA), new Object[] { cadeia });
+	}
+
+	/**
+	 * Retorna um novo mapa sem o objeto; este mapa não é alterado.
+	 */
+	MapaIds sem(Object obj) {
+		MapaIds novo;
+
+		return (novo = sem(obj, hash(obj), 0)) == null ? VAZIO : novo;
+	}
+
+	/**
+	 * @return MapaIds sem o objeto (este mesmo, se o objeto não está no mapa), ou null se o
+	 * mapa ficou vazio.
+	 */
+	private MapaIds sem(Object obj, int hash, int deslocamento) {
+		Object[] itens;
+		Object item, novo;
+		int bit, i;
+
+		bit = 1 << ((hash >>> deslocamento) & MASCARA);
+
+		if ((mapa & bit) == 0)
+			return this;
+
+		i = Integer.bitCount(mapa & (bit - 1));
+		item = this.itens[i];
+
+		if (item instanceof MapaIds)
+			novo = ((MapaIds) item).sem(obj, hash, deslocamento + BITS);
+		else if (((Entrada) item).hash == hash)
+			novo = ((Entrada) item).sem(obj);
+		else
+			return this;
+
+		if (novo == item)
+			return this;
+
+		if (novo != null) {
+			itens = this.itens.clone();
+			itens[i] = novo;
+
+			return new MapaIds(mapa, itens);
+		}
+
+		if (this.itens.length == 1)
+			return null;
+
+		itens = new Object[this.itens.length - 1];
+		System.arraycopy(this.itens, 0, itens, 0, i);
+		System.arraycopy(this.itens, i + 1, itens, i, itens.length - i);
+
+		return new MapaIds(mapa & ~bit, itens);
+	}
+}
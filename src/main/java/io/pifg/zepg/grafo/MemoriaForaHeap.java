@@ -0,0 +1,136 @@
+package io.pifg.zepg.grafo;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Região de memória fora do heap, endereçada por posições long em bytes. É composta por
+ * blocos de {@link ByteBuffer} diretos de até 2^deslocamento bytes, de modo que o tamanho total
+ * não fica limitado a 2^31. Inteiros ocupam posições múltiplas de 4 e longs posições múltiplas
+ * de 8, que nunca atravessam a fronteira entre blocos. A memória é devolvida ao sistema quando
+ * os blocos deixam de ser alcançáveis; {@link #liberar()} descarta as referências.
+ */
+final class MemoriaForaHeap {
+	static final int DESLOCAMENTO_PADRAO = 30;
+
+	private final int deslocamento;
+	private final long mascara;
+	private ByteBuffer[] blocos;
+	private long capacidade;
+
+	MemoriaForaHeap(long bytes) {
+		this(bytes, DESLOCAMENTO_PADRAO);
+	}
+
+	/**
+	 * @param bytes - capacidade inicial
+	 * @param deslocamento - log2 do tamanho máximo de cada bloco, entre 3 e 30
+	 */
+	MemoriaForaHeap(long bytes, int deslocamento) {
+		if (deslocamento < 3 || deslocamento > 30)
+			throw new IllegalArgumentException();
+
+		this.deslocamento = deslocamento;
+		mascara = (1L << deslocamento) - 1;
+		blocos = new ByteBuffer[0];
+		garantir(bytes);
+	}
+
+	long capacidade() {
+		return capacidade;
+	}
+
+	/**
+	 * Amplia a região para comportar ao menos o número de bytes informado, preservando o conteúdo.
+	 * Enquanto cabe em um bloco, a região cresce geometricamente; a partir daí, é formada por
+	 * blocos de tamanho máximo.
+	 */
+	void garantir(long bytes) {
+		int tamanhoBloco, n;
+
+		if (blocos == null)
+			throw new IllegalStateException("Memória liberada");
+
+		if (bytes <= capacidade)
+			return;
+
+		tamanhoBloco = 1 << deslocamento;
+
+		if (bytes <= tamanhoBloco) {
+			redimensionar(0, (int) Math.min(tamanhoBloco, Math.max(bytes, 2 * capacidade)));
+		} else {
+			n = (int) ((bytes + mascara) >>> deslocamento);
+
+			if (blocos.length > 0 && blocos[blocos.length - 1].capacity() < tamanhoBloco)
+				redimensionar(blocos.length - 1, tamanhoBloco);
+
+			blocos = Arrays.copyOf(blocos, n);
+
+			for (int b = 0; b < n; b++)
+				if (blocos[b] == null)
+					blocos[b] = alocar(tamanhoBloco);
+		}
+
+		capacidade = 0;
+		for (ByteBuffer bloco : blocos)
+			capacidade += bloco.capacity();
+	}
+
+	private void redimensionar(int b, int bytes) {
+		ByteBuffer novo;
+
+		novo = alocar(bytes);
+
+		if (b < blocos.length) {
+			blocos[b].clear();
+			novo.put(blocos[b]);
+			novo.clear();
+			blocos[b] = novo;
+		} else {
+			blocos = new ByteBuffer[] { novo };
+		}
+	}
+
+	private static ByteBuffer alocar(int bytes) {
+		return ByteBuffer.allocateDirect((bytes + 7) & ~7).order(ByteOrder.nativeOrder());
+	}
+
+	int getInt(long posicao) {
+		return blocos[(int) (posicao >>> deslocamento)].getInt((int) (posicao & mascara));
+	}
+
+	void putInt(long posicao, int valor) {
+		blocos[(int) (posicao >>> deslocamento)].putInt((int) (posicao & mascara), valor);
+	}
+
+	long getLong(long posicao) {
+		return blocos[(int) (posicao >>> deslocamento)].getLong((int) (posicao & mascara));
+	}
+
+	void putLong(long posicao, long valor) {
+		blocos[(int) (posicao >>> deslocamento)].putLong((int) (posicao & mascara), valor);
+	}
+
+	/**
+	 * Preenche com zeros os bytes em [inicio, fim).
+	 */
+	void zerar(long inicio, long fim) {
+		for (; inicio < fim && (inicio & 7) != 0; inicio += 4)
+			putInt(inicio, 0);
+
+		for (; inicio + 8 <= fim; inicio += 8)
+			putLong(inicio, 0);
+
+		for (; inicio < fim; inicio += 4)
+			putInt(inicio, 0);
+	}
+
+	/**
+	 * Descarta os blocos; acessos posteriores falham.
+	 */
+	void liberar() {
+		blocos = null;
+		capacidade = 0;
+	}
+}
@@ -0,0 +1,121 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Particiona os vértices de um grafo acíclico em níveis (anticadeias): o nível 0 contém as
+ * fontes e cada vértice pertence ao nível seguinte ao de seu antecessor mais profundo, de modo
+ * que vértices de um mesmo nível não dependem uns dos outros. Cada nível é obtido do anterior
+ * em paralelo, decrementando atomicamente o grau de entrada restante dos sucessores.
+ */
+class NiveisTopologicos {
+	private static final int GRAO = 512;
+	
+	private final GrafoIndexado<?> G;
+	private final AtomicIntegerArray grausEntrada;
+	
+	NiveisTopologicos(GrafoIndexado<?> G) {
+		this.G = G;
+		grausEntrada = new AtomicIntegerArray(G.getCapacidade());
+	}
+	
+	/**
+	 * @return ArrayList<int[]> com os ids de cada nível, do nível 0 em diante.
+	 * @throws CicloException se o grafo possui ciclo.
+	 */
+	ArrayList<int[]> calcular(ForkJoinPool pool) {
+		ArrayList<int[]> niveis;
+		int[] nivel;
+		int n, vertices, fontes, processados;
+		
+		n = G.getCapacidade();
+		nivel = new int[16];
+		fontes = 0;
+		vertices = 0;
+		
+		for (int v = 0; v < n; v++)
+			if (G.contemVertice(v)) {
+				vertices++;
+				grausEntrada.lazySet(v, G.grauEntrada(v));
+				
+				if (G.grauEntrada(v) == 0) {
+					if (fontes == nivel.length)
+						nivel = Arrays.copyOf(nivel, fontes * 2);
+					
+					nivel[fontes++] = v;
+				}
+			}
+		
+		niveis = new ArrayList<int[]>();
+		nivel = Arrays.copyOf(nivel, fontes);
+		processados = 0;
+		
+		while (nivel.length > 0) {
+			niveis.add(nivel);
+			processados += nivel.length;
+			nivel = pool.invoke(new Expansao(nivel, 0, nivel.length));
+		}
+		
+		if (processados < vertices)
+			throw new CicloException();
+		
+		return niveis;
+	}
+	
+	private class Expansao extends RecursiveTask<int[]> {
+		private static final long serialVersionUID = 1L;
+		private final int[] nivel;
+		private final int inicio, fim;
+		
+		Expansao(int[] nivel, int inicio, int fim) {
+			this.nivel = nivel;
+			this.inicio = inicio;
+			this.fim = fim;
+		}
+		
+		@Override
+		protected int[] compute() {
+			if (fim - inicio > GRAO) {
+				int meio = (inicio + fim) >>> 1;
+				Expansao esquerda = new Expansao(nivel, inicio, meio);
+				int[] direita, juntos;
+				
+				esquerda.fork();
+				direita = new Expansao(nivel, meio, fim).compute();
+				juntos = esquerda.join();
+				
+				if (direita.length == 0)
+					return juntos;
+				
+				juntos = Arrays.copyOf(juntos, juntos.length + direita.length);
+				System.arraycopy(direita, 0, juntos, juntos.length - direita.length, direita.length);
+				
+				return juntos;
+			}
+			
+			int[] proximo;
+			int tamanho, v, w;
+			
+			proximo = new int[16];
+			tamanho = 0;
+			
+			for (int k = inicio; k < fim; k++) {
+				v = nivel[k];
+				
+				for (int i = 0; i < G.grauSaida(v); i++)
+					if (grausEntrada.decrementAndGet(w = G.sucessor(v, i)) == 0) {
+						if (tamanho == proximo.length)
+							proximo = Arrays.copyOf(proximo, tamanho * 2);
+						
+						proximo[tamanho++] = w;
+					}
+			}
+			
+			return Arrays.copyOf(proximo, tamanho);
+		}
+	}
+}
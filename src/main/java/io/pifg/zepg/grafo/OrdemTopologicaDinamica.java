@@ -0,0 +1,226 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Arrays;
+
+import io.pifg.zepg.search.Visitados;
+
+/**
+ * Mantém uma ordem topológica de um grafo acíclico sob inclusão de arcos, pelo algoritmo de
+ * Pearce e Kelly. Cada vértice ocupa uma posição; ao incluir um arco x -> y com posicao(y) &lt;
+ * posicao(x), apenas a região afetada é examinada: os vértices alcançáveis a partir de y com
+ * posição menor que a de x e os que alcançam x com posição maior que a de y. Se x está entre
+ * os primeiros, o arco criaria um ciclo e é rejeitado; caso contrário, os dois conjuntos são
+ * reposicionados entre si, sem tocar no restante da ordem.
+ */
+class OrdemTopologicaDinamica {
+	private static final int VAZIA = -1;
+	
+	private final GrafoIndexado<?> G;
+	private final Visitados visitados;
+	private int[] posicoes;
+	private int[] ocupantes;
+	private int proximaPosicao;
+	private int vazias;
+	private int[] pilha;
+	private int[] adiante;
+	private int[] atras;
+	private long[] pares;
+	private int numAdiante;
+	private int numAtras;
+	
+	OrdemTopologicaDinamica(GrafoIndexado<?> G) {
+		this.G = G;
+		visitados = new Visitados();
+		posicoes = new int[16];
+		ocupantes = new int[16];
+		pilha = new int[16];
+		adiante = new int[16];
+		atras = new int[16];
+		pares = new long[16];
+	}
+	
+	int posicao(int id) {
+		return posicoes[id];
+	}
+	
+	/**
+	 * Retorna os ids dos vértices em ordem topológica.
+	 * @return int[] com os ids dos vértices.
+	 */
+	int[] ordem() {
+		int[] ordem;
+		int tamanho;
+		
+		ordem = new int[proximaPosicao - vazias];
+		tamanho = 0;
+		
+		for (int p = 0; p < proximaPosicao; p++)
+			if (ocupantes[p] != VAZIA)
+				ordem[tamanho++] = ocupantes[p];
+		
+		return ordem;
+	}
+	
+	/**
+	 * Coloca um novo vértice, sem arcos, no fim da ordem.
+	 */
+	void adicionarVertice(int id) {
+		if (id >= posicoes.length)
+			posicoes = Arrays.copyOf(posicoes, Math.max(id + 1, posicoes.length * 2));
+		
+		if (proximaPosicao == ocupantes.length) {
+			if (vazias > proximaPosicao / 2)
+				compactar();
+			else
+				ocupantes = Arrays.copyOf(ocupantes, ocupantes.length * 2);
+		}
+		
+		posicoes[id] = proximaPosicao;
+		ocupantes[proximaPosicao++] = id;
+	}
+	
+	void removerVertice(int id) {
+		ocupantes[posicoes[id]] = VAZIA;
+		vazias++;
+	}
+	
+	private void compactar() {
+		int p;
+		
+		p = 0;
+		
+		for (int q = 0; q < proximaPosicao; q++)
+			if (ocupantes[q] != VAZIA) {
+				ocupantes[p] = ocupantes[q];
+				posicoes[ocupantes[p]] = p;
+				p++;
+			}
+		
+		proximaPosicao = p;
+		vazias = 0;
+	}
+	
+	/**
+	 * Ajusta a ordem para a inclusão de um arco, que ainda não deve estar no grafo.
+	 * @param x - id da origem do arco
+	 * @param y - id da extremidade do arco
+	 * @return true se a ordem foi mantida; false se o arco criaria um ciclo (nada é alterado).
+	 */
+	boolean adicionarArco(int x, int y) {
+		int limiteInferior, limiteSuperior;
+		
+		if (x == y)
+			return false;
+		
+		limiteInferior = posicoes[y];
+		limiteSuperior = posicoes[x];
+		
+		if (limiteInferior > limiteSuperior)
+			return true;
+		
+		visitados.reiniciar(G.getCapacidade());
+		
+		if (!descobrirAdiante(y, limiteSuperior))
+			return false;
+		
+		descobrirAtras(x, limiteInferior);
+		reposicionar();
+		
+		return true;
+	}
+	
+	private void garantirCapacidade() {
+		int n;
+		
+		if (pilha.length < (n = G.getCapacidade())) {
+			pilha = new int[n];
+			adiante = new int[n];
+			atras = new int[n];
+			pares = new long[n];
+		}
+	}
+	
+	private boolean descobrirAdiante(int y, int limiteSuperior) {
+		int topo, v, w, p;
+		
+		garantirCapacidade();
+		numAdiante = 0;
+		visitados.marcar(y);
+		pilha[0] = y;
+		topo = 1;
+		
+		while (topo > 0) {
+			v = pilha[--topo];
+			adiante[numAdiante++] = v;
+			
+			for (int i = 0; i < G.grauSaida(v); i++) {
+				p = posicoes[w = G.sucessor(v, i)];
+				
+				if (p == limiteSuperior)
+					return false;
+				
+				if (p < limiteSuperior && visitados.marcar(w))
+					pilha[topo++] = w;
+			}
+		}
+		
+		return true;
+	}
+	
+	private void descobrirAtras(int x, int limiteInferior) {
+		int topo, v, w;
+		
+		numAtras = 0;
+		visitados.marcar(x);
+		pilha[0] = x;
+		topo = 1;
+		
+		while (topo > 0) {
+			v = pilha[--topo];
+			atras[numAtras++] = v;
+			
+			for (int i = 0; i < G.grauEntrada(v); i++)
+				if (posicoes[w = G.antecessor(v, i)] > limiteInferior && visitados.marcar(w))
+					pilha[topo++] = w;
+		}
+	}
+	
+	/**
+	 * Redistribui as posições ocupadas pelos dois conjuntos: primeiro os que alcançam x, depois
+	 * os alcançáveis a partir de y, cada conjunto mantendo sua ordem relativa.
+	 */
+	private void reposicionar() {
+		int total, i;
+		
+		ordenarPorPosicao(atras, numAtras);
+		ordenarPorPosicao(adiante, numAdiante);
+		total = numAtras + numAdiante;
+		
+		for (i = 0; i < numAtras; i++)
+			pares[i] = posicoes[atras[i]];
+		for (i = 0; i < numAdiante; i++)
+			pares[numAtras + i] = posicoes[adiante[i]];
+		
+		Arrays.sort(pares, 0, total);
+		
+		for (i = 0; i < numAtras; i++)
+			ocupar(atras[i], (int) pares[i]);
+		for (i = 0; i < numAdiante; i++)
+			ocupar(adiante[i], (int) pares[numAtras + i]);
+	}
+	
+	private void ocupar(int id, int posicao) {
+		posicoes[id] = posicao;
+		ocupantes[posicao] = id;
+	}
+	
+	private void ordenarPorPosicao(int[] ids, int tamanho) {
+		for (int i = 0; i < tamanho; i++)
+			pares[i] = ((long) posicoes[ids[i]] << 32) | ids[i];
+		
+		Arrays.sort(pares, 0, tamanho);
+		
+		for (int i = 0; i < tamanho; i++)
+			ids[i] = (int) pares[i];
+	}
+}
@@ -0,0 +1,20 @@
+package io.pifg.zepg.grafo;
+
+import java.util.function.Function;
+
+/**
+ * Cálculo do valor de um vértice em um {@link AvaliadorIncremental}, a partir dos valores de
+ * seus antecessores e de dados externos ao grafo.
+ * @param <T> tipo dos objetos representados como vértices
+ * @param <V> tipo dos valores calculados
+ */
+public interface Regra<T, V> {
+	/**
+	 * Calcula o valor de um objeto. Deve depender apenas dos valores dos antecessores e de
+	 * dados cuja alteração é informada por {@link AvaliadorIncremental#marcar(Object)}.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @param valores - valores atuais dos objetos, já atualizados para os antecessores de obj
+	 * @return V correspondente ao novo valor de obj.
+	 */
+	V calcular(T obj, Function<T, V> valores);
+}
@@ -0,0 +1,14 @@
+package io.pifg.zepg.grafo;
+
+/**
+ * Trabalho executado para cada vértice por um {@link ExecutorDAG}.
+ * @param <T> tipo dos objetos representados como vértices
+ */
+public interface Tarefa<T> {
+	/**
+	 * Executa o trabalho de um vértice, depois de concluídos os de todos os seus antecessores.
+	 * @param obj - objeto armazenado como vértice no grafo
+	 * @throws Exception se o trabalho falhar; os descendentes do vértice não são executados.
+	 */
+	void executar(T obj) throws Exception;
+}
@@ -0,0 +1,45 @@
+package io.pifg.zepg.grafo;
+
+/**
+ * Estratégias de armazenamento das adjacências de cada vértice.
+ */
+public enum TipoAdjacencia {
+	/**
+	 * Conjunto com endereçamento aberto: inserção, remoção e consulta em O(1) esperado.
+	 * Vértices de grau baixo são mantidos apenas em um vetor, com busca linear.
+	 */
+	HASH {
+		@Override
+		Adjacencia criar() {
+			return new AdjacenciaHash();
+		}
+		
+		@Override
+		Adjacencia criar(int[] ids, int inicio, int fim) {
+			return new AdjacenciaHash(ids, inicio, fim);
+		}
+	},
+	/**
+	 * Vetor ordenado com busca binária: consulta em O(log grau), inserção e remoção em O(grau).
+	 * Menor consumo de memória e iteração em ordem crescente de id.
+	 */
+	ORDENADA {
+		@Override
+		Adjacencia criar() {
+			return new AdjacenciaOrdenada();
+		}
+		
+		@Override
+		Adjacencia criar(int[] ids, int inicio, int fim) {
+			return new AdjacenciaOrdenada(ids, inicio, fim);
+		}
+	};
+	
+	abstract Adjacencia criar();
+	
+	/**
+	 * Cria uma adjacência já preenchida, sem redimensionamentos.
+	 * @param ids - vetor contendo, em [inicio, fim), ids distintos em ordem crescente
+	 */
+	abstract Adjacencia criar(int[] ids, int inicio, int fim);
+}
@@ -1,80 +1,123 @@
 package io.pifg.zepg.grafo;
 
-import java.util.Map;
-import java.util.HashMap;
-import java.util.ArrayList;
-import java.util.Collection;
-
+/**
+ * Vértice de um {@link Grafo}: o objeto representado, seu id denso e os ids dos sucessores e
+ * antecessores, guardados em conjuntos primitivos ({@link Adjacencia}).
+ * <p>
+ * Incompatível com as versões em que as adjacências guardavam os próprios vértices:
+ * {@link #getSucessores()} e {@link #getAntecessores()} retornam {@link Adjacencia} de ids, e
+ * não mais {@code Collection<Vertice<T>>}, e {@link #getAdjacentes()} retorna os ids dos
+ * adjacentes pela mesma interface. Os objetos correspondentes são obtidos por
+ * {@link Grafo#getObjeto(int)} ou, sem cópia, por {@link Grafo#visaoAdjacentes(int)}.
+ * @param <T> tipo de objeto representado pelo vértice.
+ */
 public class Vertice<T> {
 	protected T obj;
 	protected int id;
-	protected Map<Integer,Vertice<T>> sucessores;
-	protected Map<Integer,Vertice<T>> antecessores;
+	protected Adjacencia sucessores;
+	protected Adjacencia antecessores;
 
-	public Vertice(T obj) {
+	public Vertice(T obj, int id) {
+		this(obj, id, TipoAdjacencia.HASH);
+	}
+	
+	public Vertice(T obj, int id, TipoAdjacencia tipo) {
 		this.obj = obj;
-		this.id = obj.hashCode();
-		sucessores = new HashMap<Integer,Vertice<T>>();
-		antecessores = new HashMap<Integer,Vertice<T>>();
+		this.id = id;
+		sucessores = tipo.criar();
+		antecessores = tipo.criar();
 	}
 	
-	public boolean adicionarSucessor(Vertice<T> v) {
-		return ligarComVertice(sucessores, v);
+	Vertice(T obj, int id, Adjacencia sucessores, Adjacencia antecessores) {
+		this.obj = obj;
+		this.id = id;
+		this.sucessores = sucessores;
+		this.antecessores = antecessores;
 	}
 	
-	public boolean adicionarAntecessor(Vertice<T> v) {
-		return ligarComVertice(antecessores, v);
+	public boolean adicionarSucessor(Vertice<T> v) {
+		return sucessores.adicionar(v.id);
 	}
 	
-	private boolean ligarComVertice(Map<Integer,Vertice<T>> vertices, Vertice<T> v) {
-		if (vertices.containsKey(v.hashCode()))
-			return false;
-
-		vertices.put(v.hashCode(), v);
-		
-		return true;
+	public boolean adicionarAntecessor(Vertice<T> v) {
+		return antecessores.adicionar(v.id);
 	}
 	
 	public boolean removerSucessor(Vertice<T> v) {
-		return desligarComVertice(sucessores, v);
+		return sucessores.remover(v.id);
 	}
 	
 	public boolean removerAntecessor(Vertice<T> v) {
-		return desligarComVertice(antecessores, v);
+		return antecessores.remover(v.id);
 	}
 	
-	private boolean desligarComVertice(Map<Integer,Vertice<T>> vertices, Vertice<T> v) {
-		return vertices.remove(v.hashCode(), v);
+	public boolean contemSucessor(int id) {
+		return sucessores.contem(id);
+	}
+	
+	public boolean contemAntecessor(int id) {
+		return antecessores.contem(id);
 	}
 	
 	public T getObj() {
 		return this.obj;
 	}
 	
+	public int getId() {
+		return this.id;
+	}
+	
 	public int hashCode() {
 		return this.id;
 	}
 	
-	public Collection<Vertice<T>> getSucessores() {
-		return sucessores.values();
+	/**
+	 * Retorna os ids dos sucessores do vértice.
+	 * @return Adjacencia contendo os ids dos sucessores.
+	 */
+	public Adjacencia getSucessores() {
+		return sucessores;
 	}
 	
-	public Collection<Vertice<T>> getAntecessores() {
-		return antecessores.values();
+	/**
+	 * Retorna os ids dos antecessores do vértice.
+	 * @return Adjacencia contendo os ids dos antecessores.
+	 */
+	public Adjacencia getAntecessores() {
+		return antecessores;
 	}
 	
-	public Collection<Vertice<T>> getAdjacentes() {
-		ArrayList<Vertice<T>> adjacentes;
-		
-		adjacentes = new ArrayList<Vertice<T>>();
-		
-		for (Vertice<T> v : getSucessores())
-			adjacentes.add(v);
-		
-		for (Vertice<T> v : getAntecessores())
-			adjacentes.add(v);
-		
-		return adjacentes;
+	/**
+	 * Retorna os ids dos vértices adjacentes, primeiro os sucessores e depois os antecessores,
+	 * lidos diretamente das adjacências, sem cópia e sem conversão para Integer. A visão é
+	 * somente leitura: adicionar e remover lançam UnsupportedOperationException.
+	 * @return Adjacencia contendo os ids dos adjacentes.
+	 */
+	public Adjacencia getAdjacentes() {
+		return new Adjacencia() {
+			public boolean adicionar(int id) {
+				throw new UnsupportedOperationException();
+			}
+			
+			public boolean remover(int id) {
+				throw new UnsupportedOperationException();
+			}
+			
+			public boolean contem(int id) {
+				return sucessores.contem(id) || antecessores.contem(id);
+			}
+			
+			public int tamanho() {
+				return sucessores.tamanho() + antecessores.tamanho();
+			}
+			
+			public int get(int i) {
+				if (i < sucessores.tamanho())
+					return sucessores.get(i);
+				
+				return antecessores.get(i - sucessores.tamanho());
+			}
+		};
 	}
 	
 	@Override
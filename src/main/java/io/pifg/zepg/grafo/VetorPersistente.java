@@ -0,0 +1,89 @@
+package io.pifg.zepg.grafo;
+
+/**
+ * Vetor imutável indexado por int, organizado como uma árvore de prefixos com 64 filhos por
+ * nó. Alterar uma posição copia apenas o caminho da raiz até a folha (altura x 64 referências)
+ * e compartilha todo o restante com a versão anterior.
+ * @param <E> tipo dos elementos
+ */
+final class VetorPersistente<E> {
+	private static final int BITS = 6;
+	private static final int LARGURA = 1 << BITS;
+	private static final int MASCARA = LARGURA - 1;
+	private static final int ALTURA_MAXIMA = 5;
+
+	private static final VetorPersistente<Object> VAZIO = new VetorPersistente<Object>(new Object[LARGURA], 0);
+
+	private final Object[] raiz;
+	private final int altura;
+
+	private VetorPersistente(Object[] raiz, int altura) {
+		this.raiz = raiz;
+		this.altura = altura;
+	}
+
+	@SuppressWarnings("unchecked")
+	static <E> VetorPersistente<E> vazio() {
+		return (VetorPersistente<E>) VAZIO;
+	}
+
+	/**
+	 * Verifica se a posição cabe em uma árvore da altura informada (altura 0: somente a raiz).
+	 */
+	private static boolean cabe(int i, int altura) {
+		return altura >= ALTURA_MAXIMA || i >>> (BITS * (altura + 1)) == 0;
+	}
+
+	/**
+	 * @return E na posição, ou null se a posição está vazia ou fora do vetor.
+	 */
+	@SuppressWarnings("unchecked")
+	E obter(int i) {
+		Object[] no;
+
+		if (i < 0 || !cabe(i, altura))
+			return null;
+
+		no = raiz;
+
+		for (int nivel = altura; nivel > 0; nivel--)
+			if ((no = (Object[]) no[(i >>> (BITS * nivel)) & MASCARA]) == null)
+				return null;
+
+		return (E) no[i & MASCARA];
+	}
+
+	/**
+	 * Retorna uma nova versão com o elemento na posição; esta versão não é alterada.
+	 * @param i - posição, não negativa
+	 * @param e - elemento, ou null para esvaziar a posição
+	 * @return VetorPersistente<E> com a alteração.
+	 */
+	VetorPersistente<E> com(int i, E e) {
+		Object[] raiz, nova;
+		int altura;
+
+		raiz = this.raiz;
+		altura = this.altura;
+
+		while (!cabe(i, altura)) {
+			nova = new Object[LARGURA];
+			nova[0] = raiz;
+			raiz = nova;
+			altura++;
+		}
+
+		return new VetorPersistente<E>(com(raiz, altura, i, e), altura);
+	}
+
+	private static Object[] com(Object[] no, int nivel, int i, Object e) {
+		Object[] copia;
+		int j;
+
+		copia = no == null ? new Object[LARGURA] : no.clone();
+		j = (i >>> (BITS * nivel)) & MASCARA;
+		copia[j] = nivel == 0 ? e : com((Object[]) copia[j], nivel - 1, i, e);
+
+		return copia;
+	}
+}
@@ -0,0 +1,170 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.pifg.zepg.metricas.Metricas;
+import io.pifg.zepg.metricas.Operacao;
+
+/**
+ * Visão somente leitura e preguiçosa de objetos de um grafo, lida diretamente da estrutura
+ * subjacente: nenhuma cópia é feita ao obtê-la ou percorrê-la. A visão acompanha o grafo, de
+ * modo que alterações estruturais durante um percurso têm resultado indefinido; use
+ * {@link #paraLista()} quando precisar de uma cópia estável.
+ * <p>
+ * Os elementos ocupam posições em [0, posicoes()); posições vazias (vértices removidos)
+ * são ignoradas por iteradores, spliterators e streams.
+ * @param <T> tipo de objeto representado como vértice.
+ */
+public abstract class Visao<T> implements Iterable<T> {
+	/**
+	 * @return int correspondente ao número de elementos da visão.
+	 */
+	public abstract int tamanho();
+
+	/**
+	 * @return int correspondente ao limite superior (exclusivo) das posições da visão.
+	 */
+	abstract int posicoes();
+
+	/**
+	 * @return objeto T na posição informada, ou null se a posição está vazia.
+	 */
+	abstract T elemento(int posicao);
+
+	public boolean estaVazia() {
+		return tamanho() == 0;
+	}
+
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			private int posicao = avancar(0);
+
+			public boolean hasNext() {
+				return posicao < posicoes();
+			}
+
+			public T next() {
+				T obj;
+
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				obj = elemento(posicao);
+				posicao = avancar(posicao + 1);
+
+				return obj;
+			}
+		};
+	}
+
+	private int avancar(int posicao) {
+		int fim;
+
+		fim = posicoes();
+
+		while (posicao < fim && elemento(posicao) == null)
+			posicao++;
+
+		return posicao;
+	}
+
+	@Override
+	public void forEach(Consumer<? super T> acao) {
+		T obj;
+
+		for (int i = 0; i < posicoes(); i++)
+			if ((obj = elemento(i)) != null)
+				acao.accept(obj);
+	}
+
+	@Override
+	public Spliterator<T> spliterator() {
+		return new Fatia(0, posicoes());
+	}
+
+	public Stream<T> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	public Stream<T> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+
+	/**
+	 * Copia os elementos da visão para uma nova lista.
+	 * @return ArrayList<T> contendo os objetos da visão.
+	 */
+	public ArrayList<T> paraLista() {
+		final ArrayList<T> objetos;
+
+		objetos = new ArrayList<T>(tamanho());
+		forEach(new Consumer<T>() {
+			public void accept(T obj) {
+				objetos.add(obj);
+			}
+		});
+		Metricas.materializacao(Operacao.LISTA, objetos.size());
+
+		return objetos;
+	}
+
+	/**
+	 * Spliterator sobre um intervalo de posições, dividido ao meio sob demanda. O tamanho é
+	 * exato somente quando a visão não possui posições vazias.
+	 */
+	private final class Fatia implements Spliterator<T> {
+		private int inicio;
+		private final int fim;
+
+		Fatia(int inicio, int fim) {
+			this.inicio = inicio;
+			this.fim = fim;
+		}
+
+		public boolean tryAdvance(Consumer<? super T> acao) {
+			T obj;
+
+			while (inicio < fim)
+				if ((obj = elemento(inicio++)) != null) {
+					acao.accept(obj);
+					return true;
+				}
+
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super T> acao) {
+			T obj;
+
+			for (; inicio < fim; inicio++)
+				if ((obj = elemento(inicio)) != null)
+					acao.accept(obj);
+		}
+
+		public Spliterator<T> trySplit() {
+			int meio;
+
+			if (fim - inicio < 2)
+				return null;
+
+			meio = (inicio + fim) >>> 1;
+
+			return new Fatia(inicio, inicio = meio);
+		}
+
+		public long estimateSize() {
+			return fim - inicio;
+		}
+
+		public int characteristics() {
+			return ORDERED | NONNULL | (tamanho() == posicoes() ? SIZED | SUBSIZED : 0);
+		}
+	}
+}
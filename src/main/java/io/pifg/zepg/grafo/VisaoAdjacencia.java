@@ -0,0 +1,35 @@
+package io.pifg.zepg.grafo;
+
+import java.util.List;
+
+/**
+ * Visão dos objetos referenciados por até duas adjacências de um vértice, na ordem em que
+ * estão armazenadas (primeiro a, depois b).
+ */
+final class VisaoAdjacencia<T> extends Visao<T> {
+	private final List<Vertice<T>> vertices;
+	private final Adjacencia a;
+	private final Adjacencia b;
+
+	VisaoAdjacencia(List<Vertice<T>> vertices, Adjacencia a, Adjacencia b) {
+		this.vertices = vertices;
+		this.a = a;
+		this.b = b;
+	}
+
+	public int tamanho() {
+		return a.tamanho() + (b == null ? 0 : b.tamanho());
+	}
+
+	int posicoes() {
+		return tamanho();
+	}
+
+	T elemento(int posicao) {
+		int id;
+
+		id = posicao < a.tamanho() ? a.get(posicao) : b.get(posicao - a.tamanho());
+
+		return vertices.get(id).getObj();
+	}
+}
@@ -0,0 +1,30 @@
+package io.pifg.zepg.grafo;
+
+import java.util.List;
+
+/**
+ * Visão dos objetos de todos os vértices de um grafo, em ordem de id.
+ */
+final class VisaoVertices<T> extends Visao<T> {
+	private final List<Vertice<T>> vertices;
+	private final DicionarioVertices<T> ids;
+
+	VisaoVertices(List<Vertice<T>> vertices, DicionarioVertices<T> ids) {
+		this.vertices = vertices;
+		this.ids = ids;
+	}
+
+	public int tamanho() {
+		return ids.tamanho();
+	}
+
+	int posicoes() {
+		return vertices.size();
+	}
+
+	T elemento(int posicao) {
+		Vertice<T> v;
+
+		return (v = vertices.get(posicao)) == null ? null : v.getObj();
+	}
+}
@@ -0,0 +1,122 @@
+package io.pifg.zepg.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.ToIntFunction;
+
+import io.pifg.zepg.grafo.GrafoIndexado;
+
+/**
+ * Exportação de grafos em {@link FormatoTexto}. Os números são formatados diretamente em um
+ * buffer de bytes de 1 MB, descarregado no canal do arquivo quando cheio.
+ */
+public class ExportadorTexto {
+	private static final int TAMANHO_BUFFER = 1 << 20;
+
+	private final FileChannel canal;
+	private final ByteBuffer buffer;
+	private final byte[] bytes;
+	private int usados;
+
+	private ExportadorTexto(FileChannel canal) {
+		this.canal = canal;
+		buffer = ByteBuffer.allocate(TAMANHO_BUFFER);
+		bytes = buffer.array();
+	}
+
+	/**
+	 * Grava um grafo rotulando cada vértice pelo seu id.
+	 * @see #exportar(GrafoIndexado, ToIntFunction, FormatoTexto, Path)
+	 */
+	public static void exportar(GrafoIndexado<?> G, FormatoTexto formato, Path arquivo) throws IOException {
+		exportar(G, null, formato, arquivo);
+	}
+
+	/**
+	 * Grava um grafo em um arquivo, substituindo-o se existir. Em {@link FormatoTexto#LISTA_ARESTAS},
+	 * vértices sem arcos não são representados.
+	 * @param G - grafo a ser gravado (não deve ser alterado durante a gravação)
+	 * @param rotulo - função que dá o rótulo (não negativo) de cada objeto, ou null para usar os ids
+	 * @param formato - formato do arquivo
+	 * @param arquivo - caminho do arquivo
+	 */
+	public static <T> void exportar(GrafoIndexado<T> G, ToIntFunction<? super T> rotulo, FormatoTexto formato,
+			Path arquivo) throws IOException {
+		ExportadorTexto saida;
+		int[] rotulos;
+
+		rotulos = new int[G.getCapacidade()];
+		for (int v = 0; v < rotulos.length; v++)
+			if (G.contemVertice(v))
+				rotulos[v] = rotulo == null ? v : rotulo.applyAsInt(G.getObjeto(v));
+
+		try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			saida = new ExportadorTexto(canal);
+
+			for (int v = 0; v < rotulos.length; v++) {
+				if (!G.contemVertice(v))
+					continue;
+
+				if (formato == FormatoTexto.LISTA_ARESTAS)
+					for (int i = 0; i < G.grauSaida(v); i++) {
+						saida.numero(rotulos[v]);
+						saida.caractere(' ');
+						saida.numero(rotulos[G.sucessor(v, i)]);
+						saida.caractere('\n');
+					}
+				else {
+					saida.numero(rotulos[v]);
+					for (int i = 0; i < G.grauSaida(v); i++) {
+						saida.caractere(' ');
+						saida.numero(rotulos[G.sucessor(v, i)]);
+					}
+					saida.caractere('\n');
+				}
+			}
+
+			saida.descarregar();
+		}
+	}
+
+	private void caractere(char c) throws IOException {
+		if (usados == bytes.length)
+			descarregar();
+
+		bytes[usados++] = (byte) c;
+	}
+
+	private void numero(int n) throws IOException {
+		int digitos, q;
+
+		if (n < 0)
+			throw new IllegalArgumentException("Rótulo negativo: " + n);
+
+		if (bytes.length - usados < 10)
+			descarregar();
+
+		digitos = 1;
+		for (q = n; q >= 10; q /= 10)
+			digitos++;
+
+		for (int i = usados + digitos - 1; i >= usados; i--) {
+			bytes[i] = (byte) ('0' + n % 10);
+			n /= 10;
+		}
+
+		usados += digitos;
+	}
+
+	private void descarregar() throws IOException {
+		buffer.clear();
+		buffer.limit(usados);
+
+		while (buffer.hasRemaining())
+			canal.write(buffer);
+
+		usados = 0;
+	}
+}
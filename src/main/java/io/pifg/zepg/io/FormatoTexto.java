@@ -0,0 +1,18 @@
+package io.pifg.zepg.io;
+
+/**
+ * Formatos textuais de grafos, uma linha por registro, com vértices rotulados por inteiros
+ * não negativos separados por espaços ou tabulações. Linhas vazias são ignoradas, assim como
+ * o restante de uma linha a partir de '#' ou '%'.
+ */
+public enum FormatoTexto {
+	/**
+	 * Um arco por linha: "origem destino". Colunas adicionais (pesos, por exemplo) são ignoradas.
+	 */
+	LISTA_ARESTAS,
+	/**
+	 * Um vértice por linha seguido de seus sucessores: "v w1 w2 ...". Uma linha com um único
+	 * rótulo declara um vértice sem sucessores.
+	 */
+	LISTA_ADJACENCIA
+}
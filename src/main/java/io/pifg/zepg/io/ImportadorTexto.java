@@ -0,0 +1,164 @@
+package io.pifg.zepg.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import io.pifg.zepg.grafo.ConstrutorGrafo;
+
+/**
+ * Importação de grafos em {@link FormatoTexto} para um {@link ConstrutorGrafo}. O arquivo é
+ * dividido em trechos lidos em paralelo, cada um por leituras posicionais de um canal em
+ * blocos de 1 MB e analisado byte a byte, sem criar strings.
+ * <p>
+ * Cada rótulo distinto vira um vértice cujo objeto é o próprio rótulo, registrado em ordem
+ * crescente de rótulo. Os arcos são então traduzidos de rótulos para ids e entregues ao
+ * construtor em lote.
+ */
+public class ImportadorTexto {
+	private int paralelismo;
+
+	public ImportadorTexto() {
+		paralelismo = Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * @param paralelismo - número de trechos em que o arquivo é dividido
+	 */
+	public ImportadorTexto setParalelismo(int paralelismo) {
+		this.paralelismo = Math.max(1, paralelismo);
+		return this;
+	}
+
+	/**
+	 * Lê um arquivo e acrescenta seus vértices e arcos a um construtor.
+	 * @param arquivo - caminho do arquivo
+	 * @param formato - formato do arquivo
+	 * @param construtor - construtor que recebe vértices e arcos
+	 * @throws IOException se o arquivo não pode ser lido ou não está no formato informado.
+	 */
+	public void importar(Path arquivo, final FormatoTexto formato, ConstrutorGrafo<Integer> construtor) throws IOException {
+		final Trecho[] trechos;
+		final long tamanho, passo;
+		int[] origens, destinos, rotulos, ids;
+
+		try (final FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+			tamanho = canal.size();
+			trechos = new Trecho[(int) Math.max(1, Math.min(paralelismo, tamanho))];
+			passo = (tamanho + trechos.length - 1) / trechos.length;
+
+			try {
+				IntStream.range(0, trechos.length).parallel().forEach(t -> {
+					trechos[t] = new Trecho(formato);
+
+					try {
+						trechos[t].ler(canal, Math.min(tamanho, t * passo), Math.min(tamanho, (t + 1) * passo));
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+		}
+
+		origens = concatenar(trechos, true);
+		destinos = concatenar(trechos, false);
+		rotulos = rotulosDistintos(trechos, origens, destinos);
+
+		ids = new int[rotulos.length];
+		for (int i = 0; i < rotulos.length; i++)
+			ids[i] = construtor.adicionarVertice(Integer.valueOf(rotulos[i]));
+
+		traduzir(origens, rotulos, ids);
+		traduzir(destinos, rotulos, ids);
+		construtor.adicionarArestas(origens, destinos);
+	}
+
+	private static int[] concatenar(Trecho[] trechos, boolean origens) {
+		int[] valores;
+		int n;
+
+		n = 0;
+		for (Trecho t : trechos)
+			n += t.numArcos;
+
+		valores = new int[n];
+		n = 0;
+		for (Trecho t : trechos) {
+			System.arraycopy(origens ? t.origens : t.destinos, 0, valores, n, t.numArcos);
+			n += t.numArcos;
+		}
+
+		return valores;
+	}
+
+	/**
+	 * Reúne os rótulos distintos do arquivo em ordem crescente: por um vetor de presença
+	 * quando são aproximadamente densos, ou por ordenação.
+	 * @return int[] com os rótulos distintos.
+	 */
+	private static int[] rotulosDistintos(Trecho[] trechos, int[] origens, int[] destinos) {
+		int[] rotulos;
+		boolean[] presentes;
+		int n, m, maximo;
+
+		n = origens.length + destinos.length;
+		for (Trecho t : trechos)
+			n += t.numIsolados;
+
+		rotulos = new int[n];
+		System.arraycopy(origens, 0, rotulos, 0, origens.length);
+		System.arraycopy(destinos, 0, rotulos, origens.length, destinos.length);
+		n = origens.length + destinos.length;
+		for (Trecho t : trechos) {
+			System.arraycopy(t.isolados, 0, rotulos, n, t.numIsolados);
+			n += t.numIsolados;
+		}
+
+		maximo = -1;
+		for (int i = 0; i < n; i++)
+			maximo = Math.max(maximo, rotulos[i]);
+
+		m = 0;
+
+		if (maximo < 2 * n + 1024) {
+			presentes = new boolean[maximo + 1];
+			for (int i = 0; i < n; i++)
+				presentes[rotulos[i]] = true;
+
+			for (int r = 0; r <= maximo; r++)
+				if (presentes[r])
+					rotulos[m++] = r;
+		} else {
+			Arrays.parallelSort(rotulos);
+
+			for (int i = 0; i < n; i++)
+				if (m == 0 || rotulos[i] != rotulos[m - 1])
+					rotulos[m++] = rotulos[i];
+		}
+
+		return Arrays.copyOf(rotulos, m);
+	}
+
+	/**
+	 * Substitui rótulos por ids: por tabela direta quando os rótulos são aproximadamente
+	 * densos, ou por busca binária nos rótulos ordenados.
+	 */
+	private static void traduzir(final int[] valores, final int[] rotulos, final int[] ids) {
+		final int[] tabela;
+
+		if (rotulos.length > 0 && rotulos[rotulos.length - 1] < 2 * rotulos.length + 1024) {
+			tabela = new int[rotulos[rotulos.length - 1] + 1];
+			for (int i = 0; i < rotulos.length; i++)
+				tabela[rotulos[i]] = ids[i];
+
+			IntStream.range(0, valores.length).parallel().forEach(i -> valores[i] = tabela[valores[i]]);
+		} else
+			IntStream.range(0, valores.length).parallel().forEach(i -> valores[i] = ids[Arrays.binarySearch(rotulos, valores[i])]);
+	}
+}
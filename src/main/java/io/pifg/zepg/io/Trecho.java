@@ -0,0 +1,145 @@
+package io.pifg.zepg.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Leitura de um trecho [inicio, fim) de um arquivo textual. O trecho começa na primeira linha
+ * iniciada em [inicio, fim) e termina na última linha iniciada antes de fim, mesmo que ela
+ * ultrapasse fim; trechos contíguos cobrem assim cada linha exatamente uma vez.
+ * O analisador léxico trabalha diretamente sobre os bytes lidos, sem alocação por linha.
+ */
+final class Trecho {
+	private static final int TAMANHO_BUFFER = 1 << 20;
+
+	private final FormatoTexto formato;
+	int[] origens;
+	int[] destinos;
+	int numArcos;
+	int[] isolados;
+	int numIsolados;
+
+	Trecho(FormatoTexto formato) {
+		this.formato = formato;
+		origens = new int[1024];
+		destinos = new int[1024];
+		isolados = new int[16];
+	}
+
+	private void adicionarArco(int u, int v) {
+		if (numArcos == origens.length) {
+			origens = Arrays.copyOf(origens, numArcos * 2);
+			destinos = Arrays.copyOf(destinos, numArcos * 2);
+		}
+
+		origens[numArcos] = u;
+		destinos[numArcos++] = v;
+	}
+
+	private void adicionarIsolado(int v) {
+		if (numIsolados == isolados.length)
+			isolados = Arrays.copyOf(isolados, numIsolados * 2);
+
+		isolados[numIsolados++] = v;
+	}
+
+	/**
+	 * Lê e interpreta as linhas do trecho.
+	 * @throws IOException se o arquivo não pode ser lido ou contém rótulo inválido.
+	 */
+	void ler(FileChannel canal, long inicio, long fim) throws IOException {
+		ByteBuffer buffer;
+		byte[] bytes;
+		long posicao, inicioLinha, valor;
+		boolean descartando, ignorando, emNumero;
+		int lidos, n, tokens, primeiro;
+		byte c;
+
+		buffer = ByteBuffer.allocate(TAMANHO_BUFFER);
+		bytes = buffer.array();
+		posicao = inicio > 0 ? inicio - 1 : 0;
+		inicioLinha = posicao;
+		/* Com inicio > 0, o restante da linha que contém inicio - 1 pertence ao trecho anterior. */
+		descartando = inicio > 0;
+		ignorando = false;
+		emNumero = false;
+		tokens = 0;
+		primeiro = 0;
+		valor = 0;
+
+		while (true) {
+			buffer.clear();
+			lidos = canal.read(buffer, posicao);
+			n = lidos;
+
+			/* No fim do arquivo, uma quebra de linha fictícia encerra a última linha. */
+			if (lidos <= 0) {
+				bytes[0] = '\n';
+				n = 1;
+			}
+
+			for (int i = 0; i < n; i++) {
+				c = bytes[i];
+
+				if (c >= '0' && c <= '9') {
+					if (descartando || ignorando)
+						continue;
+
+					valor = emNumero ? valor * 10 + (c - '0') : c - '0';
+					emNumero = true;
+
+					if (valor > Integer.MAX_VALUE)
+						throw new IOException("Rótulo fora do intervalo na posição " + (posicao + i) + ".");
+
+					continue;
+				}
+
+				/* Espaços, quebras de linha e marcadores de comentário encerram o rótulo. */
+				if (emNumero && !descartando && !ignorando) {
+					if (c != ' ' && c != '\t' && c != '\r' && c != '\n' && c != '#' && c != '%')
+						throw new IOException("Caractere inesperado na posição " + (posicao + i) + ".");
+
+					if (tokens == 0)
+						primeiro = (int) valor;
+					else
+						adicionarArco(primeiro, (int) valor);
+
+					tokens++;
+					emNumero = false;
+
+					if (formato == FormatoTexto.LISTA_ARESTAS && tokens == 2)
+						ignorando = true;
+				}
+
+				if (c == '\n') {
+					if (!descartando && tokens == 1)
+						linhaComUmRotulo(primeiro, inicioLinha);
+
+					descartando = false;
+					ignorando = false;
+					tokens = 0;
+					inicioLinha = posicao + i + 1;
+
+					if (inicioLinha >= fim || lidos <= 0)
+						return;
+				} else if (descartando || ignorando || c == ' ' || c == '\t' || c == '\r')
+					continue;
+				else if (c == '#' || c == '%')
+					ignorando = true;
+				else
+					throw new IOException("Caractere inesperado na posição " + (posicao + i) + ".");
+			}
+
+			posicao += n;
+		}
+	}
+
+	private void linhaComUmRotulo(int rotulo, long inicioLinha) throws IOException {
+		if (formato == FormatoTexto.LISTA_ARESTAS)
+			throw new IOException("Arco incompleto na linha iniciada na posição " + inicioLinha + ".");
+
+		adicionarIsolado(rotulo);
+	}
+}
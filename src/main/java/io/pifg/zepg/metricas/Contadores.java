@@ -0,0 +1,184 @@
+package io.pifg.zepg.metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ouvinte que acumula as métricas em memória: por operação, número de consultas, vértices
+ * visitados, arcos examinados e histograma de latência em faixas de potências de 2 de
+ * nanossegundos; por tipo, número de alterações; e número de listas materializadas e de
+ * elementos alocados nelas. Thread-safe.
+ */
+public class Contadores implements OuvinteMetricas {
+	private static final int FAIXAS = 64;
+
+	private final LongAdder[] consultas;
+	private final LongAdder[] vertices;
+	private final LongAdder[] arcos;
+	private final LongAdder[] nanos;
+	private final AtomicLongArray latencias;
+	private final LongAdder[] mutacoes;
+	private final LongAdder[] materializacoes;
+	private final LongAdder[] elementos;
+
+	public Contadores() {
+		int operacoes;
+
+		operacoes = Operacao.values().length;
+		consultas = somadores(operacoes);
+		vertices = somadores(operacoes);
+		arcos = somadores(operacoes);
+		nanos = somadores(operacoes);
+		latencias = new AtomicLongArray(operacoes * FAIXAS);
+		mutacoes = somadores(Mutacao.values().length);
+		materializacoes = somadores(operacoes);
+		elementos = somadores(operacoes);
+	}
+
+	private static LongAdder[] somadores(int n) {
+		LongAdder[] somadores;
+
+		somadores = new LongAdder[n];
+		for (int i = 0; i < n; i++)
+			somadores[i] = new LongAdder();
+
+		return somadores;
+	}
+
+	@Override
+	public void consulta(Operacao operacao, long nanos, long vertices, long arcos) {
+		int o;
+
+		o = operacao.ordinal();
+		consultas[o].increment();
+		this.vertices[o].add(vertices);
+		this.arcos[o].add(arcos);
+		this.nanos[o].add(nanos);
+		latencias.incrementAndGet(o * FAIXAS + faixa(nanos));
+	}
+
+	/**
+	 * @return int correspondente à faixa f tal que 2^(f-1) &lt;= nanos &lt; 2^f (0 para nanos &lt;= 0).
+	 */
+	private static int faixa(long nanos) {
+		return nanos <= 0 ? 0 : FAIXAS - Long.numberOfLeadingZeros(nanos);
+	}
+
+	@Override
+	public void mutacao(Mutacao mutacao) {
+		mutacoes[mutacao.ordinal()].increment();
+	}
+
+	@Override
+	public void materializacao(Operacao operacao, int elementos) {
+		materializacoes[operacao.ordinal()].increment();
+		this.elementos[operacao.ordinal()].add(elementos);
+	}
+
+	public long getConsultas(Operacao operacao) {
+		return consultas[operacao.ordinal()].sum();
+	}
+
+	public long getVerticesVisitados(Operacao operacao) {
+		return vertices[operacao.ordinal()].sum();
+	}
+
+	public long getArcosExaminados(Operacao operacao) {
+		return arcos[operacao.ordinal()].sum();
+	}
+
+	public long getNanosTotais(Operacao operacao) {
+		return nanos[operacao.ordinal()].sum();
+	}
+
+	/**
+	 * Retorna o histograma de latências de uma operação.
+	 * @param operacao - operação consultada
+	 * @return long[] em que a posição f conta as consultas com duração em [2^(f-1), 2^f) ns.
+	 */
+	public long[] getHistograma(Operacao operacao) {
+		long[] histograma;
+
+		histograma = new long[FAIXAS];
+		for (int f = 0; f < FAIXAS; f++)
+			histograma[f] = latencias.get(operacao.ordinal() * FAIXAS + f);
+
+		return histograma;
+	}
+
+	/**
+	 * Estima um percentil da latência de uma operação pelo limite superior da faixa do histograma
+	 * em que ele cai, com erro de até 2x.
+	 * @param operacao - operação consultada
+	 * @param percentil - valor em (0, 100]
+	 * @return long correspondente à latência em nanossegundos, ou 0 se não houve consultas.
+	 */
+	public long getPercentil(Operacao operacao, double percentil) {
+		long[] histograma;
+		long total, acumulado, alvo;
+
+		histograma = getHistograma(operacao);
+		total = 0;
+		for (long c : histograma)
+			total += c;
+
+		if (total == 0)
+			return 0;
+
+		alvo = (long) Math.ceil(total * percentil / 100);
+		acumulado = 0;
+
+		for (int f = 0; f < FAIXAS; f++)
+			if ((acumulado += histograma[f]) >= alvo)
+				return f == 0 ? 0 : f >= 63 ? Long.MAX_VALUE : (1L << f) - 1;
+
+		return Long.MAX_VALUE;
+	}
+
+	public long getMutacoes(Mutacao mutacao) {
+		return mutacoes[mutacao.ordinal()].sum();
+	}
+
+	public long getMaterializacoes(Operacao operacao) {
+		return materializacoes[operacao.ordinal()].sum();
+	}
+
+	public long getElementosMaterializados(Operacao operacao) {
+		return elementos[operacao.ordinal()].sum();
+	}
+
+	/**
+	 * Zera todos os contadores. Medições concorrentes com a chamada podem ser parcialmente perdidas.
+	 */
+	public void zerar() {
+		for (LongAdder[] grupo : new LongAdder[][] { consultas, vertices, arcos, nanos, mutacoes, materializacoes, elementos })
+			for (LongAdder somador : grupo)
+				somador.reset();
+
+		for (int i = 0; i < latencias.length(); i++)
+			latencias.set(i, 0);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder texto;
+
+		texto = new StringBuilder();
+
+		for (Operacao o : Operacao.values())
+			if (getConsultas(o) > 0 || getMaterializacoes(o) > 0)
+				texto.append(o).append(": consultas=").append(getConsultas(o))
+						.append(" vertices=").append(getVerticesVisitados(o))
+						.append(" arcos=").append(getArcosExaminados(o))
+						.append(" p50=").append(getPercentil(o, 50)).append("ns")
+						.append(" p99=").append(getPercentil(o, 99)).append("ns")
+						.append(" listas=").append(getMaterializacoes(o))
+						.append(" elementos=").append(getElementosMaterializados(o)).append('\n');
+
+		for (Mutacao m : Mutacao.values())
+			if (getMutacoes(m) > 0)
+				texto.append(m).append(": ").append(getMutacoes(m)).append('\n');
+
+		return texto.toString();
+	}
+}
@@ -0,0 +1,92 @@
+package io.pifg.zepg.metricas;
+
+import java.util.Arrays;
+
+/**
+ * Ponto único de publicação das métricas. Sem ouvintes registrados, cada ponto instrumentado
+ * custa a leitura de um campo: nenhum relógio é consultado, nada é alocado e nenhum ouvinte é
+ * chamado. Os pontos instrumentados seguem o padrão
+ * <pre>
+ * long inicio = Metricas.inicio();
+ * ...
+ * if (inicio != 0)
+ *     Metricas.consulta(Operacao.FECHO, inicio, vertices, arcos);
+ * </pre>
+ */
+public final class Metricas {
+	private static final OuvinteMetricas[] NENHUM = new OuvinteMetricas[0];
+
+	private static volatile OuvinteMetricas[] ouvintes = NENHUM;
+
+	private Metricas() {
+	}
+
+	public static synchronized void registrar(OuvinteMetricas ouvinte) {
+		OuvinteMetricas[] novos;
+
+		novos = Arrays.copyOf(ouvintes, ouvintes.length + 1);
+		novos[ouvintes.length] = ouvinte;
+		ouvintes = novos;
+	}
+
+	/**
+	 * @return true se o ouvinte estava registrado e foi removido; caso contrário, false.
+	 */
+	public static synchronized boolean remover(OuvinteMetricas ouvinte) {
+		OuvinteMetricas[] atuais, novos;
+		int j;
+
+		atuais = ouvintes;
+		novos = new OuvinteMetricas[atuais.length];
+		j = 0;
+
+		for (OuvinteMetricas o : atuais)
+			if (o != ouvinte)
+				novos[j++] = o;
+
+		if (j == atuais.length)
+			return false;
+
+		ouvintes = j == 0 ? NENHUM : Arrays.copyOf(novos, j);
+
+		return true;
+	}
+
+	public static boolean ativas() {
+		return ouvintes.length > 0;
+	}
+
+	/**
+	 * @return long correspondente ao instante atual em nanossegundos, ou 0 se não há ouvintes.
+	 */
+	public static long inicio() {
+		long agora;
+
+		if (ouvintes.length == 0)
+			return 0;
+
+		return (agora = System.nanoTime()) == 0 ? 1 : agora;
+	}
+
+	/**
+	 * Publica o término de uma consulta iniciada em {@link #inicio()}.
+	 */
+	public static void consulta(Operacao operacao, long inicio, long vertices, long arcos) {
+		long nanos;
+
+		nanos = System.nanoTime() - inicio;
+
+		for (OuvinteMetricas o : ouvintes)
+			o.consulta(operacao, nanos, vertices, arcos);
+	}
+
+	public static void mutacao(Mutacao mutacao) {
+		for (OuvinteMetricas o : ouvintes)
+			o.mutacao(mutacao);
+	}
+
+	public static void materializacao(Operacao operacao, int elementos) {
+		for (OuvinteMetricas o : ouvintes)
+			o.materializacao(operacao, elementos);
+	}
+}
@@ -0,0 +1,11 @@
+package io.pifg.zepg.metricas;
+
+/**
+ * Alterações estruturais instrumentadas.
+ */
+public enum Mutacao {
+	VERTICE_ADICIONADO,
+	VERTICE_REMOVIDO,
+	ARESTA_ADICIONADA,
+	ARESTA_REMOVIDA
+}
@@ -0,0 +1,23 @@
+package io.pifg.zepg.metricas;
+
+/**
+ * Operações de consulta instrumentadas.
+ */
+public enum Operacao {
+	/** Fecho transitivo (direto, indireto ou sem orientação) de um grafo mutável. */
+	FECHO,
+	/** Busca em profundidade de {@link io.pifg.zepg.search.Searcher#dfs}. */
+	DFS,
+	/** Busca em largura paralela. */
+	BFS_PARALELA,
+	/** Busca em largura bidirecional de caminho mínimo em arcos. */
+	CAMINHO_BIDIRECIONAL,
+	/** Caminho mínimo ponderado (Dijkstra ou A*). */
+	CAMINHO_MINIMO,
+	/** Recálculo completo dos componentes conexos. */
+	COMPONENTES_CONEXOS,
+	/** Cálculo dos componentes fortemente conexos. */
+	COMPONENTES_FORTES,
+	/** Materialização de uma lista de objetos a partir de uma visão (vértices, adjacências). */
+	LISTA
+}
@@ -0,0 +1,101 @@
+package io.pifg.zepg.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Ouvinte que publica as métricas como eventos do JDK Flight Recorder, na categoria "zepg".
+ * Consultas e materializações são habilitadas por padrão; alterações, frequentes em cargas,
+ * precisam ser habilitadas na configuração da gravação (io.pifg.zepg.Mutacao#enabled=true).
+ * Eventos desabilitados na gravação não são instanciados além da verificação de habilitação.
+ * Requer JDK 11 ou superior em execução.
+ */
+public class OuvinteJFR implements OuvinteMetricas {
+	@Override
+	public void consulta(Operacao operacao, long nanos, long vertices, long arcos) {
+		EventoConsulta evento;
+
+		evento = new EventoConsulta();
+
+		if (evento.shouldCommit()) {
+			evento.operacao = operacao.name();
+			evento.duracao = nanos;
+			evento.vertices = vertices;
+			evento.arcos = arcos;
+			evento.commit();
+		}
+	}
+
+	@Override
+	public void mutacao(Mutacao mutacao) {
+		EventoMutacao evento;
+
+		evento = new EventoMutacao();
+
+		if (evento.shouldCommit()) {
+			evento.mutacao = mutacao.name();
+			evento.commit();
+		}
+	}
+
+	@Override
+	public void materializacao(Operacao operacao, int elementos) {
+		EventoMaterializacao evento;
+
+		evento = new EventoMaterializacao();
+
+		if (evento.shouldCommit()) {
+			evento.operacao = operacao.name();
+			evento.elementos = elementos;
+			evento.commit();
+		}
+	}
+
+	@Name("io.pifg.zepg.Consulta")
+	@Label("Consulta em grafo")
+	@Category("zepg")
+	@Description("Consulta sobre um grafo, com a duração medida e o volume percorrido")
+	@StackTrace(false)
+	static class EventoConsulta extends Event {
+		@Label("Operação")
+		String operacao;
+
+		@Label("Duração")
+		@Timespan(Timespan.NANOSECONDS)
+		long duracao;
+
+		@Label("Vértices visitados")
+		long vertices;
+
+		@Label("Arcos examinados")
+		long arcos;
+	}
+
+	@Name("io.pifg.zepg.Mutacao")
+	@Label("Alteração de grafo")
+	@Category("zepg")
+	@Enabled(false)
+	@StackTrace(false)
+	static class EventoMutacao extends Event {
+		@Label("Alteração")
+		String mutacao;
+	}
+
+	@Name("io.pifg.zepg.Materializacao")
+	@Label("Lista materializada")
+	@Category("zepg")
+	@Description("Lista de objetos alocada como resultado de uma consulta")
+	static class EventoMaterializacao extends Event {
+		@Label("Operação")
+		String operacao;
+
+		@Label("Elementos")
+		int elementos;
+	}
+}
@@ -0,0 +1,33 @@
+package io.pifg.zepg.metricas;
+
+/**
+ * Recebe as medições das operações instrumentadas, registrado por
+ * {@link Metricas#registrar(OuvinteMetricas)}. As chamadas ocorrem na thread que executou a
+ * operação, logo após seu término, e devem ser rápidas e thread-safe.
+ */
+public interface OuvinteMetricas {
+	/**
+	 * Uma consulta terminou.
+	 * @param operacao - operação executada
+	 * @param nanos - duração, em nanossegundos
+	 * @param vertices - número de vértices visitados
+	 * @param arcos - número de arcos examinados
+	 */
+	default void consulta(Operacao operacao, long nanos, long vertices, long arcos) {
+	}
+
+	/**
+	 * Uma alteração estrutural foi feita em um grafo.
+	 * @param mutacao - tipo de alteração
+	 */
+	default void mutacao(Mutacao mutacao) {
+	}
+
+	/**
+	 * Uma operação alocou uma lista com os objetos do resultado.
+	 * @param operacao - operação que gerou a lista
+	 * @param elementos - tamanho da lista
+	 */
+	default void materializacao(Operacao operacao, int elementos) {
+	}
+}
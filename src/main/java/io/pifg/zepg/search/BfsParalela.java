@@ -0,0 +1,266 @@
+package io.pifg.zepg.search;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import io.pifg.zepg.grafo.GrafoIndexado;
+import io.pifg.zepg.metricas.Metricas;
+import io.pifg.zepg.metricas.Operacao;
+
+/**
+ * Busca em largura paralela, síncrona por níveis, com otimização de direção (Beamer et al.).
+ * Cada nível é expandido em um {@link ForkJoinPool} de uma de duas formas:
+ * <ul>
+ * <li>de cima para baixo: cada vértice da fronteira reivindica, por compare-and-set, seus
+ * vizinhos ainda não visitados;</li>
+ * <li>de baixo para cima: cada vértice não visitado procura, entre seus vizinhos no sentido
+ * inverso, algum que esteja na fronteira, parando no primeiro encontrado.</li>
+ * </ul>
+ * A troca para baixo-para-cima ocorre quando os arcos que partem da fronteira superam uma
+ * fração ({@link #ALFA}) dos arcos ainda não explorados; a volta ocorre quando a fronteira
+ * fica menor que uma fração ({@link #BETA}) dos vértices.
+ * O grafo não deve ser alterado durante a busca.
+ */
+class BfsParalela {
+	private static final int ALFA = 14;
+	private static final int BETA = 24;
+	private static final int GRAO_FRONTEIRA = 256;
+	private static final int GRAO_VERTICES = 4096;
+	
+	private final GrafoIndexado<?> G;
+	private final Direcao direcao;
+	private final Direcao inversa;
+	private final int n;
+	private final int[] distancias;
+	private final AtomicIntegerArray pais;
+	private int nivel;
+	
+	BfsParalela(GrafoIndexado<?> G, Direcao direcao) {
+		this.G = G;
+		this.direcao = direcao;
+		this.inversa = direcao.inversa();
+		n = G.getCapacidade();
+		distancias = new int[n];
+		pais = new AtomicIntegerArray(n);
+	}
+	
+	ResultadoBfs executar(int origem, ForkJoinPool pool) {
+		Fronteira fronteira;
+		long inicio, alcancados, arcos, arcosRestantes;
+		boolean baixoParaCima;
+		int[] pais;
+		
+		inicio = Metricas.inicio();
+		Arrays.fill(distancias, -1);
+		for (int i = 0; i < n; i++)
+			this.pais.lazySet(i, -1);
+		
+		distancias[origem] = 0;
+		this.pais.set(origem, origem);
+		
+		fronteira = new Fronteira(new int[] { origem }, 1, grau(origem, direcao));
+		arcosRestantes = pool.invoke(new ContagemArcos(0, n)) - fronteira.arcos;
+		baixoParaCima = false;
+		nivel = 0;
+		alcancados = 0;
+		arcos = 0;
+		
+		while (fronteira.tamanho > 0) {
+			alcancados += fronteira.tamanho;
+			arcos += fronteira.arcos;
+			
+			if (!baixoParaCima && fronteira.arcos > arcosRestantes / ALFA)
+				baixoParaCima = true;
+			else if (baixoParaCima && fronteira.tamanho < n / BETA)
+				baixoParaCima = false;
+			
+			if (baixoParaCima)
+				fronteira = pool.invoke(new BaixoParaCima(0, n));
+			else
+				fronteira = pool.invoke(new CimaParaBaixo(fronteira.ids, 0, fronteira.tamanho));
+			
+			arcosRestantes -= fronteira.arcos;
+			nivel++;
+		}
+		
+		pais = new int[n];
+		for (int i = 0; i < n; i++)
+			pais[i] = this.pais.get(i);
+		pais[origem] = -1;
+		
+		if (inicio != 0)
+			Metricas.consulta(Operacao.BFS_PARALELA, inicio, alcancados, arcos);
+		
+		return new ResultadoBfs(origem, distancias, pais);
+	}
+	
+	private int grau(int v, Direcao direcao) {
+		return Vizinhanca.grau(G, v, direcao);
+	}
+	
+	private int vizinho(int v, int i, Direcao direcao) {
+		return Vizinhanca.vizinho(G, v, i, direcao);
+	}
+	
+	/**
+	 * Vértices descobertos em um nível e total de arcos que partem deles.
+	 */
+	private static class Fronteira {
+		int[] ids;
+		int tamanho;
+		long arcos;
+		
+		Fronteira(int[] ids, int tamanho, long arcos) {
+			this.ids = ids;
+			this.tamanho = tamanho;
+			this.arcos = arcos;
+		}
+		
+		Fronteira() {
+			this(new int[16], 0, 0);
+		}
+		
+		void adicionar(int id, int grau) {
+			if (tamanho == ids.length)
+				ids = Arrays.copyOf(ids, tamanho * 2);
+			
+			ids[tamanho++] = id;
+			arcos += grau;
+		}
+		
+		Fronteira juntar(Fronteira f) {
+			int[] ids;
+			
+			if (f.tamanho == 0)
+				return this;
+			if (tamanho == 0)
+				return f;
+			
+			ids = Arrays.copyOf(this.ids, tamanho + f.tamanho);
+			System.arraycopy(f.ids, 0, ids, tamanho, f.tamanho);
+			
+			return new Fronteira(ids, tamanho + f.tamanho, arcos + f.arcos);
+		}
+	}
+	
+	private class CimaParaBaixo extends RecursiveTask<Fronteira> {
+		private static final long serialVersionUID = 1L;
+		private final int[] fronteira;
+		private final int inicio, fim;
+		
+		CimaParaBaixo(int[] fronteira, int inicio, int fim) {
+			this.fronteira = fronteira;
+			this.inicio = inicio;
+			this.fim = fim;
+		}
+		
+		@Override
+		protected Fronteira compute() {
+			if (fim - inicio > GRAO_FRONTEIRA) {
+				int meio = (inicio + fim) >>> 1;
+				CimaParaBaixo esquerda = new CimaParaBaixo(fronteira, inicio, meio);
+				
+				esquerda.fork();
+				Fronteira direita = new CimaParaBaixo(fronteira, meio, fim).compute();
+				
+				return esquerda.join().juntar(direita);
+			}
+			
+			Fronteira proxima;
+			int v, w, grau;
+			
+			proxima = new Fronteira();
+			
+			for (int k = inicio; k < fim; k++) {
+				v = fronteira[k];
+				grau = grau(v, direcao);
+				
+				for (int i = 0; i < grau; i++)
+					if (pais.get(w = vizinho(v, i, direcao)) == -1 && pais.compareAndSet(w, -1, v)) {
+						distancias[w] = nivel + 1;
+						proxima.adicionar(w, grau(w, direcao));
+					}
+			}
+			
+			return proxima;
+		}
+	}
+	
+	private class BaixoParaCima extends RecursiveTask<Fronteira> {
+		private static final long serialVersionUID = 1L;
+		private final int inicio, fim;
+		
+		BaixoParaCima(int inicio, int fim) {
+			this.inicio = inicio;
+			this.fim = fim;
+		}
+		
+		@Override
+		protected Fronteira compute() {
+			if (fim - inicio > GRAO_VERTICES) {
+				int meio = (inicio + fim) >>> 1;
+				BaixoParaCima esquerda = new BaixoParaCima(inicio, meio);
+				
+				esquerda.fork();
+				Fronteira direita = new BaixoParaCima(meio, fim).compute();
+				
+				return esquerda.join().juntar(direita);
+			}
+			
+			Fronteira proxima;
+			int v, grau;
+			
+			proxima = new Fronteira();
+			
+			for (int w = inicio; w < fim; w++) {
+				if (distancias[w] >= 0 || !G.contemVertice(w))
+					continue;
+				
+				grau = grau(w, inversa);
+				
+				for (int i = 0; i < grau; i++)
+					if (distancias[v = vizinho(w, i, inversa)] == nivel) {
+						pais.lazySet(w, v);
+						distancias[w] = nivel + 1;
+						proxima.adicionar(w, grau(w, direcao));
+						break;
+					}
+			}
+			
+			return proxima;
+		}
+	}
+	
+	private class ContagemArcos extends RecursiveTask<Long> {
+		private static final long serialVersionUID = 1L;
+		private final int inicio, fim;
+		
+		ContagemArcos(int inicio, int fim) {
+			this.inicio = inicio;
+			this.fim = fim;
+		}
+		
+		@Override
+		protected Long compute() {
+			if (fim - inicio > GRAO_VERTICES) {
+				int meio = (inicio + fim) >>> 1;
+				ContagemArcos esquerda = new ContagemArcos(inicio, meio);
+				
+				esquerda.fork();
+				long direita = new ContagemArcos(meio, fim).compute();
+				
+				return esquerda.join() + direita;
+			}
+			
+			long arcos = 0;
+			
+			for (int v = inicio; v < fim; v++)
+				if (G.contemVertice(v))
+					arcos += grau(v, direcao);
+			
+			return arcos;
+		}
+	}
+}
@@ -0,0 +1,255 @@
+package io.pifg.zepg.search;
+
+import java.util.Arrays;
+
+import io.pifg.zepg.grafo.GrafoIndexado;
+import io.pifg.zepg.metricas.Metricas;
+import io.pifg.zepg.metricas.Operacao;
+
+/**
+ * Busca em largura bidirecional de caminho mínimo (em número de arcos) entre dois vértices.
+ * Expande alternadamente, um nível inteiro por vez, a fronteira a partir da origem (seguindo a
+ * direção informada) e a fronteira a partir do destino (seguindo a direção inversa), sempre a
+ * de menor custo, e para quando as duas se encontram. Os vetores de estado são reaproveitados
+ * entre consultas, inclusive sobre grafos diferentes; instâncias não são thread-safe.
+ */
+public class BuscaBidirecional {
+	private GrafoIndexado<?> G;
+	private int[] marcas;
+	private int rodada;
+	private int[] pais;
+	private int[] distancias;
+	private int[] filaOrigem;
+	private int[] filaDestino;
+	private int explorados;
+	private long arcosExaminados;
+	private int fimFila;
+	private int melhorCusto;
+	private int melhorEncontro;
+	private int melhorVizinho;
+	
+	/**
+	 * Cria uma busca sem grafo associado, usada por {@link #caminho(GrafoIndexado, int, int, Direcao, int)}.
+	 */
+	public BuscaBidirecional() {
+		this(null);
+	}
+	
+	public BuscaBidirecional(GrafoIndexado<?> G) {
+		this.G = G;
+		marcas = new int[0];
+	}
+	
+	private void reiniciar() {
+		int n;
+		
+		n = G.getCapacidade();
+		
+		if (marcas.length < n) {
+			marcas = new int[n];
+			pais = new int[n];
+			distancias = new int[n];
+			filaOrigem = new int[n];
+			filaDestino = new int[n];
+			rodada = 0;
+		}
+		
+		rodada += 2;
+		
+		if (rodada < 0) {
+			Arrays.fill(marcas, 0);
+			rodada = 2;
+		}
+		
+		explorados = 0;
+		arcosExaminados = 0;
+	}
+	
+	/**
+	 * Retorna o número de vértices alcançados pela última consulta, somadas as duas fronteiras.
+	 * @return int correspondente ao número de vértices explorados.
+	 */
+	public int getExplorados() {
+		return explorados;
+	}
+	
+	/**
+	 * Retorna o número de arcos seguidos pela última consulta, somadas as duas fronteiras.
+	 * @return long correspondente ao número de arcos examinados.
+	 */
+	public long getArcosExaminados() {
+		return arcosExaminados;
+	}
+	
+	/**
+	 * Busca um caminho mínimo entre dois vértices.
+	 * @param origem - id do vértice de origem
+	 * @param destino - id do vértice de destino
+	 * @param direcao - sentido em que os arcos são seguidos da origem para o destino
+	 * @param saltosMaximos - comprimento máximo, em arcos, do caminho aceito
+	 * @return int[] com os ids do caminho, da origem ao destino, ou null se não há caminho
+	 * com no máximo saltosMaximos arcos.
+	 */
+	public int[] caminho(int origem, int destino, Direcao direcao, int saltosMaximos) {
+		long inicio;
+		int[] caminho;
+		
+		inicio = Metricas.inicio();
+		caminho = buscar(origem, destino, direcao, saltosMaximos);
+		
+		if (inicio != 0)
+			Metricas.consulta(Operacao.CAMINHO_BIDIRECIONAL, inicio, explorados, arcosExaminados);
+		
+		return caminho;
+	}
+	
+	/**
+	 * Busca um caminho mínimo entre dois vértices de um grafo informado na chamada,
+	 * reaproveitando os vetores de estado desta instância.
+	 * @param G - grafo em que a busca é feita
+	 * @param origem - id do vértice de origem
+	 * @param destino - id do vértice de destino
+	 * @param direcao - sentido em que os arcos são seguidos da origem para o destino
+	 * @param saltosMaximos - comprimento máximo, em arcos, do caminho aceito
+	 * @return int[] com os ids do caminho, da origem ao destino, ou null se não há caminho
+	 * com no máximo saltosMaximos arcos.
+	 */
+	public int[] caminho(GrafoIndexado<?> G, int origem, int destino, Direcao direcao, int saltosMaximos) {
+		GrafoIndexado<?> anterior;
+		
+		anterior = this.G;
+		this.G = G;
+		
+		try {
+			return caminho(origem, destino, direcao, saltosMaximos);
+		} finally {
+			this.G = anterior;
+		}
+	}
+	
+	private int[] buscar(int origem, int destino, Direcao direcao, int saltosMaximos) {
+		int ladoOrigem, ladoDestino;
+		int inicioO, fimO, inicioD, fimD, nivelO, nivelD, encontro;
+		long custoO, custoD;
+		
+		reiniciar();
+		ladoOrigem = rodada - 1;
+		ladoDestino = rodada;
+		
+		visitar(origem, -1, 0, ladoOrigem);
+		
+		if (origem == destino)
+			return new int[] { origem };
+		
+		visitar(destino, -1, 0, ladoDestino);
+		
+		inicioO = 0;
+		fimO = 0;
+		filaOrigem[fimO++] = origem;
+		inicioD = 0;
+		fimD = 0;
+		filaDestino[fimD++] = destino;
+		nivelO = 0;
+		nivelD = 0;
+		encontro = -1;
+		
+		while (inicioO < fimO && inicioD < fimD && nivelO + nivelD < saltosMaximos) {
+			custoO = custo(filaOrigem, inicioO, fimO, direcao);
+			custoD = custo(filaDestino, inicioD, fimD, direcao.inversa());
+			
+			if (custoO <= custoD) {
+				encontro = expandir(filaOrigem, inicioO, fimO, direcao, ladoOrigem, ladoDestino);
+				inicioO = fimO;
+				fimO = fimFila;
+				nivelO++;
+			} else {
+				encontro = expandir(filaDestino, inicioD, fimD, direcao.inversa(), ladoDestino, ladoOrigem);
+				inicioD = fimD;
+				fimD = fimFila;
+				nivelD++;
+			}
+			
+			if (encontro >= 0)
+				return montarCaminho(encontro, ladoOrigem, ladoDestino);
+		}
+		
+		return null;
+	}
+	
+	private long custo(int[] fila, int inicio, int fim, Direcao direcao) {
+		long custo;
+		
+		custo = 0;
+		
+		for (int k = inicio; k < fim; k++)
+			custo += Vizinhanca.grau(G, fila[k], direcao);
+		
+		return custo;
+	}
+	
+	private void visitar(int v, int pai, int distancia, int lado) {
+		marcas[v] = lado;
+		pais[v] = pai;
+		distancias[v] = distancia;
+		explorados++;
+	}
+	
+	/**
+	 * Expande um nível inteiro de uma das fronteiras. Ao encontrar vértices já alcançados pela
+	 * outra fronteira, escolhe o encontro de menor distância total, o que garante caminho mínimo.
+	 * @return int correspondente ao vértice do lado expandido em que o encontro ocorreu, ou -1.
+	 */
+	private int expandir(int[] fila, int inicio, int fim, Direcao direcao, int lado, int outroLado) {
+		int v, w, grau, custo;
+		
+		fimFila = fim;
+		melhorCusto = Integer.MAX_VALUE;
+		melhorEncontro = -1;
+		
+		for (int k = inicio; k < fim; k++) {
+			v = fila[k];
+			grau = Vizinhanca.grau(G, v, direcao);
+			arcosExaminados += grau;
+			
+			for (int i = 0; i < grau; i++) {
+				w = Vizinhanca.vizinho(G, v, i, direcao);
+				
+				if (marcas[w] == outroLado) {
+					if ((custo = distancias[v] + 1 + distancias[w]) < melhorCusto) {
+						melhorCusto = custo;
+						melhorEncontro = v;
+						melhorVizinho = w;
+					}
+				} else if (marcas[w] != lado) {
+					visitar(w, v, distancias[v] + 1, lado);
+					fila[fimFila++] = w;
+				}
+			}
+		}
+		
+		return melhorEncontro;
+	}
+	
+	private int[] montarCaminho(int encontro, int ladoOrigem, int ladoDestino) {
+		int a, b, u, i;
+		int[] caminho;
+		
+		if (marcas[encontro] == ladoOrigem) {
+			a = encontro;
+			b = melhorVizinho;
+		} else {
+			a = melhorVizinho;
+			b = encontro;
+		}
+		
+		caminho = new int[distancias[a] + distancias[b] + 2];
+		
+		for (i = distancias[a], u = a; u >= 0; u = pais[u])
+			caminho[i--] = u;
+		
+		for (i = distancias[a] + 1, u = b; u >= 0; u = pais[u])
+			caminho[i++] = u;
+		
+		return caminho;
+	}
+}
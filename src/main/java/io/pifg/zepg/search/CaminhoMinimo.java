@@ -0,0 +1,195 @@
+package io.pifg.zepg.search;
+
+import java.util.Arrays;
+
+import io.pifg.zepg.grafo.GrafoIndexadoPonderado;
+import io.pifg.zepg.grafo.NonVerticeException;
+import io.pifg.zepg.metricas.Metricas;
+import io.pifg.zepg.metricas.Operacao;
+
+/**
+ * Caminhos mínimos em grafos com pesos não negativos, por Dijkstra ou A*, sobre um heap
+ * indexado de vetores primitivos. Com destino informado, a busca para assim que o destino
+ * deixa o heap. Distâncias, pais e marcas são reaproveitados entre consultas e valem até a
+ * consulta seguinte; instâncias não são thread-safe.
+ */
+public class CaminhoMinimo {
+	private static final Heuristica NULA = (v, destino) -> 0;
+	
+	private final Visitados descobertos;
+	private final Visitados fechados;
+	private final HeapIndexado heap;
+	private double[] distancias;
+	private int[] pais;
+	private int explorados;
+	private long arcosExaminados;
+	
+	public CaminhoMinimo() {
+		descobertos = new Visitados();
+		fechados = new Visitados();
+		heap = new HeapIndexado();
+		distancias = new double[0];
+		pais = new int[0];
+	}
+	
+	/**
+	 * Calcula distâncias mínimas a partir de uma origem.
+	 * @param G - grafo ponderado
+	 * @param origem - id do vértice de origem
+	 * @param destino - id do vértice de destino, ou -1 para calcular a distância a todos
+	 * @return double correspondente à distância ao destino (infinita se inalcançável), ou 0 se destino é -1.
+	 */
+	public double dijkstra(GrafoIndexadoPonderado<?> G, int origem, int destino) {
+		return buscar(G, origem, destino, NULA);
+	}
+	
+	/**
+	 * Calcula a distância mínima entre dois vértices pela busca A*.
+	 * @param G - grafo ponderado
+	 * @param origem - id do vértice de origem
+	 * @param destino - id do vértice de destino
+	 * @param h - heurística consistente para o destino
+	 * @return double correspondente à distância ao destino, ou infinita se inalcançável.
+	 */
+	public double aEstrela(GrafoIndexadoPonderado<?> G, int origem, int destino, Heuristica h) {
+		if (destino < 0)
+			throw new NonVerticeException();
+		
+		return buscar(G, origem, destino, h);
+	}
+	
+	private double buscar(GrafoIndexadoPonderado<?> G, int origem, int destino, Heuristica h) {
+		long inicio;
+		double distancia;
+		
+		inicio = Metricas.inicio();
+		distancia = explorar(G, origem, destino, h);
+		
+		if (inicio != 0)
+			Metricas.consulta(Operacao.CAMINHO_MINIMO, inicio, explorados, arcosExaminados);
+		
+		return distancia;
+	}
+	
+	private double explorar(GrafoIndexadoPonderado<?> G, int origem, int destino, Heuristica h) {
+		int n, v, w, grau;
+		double d, dw;
+		
+		n = G.getCapacidade();
+		
+		if (!G.contemVertice(origem) || (destino >= 0 && !G.contemVertice(destino)))
+			throw new NonVerticeException();
+		
+		reiniciar(n);
+		descobertos.marcar(origem);
+		distancias[origem] = 0;
+		pais[origem] = -1;
+		heap.inserirOuDiminuir(origem, h.estimar(origem, destino));
+		
+		while (!heap.estaVazio()) {
+			v = heap.removerMinimo();
+			fechados.marcar(v);
+			explorados++;
+			
+			if (v == destino)
+				return distancias[v];
+			
+			d = distancias[v];
+			grau = G.grauSaida(v);
+			arcosExaminados += grau;
+			
+			for (int i = 0; i < grau; i++) {
+				w = G.sucessor(v, i);
+				
+				if (fechados.marcado(w))
+					continue;
+				
+				dw = d + G.peso(v, i);
+				
+				if (descobertos.marcar(w) || dw < distancias[w]) {
+					distancias[w] = dw;
+					pais[w] = v;
+					heap.inserirOuDiminuir(w, dw + h.estimar(w, destino));
+				}
+			}
+		}
+		
+		return destino < 0 ? 0 : Double.POSITIVE_INFINITY;
+	}
+	
+	private void reiniciar(int n) {
+		if (distancias.length < n) {
+			distancias = new double[n];
+			pais = new int[n];
+		}
+		
+		descobertos.reiniciar(n);
+		fechados.reiniciar(n);
+		heap.reiniciar(n);
+		explorados = 0;
+		arcosExaminados = 0;
+	}
+	
+	/**
+	 * Retorna o número de vértices retirados do heap pela última consulta.
+	 * @return int correspondente ao número de vértices explorados.
+	 */
+	public int getExplorados() {
+		return explorados;
+	}
+	
+	/**
+	 * Retorna o número de arcos relaxados ou descartados pela última consulta.
+	 * @return long correspondente ao número de arcos examinados.
+	 */
+	public long getArcosExaminados() {
+		return arcosExaminados;
+	}
+	
+	/**
+	 * Retorna a distância mínima da origem a um vértice, conforme a última consulta.
+	 * @param v - id do vértice
+	 * @return double correspondente à distância, ou infinita se o vértice não teve a distância
+	 * fixada pela consulta (inalcançável ou não explorado antes da parada).
+	 */
+	public double getDistancia(int v) {
+		if (v < 0 || v >= distancias.length || !fechados.marcado(v))
+			return Double.POSITIVE_INFINITY;
+		
+		return distancias[v];
+	}
+	
+	/**
+	 * @return int correspondente ao antecessor de v no caminho mínimo, ou -1 para a origem e para
+	 * vértices sem distância fixada.
+	 */
+	public int getPai(int v) {
+		if (v < 0 || v >= distancias.length || !fechados.marcado(v))
+			return -1;
+		
+		return pais[v];
+	}
+	
+	/**
+	 * Reconstrói o caminho mínimo até um vértice, conforme a última consulta.
+	 * @param destino - id do vértice de destino
+	 * @return int[] com os ids do caminho, da origem ao destino, ou null se não há caminho.
+	 */
+	public int[] caminho(int destino) {
+		int tamanho, v;
+		int[] caminho;
+		
+		if (getDistancia(destino) == Double.POSITIVE_INFINITY)
+			return null;
+		
+		tamanho = 0;
+		for (v = destino; v >= 0; v = pais[v])
+			tamanho++;
+		
+		caminho = new int[tamanho];
+		for (v = destino; v >= 0; v = pais[v])
+			caminho[--tamanho] = v;
+		
+		return caminho;
+	}
+}
@@ -0,0 +1,28 @@
+package io.pifg.zepg.search;
+
+/**
+ * Sentido em que os arcos são seguidos durante um percurso.
+ */
+public enum Direcao {
+	/** Segue os arcos da origem para a extremidade. */
+	SUCESSORES,
+	/** Segue os arcos da extremidade para a origem. */
+	ANTECESSORES,
+	/** Ignora a orientação dos arcos. */
+	ADJACENTES;
+	
+	/**
+	 * Retorna o sentido oposto, usado para percorrer os arcos de trás para frente.
+	 * @return Direcao inversa (ADJACENTES é a inversa de si mesma).
+	 */
+	public Direcao inversa() {
+		switch (this) {
+		case SUCESSORES:
+			return ANTECESSORES;
+		case ANTECESSORES:
+			return SUCESSORES;
+		default:
+			return ADJACENTES;
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package io.pifg.zepg.search;
+
+/**
+ * Heap binário mínimo de ids de vértices com chaves reais, em vetores primitivos, com
+ * diminuição de chave em O(log n). A posição de cada id no heap é guardada em um vetor
+ * indexado pelo id; um id pertence ao heap se sua posição registrada aponta de volta para
+ * ele, de modo que reiniciar custa O(1) em vez de limpar os vetores.
+ */
+final class HeapIndexado {
+	private int[] heap;
+	private int[] posicoes;
+	private double[] chaves;
+	private int tamanho;
+	
+	HeapIndexado() {
+		heap = new int[0];
+		posicoes = new int[0];
+		chaves = new double[0];
+	}
+	
+	/**
+	 * Esvazia o heap.
+	 * @param capacidade - limite superior (exclusivo) dos ids que serão inseridos
+	 */
+	void reiniciar(int capacidade) {
+		if (posicoes.length < capacidade) {
+			heap = new int[capacidade];
+			posicoes = new int[capacidade];
+			chaves = new double[capacidade];
+		}
+		
+		tamanho = 0;
+	}
+	
+	boolean estaVazio() {
+		return tamanho == 0;
+	}
+	
+	boolean contem(int id) {
+		int p;
+		
+		p = posicoes[id];
+		
+		return p < tamanho && heap[p] == id;
+	}
+	
+	/**
+	 * Insere um id com a chave informada ou, se já presente com chave maior, diminui sua chave.
+	 * @return true se o id foi inserido ou teve a chave diminuída; caso contrário, false.
+	 */
+	boolean inserirOuDiminuir(int id, double chave) {
+		int p;
+		
+		if (contem(id)) {
+			if (chave >= chaves[id])
+				return false;
+			
+			p = posicoes[id];
+		} else {
+			p = tamanho++;
+			heap[p] = id;
+			posicoes[id] = p;
+		}
+		
+		chaves[id] = chave;
+		subir(p);
+		
+		return true;
+	}
+	
+	/**
+	 * @return int correspondente ao id de menor chave, que deixa o heap.
+	 */
+	int removerMinimo() {
+		int minimo, ultimo;
+		
+		minimo = heap[0];
+		ultimo = heap[--tamanho];
+		
+		if (tamanho > 0) {
+			heap[0] = ultimo;
+			posicoes[ultimo] = 0;
+			descer(0);
+		}
+		
+		posicoes[minimo] = Integer.MAX_VALUE;
+		
+		return minimo;
+	}
+	
+	private void subir(int p) {
+		int id, pai;
+		double chave;
+		
+		id = heap[p];
+		chave = chaves[id];
+		
+		while (p > 0 && chave < chaves[heap[pai = (p - 1) >>> 1]]) {
+			heap[p] = heap[pai];
+			posicoes[heap[p]] = p;
+			p = pai;
+		}
+		
+		heap[p] = id;
+		posicoes[id] = p;
+	}
+	
+	private void descer(int p) {
+		int id, filho;
+		double chave;
+		
+		id = heap[p];
+		chave = chaves[id];
+		
+		while ((filho = 2 * p + 1) < tamanho) {
+			if (filho + 1 < tamanho && chaves[heap[filho + 1]] < chaves[heap[filho]])
+				filho++;
+			
+			if (chaves[heap[filho]] >= chave)
+				break;
+			
+			heap[p] = heap[filho];
+			posicoes[heap[p]] = p;
+			p = filho;
+		}
+		
+		heap[p] = id;
+		posicoes[id] = p;
+	}
+}
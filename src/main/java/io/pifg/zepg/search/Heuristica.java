@@ -0,0 +1,10 @@
+package io.pifg.zepg.search;
+
+/**
+ * Estimativa do custo restante até o destino, usada pela busca A*. Deve ser consistente:
+ * estimar(v, destino) &lt;= peso(v, w) + estimar(w, destino) para todo arco v -&gt; w, e
+ * estimar(destino, destino) == 0.
+ */
+public interface Heuristica {
+	double estimar(int v, int destino);
+}
@@ -0,0 +1,209 @@
+package io.pifg.zepg.search;
+
+import io.pifg.zepg.grafo.GrafoIndexado;
+
+/**
+ * Motor de percurso em profundidade e em largura sobre um {@link GrafoIndexado}. Usa pilha
+ * e fila explícitas em vetores primitivos, de modo que a profundidade da pilha de chamadas
+ * é constante, e um conjunto de {@link Visitados} reaproveitado entre execuções. Após o
+ * aquecimento, um percurso não aloca memória.
+ * Instâncias não são thread-safe; use uma por thread.
+ */
+public class Percurso {
+	private final GrafoIndexado<?> G;
+	private final Visitados visitados;
+	private int[] pilha;
+	private int[] cursores;
+	private int[] fila;
+	private int nivel;
+	private long verticesVisitados;
+	private long arcosExaminados;
+	
+	public Percurso(GrafoIndexado<?> G) {
+		this.G = G;
+		visitados = new Visitados();
+		pilha = new int[0];
+		cursores = new int[0];
+		fila = new int[0];
+	}
+	
+	/**
+	 * Desmarca todos os vértices, preparando uma nova sequência de explorações.
+	 */
+	public void reiniciar() {
+		int n;
+		
+		n = G.getCapacidade();
+		visitados.reiniciar(n);
+		verticesVisitados = 0;
+		arcosExaminados = 0;
+		
+		if (pilha.length < n) {
+			pilha = new int[n];
+			cursores = new int[n];
+			fila = new int[n];
+		}
+	}
+	
+	public Visitados getVisitados() {
+		return visitados;
+	}
+	
+	/**
+	 * Retorna a distância, em arcos, entre a origem e o último vértice entregue ao visitante
+	 * durante um percurso em largura.
+	 * @return int correspondente ao nível do vértice.
+	 */
+	public int getNivel() {
+		return nivel;
+	}
+	
+	/**
+	 * @return long correspondente ao número de vértices descobertos desde o último {@link #reiniciar()}.
+	 */
+	public long getVerticesVisitados() {
+		return verticesVisitados;
+	}
+	
+	/**
+	 * @return long correspondente ao número de arcos seguidos desde o último {@link #reiniciar()}.
+	 */
+	public long getArcosExaminados() {
+		return arcosExaminados;
+	}
+	
+	private int grau(int v, Direcao direcao) {
+		return Vizinhanca.grau(G, v, direcao);
+	}
+	
+	private int vizinho(int v, int i, Direcao direcao) {
+		return Vizinhanca.vizinho(G, v, i, direcao);
+	}
+	
+	/**
+	 * Percorre em profundidade os vértices alcançáveis a partir da origem.
+	 * @param origem - id do vértice inicial
+	 * @param direcao - sentido em que os arcos são seguidos
+	 * @param aoDescobrir - visitante chamado em pré-ordem (pode ser null)
+	 * @return id do vértice em que o visitante interrompeu o percurso, ou -1 se completo.
+	 */
+	public int dfs(int origem, Direcao direcao, Visitante aoDescobrir) {
+		reiniciar();
+		return explorarDfs(origem, direcao, aoDescobrir, null);
+	}
+	
+	/**
+	 * Percorre em profundidade os vértices alcançáveis a partir da origem e ainda não
+	 * marcados desde o último {@link #reiniciar()}. Permite percursos com várias origens.
+	 * @param origem - id do vértice inicial
+	 * @param direcao - sentido em que os arcos são seguidos
+	 * @param aoDescobrir - visitante chamado em pré-ordem (pode ser null)
+	 * @param aoFinalizar - visitante chamado em pós-ordem (pode ser null)
+	 * @return id do vértice em que um visitante interrompeu o percurso, ou -1 se completo.
+	 */
+	public int explorarDfs(int origem, Direcao direcao, Visitante aoDescobrir, Visitante aoFinalizar) {
+		int topo, v, w, i;
+		
+		if (!visitados.marcar(origem))
+			return -1;
+		
+		verticesVisitados++;
+		
+		if (aoDescobrir != null && !aoDescobrir.visitar(origem, -1))
+			return origem;
+		
+		pilha[0] = origem;
+		cursores[0] = 0;
+		topo = 1;
+		
+		while (topo > 0) {
+			v = pilha[topo - 1];
+			i = cursores[topo - 1];
+			
+			if (i < grau(v, direcao)) {
+				cursores[topo - 1] = i + 1;
+				w = vizinho(v, i, direcao);
+				arcosExaminados++;
+				
+				if (visitados.marcar(w)) {
+					verticesVisitados++;
+					
+					if (aoDescobrir != null && !aoDescobrir.visitar(w, v))
+						return w;
+					
+					pilha[topo] = w;
+					cursores[topo] = 0;
+					topo++;
+				}
+			} else {
+				topo--;
+				
+				if (aoFinalizar != null && !aoFinalizar.visitar(v, topo > 0 ? pilha[topo - 1] : -1))
+					return v;
+			}
+		}
+		
+		return -1;
+	}
+	
+	/**
+	 * Percorre em largura os vértices alcançáveis a partir da origem.
+	 * @param origem - id do vértice inicial
+	 * @param direcao - sentido em que os arcos são seguidos
+	 * @param aoDescobrir - visitante chamado na ordem de descoberta (pode ser null)
+	 * @return id do vértice em que o visitante interrompeu o percurso, ou -1 se completo.
+	 */
+	public int bfs(int origem, Direcao direcao, Visitante aoDescobrir) {
+		reiniciar();
+		return explorarBfs(origem, direcao, aoDescobrir, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Percorre em largura os vértices alcançáveis a partir da origem e ainda não marcados
+	 * desde o último {@link #reiniciar()}, até uma distância máxima.
+	 * @param origem - id do vértice inicial
+	 * @param direcao - sentido em que os arcos são seguidos
+	 * @param aoDescobrir - visitante chamado na ordem de descoberta (pode ser null)
+	 * @param nivelMaximo - distância máxima, em arcos, a partir da origem
+	 * @return id do vértice em que o visitante interrompeu o percurso, ou -1 se completo.
+	 */
+	public int explorarBfs(int origem, Direcao direcao, Visitante aoDescobrir, int nivelMaximo) {
+		int inicio, fim, fimNivel, v, w, i, grau;
+		
+		if (!visitados.marcar(origem))
+			return -1;
+		
+		nivel = 0;
+		verticesVisitados++;
+		
+		if (aoDescobrir != null && !aoDescobrir.visitar(origem, -1))
+			return origem;
+		
+		inicio = 0;
+		fim = 0;
+		fila[fim++] = origem;
+		
+		while (inicio < fim && nivel < nivelMaximo) {
+			fimNivel = fim;
+			nivel++;
+			
+			while (inicio < fimNivel) {
+				v = fila[inicio++];
+				grau = grau(v, direcao);
+				arcosExaminados += grau;
+				
+				for (i = 0; i < grau; i++)
+					if (visitados.marcar(w = vizinho(v, i, direcao))) {
+						verticesVisitados++;
+						
+						if (aoDescobrir != null && !aoDescobrir.visitar(w, v))
+							return w;
+						
+						fila[fim++] = w;
+					}
+			}
+		}
+		
+		return -1;
+	}
+}
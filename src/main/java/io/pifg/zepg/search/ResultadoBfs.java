@@ -0,0 +1,77 @@
+package io.pifg.zepg.search;
+
+/**
+ * Resultado de uma busca em largura a partir de uma origem: distância, em arcos, e pai na
+ * árvore de busca de cada vértice, indexados por id.
+ */
+public class ResultadoBfs {
+	private final int origem;
+	private final int[] distancias;
+	private final int[] pais;
+	
+	ResultadoBfs(int origem, int[] distancias, int[] pais) {
+		this.origem = origem;
+		this.distancias = distancias;
+		this.pais = pais;
+	}
+	
+	public int getOrigem() {
+		return origem;
+	}
+	
+	/**
+	 * @param id - id do vértice
+	 * @return int correspondente à distância a partir da origem, ou -1 se o vértice não é alcançável.
+	 */
+	public int getDistancia(int id) {
+		return distancias[id];
+	}
+	
+	/**
+	 * @param id - id do vértice
+	 * @return int correspondente ao id do pai na árvore de busca, ou -1 para a origem e para
+	 * vértices não alcançáveis.
+	 */
+	public int getPai(int id) {
+		return pais[id];
+	}
+	
+	public boolean alcanca(int id) {
+		return distancias[id] >= 0;
+	}
+	
+	/**
+	 * Retorna o vetor de distâncias, indexado por id. O vetor não é copiado.
+	 * @return int[] de distâncias (-1 para vértices não alcançáveis).
+	 */
+	public int[] getDistancias() {
+		return distancias;
+	}
+	
+	/**
+	 * Retorna o vetor de pais, indexado por id. O vetor não é copiado.
+	 * @return int[] de pais (-1 para a origem e para vértices não alcançáveis).
+	 */
+	public int[] getPais() {
+		return pais;
+	}
+	
+	/**
+	 * Reconstrói o caminho da origem até um vértice pela árvore de busca.
+	 * @param id - id do vértice de destino
+	 * @return int[] com os ids do caminho, da origem ao destino; vazio se não alcançável.
+	 */
+	public int[] caminho(int id) {
+		int[] caminho;
+		
+		if (distancias[id] < 0)
+			return new int[0];
+		
+		caminho = new int[distancias[id] + 1];
+		
+		for (int i = caminho.length - 1; i >= 0; i--, id = pais[id])
+			caminho[i] = id;
+		
+		return caminho;
+	}
+}
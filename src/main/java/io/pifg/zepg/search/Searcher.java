@@ -1,59 +1,201 @@
 package io.pifg.zepg.search;
 
 import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
 
 import io.pifg.zepg.grafo.*;
+import io.pifg.zepg.metricas.Metricas;
+import io.pifg.zepg.metricas.Operacao;
 
 public class Searcher {
-	private static <T> Vertice<T> dfs(Grafo<T> G, Vertice<T> v, Vertice<T> w) {
-		ArrayList<Vertice<T>> vis = new ArrayList<Vertice<T>>();
+	private static final ThreadLocal<CaminhoMinimo> CAMINHOS = ThreadLocal.withInitial(CaminhoMinimo::new);
+	private static final ThreadLocal<BuscaBidirecional> BUSCAS = ThreadLocal.withInitial(BuscaBidirecional::new);
+	
+	public static <T> T dfs(Grafo<T> G, T v, T w) {
+		ArrayList<T> vis = new ArrayList<T>();
 		return dfs(G, v, w, vis);
 	}
 	
-	private static <T> Vertice<T> dfs(Grafo<T> G, Vertice<T> v, Vertice<T> w, ArrayList<Vertice<T>> vis) {		
-		Vertice<T> result = null;
+	/**
+	 * Busca em profundidade, ignorando orientação, de um objeto a partir de outro.
+	 * @param G - grafo em que a busca é feita
+	 * @param v - objeto de origem
+	 * @param w - objeto buscado
+	 * @param vis - objetos já visitados, que não serão explorados; recebe os objetos visitados pela busca
+	 * @return w se alcançável a partir de v; caso contrário, null.
+	 */
+	public static <T> T dfs(final Grafo<T> G, T v, T w, final ArrayList<T> vis) {
+		final int origem, alvo;
+		Percurso percurso;
+		long inicio;
+		int encontrado;
 		
-		if (v.equals(w))
-			return v;
+		if ((origem = G.getId(v)) < 0)
+			throw new NonVerticeException();
 		
-		vis.add(v);
+		inicio = Metricas.inicio();
+		alvo = G.getId(w);
+		percurso = G.getPercurso();
+		percurso.reiniciar();
 		
-		for (Vertice<T> u : v.getAdjacentes()) {
-			if (vis.contains(u))
-				continue;
-			
-			
-			
-			if ((result = dfs(G, u, w, vis)) != null)
-				return result;
-		}
-
-		return result;
+		for (T u : vis)
+			if (G.contemVertice(u))
+				percurso.getVisitados().marcar(G.getId(u));
+		
+		percurso.getVisitados().desmarcar(origem);
+		
+		encontrado = percurso.explorarDfs(origem, Direcao.ADJACENTES, new Visitante() {
+			public boolean visitar(int u, int pai) {
+				if (u == alvo)
+					return false;
+				
+				vis.add(G.getObjeto(u));
+				
+				return true;
+			}
+		}, null);
+		
+		if (inicio != 0)
+			Metricas.consulta(Operacao.DFS, inicio, percurso.getVerticesVisitados(), percurso.getArcosExaminados());
+		
+		return encontrado >= 0 ? G.getObjeto(encontrado) : null;
 	}
 	
-	public static <T> T dfs(Grafo<T> G, T v, T w) {
-		ArrayList<T> vis = new ArrayList<T>();
-		return dfs(G, v, w, vis);
+	/**
+	 * Busca em largura paralela a partir de um objeto, no pool comum do fork/join.
+	 * @param G - grafo em que a busca é feita (não deve ser alterado durante a busca)
+	 * @param origem - objeto de origem
+	 * @param direcao - sentido em que os arcos são seguidos
+	 * @return ResultadoBfs com distâncias e pais de todos os vértices, indexados por id.
+	 */
+	public static <T> ResultadoBfs bfsParalelo(GrafoIndexado<T> G, T origem, Direcao direcao) {
+		return bfsParalelo(G, G.getId(origem), direcao, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Busca em largura paralela, síncrona por níveis, alternando entre expansão de cima para
+	 * baixo e de baixo para cima conforme o tamanho da fronteira.
+	 * @param G - grafo em que a busca é feita (não deve ser alterado durante a busca)
+	 * @param origem - id do vértice de origem
+	 * @param direcao - sentido em que os arcos são seguidos
+	 * @param pool - pool em que os níveis são expandidos
+	 * @return ResultadoBfs com distâncias e pais de todos os vértices, indexados por id.
+	 */
+	public static ResultadoBfs bfsParalelo(GrafoIndexado<?> G, int origem, Direcao direcao, ForkJoinPool pool) {
+		if (!G.contemVertice(origem))
+			throw new NonVerticeException();
+		
+		return new BfsParalela(G, direcao).executar(origem, pool);
+	}
+	
+	/**
+	 * Busca um caminho mínimo, em número de arcos, entre dois objetos por busca em largura
+	 * bidirecional: expande a partir da origem pelos sucessores e a partir do destino pelos
+	 * antecessores (ou pelos adjacentes, se a direção for ADJACENTES) até as fronteiras se encontrarem.
+	 * @param G - grafo em que a busca é feita
+	 * @param origem - objeto de origem
+	 * @param destino - objeto de destino
+	 * @param direcao - sentido em que os arcos são seguidos da origem para o destino
+	 * @return ArrayList<T> com os objetos do caminho, da origem ao destino, ou null se não há caminho.
+	 */
+	public static <T> ArrayList<T> caminhoBidirecional(GrafoIndexado<T> G, T origem, T destino, Direcao direcao) {
+		return caminhoBidirecional(G, origem, destino, direcao, Integer.MAX_VALUE);
 	}
 	
-	public static <T> T dfs(Grafo<T> G, T v, T w, ArrayList<T> vis) {		
-		T result = null;
+	/**
+	 * Busca um caminho mínimo, em número de arcos, entre dois objetos por busca em largura
+	 * bidirecional, limitada a um número máximo de saltos. Os vetores de trabalho são
+	 * reaproveitados por thread, de modo que a consulta custa proporcionalmente aos vértices
+	 * explorados, e não ao tamanho do grafo.
+	 * @param G - grafo em que a busca é feita
+	 * @param origem - objeto de origem
+	 * @param destino - objeto de destino
+	 * @param direcao - sentido em que os arcos são seguidos da origem para o destino
+	 * @param saltosMaximos - comprimento máximo, em arcos, do caminho aceito
+	 * @return ArrayList<T> com os objetos do caminho, da origem ao destino, ou null se não há
+	 * caminho com no máximo saltosMaximos arcos.
+	 */
+	public static <T> ArrayList<T> caminhoBidirecional(GrafoIndexado<T> G, T origem, T destino, Direcao direcao,
+			int saltosMaximos) {
+		int s, t;
+		int[] caminho;
+		ArrayList<T> objetos;
 		
-		if (v.equals(w))
-			return v;
+		if ((s = G.getId(origem)) < 0 || (t = G.getId(destino)) < 0)
+			throw new NonVerticeException();
 		
-		vis.add(v);
+		if ((caminho = BUSCAS.get().caminho(G, s, t, direcao, saltosMaximos)) == null)
+			return null;
 		
-		for (T u : G.getAdjacentes(v)) {
-			if (vis.contains(u))
-				continue;
-			
-			System.out.println("From " + v.toString() + " to " + u.toString());
-			
-			if ((result = dfs(G, u, w, vis)) != null)
-				return result;
-		}
-
-		return result;
+		objetos = new ArrayList<T>(caminho.length);
+		
+		for (int id : caminho)
+			objetos.add(G.getObjeto(id));
+		
+		return objetos;
+	}
+	
+	/**
+	 * Busca um caminho de peso mínimo entre dois objetos pelo algoritmo de Dijkstra, parando
+	 * assim que o destino tem sua distância fixada. Os vetores de trabalho são reaproveitados
+	 * por thread.
+	 * @param G - grafo ponderado, com pesos não negativos
+	 * @param origem - objeto de origem
+	 * @param destino - objeto de destino
+	 * @return ArrayList<T> com os objetos do caminho, da origem ao destino, ou null se não há caminho.
+	 */
+	public static <T> ArrayList<T> caminhoMinimo(GrafoIndexadoPonderado<T> G, T origem, T destino) {
+		return caminhoMinimo(G, origem, destino, null);
+	}
+	
+	/**
+	 * Busca um caminho de peso mínimo entre dois objetos pela busca A*.
+	 * @param G - grafo ponderado, com pesos não negativos
+	 * @param origem - objeto de origem
+	 * @param destino - objeto de destino
+	 * @param h - heurística consistente, sobre ids; null equivale a Dijkstra
+	 * @return ArrayList<T> com os objetos do caminho, da origem ao destino, ou null se não há caminho.
+	 */
+	public static <T> ArrayList<T> caminhoMinimo(GrafoIndexadoPonderado<T> G, T origem, T destino, Heuristica h) {
+		int s, t;
+		int[] caminho;
+		CaminhoMinimo busca;
+		ArrayList<T> objetos;
+		
+		if ((s = G.getId(origem)) < 0 || (t = G.getId(destino)) < 0)
+			throw new NonVerticeException();
+		
+		busca = CAMINHOS.get();
+		
+		if (h == null)
+			busca.dijkstra(G, s, t);
+		else
+			busca.aEstrela(G, s, t, h);
+		
+		if ((caminho = busca.caminho(t)) == null)
+			return null;
+		
+		objetos = new ArrayList<T>(caminho.length);
+		
+		for (int id : caminho)
+			objetos.add(G.getObjeto(id));
+		
+		return objetos;
+	}
+	
+	/**
+	 * Calcula as distâncias mínimas de uma origem a todos os vértices pelo algoritmo de Dijkstra.
+	 * @param G - grafo ponderado, com pesos não negativos
+	 * @param origem - id do vértice de origem
+	 * @return CaminhoMinimo da thread corrente, com distâncias e pais válidos até a próxima
+	 * consulta feita pela mesma thread.
+	 */
+	public static CaminhoMinimo dijkstra(GrafoIndexadoPonderado<?> G, int origem) {
+		CaminhoMinimo busca;
+		
+		busca = CAMINHOS.get();
+		busca.dijkstra(G, origem, -1);
+		
+		return busca;
 	}
-}
\ No newline at end of file
+}
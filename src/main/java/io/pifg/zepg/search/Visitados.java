@@ -0,0 +1,56 @@
+package io.pifg.zepg.search;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de vértices visitados, reutilizável entre percursos. Cada vértice guarda o número
+ * da rodada em que foi marcado, de modo que iniciar uma nova rodada custa O(1) em vez de
+ * limpar o vetor inteiro.
+ */
+public class Visitados {
+	private int[] marcas;
+	private int rodada;
+	
+	public Visitados() {
+		marcas = new int[0];
+	}
+	
+	/**
+	 * Inicia uma nova rodada, desmarcando todos os vértices.
+	 * @param capacidade - limite superior (exclusivo) dos ids que serão marcados
+	 */
+	public void reiniciar(int capacidade) {
+		if (marcas.length < capacidade) {
+			marcas = new int[Math.max(capacidade, marcas.length + (marcas.length >> 1))];
+			rodada = 0;
+		}
+		
+		if (++rodada == Integer.MAX_VALUE) {
+			Arrays.fill(marcas, 0);
+			rodada = 1;
+		}
+	}
+	
+	/**
+	 * Marca um vértice como visitado.
+	 * @param id - id do vértice
+	 * @return true se o vértice ainda não estava marcado nesta rodada; caso contrário, false.
+	 */
+	public boolean marcar(int id) {
+		if (marcas[id] == rodada)
+			return false;
+		
+		marcas[id] = rodada;
+		
+		return true;
+	}
+	
+	public boolean marcado(int id) {
+		return marcas[id] == rodada;
+	}
+	
+	public void desmarcar(int id) {
+		if (marcas[id] == rodada)
+			marcas[id] = 0;
+	}
+}
@@ -0,0 +1,13 @@
+package io.pifg.zepg.search;
+
+/**
+ * Callback invocado pelo {@link Percurso} a cada vértice alcançado.
+ */
+public interface Visitante {
+	/**
+	 * @param v - id do vértice visitado
+	 * @param pai - id do vértice a partir do qual v foi alcançado, ou -1 se v é a origem
+	 * @return true para continuar o percurso; false para interrompê-lo.
+	 */
+	boolean visitar(int v, int pai);
+}
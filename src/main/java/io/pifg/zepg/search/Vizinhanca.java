@@ -0,0 +1,36 @@
+package io.pifg.zepg.search;
+
+import io.pifg.zepg.grafo.GrafoIndexado;
+
+/**
+ * Acesso aos vizinhos de um vértice em uma {@link Direcao}, comum aos algoritmos de busca.
+ */
+final class Vizinhanca {
+	private Vizinhanca() {
+	}
+	
+	static int grau(GrafoIndexado<?> G, int v, Direcao direcao) {
+		switch (direcao) {
+		case SUCESSORES:
+			return G.grauSaida(v);
+		case ANTECESSORES:
+			return G.grauEntrada(v);
+		default:
+			return G.grauSaida(v) + G.grauEntrada(v);
+		}
+	}
+	
+	static int vizinho(GrafoIndexado<?> G, int v, int i, Direcao direcao) {
+		int saida;
+		
+		switch (direcao) {
+		case SUCESSORES:
+			return G.sucessor(v, i);
+		case ANTECESSORES:
+			return G.antecessor(v, i);
+		default:
+			saida = G.grauSaida(v);
+			return i < saida ? G.sucessor(v, i) : G.antecessor(v, i - saida);
+		}
+	}
+}
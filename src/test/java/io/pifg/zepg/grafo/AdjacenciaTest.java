@@ -0,0 +1,90 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+public class AdjacenciaTest extends TestCase {
+	private void verificarContraHashSet(Adjacencia a) {
+		Random r = new Random(7);
+		Set<Integer> esperado = new HashSet<Integer>();
+
+		for (int k = 0; k < 20000; k++) {
+			int id = r.nextInt(300);
+
+			if (r.nextInt(3) == 0)
+				assertEquals(esperado.remove(id), a.remover(id));
+			else
+				assertEquals(esperado.add(id), a.adicionar(id));
+
+			assertEquals(esperado.size(), a.tamanho());
+			assertEquals(esperado.contains(id), a.contem(id));
+		}
+
+		Set<Integer> obtido = new HashSet<Integer>();
+		for (int i = 0; i < a.tamanho(); i++)
+			obtido.add(a.get(i));
+
+		assertEquals(esperado, obtido);
+	}
+
+	public void testHash() {
+		verificarContraHashSet(TipoAdjacencia.HASH.criar());
+	}
+
+	public void testOrdenada() {
+		Adjacencia a = TipoAdjacencia.ORDENADA.criar();
+
+		verificarContraHashSet(a);
+
+		for (int i = 1; i < a.tamanho(); i++)
+			assertTrue(a.get(i - 1) < a.get(i));
+	}
+
+	public void testDigrafoComAdjacenciaOrdenada() {
+		Digrafo<Integer> G = new Digrafo<Integer>(TipoAdjacencia.ORDENADA);
+
+		for (int i = 0; i < 5; i++)
+			G.adicionarVertice(i);
+
+		assertTrue(G.adicionarAresta(0, 1));
+		assertFalse(G.adicionarAresta(0, 1));
+		assertTrue(G.adicionarAresta(1, 2));
+		assertTrue(G.contemArco(G.getId(0), G.getId(1)));
+		assertTrue(G.removerAresta(0, 1));
+		assertFalse(G.contemArco(G.getId(0), G.getId(1)));
+		assertEquals(0, G.getGrauEntrada(1));
+	}
+
+	public void testAdjacentesDoVertice() {
+		Digrafo<Integer> G = new Digrafo<Integer>();
+
+		for (int i = 0; i < 4; i++)
+			G.adicionarVertice(i);
+
+		G.adicionarAresta(1, 2);
+		G.adicionarAresta(1, 3);
+		G.adicionarAresta(0, 1);
+
+		Adjacencia a = G.vertice(1).getAdjacentes();
+
+		assertEquals(3, a.tamanho());
+		assertEquals(0, a.get(2));
+		assertEquals(new HashSet<Integer>(Arrays.asList(2, 3)), new HashSet<Integer>(Arrays.asList(a.get(0), a.get(1))));
+		assertTrue(a.contem(0) && a.contem(3));
+		assertFalse(a.contem(1));
+
+		// a visão acompanha o vértice
+		G.removerAresta(1, 3);
+		assertEquals(2, a.tamanho());
+
+		try {
+			a.adicionar(3);
+			fail();
+		} catch (UnsupportedOperationException e) {
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+public class AvaliadorIncrementalTest extends TestCase {
+	private DAG<Integer> G;
+	private long[] entradas;
+	private AtomicInteger calculos;
+	private Regra<Integer, Long> soma;
+
+	@Override
+	protected void setUp() {
+		Random r = new Random(5);
+		int n = 2000;
+
+		G = new DAG<Integer>();
+		entradas = new long[n];
+		calculos = new AtomicInteger();
+
+		for (int i = 0; i < n; i++) {
+			G.adicionarVertice(i);
+			entradas[i] = r.nextInt(100);
+		}
+
+		for (int k = 0; k < 3 * n; k++) {
+			int a = r.nextInt(n), b = r.nextInt(n);
+
+			if (a != b)
+				G.adicionarAresta(Math.min(a, b), Math.max(a, b));
+		}
+
+		// valor = entrada própria + soma dos valores dos antecessores, módulo 1e9
+		soma = (obj, valores) -> {
+			int v = G.getId(obj);
+			long total = entradas[obj];
+
+			calculos.incrementAndGet();
+
+			for (int i = 0; i < G.grauEntrada(v); i++)
+				total += valores.apply(G.getObjeto(G.antecessor(v, i)));
+
+			return total % 1000000007L;
+		};
+	}
+
+	private long[] referencia() {
+		long[] valores = new long[G.getCapacidade()];
+
+		for (Integer obj : G.ordenacaoTopologica()) {
+			int v = G.getId(obj);
+			long total = entradas[obj];
+
+			for (int i = 0; i < G.grauEntrada(v); i++)
+				total += valores[G.antecessor(v, i)];
+
+			valores[v] = total % 1000000007L;
+		}
+
+		return valores;
+	}
+
+	private void conferir(AvaliadorIncremental<Integer, Long> A) {
+		long[] esperados = referencia();
+
+		for (int v = 0; v < esperados.length; v++)
+			if (G.contemVertice(v))
+				assertEquals(esperados[v], A.getValor(v).longValue());
+	}
+
+	public void testIncremental() {
+		AvaliadorIncremental<Integer, Long> A = new AvaliadorIncremental<Integer, Long>(G, soma);
+
+		assertNull(A.getValor(0));
+		assertEquals(2000, A.recalcular());
+		assertEquals(2000, calculos.get());
+		conferir(A);
+
+		assertEquals(0, A.recalcular());
+
+		entradas[1990] += 7;
+		A.marcar(1990);
+		calculos.set(0);
+		assertEquals(G.fechoTransitivoDireto(1990).size(), A.recalcular());
+		assertEquals(A.getNumRecalculados(), calculos.get());
+		conferir(A);
+	}
+
+	public void testLote() {
+		AvaliadorIncremental<Integer, Long> A = new AvaliadorIncremental<Integer, Long>(G, soma);
+		Random r = new Random(9);
+
+		A.recalcular();
+
+		for (int rodada = 0; rodada < 20; rodada++) {
+			int[] alterados = new int[5];
+
+			for (int k = 0; k < alterados.length; k++) {
+				alterados[k] = 1000 + r.nextInt(1000);
+				entradas[alterados[k]]++;
+				A.marcar(alterados[k]);
+				A.marcar(alterados[k]);
+			}
+
+			calculos.set(0);
+			A.recalcular();
+
+			// cada afetado é recalculado uma única vez, mesmo alcançável por vários marcados
+			assertEquals(A.getNumRecalculados(), calculos.get());
+			assertEquals(0, A.getNumMarcados());
+			conferir(A);
+		}
+	}
+
+	public void testParalelo() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		AvaliadorIncremental<Integer, Long> A = new AvaliadorIncremental<Integer, Long>(G, soma);
+
+		try {
+			assertEquals(2000, A.recalcular(pool));
+			conferir(A);
+
+			for (int v = 0; v < 50; v++) {
+				entradas[v * 3]++;
+				A.marcar(v * 3);
+			}
+
+			calculos.set(0);
+			A.recalcular(pool);
+			assertTrue(A.getNumRecalculados() >= 256);
+			assertEquals(A.getNumRecalculados(), calculos.get());
+			conferir(A);
+
+			entradas[1999]++;
+			A.marcar(1999);
+			assertEquals(1, A.recalcular(pool));
+			conferir(A);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	public void testAlteracaoEstrutural() {
+		AvaliadorIncremental<Integer, Long> A = new AvaliadorIncremental<Integer, Long>(G, soma);
+
+		A.recalcular();
+		G.adicionarVertice(2000);
+		entradas = Arrays.copyOf(entradas, 2001);
+		entradas[2000] = 3;
+		G.adicionarAresta(0, 2000);
+
+		assertEquals(2001, A.recalcular());
+		conferir(A);
+
+		G.removerVertice(Integer.valueOf(0));
+		A.recalcular();
+		conferir(A);
+	}
+}
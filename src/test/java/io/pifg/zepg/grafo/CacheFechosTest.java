@@ -0,0 +1,193 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.pifg.zepg.search.Direcao;
+
+import junit.framework.TestCase;
+
+public class CacheFechosTest extends TestCase {
+	private Digrafo<Integer> cadeia(int n) {
+		Digrafo<Integer> G = new Digrafo<Integer>();
+
+		for (int i = 0; i < n; i++)
+			G.adicionarVertice(i);
+
+		for (int i = 0; i + 1 < n; i++)
+			G.adicionarAresta(i, i + 1);
+
+		return G;
+	}
+
+	public void testAcertos() {
+		Digrafo<Integer> G = cadeia(10);
+		CacheFechos C = G.habilitarCacheFechos(1 << 20);
+
+		assertEquals(7, G.fechoTransitivoDireto(3).size());
+		assertEquals(7, G.fechoTransitivoDireto(3).size());
+		assertEquals(4, G.fechoTransitivoIndireto(3).size());
+		assertEquals(10, G.fechoTransitivo(3).size());
+		assertEquals(1, C.getAcertos());
+		assertEquals(3, C.getFaltas());
+		assertEquals(3, C.getNumEntradas());
+		assertSame(C, G.getCacheFechos());
+
+		G.desabilitarCacheFechos();
+		assertNull(G.getCacheFechos());
+		assertEquals(7, G.fechoTransitivoDireto(3).size());
+	}
+
+	public void testInvalidacaoPrecisa() {
+		Digrafo<Integer> G = cadeia(10);
+		CacheFechos C = G.habilitarCacheFechos(1 << 20);
+
+		G.fechoTransitivoDireto(2);
+		G.fechoTransitivoDireto(7);
+		G.fechoTransitivoIndireto(2);
+		G.fechoTransitivoIndireto(7);
+
+		// 5 -> 6 não está no fecho direto de 7 nem no indireto de 2
+		G.removerAresta(5, 6);
+		assertEquals(2, C.getNumEntradas());
+		assertEquals(2, C.getInvalidacoes());
+		assertEquals(3, G.fechoTransitivoDireto(7).size());
+		assertEquals(3, G.fechoTransitivoIndireto(2).size());
+		assertEquals(2, C.getAcertos());
+		assertEquals(4, G.fechoTransitivoDireto(2).size());
+
+		G.adicionarVertice(10);
+		assertEquals(3, C.getNumEntradas());
+
+		G.removerVertice(8);
+		assertEquals(1, G.fechoTransitivoDireto(7).size());
+		assertEquals(3, G.fechoTransitivoIndireto(2).size());
+	}
+
+	public void testPesos() {
+		DigrafoPonderado<Integer> G = new DigrafoPonderado<Integer>();
+		CacheFechos C = G.habilitarCacheFechos(1 << 20);
+
+		G.adicionarVertice(0);
+		G.adicionarVertice(1);
+		G.adicionarAresta(0, 1, 1.0);
+		G.fechoTransitivoDireto(0);
+		G.setPeso(0, 1, 2.0);
+		G.fechoTransitivoDireto(0);
+
+		assertEquals(1, C.getAcertos());
+		assertEquals(0, C.getInvalidacoes());
+	}
+
+	public void testDespejo() {
+		Digrafo<Integer> G = cadeia(1000);
+		CacheFechos C = G.habilitarCacheFechos(4000);
+
+		G.fechoTransitivoDireto(500);
+		G.fechoTransitivoDireto(600);
+		G.fechoTransitivoDireto(500);
+		G.fechoTransitivoDireto(900);
+
+		assertTrue(C.getBytes() <= C.getBytesMaximos());
+		assertEquals(1, C.getDespejos());
+
+		// 600 foi o menos usado recentemente
+		G.fechoTransitivoDireto(500);
+		assertEquals(2, C.getAcertos());
+		G.fechoTransitivoDireto(600);
+		assertEquals(2, C.getAcertos());
+		assertEquals(2, C.getDespejos());
+
+		// maior que o cache inteiro: não é guardado
+		G.fechoTransitivoDireto(0);
+		assertEquals(2, C.getNumEntradas());
+		assertEquals(2, C.getDespejos());
+	}
+
+	public void testAleatorio() {
+		Digrafo<Integer> G = new Digrafo<Integer>(), R = new Digrafo<Integer>();
+		CacheFechos C = G.habilitarCacheFechos(1 << 16);
+		Random r = new Random(3);
+		int n = 300;
+
+		for (int i = 0; i < n; i++) {
+			G.adicionarVertice(i);
+			R.adicionarVertice(i);
+		}
+
+		for (int k = 0; k < 5000; k++) {
+			int a = r.nextInt(n), b = r.nextInt(n), op = r.nextInt(20);
+
+			if (op == 0) {
+				G.adicionarAresta(a, b);
+				R.adicionarAresta(a, b);
+			} else if (op == 1) {
+				G.removerAresta(a, b);
+				R.removerAresta(a, b);
+			} else if (op == 2 && G.contemVertice(a)) {
+				G.removerVertice(Integer.valueOf(a));
+				R.removerVertice(Integer.valueOf(a));
+				G.adicionarVertice(a);
+				R.adicionarVertice(a);
+			} else if (G.contemVertice(a % 40)) {
+				assertEquals(R.fechoTransitivoDireto(a % 40), G.fechoTransitivoDireto(a % 40));
+				assertEquals(R.fechoTransitivoIndireto(b % 40), G.fechoTransitivoIndireto(b % 40));
+				assertEquals(R.fechoTransitivo(a % 40), G.fechoTransitivo(a % 40));
+			}
+		}
+
+		assertTrue(C.getAcertos() > 0);
+		assertTrue(C.getInvalidacoes() > 0);
+	}
+
+	/**
+	 * Acertos reordenam a lista de uso; leitores concorrentes não podem corrompê-la.
+	 */
+	public void testAcessosConcorrentes() throws Exception {
+		final CacheFechos C = new CacheFechos(4000, 0);
+		final AtomicReference<Throwable> erro = new AtomicReference<Throwable>();
+		List<Thread> threads = new ArrayList<Thread>();
+
+		for (int t = 0; t < 4; t++) {
+			final long semente = t;
+
+			threads.add(new Thread() {
+				public void run() {
+					Random r = new Random(semente);
+
+					try {
+						for (int k = 0; k < 50000; k++) {
+							int id = r.nextInt(200);
+							int[] ids = C.obter(id, Direcao.SUCESSORES, 0);
+
+							if (ids == null) {
+								ids = new int[id % 50 + 1];
+								ids[0] = id;
+								C.guardar(id, Direcao.SUCESSORES, ids, 1000, 0);
+							} else {
+								assertEquals(id, ids[0]);
+							}
+						}
+					} catch (Throwable e) {
+						erro.compareAndSet(null, e);
+					}
+				}
+			});
+		}
+
+		for (Thread t : threads)
+			t.start();
+
+		for (Thread t : threads)
+			t.join();
+
+		if (erro.get() != null)
+			throw new AssertionError(erro.get());
+
+		assertEquals(200000, C.getAcertos() + C.getFaltas());
+		assertTrue(C.getBytes() >= 0 && C.getBytes() <= C.getBytesMaximos());
+		assertTrue(C.getDespejos() > 0);
+	}
+}
@@ -0,0 +1,153 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+public class CaminhoCriticoTest extends TestCase {
+	private DAG<String> projeto;
+	private double[] duracoes;
+
+	@Override
+	protected void setUp() {
+		// A(3) -> B(2) -> D(4), A -> C(5) -> D, C -> E(1)
+		projeto = new DAG<String>();
+		duracoes = new double[] { 3, 2, 5, 4, 1 };
+
+		for (String s : new String[] { "A", "B", "C", "D", "E" })
+			projeto.adicionarVertice(s);
+
+		projeto.adicionarAresta("A", "B");
+		projeto.adicionarAresta("A", "C");
+		projeto.adicionarAresta("B", "D");
+		projeto.adicionarAresta("C", "D");
+		projeto.adicionarAresta("C", "E");
+	}
+
+	private CaminhoCritico<String> calcular() {
+		return projeto.caminhoCritico(s -> duracoes[s.charAt(0) - 'A']);
+	}
+
+	public void testTempos() {
+		CaminhoCritico<String> C = calcular();
+
+		assertEquals(12.0, C.getDuracaoTotal());
+		assertEquals(8.0, C.getInicioMaisCedo("D"));
+		assertEquals(9.0, C.getTerminoMaisCedo("E"));
+		assertEquals(6.0, C.getInicioMaisTarde("B"));
+		assertEquals(12.0, C.getTerminoMaisTarde("E"));
+		assertEquals(3.0, C.getFolga("B"));
+		assertEquals(3.0, C.getFolga("E"));
+		assertEquals(0.0, C.getFolga("C"));
+		assertTrue(C.ehCritico("A"));
+		assertFalse(C.ehCritico("B"));
+		assertEquals(Arrays.asList("A", "C", "D"), C.caminhoCritico());
+	}
+
+	public void testAtualizacaoIncremental() {
+		CaminhoCritico<String> C = calcular();
+
+		C.setDuracao("B", 7);
+
+		assertEquals(14.0, C.getDuracaoTotal());
+		assertEquals(Arrays.asList("A", "B", "D"), C.caminhoCritico());
+		assertEquals(2.0, C.getFolga("C"));
+		assertEquals(5.0, C.getFolga("E"));
+
+		C.setDuracao("B", 2);
+
+		assertEquals(12.0, C.getDuracaoTotal());
+		assertEquals(Arrays.asList("A", "C", "D"), C.caminhoCritico());
+	}
+
+	public void testDuracaoArco() {
+		CaminhoCritico<String> C = calcular();
+
+		assertEquals(0.0, C.getDuracaoArco("A", "B"));
+		assertTrue(Double.isNaN(C.getDuracaoArco("B", "C")));
+		assertFalse(C.setDuracaoArco("B", "C", 1));
+
+		assertTrue(C.setDuracaoArco("C", "E", 10));
+		assertEquals(19.0, C.getDuracaoTotal());
+		assertEquals(Arrays.asList("A", "C", "E"), C.caminhoCritico());
+		assertEquals(18.0, C.getInicioMaisCedo("E"));
+		assertEquals(7.0, C.getFolga("D"));
+	}
+
+	public void testErros() {
+		CaminhoCritico<String> C = calcular();
+
+		try {
+			C.setDuracao("A", -1);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+
+		try {
+			C.getFolga("Z");
+			fail();
+		} catch (NonVerticeException e) {
+		}
+
+		assertEquals(0.0, new DAG<String>().caminhoCritico(null).getDuracaoTotal());
+		assertTrue(new DAG<String>().caminhoCritico(null).caminhoCritico().isEmpty());
+	}
+
+	/**
+	 * Sequências de alterações aleatórias devem produzir os mesmos tempos de um cálculo do zero.
+	 */
+	public void testAleatorio() {
+		Random r = new Random(11);
+		int n = 1500;
+		DAG<Integer> G = new DAG<Integer>();
+		double[] d = new double[n];
+
+		for (int i = 0; i < n; i++) {
+			G.adicionarVertice(i);
+			d[i] = r.nextInt(50);
+		}
+
+		for (int k = 0; k < 4 * n; k++) {
+			int a = r.nextInt(n), b = r.nextInt(n);
+
+			if (a != b)
+				G.adicionarAresta(Math.min(a, b), Math.max(a, b));
+		}
+
+		CaminhoCritico<Integer> C = new CaminhoCritico<Integer>(G, v -> d[v], (u, v) -> (u + v) % 3);
+
+		for (int t = 0; t < 200; t++) {
+			int v = r.nextInt(n);
+
+			if (t % 4 == 0 && G.grauSaida(v) > 0) {
+				int w = G.sucessor(v, r.nextInt(G.grauSaida(v)));
+
+				assertTrue(C.setDuracaoArco(v, w, r.nextInt(20)));
+			} else {
+				d[v] = r.nextInt(50);
+				C.setDuracao(v, d[v]);
+			}
+
+			assertTrue(C.getNumAtualizados() <= 2 * n);
+		}
+
+		CaminhoCritico<Integer> R = new CaminhoCritico<Integer>(G, v -> d[v], (u, v) -> C.getDuracaoArco(u, v));
+		double soma = 0;
+
+		assertEquals(R.getDuracaoTotal(), C.getDuracaoTotal());
+
+		for (int v = 0; v < n; v++) {
+			assertEquals(R.getInicioMaisCedo(v), C.getInicioMaisCedo(v));
+			assertEquals(R.getInicioMaisTarde(v), C.getInicioMaisTarde(v));
+			assertEquals(R.getFolga(v), C.getFolga(v));
+		}
+
+		for (Integer v : C.caminhoCritico()) {
+			assertTrue(C.ehCritico(v));
+			soma += d[v];
+		}
+
+		assertTrue(soma <= C.getDuracaoTotal());
+	}
+}
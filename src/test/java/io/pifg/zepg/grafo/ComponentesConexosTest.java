@@ -0,0 +1,143 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import junit.framework.TestCase;
+
+public class ComponentesConexosTest extends TestCase {
+	/**
+	 * Rotula os componentes por busca em largura, desconsiderando orientação.
+	 */
+	private int[] rotular(Digrafo<Integer> G) {
+		int n = G.getCapacidade();
+		int[] rotulos = new int[n], fila = new int[n];
+
+		for (int s = 0; s < n; s++) {
+			if (!G.contemVertice(s) || rotulos[s] != 0)
+				continue;
+
+			int inicio = 0, fim = 0;
+			rotulos[s] = s + 1;
+			fila[fim++] = s;
+
+			while (inicio < fim) {
+				int v = fila[inicio++];
+
+				for (int i = 0; i < G.grauSaida(v) + G.grauEntrada(v); i++) {
+					int w = i < G.grauSaida(v) ? G.sucessor(v, i) : G.antecessor(v, i - G.grauSaida(v));
+
+					if (rotulos[w] == 0) {
+						rotulos[w] = s + 1;
+						fila[fim++] = w;
+					}
+				}
+			}
+		}
+
+		return rotulos;
+	}
+
+	private void conferir(Digrafo<Integer> G) {
+		int[] rotulos = rotular(G);
+		int componentes = 0;
+
+		for (int v = 0; v < rotulos.length; v++)
+			if (G.contemVertice(v) && rotulos[v] == v + 1)
+				componentes++;
+
+		assertEquals(componentes, G.getNumComponentes());
+		assertEquals(componentes <= 1, G.ehConexo());
+
+		for (int v = 0; v < rotulos.length; v += 7)
+			for (int w = 0; w < rotulos.length; w += 5)
+				if (G.contemVertice(v) && G.contemVertice(w))
+					assertEquals(rotulos[v] == rotulos[w], G.mesmoComponente(v, w));
+	}
+
+	public void testIncremental() {
+		Digrafo<Integer> G = new Digrafo<Integer>();
+		Random r = new Random(1);
+
+		assertTrue(G.ehConexo());
+		assertEquals(0, G.getNumComponentes());
+
+		for (int i = 0; i < 2000; i++)
+			G.adicionarVertice(i);
+
+		for (int k = 0; k < 3000; k++) {
+			G.adicionarAresta(r.nextInt(2000), r.nextInt(2000));
+
+			if (k % 500 == 0)
+				conferir(G);
+		}
+
+		conferir(G);
+
+		for (int i = 2000; i < 2100; i++)
+			G.adicionarVertice(i);
+
+		conferir(G);
+	}
+
+	public void testRemocoes() {
+		Digrafo<Integer> G = new Digrafo<Integer>();
+		Random r = new Random(2);
+
+		for (int i = 0; i < 5000; i++)
+			G.adicionarVertice(i);
+
+		for (int k = 0; k < 6000; k++)
+			G.adicionarAresta(r.nextInt(5000), r.nextInt(5000));
+
+		conferir(G);
+
+		for (int k = 0; k < 200; k++) {
+			int v = r.nextInt(5000);
+
+			if (G.grauSaida(v) > 0)
+				G.removerAresta(v, G.sucessor(v, 0));
+		}
+
+		conferir(G);
+
+		for (int k = 0; k < 300; k++)
+			G.removerVertice(Integer.valueOf(r.nextInt(5000)));
+
+		conferir(G);
+
+		G.adicionarVertice(-1);
+		G.adicionarAresta(Integer.valueOf(-1), Integer.valueOf(0));
+		conferir(G);
+
+		G.recalcularComponentes(new ForkJoinPool(4));
+		conferir(G);
+	}
+
+	public void testGrafoNaoOrientado() {
+		Grafo<String> G = new Grafo<String>();
+
+		G.adicionarVertice("a");
+		G.adicionarVertice("b");
+		G.adicionarVertice("c");
+		G.adicionarAresta("a", "b");
+
+		assertFalse(G.ehConexo());
+		assertEquals(2, G.getNumComponentes());
+		assertTrue(G.mesmoComponente("b", "a"));
+		assertFalse(G.mesmoComponente("a", "c"));
+
+		G.adicionarAresta("c", "b");
+		assertTrue(G.ehConexo());
+
+		G.removerAresta("b", "a");
+		assertFalse(G.mesmoComponente("a", "c"));
+		assertTrue(G.mesmoComponente("b", "c"));
+
+		try {
+			G.mesmoComponente("a", "x");
+			fail();
+		} catch (NonVerticeException e) {
+		}
+	}
+}
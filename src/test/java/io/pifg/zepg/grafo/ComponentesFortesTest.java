@@ -0,0 +1,135 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import junit.framework.TestCase;
+
+public class ComponentesFortesTest extends TestCase {
+	private boolean[][] alcance(Digrafo<Integer> G) {
+		int n = G.getCapacidade();
+		boolean[][] a = new boolean[n][];
+
+		for (int v = 0; v < n; v++) {
+			a[v] = new boolean[n];
+
+			if (G.contemVertice(v))
+				for (Integer w : G.fechoTransitivoDireto(v))
+					a[v][G.getId(w)] = true;
+		}
+
+		return a;
+	}
+
+	private void conferir(Digrafo<Integer> G, ComponentesFortes C, boolean[][] a) {
+		int n = G.getCapacidade(), total = 0;
+
+		for (int v = 0; v < n; v++) {
+			if (!G.contemVertice(v))
+				continue;
+
+			for (int i = 0; i < G.grauSaida(v); i++)
+				assertTrue(C.componente(v) <= C.componente(G.sucessor(v, i)));
+
+			for (int w = 0; w < n; w++)
+				if (G.contemVertice(w))
+					assertEquals(a[v][w] && a[w][v], C.mesmoComponente(v, w));
+		}
+
+		for (int c = 0; c < C.getNumComponentes(); c++) {
+			total += C.tamanho(c);
+
+			for (int v : C.membros(c))
+				assertEquals(c, C.componente(v));
+		}
+
+		assertEquals(G.getOrdem(), total);
+	}
+
+	public void testTarjanEParalelo() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		for (long semente = 1; semente <= 6; semente++) {
+			Digrafo<Integer> G = GrafosAleatorios.digrafo(300, 200 + 80 * (int) semente, semente);
+
+			G.removerVertice(Integer.valueOf(7));
+
+			boolean[][] a = alcance(G);
+			ComponentesFortes C = G.componentesFortes();
+			ComponentesFortes P = G.componentesFortes(pool);
+
+			conferir(G, C, a);
+			conferir(G, P, a);
+			assertEquals(C.getNumComponentes(), P.getNumComponentes());
+		}
+	}
+
+	public void testParaleloGrande() {
+		Digrafo<Integer> G = GrafosAleatorios.digrafo(20000, 30000, 11);
+		ComponentesFortes C = G.componentesFortes();
+		ComponentesFortes P = G.componentesFortes(new ForkJoinPool(4));
+
+		assertEquals(C.getNumComponentes(), P.getNumComponentes());
+
+		for (int v = 0; v < 20000; v++)
+			for (int i = 0; i < G.grauSaida(v); i++) {
+				int w = G.sucessor(v, i);
+
+				assertEquals(C.mesmoComponente(v, w), P.mesmoComponente(v, w));
+				assertTrue(P.componente(v) <= P.componente(w));
+			}
+	}
+
+	public void testCicloLongo() {
+		Digrafo<Integer> G = new Digrafo<Integer>();
+		int n = 200000;
+
+		for (int i = 0; i < n; i++)
+			G.adicionarVertice(i);
+
+		for (int i = 0; i < n; i++)
+			G.adicionarAresta(i, (i + 1) % n);
+
+		assertEquals(1, G.componentesFortes().getNumComponentes());
+		assertEquals(1, G.componentesFortes(ForkJoinPool.commonPool()).getNumComponentes());
+
+		G.removerAresta(n - 1, 0);
+		assertEquals(n, G.componentesFortes().getNumComponentes());
+		assertEquals(n, G.componentesFortes(ForkJoinPool.commonPool()).getNumComponentes());
+	}
+
+	public void testCondensacao() {
+		Digrafo<String> G = new Digrafo<String>();
+
+		for (String s : new String[] { "a", "b", "c", "d", "e", "f" })
+			G.adicionarVertice(s);
+
+		G.adicionarAresta("a", "b");
+		G.adicionarAresta("b", "a");
+		G.adicionarAresta("b", "c");
+		G.adicionarAresta("c", "d");
+		G.adicionarAresta("d", "e");
+		G.adicionarAresta("e", "c");
+		G.adicionarAresta("a", "e");
+
+		ArrayList<ArrayList<String>> componentes = G.getComponentesFortes();
+		assertEquals(3, componentes.size());
+		assertEquals(3, G.componentesFortes(ForkJoinPool.commonPool()).getNumComponentes());
+
+		ComponentesFortes C = G.componentesFortes();
+		DAG<Integer> D = C.condensacao();
+		int ab = C.componente(G.getId("a")), cde = C.componente(G.getId("c")), f = C.componente(G.getId("f"));
+
+		assertEquals(3, D.getOrdem());
+		assertTrue(D.contemArco(ab, cde));
+		assertEquals(1, D.getGrauSaida(ab));
+		assertEquals(0, D.getGrauSaida(f));
+		assertTrue(D.alcanca(ab, cde));
+		assertFalse(D.alcanca(cde, ab));
+		assertEquals(Arrays.asList("c", "d", "e"), componentes.get(cde));
+
+		ArrayList<Integer> ordem = D.ordenacaoTopologica();
+		assertTrue(ordem.indexOf(ab) < ordem.indexOf(cde));
+	}
+}
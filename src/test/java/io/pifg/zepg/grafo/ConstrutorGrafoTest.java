@@ -0,0 +1,99 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+public class ConstrutorGrafoTest extends TestCase {
+	private void verificarEquivalencia(TipoAdjacencia tipo, boolean paralelo) {
+		Random r = new Random(11);
+		int n = 500, m = 5000;
+		int[] origens = new int[m], destinos = new int[m];
+		ConstrutorGrafo<Integer> C = new ConstrutorGrafo<Integer>(n, m).setTipoAdjacencia(tipo).setParalelo(paralelo);
+		Digrafo<Integer> esperado = new Digrafo<Integer>();
+
+		for (int i = 0; i < n; i++) {
+			assertEquals(i, C.adicionarVertice(Integer.valueOf(i)));
+			esperado.adicionarVertice(Integer.valueOf(i));
+		}
+
+		for (int k = 0; k < m; k++) {
+			origens[k] = r.nextInt(n);
+			destinos[k] = r.nextInt(60);
+			esperado.adicionarAresta(origens[k], destinos[k]);
+		}
+
+		Digrafo<Integer> G = C.adicionarArestas(origens, destinos).construirDigrafo();
+
+		assertEquals(n, G.getOrdem());
+		for (int v = 0; v < n; v++) {
+			assertEquals(new HashSet<Integer>(esperado.sucessores(v)), new HashSet<Integer>(G.sucessores(v)));
+			assertEquals(new HashSet<Integer>(esperado.antecessores(v)), new HashSet<Integer>(G.antecessores(v)));
+			assertEquals(esperado.getGrauEntrada(v), G.getGrauEntrada(v));
+		}
+
+		assertTrue(G.adicionarAresta(Integer.valueOf(0), Integer.valueOf(499)) != esperado.contemArco(0, 499));
+		assertTrue(G.adicionarVertice(Integer.valueOf(n)));
+	}
+
+	public void testEquivaleAInsercaoIncremental() {
+		verificarEquivalencia(TipoAdjacencia.HASH, false);
+		verificarEquivalencia(TipoAdjacencia.ORDENADA, false);
+		verificarEquivalencia(TipoAdjacencia.HASH, true);
+	}
+
+	public void testArestasPorObjetoRegistramVertices() {
+		ConstrutorGrafo<String> C = new ConstrutorGrafo<String>();
+
+		C.adicionarVertices(Arrays.asList("a", "b"));
+		C.adicionarAresta("a", "c").adicionarAresta("a", "c").adicionarAresta("c", "b");
+
+		Grafo<String> G = C.construirGrafo();
+
+		assertEquals(3, G.getOrdem());
+		assertEquals(2, G.getGrau("c"));
+		assertTrue(G.ehConexo());
+		assertTrue(G.ehArvore());
+
+		C.adicionarAresta("b", "a");
+		assertEquals(3, C.construirDigrafo().fechoTransitivoDireto("a").size());
+		assertEquals(1, G.getGrau("a"));
+	}
+
+	public void testDAG() {
+		ConstrutorGrafo<String> C = new ConstrutorGrafo<String>();
+
+		C.adicionarAresta("c", "b").adicionarAresta("b", "a").adicionarAresta("c", "a");
+
+		DAG<String> D = C.construirDAG();
+
+		assertEquals(Arrays.asList("c", "b", "a"), D.ordenacaoTopologica());
+		assertTrue(D.alcanca("c", "a"));
+		assertFalse(D.adicionarAresta("a", "c"));
+		assertTrue(D.adicionarVertice("d"));
+		assertTrue(D.adicionarAresta("d", "c"));
+		assertEquals("d", D.ordenacaoTopologica().get(0));
+
+		C.adicionarAresta("a", "c");
+
+		try {
+			C.construirDAG();
+			fail();
+		} catch (CicloException e) {
+		}
+	}
+
+	public void testIdInvalido() {
+		ConstrutorGrafo<String> C = new ConstrutorGrafo<String>();
+
+		C.adicionarVertice("a");
+
+		try {
+			C.adicionarArestas(new int[] { 0 }, new int[] { 1 });
+			fail();
+		} catch (NonVerticeException e) {
+		}
+	}
+}
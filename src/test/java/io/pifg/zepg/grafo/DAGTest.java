@@ -0,0 +1,91 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+public class DAGTest extends TestCase {
+	public void testOrdenacaoTopologica() {
+		DAG<Integer> G = GrafosAleatorios.dag(20000, 60000, 2);
+		verificarOrdem(G, G.ordenacaoTopologica());
+	}
+
+	public void testNiveisTopologicos() {
+		DAG<Integer> G = GrafosAleatorios.dag(20000, 60000, 3);
+		ArrayList<ArrayList<Integer>> niveis = G.niveisTopologicos();
+		HashMap<Integer, Integer> nivel = new HashMap<Integer, Integer>();
+		int total = 0;
+
+		for (int i = 0; i < niveis.size(); i++)
+			for (Integer v : niveis.get(i)) {
+				nivel.put(v, i);
+				total++;
+			}
+
+		assertEquals(G.getOrdem(), total);
+
+		for (Integer v : G.getVertices()) {
+			int maior = -1;
+
+			for (Integer u : G.antecessores(v))
+				maior = Math.max(maior, nivel.get(u));
+
+			assertEquals(maior + 1, nivel.get(v).intValue());
+		}
+	}
+
+	public void testArcoQueCriaCicloRejeitado() {
+		DAG<Integer> G = GrafosAleatorios.dag(4, 0, 1);
+
+		assertTrue(G.adicionarAresta(Integer.valueOf(2), Integer.valueOf(1)));
+		assertTrue(G.adicionarAresta(Integer.valueOf(1), Integer.valueOf(0)));
+		assertFalse(G.adicionarAresta(Integer.valueOf(0), Integer.valueOf(2)));
+		assertFalse(G.adicionarAresta(Integer.valueOf(3), Integer.valueOf(3)));
+		assertFalse(G.contemArco(G.getId(0), G.getId(2)));
+		assertEquals(Arrays.asList(2, 1, 0), G.ordenacaoTopologica().subList(0, 3));
+	}
+
+	public void testOrdemMantidaSobInsercoesERemocoes() {
+		DAG<Integer> G = new DAG<Integer>();
+		Random r = new Random(9);
+		int n = 2000, rejeitados = 0;
+
+		for (int i = 0; i < n; i++)
+			G.adicionarVertice(i);
+
+		for (int k = 0; k < 8000; k++) {
+			Integer a = r.nextInt(n), b = r.nextInt(n);
+			boolean ciclo = a.equals(b) || G.fechoTransitivoDireto(b).contains(a);
+
+			if (G.contemArco(G.getId(a), G.getId(b)))
+				continue;
+
+			assertEquals(!ciclo, G.adicionarAresta(a, b));
+			rejeitados += ciclo ? 1 : 0;
+
+			if (k % 500 == 0) {
+				G.removerVertice(a);
+				G.adicionarVertice(a);
+			}
+		}
+
+		assertTrue(rejeitados > 0);
+		verificarOrdem(G, G.ordenacaoTopologica());
+	}
+
+	private static void verificarOrdem(DAG<Integer> G, ArrayList<Integer> ordem) {
+		HashMap<Integer, Integer> posicao = new HashMap<Integer, Integer>();
+
+		assertEquals(G.getOrdem(), ordem.size());
+
+		for (int i = 0; i < ordem.size(); i++)
+			posicao.put(ordem.get(i), i);
+
+		for (Integer v : G.getVertices())
+			for (Integer w : G.sucessores(v))
+				assertTrue(posicao.get(v) < posicao.get(w));
+	}
+}
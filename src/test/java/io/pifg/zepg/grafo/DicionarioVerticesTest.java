@@ -0,0 +1,83 @@
+package io.pifg.zepg.grafo;
+
+import junit.framework.TestCase;
+
+public class DicionarioVerticesTest extends TestCase {
+	/** Objeto cujo hashCode colide propositalmente com o de todos os outros. */
+	private static class Colisor {
+		private final int valor;
+
+		Colisor(int valor) {
+			this.valor = valor;
+		}
+
+		@Override
+		public int hashCode() {
+			return 42;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Colisor && ((Colisor) o).valor == valor;
+		}
+	}
+
+	public void testIdsDensosEUnicos() {
+		DicionarioVertices<Integer> d = new DicionarioVertices<Integer>();
+
+		for (int i = 0; i < 1000; i++)
+			assertEquals(i, d.adicionar(i * 7919));
+
+		assertEquals(1000, d.tamanho());
+		assertEquals(1000, d.capacidade());
+		assertEquals(500, d.getId(500 * 7919));
+		assertEquals(500, d.adicionar(500 * 7919));
+		assertEquals(-1, d.getId(3));
+	}
+
+	public void testRemocaoReaproveitaId() {
+		DicionarioVertices<String> d = new DicionarioVertices<String>();
+
+		d.adicionar("a");
+		d.adicionar("b");
+		d.adicionar("c");
+
+		assertEquals(1, d.remover("b"));
+		assertFalse(d.contem(1));
+		assertEquals(-1, d.getId("b"));
+		assertEquals(1, d.adicionar("d"));
+		assertEquals(3, d.capacidade());
+		assertEquals("c", d.getObjeto(d.getId("c")));
+	}
+
+	public void testGrafoComHashCodesColidentes() {
+		Digrafo<Colisor> G = new Digrafo<Colisor>();
+		Colisor a = new Colisor(1), b = new Colisor(2), c = new Colisor(3);
+
+		assertTrue(G.adicionarVertice(a));
+		assertTrue(G.adicionarVertice(b));
+		assertTrue(G.adicionarVertice(c));
+		assertFalse(G.adicionarVertice(new Colisor(2)));
+		assertEquals(3, G.getOrdem());
+
+		assertTrue(G.adicionarAresta(a, b));
+		assertTrue(G.adicionarAresta(b, c));
+		assertEquals(3, G.fechoTransitivoDireto(a).size());
+		assertTrue(G.contemArco(a, b));
+		assertFalse(G.contemArco(a, c));
+	}
+
+	public void testOrdemPorInstancia() {
+		Grafo<String> G1 = new Grafo<String>();
+		Grafo<String> G2 = new Grafo<String>();
+
+		G1.adicionarVertice("a");
+		G2.adicionarVertice("a");
+		G2.adicionarVertice("b");
+
+		assertEquals(1, G1.getOrdem());
+		assertTrue(G2.removerVertice("a"));
+		assertEquals(1, G2.getOrdem());
+		assertFalse(G2.contemVertice("a"));
+	}
+}
@@ -0,0 +1,107 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import io.pifg.zepg.search.Direcao;
+import io.pifg.zepg.search.Searcher;
+import junit.framework.TestCase;
+
+public class DigrafoForaHeapTest extends TestCase {
+	private <T extends Comparable<T>> ArrayList<T> ordenada(ArrayList<T> lista) {
+		Collections.sort(lista);
+		return lista;
+	}
+
+	private void conferir(GrafoCSR<Integer> C, DigrafoForaHeap<Integer> F) {
+		assertEquals(C.getOrdem(), F.getOrdem());
+		assertEquals(C.getCapacidade(), F.getCapacidade());
+		assertEquals(C.getNumeroArcos(), F.getNumeroArcos());
+
+		for (int v = 0; v < C.getCapacidade(); v++) {
+			assertEquals(C.contemVertice(v), F.contemVertice(v));
+
+			if (!C.contemVertice(v))
+				continue;
+
+			assertEquals(C.sucessores(v), F.sucessores(v));
+			assertEquals(C.antecessores(v), F.antecessores(v));
+			assertEquals(ordenada(C.fechoTransitivoDireto(v)), ordenada(F.fechoTransitivoDireto(v)));
+
+			for (int i = 0; i < C.grauSaida(v); i++)
+				assertTrue(F.contemArco(v, C.sucessor(v, i)));
+
+			assertEquals(C.contemArco(v, (v * 31) % C.getCapacidade()), F.contemArco(v, (v * 31) % C.getCapacidade()));
+		}
+	}
+
+	public void testCongelar() {
+		Digrafo<Integer> G = GrafosAleatorios.digrafo(500, 2500, 1);
+
+		G.removerVertice(Integer.valueOf(3));
+		conferir(G.congelar(), G.congelarForaHeap());
+	}
+
+	public void testConstrutorComBlocosPequenos() {
+		Digrafo<Integer> G = new Digrafo<Integer>();
+		ConstrutorForaHeap<Integer> C = new ConstrutorForaHeap<Integer>(1, 1, 6);
+		Random r = new Random(2);
+
+		for (int i = 0; i < 800; i++) {
+			G.adicionarVertice(i);
+			assertEquals(i, C.adicionarVertice(i));
+		}
+
+		for (int k = 0; k < 6000; k++) {
+			int a = r.nextInt(800), b = r.nextInt(800);
+
+			G.adicionarAresta(a, b);
+			C.adicionarAresta(a, b);
+		}
+
+		assertEquals(6000, C.getNumeroArcos());
+
+		DigrafoForaHeap<Integer> F = C.construir();
+		conferir(G.congelar(), F);
+
+		try {
+			C.construir();
+			fail();
+		} catch (IllegalStateException e) {
+		}
+	}
+
+	public void testSearcher() {
+		Digrafo<Integer> G = GrafosAleatorios.digrafo(2000, 6000, 3);
+		DigrafoForaHeap<Integer> F = G.congelarForaHeap();
+
+		for (int s = 0; s < 2000; s += 97) {
+			ArrayList<Integer> esperado = Searcher.caminhoBidirecional(G, s, 1999 - s, Direcao.SUCESSORES);
+			ArrayList<Integer> caminho = Searcher.caminhoBidirecional(F, s, 1999 - s, Direcao.SUCESSORES);
+
+			assertEquals(esperado == null, caminho == null);
+
+			if (esperado != null)
+				assertEquals(esperado.size(), caminho.size());
+
+			assertTrue(Arrays.equals(Searcher.bfsParalelo(G, s, Direcao.SUCESSORES).getDistancias(),
+					Searcher.bfsParalelo(F, s, Direcao.SUCESSORES).getDistancias()));
+		}
+
+		assertEquals(G.componentesFortes().getNumComponentes(), new ComponentesFortes(F).getNumComponentes());
+	}
+
+	public void testFechar() {
+		DigrafoForaHeap<Integer> F = GrafosAleatorios.digrafo(10, 20, 4).congelarForaHeap();
+
+		F.close();
+
+		try {
+			F.sucessores(0);
+			fail();
+		} catch (IllegalStateException e) {
+		}
+	}
+}
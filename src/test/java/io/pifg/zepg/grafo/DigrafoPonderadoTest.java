@@ -0,0 +1,61 @@
+package io.pifg.zepg.grafo;
+
+import junit.framework.TestCase;
+
+public class DigrafoPonderadoTest extends TestCase {
+	public void testPesos() {
+		DigrafoPonderado<Integer> G = new DigrafoPonderado<Integer>();
+
+		for (int i = 0; i < 5; i++)
+			G.adicionarVertice(i);
+
+		G.adicionarAresta(0, 1);
+		G.adicionarAresta(0, 2, 2.5);
+		G.adicionarAresta(0, 3, 3.5);
+		G.adicionarAresta(0, 4, 4.5);
+
+		assertEquals(1.0, G.getPeso(0, 1));
+		assertEquals(2.5, G.getPeso(0, 2));
+		assertTrue(Double.isNaN(G.getPeso(1, 0)));
+		assertFalse(G.adicionarAresta(0, 2, 9));
+		assertEquals(2.5, G.getPeso(0, 2));
+
+		G.removerAresta(0, 2);
+		assertTrue(Double.isNaN(G.getPeso(0, 2)));
+		assertEquals(1.0, G.getPeso(0, 1));
+		assertEquals(3.5, G.getPeso(0, 3));
+		assertEquals(4.5, G.getPeso(0, 4));
+
+		G.removerVertice(1);
+		assertEquals(3.5, G.getPeso(0, 3));
+		assertEquals(4.5, G.getPeso(0, 4));
+
+		for (int i = 0; i < G.grauSaida(0); i++)
+			assertEquals(G.sucessor(0, i) + 0.5, G.peso(0, i));
+
+		assertTrue(G.setPeso(0, 3, 7));
+		assertEquals(7.0, G.getPeso(0, 3));
+		assertFalse(G.setPeso(3, 0, 7));
+	}
+
+	public void testPesoInvalido() {
+		DigrafoPonderado<Integer> G = new DigrafoPonderado<Integer>();
+
+		G.adicionarVertice(0);
+		G.adicionarVertice(1);
+
+		try {
+			G.adicionarAresta(0, 1, -1);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+
+		try {
+			G.adicionarAresta(0, 1, Double.NaN);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+
+		assertEquals(0, G.grauSaida(0));
+	}
+}
@@ -0,0 +1,197 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+public class DigrafoVersionadoTest extends TestCase {
+	public void testOperacoesBasicas() {
+		DigrafoVersionado<String> G = new DigrafoVersionado<String>();
+
+		assertTrue(G.adicionarVertice("a"));
+		assertTrue(G.adicionarVertice("b"));
+		assertTrue(G.adicionarVertice("c"));
+		assertFalse(G.adicionarVertice("a"));
+
+		assertTrue(G.adicionarAresta("a", "b"));
+		assertFalse(G.adicionarAresta("a", "b"));
+		assertTrue(G.adicionarAresta("b", "c"));
+		assertFalse(G.adicionarAresta("a", "x"));
+		assertEquals(5, G.getVersao());
+
+		Instantaneo<String> I = G.fixar();
+
+		assertTrue(I.contemArco("a", "b"));
+		assertFalse(I.contemArco("b", "a"));
+		assertEquals(3, I.fechoTransitivoDireto("a").size());
+		assertEquals(3, I.fechoTransitivoIndireto("c").size());
+		assertEquals(Arrays.asList("a", "b", "c"), I.ordenacaoTopologica());
+		assertFalse(G.removerAresta("b", "a"));
+
+		assertTrue(G.removerVertice("b"));
+		I = G.fixar();
+		assertEquals(2, I.getOrdem());
+		assertEquals(0, I.getGrauSaida("a"));
+		assertEquals(0, I.getGrauEntrada("c"));
+		assertEquals(-1, I.getId("b"));
+
+		try {
+			I.sucessores("b");
+			fail();
+		} catch (NonVerticeException e) {
+		}
+	}
+
+	public void testVersoesIsoladas() {
+		DigrafoVersionado<Integer> G = new DigrafoVersionado<Integer>();
+
+		for (int i = 0; i < 500; i++)
+			G.adicionarVertice(i);
+
+		for (int i = 0; i < 499; i++)
+			G.adicionarAresta(i, i + 1);
+
+		Instantaneo<Integer> antes = G.fixar();
+
+		G.removerVertice(250);
+		G.adicionarAresta(249, 251);
+		G.adicionarAresta(499, 0);
+		G.adicionarVertice(250);
+
+		// a versão fixada continua vendo a cadeia inteira, sem ciclo
+		assertEquals(500, antes.getOrdem());
+		assertEquals(500, antes.fechoTransitivoDireto(0).size());
+		assertEquals(500, antes.ordenacaoTopologica().size());
+		assertEquals(250, antes.getId(250));
+		assertTrue(antes.contemArco(249, 250));
+
+		Instantaneo<Integer> depois = G.fixar();
+
+		assertEquals(500, depois.getOrdem());
+		assertEquals(500, depois.getId(250));
+		assertEquals(0, depois.getGrauEntrada(Integer.valueOf(250)));
+		assertEquals(499, depois.fechoTransitivoDireto(251).size());
+
+		try {
+			depois.ordenacaoTopologica();
+			fail();
+		} catch (CicloException e) {
+		}
+	}
+
+	/**
+	 * Objetos com o mesmo hash devem conviver no mapa de ids.
+	 */
+	public void testColisoes() {
+		DigrafoVersionado<Chave> G = new DigrafoVersionado<Chave>();
+
+		for (int i = 0; i < 100; i++)
+			assertTrue(G.adicionarVertice(new Chave(i)));
+
+		assertTrue(G.removerVertice(new Chave(42)));
+
+		Instantaneo<Chave> I = G.fixar();
+
+		for (int i = 0; i < 100; i++)
+			assertEquals(i == 42 ? -1 : i, I.getId(new Chave(i)));
+	}
+
+	private static final class Chave {
+		final int valor;
+
+		Chave(int valor) {
+			this.valor = valor;
+		}
+
+		@Override
+		public int hashCode() {
+			return valor % 7;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Chave && ((Chave) o).valor == valor;
+		}
+	}
+
+	/**
+	 * Leitores percorrem versões fixadas enquanto um escritor altera o grafo: cada versão deve
+	 * ser consistente (arcos espelhados nas duas adjacências, fecho fechado pelos sucessores e
+	 * ordem igual ao número de vértices).
+	 */
+	public void testLeiturasConsistentesDuranteEscritas() throws Exception {
+		final int n = 1000;
+		final DigrafoVersionado<Integer> G = new DigrafoVersionado<Integer>();
+		final AtomicBoolean fim = new AtomicBoolean();
+		final AtomicReference<Throwable> erro = new AtomicReference<Throwable>();
+		List<Thread> threads = new ArrayList<Thread>();
+
+		for (int i = 0; i < n; i++)
+			G.adicionarVertice(i);
+
+		threads.add(new Thread() {
+			public void run() {
+				Random r = new Random(1);
+				for (int k = 0; k < 20000; k++) {
+					int a = r.nextInt(n), b = r.nextInt(n);
+
+					if (k % 100 == 0) {
+						G.removerVertice(a);
+						G.adicionarVertice(a);
+					} else if (!G.adicionarAresta(a, b)) {
+						G.removerAresta(a, b);
+					}
+				}
+			}
+		});
+
+		for (int t = 0; t < 2; t++) {
+			threads.add(new Thread() {
+				public void run() {
+					try {
+						while (!fim.get()) {
+							Instantaneo<Integer> I = G.fixar();
+							HashSet<Integer> vistos = new HashSet<Integer>(I.fechoTransitivo(I.getVertices().get(0)));
+							int contados = 0;
+
+							for (Integer v : I.getVertices()) {
+								contados++;
+
+								for (Integer w : I.sucessores(v))
+									assertTrue(I.antecessores(w).contains(v));
+
+								if (vistos.contains(v))
+									for (Integer w : I.sucessores(v))
+										assertTrue(vistos.contains(w));
+							}
+
+							// a versão entre a remoção e a nova inclusão tem um vértice a menos
+							assertEquals(I.getOrdem(), contados);
+							assertTrue(contados == n || contados == n - 1);
+						}
+					} catch (Throwable e) {
+						erro.compareAndSet(null, e);
+					}
+				}
+			});
+		}
+
+		for (Thread t : threads)
+			t.start();
+
+		threads.get(0).join();
+		fim.set(true);
+
+		for (Thread t : threads)
+			t.join();
+
+		if (erro.get() != null)
+			throw new AssertionError(erro.get());
+	}
+}
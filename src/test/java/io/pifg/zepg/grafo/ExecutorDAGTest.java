@@ -0,0 +1,153 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+public class ExecutorDAGTest extends TestCase {
+	private ForkJoinPool pool;
+
+	@Override
+	protected void setUp() {
+		pool = new ForkJoinPool(4);
+	}
+
+	@Override
+	protected void tearDown() {
+		pool.shutdownNow();
+	}
+
+	public void testDependencias() throws InterruptedException {
+		final DAG<Integer> G = GrafosAleatorios.dag(500, 3000, 1);
+		final AtomicInteger relogio = new AtomicInteger();
+		final int[] inicios = new int[500], fins = new int[500];
+
+		ExecucaoDAG<Integer> E = new ExecutorDAG<Integer>(G, pool, 4).executar(new Tarefa<Integer>() {
+			public void executar(Integer obj) {
+				inicios[obj] = relogio.incrementAndGet();
+				fins[obj] = relogio.incrementAndGet();
+			}
+		});
+
+		assertTrue(E.aguardar());
+		assertEquals(500, E.getNumConcluidas());
+		assertTrue(E.estaTerminada());
+
+		for (int v = 0; v < 500; v++) {
+			assertEquals(EstadoTarefa.CONCLUIDA, E.getEstado(v));
+
+			for (int i = 0; i < G.grauSaida(v); i++)
+				assertTrue(fins[v] < inicios[G.sucessor(v, i)]);
+		}
+	}
+
+	public void testFalha() throws InterruptedException {
+		DAG<String> G = new DAG<String>();
+
+		for (String s : new String[] { "a", "b", "c", "d", "e" })
+			G.adicionarVertice(s);
+
+		G.adicionarAresta("a", "b");
+		G.adicionarAresta("b", "c");
+		G.adicionarAresta("d", "c");
+		G.adicionarAresta("d", "e");
+
+		ExecucaoDAG<String> E = new ExecutorDAG<String>(G, pool, 2).executar(new Tarefa<String>() {
+			public void executar(String obj) throws Exception {
+				if (obj.equals("a"))
+					throw new IllegalStateException(obj);
+			}
+		});
+
+		assertFalse(E.aguardar());
+		assertEquals(EstadoTarefa.FALHOU, E.getEstado("a"));
+		assertEquals(EstadoTarefa.CANCELADA, E.getEstado("b"));
+		assertEquals(EstadoTarefa.CANCELADA, E.getEstado("c"));
+		assertEquals(EstadoTarefa.CONCLUIDA, E.getEstado("d"));
+		assertEquals(EstadoTarefa.CONCLUIDA, E.getEstado("e"));
+		assertEquals(2, E.getNumConcluidas());
+		assertEquals(Collections.singleton("a"), E.getFalhas().keySet());
+		assertTrue(E.getFalhas().get("a") instanceof IllegalStateException);
+	}
+
+	public void testCancelamento() throws InterruptedException {
+		DAG<Integer> G = GrafosAleatorios.dag(200, 1200, 2);
+		final ArrayList<ExecucaoDAG<Integer>> execucao = new ArrayList<ExecucaoDAG<Integer>>();
+		final AtomicInteger executadas = new AtomicInteger();
+
+		synchronized (execucao) {
+			execucao.add(new ExecutorDAG<Integer>(G, pool, 1).iniciar(new Tarefa<Integer>() {
+				public void executar(Integer obj) {
+					synchronized (execucao) {
+						if (executadas.incrementAndGet() == 10)
+							execucao.get(0).cancelar();
+					}
+				}
+			}));
+		}
+
+		assertFalse(execucao.get(0).aguardar());
+		assertTrue(execucao.get(0).estaCancelada());
+		assertEquals(10, executadas.get());
+		assertEquals(10, execucao.get(0).getNumConcluidas());
+	}
+
+	public void testParalelismoLimitado() throws InterruptedException {
+		DAG<Integer> G = GrafosAleatorios.dag(100, 0, 3);
+		final AtomicInteger ativas = new AtomicInteger(), maximo = new AtomicInteger();
+
+		new ExecutorDAG<Integer>(G, pool, 2).executar(new Tarefa<Integer>() {
+			public void executar(Integer obj) throws InterruptedException {
+				int a = ativas.incrementAndGet();
+
+				maximo.accumulateAndGet(a, Math::max);
+				Thread.sleep(1);
+				ativas.decrementAndGet();
+			}
+		});
+
+		assertTrue(maximo.get() <= 2);
+	}
+
+	public void testCaminhoCriticoPrimeiro() throws InterruptedException {
+		DAG<Integer> G = new DAG<Integer>();
+		final ArrayList<Integer> ordem = new ArrayList<Integer>();
+
+		// 0 e 1 isolados; 2 -> 3 -> 4 é a cadeia mais longa; 5 -> 6 com custo alto
+		for (int i = 0; i < 7; i++)
+			G.adicionarVertice(i);
+
+		G.adicionarAresta(2, 3);
+		G.adicionarAresta(3, 4);
+		G.adicionarAresta(5, 6);
+
+		new ExecutorDAG<Integer>(G, pool, 1).executar(new Tarefa<Integer>() {
+			public void executar(Integer obj) {
+				ordem.add(obj);
+			}
+		});
+
+		assertEquals(Arrays.asList(2, 3, 5, 0, 1, 4, 6), ordem);
+
+		ordem.clear();
+		new ExecutorDAG<Integer>(G, pool, 1, obj -> obj >= 5 ? 10 : 1).executar(new Tarefa<Integer>() {
+			public void executar(Integer obj) {
+				ordem.add(obj);
+			}
+		});
+
+		assertEquals(Integer.valueOf(5), ordem.get(0));
+		assertEquals(7, ordem.size());
+	}
+
+	public void testVazio() throws InterruptedException {
+		ExecucaoDAG<Integer> E = new ExecutorDAG<Integer>(new DAG<Integer>()).executar(obj -> fail());
+
+		assertTrue(E.aguardar());
+		assertEquals(0, E.getNumConcluidas());
+	}
+}
@@ -0,0 +1,64 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import junit.framework.TestCase;
+
+public class GrafoCSRTest extends TestCase {
+	private Digrafo<String> digrafo() {
+		Digrafo<String> G = new Digrafo<String>();
+
+		for (String s : Arrays.asList("a", "b", "c", "d", "e"))
+			G.adicionarVertice(s);
+
+		G.adicionarAresta("a", "b");
+		G.adicionarAresta("a", "c");
+		G.adicionarAresta("b", "d");
+		G.adicionarAresta("c", "d");
+
+		return G;
+	}
+
+	public void testConsultasEquivalentes() {
+		Digrafo<String> G = digrafo();
+		GrafoCSR<String> C = G.congelar();
+
+		assertEquals(5, C.getOrdem());
+		assertEquals(4, C.getNumeroArcos());
+
+		for (String s : G.getVertices()) {
+			assertEquals(G.getGrauSaida(s), C.getGrauSaida(s));
+			assertEquals(G.getGrauEntrada(s), C.getGrauEntrada(s));
+			assertEquals(new HashSet<String>(G.sucessores(s)), new HashSet<String>(C.sucessores(s)));
+			assertEquals(new HashSet<String>(G.antecessores(s)), new HashSet<String>(C.antecessores(s)));
+			assertEquals(new HashSet<String>(G.fechoTransitivoDireto(s)),
+					new HashSet<String>(C.fechoTransitivoDireto(s)));
+			assertEquals(new HashSet<String>(G.fechoTransitivoIndireto(s)),
+					new HashSet<String>(C.fechoTransitivoIndireto(s)));
+			assertEquals(new HashSet<String>(G.fechoTransitivo(s)), new HashSet<String>(C.fechoTransitivo(s)));
+		}
+
+		assertTrue(C.contemArco("a", "c"));
+		assertFalse(C.contemArco("c", "a"));
+		assertFalse(C.contemArco("e", "a"));
+	}
+
+	public void testIndependenteDoGrafo() {
+		Digrafo<String> G = digrafo();
+		GrafoCSR<String> C = G.congelar();
+
+		G.adicionarAresta("d", "e");
+
+		assertFalse(C.contemArco("d", "e"));
+		assertEquals(0, C.getGrauSaida("d"));
+	}
+
+	public void testVerticeInexistente() {
+		try {
+			digrafo().congelar().sucessores("z");
+			fail();
+		} catch (NonVerticeException e) {
+		}
+	}
+}
@@ -0,0 +1,187 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.pifg.zepg.search.Direcao;
+import io.pifg.zepg.search.ResultadoBfs;
+import io.pifg.zepg.search.Searcher;
+import junit.framework.TestCase;
+
+public class GrafoConcorrenteTest extends TestCase {
+	public void testOperacoesBasicas() {
+		DigrafoConcorrente<String> G = new DigrafoConcorrente<String>();
+
+		assertTrue(G.adicionarVertice("a"));
+		assertTrue(G.adicionarVertice("b"));
+		assertTrue(G.adicionarVertice("c"));
+		assertFalse(G.adicionarVertice("a"));
+
+		assertTrue(G.adicionarAresta("a", "b"));
+		assertFalse(G.adicionarAresta("a", "b"));
+		assertTrue(G.adicionarAresta("b", "c"));
+		assertFalse(G.adicionarAresta("a", "x"));
+
+		assertTrue(G.contemArco("a", "b"));
+		assertFalse(G.contemArco("b", "a"));
+		assertEquals(3, G.fechoTransitivoDireto("a").size());
+		assertEquals(3, G.fechoTransitivoIndireto("c").size());
+		assertEquals(1, G.getGrauSaida("a"));
+		assertEquals(1, G.getGrauEntrada("c"));
+		assertFalse(G.removerAresta("b", "a"));
+
+		assertTrue(G.removerVertice("b"));
+		assertEquals(2, G.getOrdem());
+		assertEquals(0, G.getGrauSaida("a"));
+		assertEquals(0, G.getGrauEntrada("c"));
+		assertEquals(-1, G.getId("b"));
+		assertFalse(G.ehConexo());
+
+		try {
+			G.sucessores("b");
+			fail();
+		} catch (NonVerticeException e) {
+		}
+	}
+
+	/**
+	 * Um vértice com muitos arcos usa a tabela de posições da lista; inclusões, remoções e
+	 * consultas devem concordar com um conjunto de referência.
+	 */
+	public void testVerticeComGrauAlto() {
+		DigrafoConcorrente<Integer> G = new DigrafoConcorrente<Integer>();
+		HashSet<Integer> esperado = new HashSet<Integer>();
+		Random r = new Random(5);
+		int n = 5000;
+
+		for (int i = 0; i < n; i++)
+			G.adicionarVertice(i);
+
+		for (int k = 0; k < 40000; k++) {
+			int w = r.nextInt(n);
+
+			if (r.nextInt(3) == 0)
+				assertEquals(esperado.remove(w), G.removerAresta(0, w));
+			else
+				assertEquals(esperado.add(w), G.adicionarAresta(0, w));
+
+			assertEquals(esperado.contains(w), G.contemArco(0, w));
+		}
+
+		assertEquals(esperado.size(), G.getGrauSaida(0));
+		assertEquals(esperado, new HashSet<Integer>(G.sucessores(0)));
+
+		for (int w = 0; w < n; w++)
+			assertEquals(esperado.contains(w), G.contemArco(0, w));
+	}
+
+	public void testBuscasComoGrafoIndexado() {
+		DigrafoConcorrente<Integer> C = new DigrafoConcorrente<Integer>();
+		Digrafo<Integer> G = GrafosAleatorios.digrafo(3000, 9000, 4);
+
+		for (int i = 0; i < 3000; i++)
+			C.adicionarVertice(i);
+
+		for (int v = 0; v < 3000; v++)
+			for (Integer w : G.sucessores(v))
+				C.adicionarAresta(v, w.intValue());
+
+		for (Direcao direcao : Direcao.values()) {
+			ResultadoBfs esperado = Searcher.bfsParalelo(G, Integer.valueOf(0), direcao);
+			ResultadoBfs obtido = Searcher.bfsParalelo(C, Integer.valueOf(0), direcao);
+
+			for (int v = 0; v < 3000; v++)
+				assertEquals(esperado.getDistancia(v), obtido.getDistancia(v));
+		}
+
+		for (int t = 1; t < 3000; t += 97) {
+			ArrayList<Integer> esperado = Searcher.caminhoBidirecional(G, Integer.valueOf(0), Integer.valueOf(t), Direcao.SUCESSORES);
+			ArrayList<Integer> obtido = Searcher.caminhoBidirecional(C, Integer.valueOf(0), Integer.valueOf(t), Direcao.SUCESSORES);
+
+			assertEquals(esperado == null, obtido == null);
+
+			if (obtido != null) {
+				assertEquals(esperado.size(), obtido.size());
+
+				for (int i = 1; i < obtido.size(); i++)
+					assertTrue(C.contemArco(obtido.get(i - 1), obtido.get(i)));
+			}
+		}
+	}
+
+	public void testOrdemPorInstancia() {
+		GrafoConcorrente<Integer> G1 = new GrafoConcorrente<Integer>();
+		GrafoConcorrente<Integer> G2 = new GrafoConcorrente<Integer>();
+
+		G1.adicionarVertice(Integer.valueOf(1));
+		G2.adicionarVertice(Integer.valueOf(1));
+		G2.adicionarVertice(Integer.valueOf(2));
+
+		assertEquals(1, G1.getOrdem());
+		assertEquals(2, G2.getOrdem());
+	}
+
+	public void testEscritasConcorrentesComLeitores() throws Exception {
+		final int n = 2000, escritores = 4, arcosPorEscritor = 20000;
+		final DigrafoConcorrente<Integer> G = new DigrafoConcorrente<Integer>();
+		final AtomicBoolean fim = new AtomicBoolean();
+		final AtomicReference<Throwable> erro = new AtomicReference<Throwable>();
+		List<Thread> threads = new ArrayList<Thread>();
+
+		for (int i = 0; i < n; i++)
+			G.adicionarVertice(i);
+
+		for (int t = 0; t < escritores; t++) {
+			final int semente = t;
+			threads.add(new Thread() {
+				public void run() {
+					java.util.Random r = new java.util.Random(semente);
+					for (int k = 0; k < arcosPorEscritor; k++)
+						G.adicionarAresta(r.nextInt(n), r.nextInt(n));
+				}
+			});
+		}
+
+		for (int t = 0; t < 2; t++)
+			threads.add(new Thread() {
+				public void run() {
+					try {
+						while (!fim.get()) {
+							int v = (int) (Math.random() * n);
+							List<Integer> s = G.sucessores(v);
+							assertEquals(s.size(), new HashSet<Integer>(s).size());
+							assertTrue(G.fechoTransitivoDireto(v).size() >= 1);
+						}
+					} catch (Throwable e) {
+						erro.set(e);
+					}
+				}
+			});
+
+		for (Thread t : threads)
+			t.start();
+		for (int t = 0; t < escritores; t++)
+			threads.get(t).join();
+		fim.set(true);
+		for (Thread t : threads)
+			t.join();
+
+		assertNull(erro.get());
+
+		int saida = 0, entrada = 0;
+		for (int v = 0; v < n; v++) {
+			saida += G.getGrauSaida(v);
+			entrada += G.getGrauEntrada(v);
+
+			for (Integer w : G.sucessores(v))
+				assertTrue(G.antecessores(w).contains(Integer.valueOf(v)));
+		}
+
+		assertEquals(saida, entrada);
+		assertTrue(saida > 0);
+	}
+}
@@ -0,0 +1,183 @@
+package io.pifg.zepg.grafo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.pifg.zepg.search.Direcao;
+import io.pifg.zepg.search.Percurso;
+import io.pifg.zepg.search.Visitante;
+import junit.framework.TestCase;
+
+public class GrafoMapeadoTest extends TestCase {
+	private Path arquivo;
+
+	@Override
+	protected void setUp() throws IOException {
+		File f = File.createTempFile("zepg", ".grafo");
+		f.deleteOnExit();
+		arquivo = f.toPath();
+	}
+
+	public void testIdaEVolta() throws IOException {
+		Random r = new Random(3);
+		Digrafo<String> G = new Digrafo<String>();
+
+		for (int i = 0; i < 300; i++)
+			G.adicionarVertice("v" + i + (i % 7 == 0 ? "çã" : ""));
+		for (int k = 0; k < 1500; k++)
+			G.adicionarAresta(r.nextInt(300), r.nextInt(300));
+		G.removerVertice("v10");
+
+		GrafoMapeado.escrever(G, Codificador.TEXTO, arquivo);
+
+		try (GrafoMapeado<String> M = new GrafoMapeado<String>(arquivo, Codificador.TEXTO)) {
+			assertEquals(G.getOrdem(), M.getOrdem());
+			assertEquals(G.getCapacidade(), M.getCapacidade());
+			assertFalse(M.contemVertice(10));
+			assertEquals(-1, M.getId("v10"));
+			assertEquals(-1, M.getId("inexistente"));
+
+			for (String v : G.getVertices()) {
+				int id = M.getId(v);
+
+				assertEquals(G.getId(v), id);
+				assertEquals(v, M.getObjeto(id));
+				assertEquals(G.getGrauSaida(v), M.getGrauSaida(v));
+				assertEquals(G.getGrauEntrada(v), M.getGrauEntrada(v));
+				assertEquals(new HashSet<String>(G.sucessores(v)), new HashSet<String>(M.sucessores(v)));
+				assertEquals(new HashSet<String>(G.antecessores(v)), new HashSet<String>(M.antecessores(v)));
+				assertEquals(new HashSet<String>(G.fechoTransitivoDireto(v)), new HashSet<String>(M.fechoTransitivoDireto(v)));
+				assertEquals(new HashSet<String>(G.fechoTransitivoIndireto(v)), new HashSet<String>(M.fechoTransitivoIndireto(v)));
+				assertEquals(new HashSet<String>(G.fechoTransitivo(v)), new HashSet<String>(M.fechoTransitivo(v)));
+
+				for (String w : G.sucessores(v))
+					assertTrue(M.contemArco(v, w));
+			}
+
+			assertFalse(M.contemArco("v1", "v1") != G.contemArco("v1", "v1"));
+		}
+	}
+
+	public void testObjetosCodificadosUmaVez() throws IOException {
+		final AtomicInteger codificacoes = new AtomicInteger();
+		Digrafo<String> G = new Digrafo<String>();
+
+		for (int i = 0; i < 50; i++)
+			G.adicionarVertice("v" + i);
+		G.adicionarAresta("v1", "v2");
+
+		GrafoMapeado.escrever(G, new Codificador<String>() {
+			public byte[] codificar(String obj) {
+				codificacoes.incrementAndGet();
+				return Codificador.TEXTO.codificar(obj);
+			}
+
+			public String decodificar(ByteBuffer origem, int posicao, int tamanho) {
+				return Codificador.TEXTO.decodificar(origem, posicao, tamanho);
+			}
+		}, arquivo);
+
+		assertEquals(50, codificacoes.get());
+
+		try (GrafoMapeado<String> M = new GrafoMapeado<String>(arquivo, Codificador.TEXTO)) {
+			assertEquals(G.getId("v7"), M.getId("v7"));
+			assertEquals(2, M.fechoTransitivoDireto("v1").size());
+		}
+	}
+
+	public void testPercursoSobreArquivo() throws IOException {
+		Digrafo<Integer> G = new Digrafo<Integer>();
+
+		for (int i = 0; i < 1000; i++)
+			G.adicionarVertice(Integer.valueOf(i));
+		for (int i = 1; i < 1000; i++)
+			G.adicionarAresta(i - 1, i);
+
+		GrafoMapeado.escrever(G, Codificador.INTEIRO, arquivo);
+
+		try (GrafoMapeado<Integer> M = new GrafoMapeado<Integer>(arquivo, Codificador.INTEIRO)) {
+			final int[] contador = new int[1];
+
+			new Percurso(M).dfs(M.getId(Integer.valueOf(0)), Direcao.SUCESSORES, new Visitante() {
+				public boolean visitar(int v, int pai) {
+					contador[0]++;
+					return true;
+				}
+			});
+
+			assertEquals(1000, contador[0]);
+			assertEquals(999, M.getNumeroArcos());
+			assertEquals(Integer.valueOf(999), M.getObjeto(M.sucessor(998, 0)));
+		}
+	}
+
+	public void testArquivoInvalido() throws IOException {
+		java.nio.file.Files.write(arquivo, new byte[64]);
+
+		try {
+			new GrafoMapeado<String>(arquivo, Codificador.TEXTO);
+			fail();
+		} catch (IOException e) {
+		}
+	}
+
+	/**
+	 * Um grafo cujo número de arcos não cabe nos campos de 32 bits deve ser recusado antes de
+	 * qualquer gravação, preservando o arquivo existente.
+	 */
+	public void testLimitesDoFormato() throws IOException {
+		Digrafo<String> pequeno = new Digrafo<String>();
+
+		pequeno.adicionarVertice("a");
+		GrafoMapeado.escrever(pequeno, Codificador.TEXTO, arquivo);
+
+		GrafoIndexado<String> enorme = new GrafoIndexado<String>() {
+			public int getCapacidade() {
+				return 3;
+			}
+
+			public boolean contemVertice(int id) {
+				return id >= 0 && id < 3;
+			}
+
+			public int getId(String obj) {
+				return Integer.parseInt(obj);
+			}
+
+			public String getObjeto(int id) {
+				return Integer.toString(id);
+			}
+
+			public int grauSaida(int id) {
+				return 1 << 29;
+			}
+
+			public int grauEntrada(int id) {
+				return 1 << 29;
+			}
+
+			public int sucessor(int id, int i) {
+				return (id + 1) % 3;
+			}
+
+			public int antecessor(int id, int i) {
+				return (id + 2) % 3;
+			}
+		};
+
+		try {
+			GrafoMapeado.escrever(enorme, Codificador.TEXTO, arquivo);
+			fail();
+		} catch (IOException e) {
+		}
+
+		try (GrafoMapeado<String> M = new GrafoMapeado<String>(arquivo, Codificador.TEXTO)) {
+			assertEquals(1, M.getOrdem());
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package io.pifg.zepg.grafo;
+
+import java.util.Random;
+
+/**
+ * Geradores de grafos aleatórios, reproduzíveis pela semente, compartilhados pelos testes.
+ */
+public final class GrafosAleatorios {
+	private GrafosAleatorios() {
+	}
+
+	/**
+	 * Sorteia m pares de vértices entre n e mantém como arco apenas os pares crescentes, de
+	 * modo que o resultado é acíclico.
+	 */
+	public static DAG<Integer> dag(int n, int m, long semente) {
+		DAG<Integer> G = new DAG<Integer>();
+		Random r = new Random(semente);
+
+		for (int i = 0; i < n; i++)
+			G.adicionarVertice(i);
+
+		for (int k = 0; k < m; k++) {
+			int a = r.nextInt(n), b = r.nextInt(n);
+
+			if (a < b)
+				G.adicionarAresta(Integer.valueOf(a), Integer.valueOf(b));
+		}
+
+		return G;
+	}
+
+	/**
+	 * Sorteia m arcos entre n vértices; laços e arcos repetidos são permitidos.
+	 */
+	public static Digrafo<Integer> digrafo(int n, int m, long semente) {
+		Digrafo<Integer> G = new Digrafo<Integer>();
+		Random r = new Random(semente);
+
+		for (int i = 0; i < n; i++)
+			G.adicionarVertice(i);
+
+		for (int k = 0; k < m; k++)
+			G.adicionarAresta(r.nextInt(n), r.nextInt(n));
+
+		return G;
+	}
+}
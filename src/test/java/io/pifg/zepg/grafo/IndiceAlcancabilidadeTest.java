@@ -0,0 +1,86 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+public class IndiceAlcancabilidadeTest extends TestCase {
+	public void testConfereComFechoTransitivo() {
+		DAG<Integer> G = GrafosAleatorios.dag(400, 900, 5);
+
+		for (int a = 0; a < 400; a++) {
+			HashSet<Integer> fecho = new HashSet<Integer>(G.fechoTransitivoDireto(a));
+
+			for (int b = 0; b < 400; b++)
+				assertEquals(fecho.contains(b), G.alcanca(a, b));
+		}
+	}
+
+	/**
+	 * Leitores concorrentes disputam a construção do índice e compartilham a busca de recurso.
+	 */
+	public void testConsultasConcorrentes() throws Exception {
+		final DAG<Integer> G = GrafosAleatorios.dag(1000, 6000, 7);
+		final boolean[][] esperado = new boolean[1000][1000];
+		final AtomicReference<Throwable> erro = new AtomicReference<Throwable>();
+		List<Thread> threads = new ArrayList<Thread>();
+
+		for (int a = 0; a < 1000; a++)
+			for (Integer b : G.fechoTransitivoDireto(a))
+				esperado[a][b] = true;
+
+		for (int t = 0; t < 4; t++) {
+			threads.add(new Thread() {
+				public void run() {
+					try {
+						for (int a = 0; a < 1000; a++)
+							for (int b = 0; b < 1000; b++)
+								assertEquals(esperado[a][b], G.alcanca(a, b));
+					} catch (Throwable e) {
+						erro.compareAndSet(null, e);
+					}
+				}
+			});
+		}
+
+		for (Thread t : threads)
+			t.start();
+
+		for (Thread t : threads)
+			t.join();
+
+		if (erro.get() != null)
+			throw new AssertionError(erro.get());
+	}
+
+	public void testInvalidadoAoAlterar() {
+		DAG<Integer> G = GrafosAleatorios.dag(50, 0, 1);
+
+		G.adicionarAresta(1, 2);
+		assertFalse(G.alcanca(1, 3));
+
+		G.adicionarAresta(2, 3);
+		assertTrue(G.alcanca(1, 3));
+
+		G.removerAresta(2, 3);
+		assertFalse(G.alcanca(1, 3));
+	}
+
+	public void testGrafoComCiclo() {
+		Digrafo<Integer> G = new Digrafo<Integer>();
+
+		G.adicionarVertice(0);
+		G.adicionarVertice(1);
+		G.adicionarAresta(Integer.valueOf(0), Integer.valueOf(1));
+		G.adicionarAresta(Integer.valueOf(1), Integer.valueOf(0));
+
+		try {
+			new IndiceAlcancabilidade(G);
+			fail();
+		} catch (CicloException e) {
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package io.pifg.zepg.grafo;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import junit.framework.TestCase;
+
+public class VisaoTest extends TestCase {
+	private Digrafo<Integer> G;
+
+	@Override
+	protected void setUp() {
+		G = new Digrafo<Integer>();
+
+		for (int i = 0; i < 1000; i++)
+			G.adicionarVertice(Integer.valueOf(i));
+
+		for (int i = 1; i < 1000; i++)
+			G.adicionarAresta(Integer.valueOf(0), Integer.valueOf(i));
+
+		G.adicionarAresta(Integer.valueOf(5), Integer.valueOf(0));
+	}
+
+	public void testVisaoEquivaleALista() {
+		assertEquals(G.sucessores(Integer.valueOf(0)), new ArrayList<Integer>(G.visaoSucessores(Integer.valueOf(0)).paraLista()));
+		assertEquals(999, G.visaoSucessores(Integer.valueOf(0)).tamanho());
+		assertEquals(1, G.visaoAntecessores(Integer.valueOf(0)).tamanho());
+		assertEquals(1000, G.visaoAdjacentes(Integer.valueOf(0)).stream().count());
+		assertTrue(G.visaoSucessores(Integer.valueOf(3)).estaVazia());
+	}
+
+	public void testStreamParalelo() {
+		long soma = G.visaoSucessores(Integer.valueOf(0)).parallelStream().mapToLong(Integer::longValue).sum();
+
+		assertEquals(999L * 1000 / 2, soma);
+		assertEquals(1000, G.visaoVertices().parallelStream().collect(Collectors.toSet()).size());
+	}
+
+	public void testVerticesIgnoraRemovidos() {
+		Iterator<Integer> it;
+		int n;
+
+		G.removerVertice(Integer.valueOf(0));
+		G.removerVertice(Integer.valueOf(999));
+
+		assertEquals(998, G.visaoVertices().tamanho());
+		assertEquals(998, G.visaoVertices().stream().count());
+		assertEquals(Integer.valueOf(1), G.getVerticeQualquer());
+
+		it = G.visaoVertices().iterator();
+		n = 0;
+		while (it.hasNext()) {
+			assertNotNull(it.next());
+			n++;
+		}
+		assertEquals(998, n);
+
+		try {
+			it.next();
+			fail();
+		} catch (NoSuchElementException e) {
+		}
+	}
+
+	public void testVerticeInexistente() {
+		try {
+			G.visaoSucessores(Integer.valueOf(5000));
+			fail();
+		} catch (NonVerticeException e) {
+		}
+	}
+}
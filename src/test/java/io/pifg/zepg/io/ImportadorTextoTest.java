@@ -0,0 +1,127 @@
+package io.pifg.zepg.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+
+import io.pifg.zepg.grafo.ConstrutorGrafo;
+import io.pifg.zepg.grafo.Digrafo;
+import junit.framework.TestCase;
+
+public class ImportadorTextoTest extends TestCase {
+	private Path arquivo;
+
+	@Override
+	protected void setUp() throws IOException {
+		File f = File.createTempFile("zepg", ".txt");
+		f.deleteOnExit();
+		arquivo = f.toPath();
+	}
+
+	private Digrafo<Integer> importar(String conteudo, FormatoTexto formato, int paralelismo) throws IOException {
+		ConstrutorGrafo<Integer> C = new ConstrutorGrafo<Integer>();
+
+		Files.write(arquivo, conteudo.getBytes(StandardCharsets.US_ASCII));
+		new ImportadorTexto().setParalelismo(paralelismo).importar(arquivo, formato, C);
+
+		return C.construirDigrafo();
+	}
+
+	public void testListaArestasEmTodosOsParticionamentos() throws IOException {
+		String conteudo = "# comentario\n% outro\n1 2\n\n2\t3 0.75\r\n3 1\n1 2\n1000000 1 # fim\n7 7";
+
+		for (int p = 1; p <= conteudo.length(); p++) {
+			Digrafo<Integer> G = importar(conteudo, FormatoTexto.LISTA_ARESTAS, p);
+
+			assertEquals(5, G.getOrdem());
+			assertTrue(G.contemArco(Integer.valueOf(1), Integer.valueOf(2)));
+			assertTrue(G.contemArco(Integer.valueOf(2), Integer.valueOf(3)));
+			assertTrue(G.contemArco(Integer.valueOf(3), Integer.valueOf(1)));
+			assertTrue(G.contemArco(Integer.valueOf(1000000), Integer.valueOf(1)));
+			assertTrue(G.contemArco(Integer.valueOf(7), Integer.valueOf(7)));
+			assertEquals(1, G.getGrauSaida(Integer.valueOf(1)));
+		}
+	}
+
+	public void testListaAdjacencia() throws IOException {
+		String conteudo = "0 1 2 3\n4\n2 0\n";
+
+		for (int p = 1; p <= 8; p++) {
+			Digrafo<Integer> G = importar(conteudo, FormatoTexto.LISTA_ADJACENCIA, p);
+
+			assertEquals(5, G.getOrdem());
+			assertEquals(3, G.getGrauSaida(Integer.valueOf(0)));
+			assertEquals(0, G.getGrau(Integer.valueOf(4)));
+			assertTrue(G.contemArco(Integer.valueOf(2), Integer.valueOf(0)));
+		}
+	}
+
+	public void testComentarioJuntoAoRotulo() throws IOException {
+		String arestas = "5 6#c\n6 7%c\n8#c\n";
+		String adjacencia = "0 1 2#c\n3%c\n";
+
+		for (int p = 1; p <= 4; p++) {
+			Digrafo<Integer> G = importar(arestas.replace("8#c\n", ""), FormatoTexto.LISTA_ARESTAS, p);
+
+			assertEquals(3, G.getOrdem());
+			assertTrue(G.contemArco(Integer.valueOf(5), Integer.valueOf(6)));
+			assertTrue(G.contemArco(Integer.valueOf(6), Integer.valueOf(7)));
+
+			G = importar(adjacencia, FormatoTexto.LISTA_ADJACENCIA, p);
+
+			assertEquals(4, G.getOrdem());
+			assertEquals(2, G.getGrauSaida(Integer.valueOf(0)));
+			assertEquals(0, G.getGrau(Integer.valueOf(3)));
+		}
+
+		// um rótulo só, mesmo seguido de comentário, continua sendo um arco incompleto
+		try {
+			importar(arestas, FormatoTexto.LISTA_ARESTAS, 1);
+			fail();
+		} catch (IOException e) {
+		}
+	}
+
+	public void testConteudoInvalido() throws IOException {
+		String[] invalidos = { "1 x\n", "1 2.5\n", "1\n", "-1 2\n", "99999999999 1\n" };
+
+		for (String s : invalidos)
+			try {
+				importar(s, FormatoTexto.LISTA_ARESTAS, 1);
+				fail(s);
+			} catch (IOException e) {
+			}
+	}
+
+	public void testArquivoVazio() throws IOException {
+		assertEquals(0, importar("", FormatoTexto.LISTA_ARESTAS, 4).getOrdem());
+	}
+
+	public void testIdaEVolta() throws IOException {
+		Random r = new Random(5);
+		Digrafo<Integer> G = new Digrafo<Integer>();
+
+		for (int i = 0; i < 400; i++)
+			G.adicionarVertice(Integer.valueOf(i * 3));
+		for (int k = 0; k < 3000; k++)
+			G.adicionarAresta(r.nextInt(400), r.nextInt(400));
+
+		for (FormatoTexto formato : FormatoTexto.values()) {
+			ExportadorTexto.exportar(G, Integer::intValue, formato, arquivo);
+
+			ConstrutorGrafo<Integer> C = new ConstrutorGrafo<Integer>();
+			new ImportadorTexto().setParalelismo(3).importar(arquivo, formato, C);
+			Digrafo<Integer> H = C.construirDigrafo();
+
+			for (Integer v : H.getVertices())
+				assertEquals(new HashSet<Integer>(G.sucessores(v)), new HashSet<Integer>(H.sucessores(v)));
+
+			if (formato == FormatoTexto.LISTA_ADJACENCIA)
+				assertEquals(G.getOrdem(), H.getOrdem());
+		}
+	}
+}
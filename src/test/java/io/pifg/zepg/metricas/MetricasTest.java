@@ -0,0 +1,126 @@
+package io.pifg.zepg.metricas;
+
+import java.util.ArrayList;
+
+import io.pifg.zepg.grafo.Digrafo;
+import io.pifg.zepg.search.Direcao;
+import io.pifg.zepg.search.Searcher;
+import junit.framework.TestCase;
+
+public class MetricasTest extends TestCase {
+	private Contadores C;
+	private Digrafo<Integer> G;
+
+	@Override
+	protected void setUp() {
+		G = new Digrafo<Integer>();
+
+		for (int i = 0; i < 5; i++)
+			G.adicionarVertice(i);
+
+		for (int i = 0; i < 4; i++)
+			G.adicionarAresta(i, i + 1);
+
+		C = new Contadores();
+		Metricas.registrar(C);
+	}
+
+	@Override
+	protected void tearDown() {
+		Metricas.remover(C);
+	}
+
+	public void testRegistro() {
+		Contadores outro = new Contadores();
+
+		assertTrue(Metricas.ativas());
+		assertFalse(Metricas.remover(outro));
+		assertTrue(Metricas.remover(C));
+		assertFalse(Metricas.ativas());
+		assertEquals(0, Metricas.inicio());
+
+		G.adicionarVertice(5);
+		assertEquals(0, C.getMutacoes(Mutacao.VERTICE_ADICIONADO));
+
+		Metricas.registrar(C);
+		Metricas.registrar(outro);
+		G.adicionarVertice(6);
+		Metricas.remover(outro);
+
+		assertEquals(1, C.getMutacoes(Mutacao.VERTICE_ADICIONADO));
+		assertEquals(1, outro.getMutacoes(Mutacao.VERTICE_ADICIONADO));
+		assertTrue(Metricas.ativas());
+	}
+
+	public void testMutacoes() {
+		G.adicionarVertice(5);
+		G.adicionarAresta(4, 5);
+		G.adicionarAresta(4, 5);
+		G.removerAresta(0, 1);
+		G.removerVertice(5);
+
+		assertEquals(1, C.getMutacoes(Mutacao.VERTICE_ADICIONADO));
+		assertEquals(1, C.getMutacoes(Mutacao.ARESTA_ADICIONADA));
+		assertEquals(1, C.getMutacoes(Mutacao.ARESTA_REMOVIDA));
+		assertEquals(1, C.getMutacoes(Mutacao.VERTICE_REMOVIDO));
+	}
+
+	public void testFecho() {
+		ArrayList<Integer> F = G.fechoTransitivoDireto(1);
+
+		assertEquals(4, F.size());
+		assertEquals(1, C.getConsultas(Operacao.FECHO));
+		assertEquals(4, C.getVerticesVisitados(Operacao.FECHO));
+		assertEquals(3, C.getArcosExaminados(Operacao.FECHO));
+		assertEquals(1, C.getMaterializacoes(Operacao.FECHO));
+		assertEquals(4, C.getElementosMaterializados(Operacao.FECHO));
+		assertTrue(C.getPercentil(Operacao.FECHO, 50) > 0);
+		assertTrue(C.getPercentil(Operacao.FECHO, 100) >= C.getNanosTotais(Operacao.FECHO));
+	}
+
+	public void testBuscas() {
+		assertEquals(Integer.valueOf(4), Searcher.dfs(G, 0, 4));
+		assertEquals(1, C.getConsultas(Operacao.DFS));
+		assertEquals(5, C.getVerticesVisitados(Operacao.DFS));
+
+		Searcher.bfsParalelo(G, 0, Direcao.SUCESSORES);
+		assertEquals(1, C.getConsultas(Operacao.BFS_PARALELA));
+		assertEquals(5, C.getVerticesVisitados(Operacao.BFS_PARALELA));
+		assertEquals(4, C.getArcosExaminados(Operacao.BFS_PARALELA));
+
+		assertEquals(5, Searcher.caminhoBidirecional(G, 0, 4, Direcao.SUCESSORES).size());
+		assertEquals(1, C.getConsultas(Operacao.CAMINHO_BIDIRECIONAL));
+
+		G.componentesFortes();
+		assertEquals(1, C.getConsultas(Operacao.COMPONENTES_FORTES));
+		assertEquals(5, C.getVerticesVisitados(Operacao.COMPONENTES_FORTES));
+		assertEquals(4, C.getArcosExaminados(Operacao.COMPONENTES_FORTES));
+	}
+
+	public void testListas() {
+		G.sucessores(0);
+		G.getVertices();
+
+		assertEquals(2, C.getMaterializacoes(Operacao.LISTA));
+		assertEquals(6, C.getElementosMaterializados(Operacao.LISTA));
+
+		C.zerar();
+		assertEquals(0, C.getMaterializacoes(Operacao.LISTA));
+		assertEquals(0, C.getPercentil(Operacao.LISTA, 99));
+	}
+
+	public void testJFR() {
+		OuvinteJFR J = new OuvinteJFR();
+
+		Metricas.registrar(J);
+
+		try {
+			G.fechoTransitivo(0);
+			G.adicionarVertice(9);
+		} finally {
+			Metricas.remover(J);
+		}
+
+		assertEquals(1, C.getConsultas(Operacao.FECHO));
+	}
+}
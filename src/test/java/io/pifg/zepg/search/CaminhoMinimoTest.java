@@ -0,0 +1,158 @@
+package io.pifg.zepg.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import io.pifg.zepg.grafo.DigrafoPonderado;
+import io.pifg.zepg.grafo.NonVerticeException;
+import junit.framework.TestCase;
+
+public class CaminhoMinimoTest extends TestCase {
+	private DigrafoPonderado<Integer> aleatorio(int n, int m, long semente) {
+		DigrafoPonderado<Integer> G = new DigrafoPonderado<Integer>();
+		Random r = new Random(semente);
+
+		for (int i = 0; i < n; i++)
+			G.adicionarVertice(i);
+
+		for (int k = 0; k < m; k++)
+			G.adicionarAresta(r.nextInt(n), r.nextInt(n), r.nextInt(20));
+
+		return G;
+	}
+
+	private double[] bellmanFord(DigrafoPonderado<Integer> G, int origem) {
+		int n = G.getCapacidade();
+		double[] d = new double[n];
+		boolean mudou = true;
+
+		Arrays.fill(d, Double.POSITIVE_INFINITY);
+		d[origem] = 0;
+
+		while (mudou) {
+			mudou = false;
+
+			for (int v = 0; v < n; v++)
+				if (G.contemVertice(v) && d[v] < Double.POSITIVE_INFINITY)
+					for (int i = 0; i < G.grauSaida(v); i++)
+						if (d[v] + G.peso(v, i) < d[G.sucessor(v, i)]) {
+							d[G.sucessor(v, i)] = d[v] + G.peso(v, i);
+							mudou = true;
+						}
+		}
+
+		return d;
+	}
+
+	public void testDijkstraIgualBellmanFord() {
+		CaminhoMinimo busca = new CaminhoMinimo();
+
+		for (long semente = 1; semente <= 5; semente++) {
+			DigrafoPonderado<Integer> G = aleatorio(200, 800, semente);
+
+			for (int origem = 0; origem < 200; origem += 37) {
+				double[] esperado = bellmanFord(G, origem);
+
+				busca.dijkstra(G, origem, -1);
+
+				for (int v = 0; v < 200; v++) {
+					assertEquals(esperado[v], busca.getDistancia(v));
+
+					if (esperado[v] < Double.POSITIVE_INFINITY) {
+						int[] c = busca.caminho(v);
+						double soma = 0;
+
+						assertEquals(origem, c[0]);
+						assertEquals(v, c[c.length - 1]);
+
+						for (int k = 1; k < c.length; k++)
+							soma += G.getPeso(c[k - 1], c[k]);
+
+						assertEquals(esperado[v], soma);
+					} else {
+						assertNull(busca.caminho(v));
+					}
+				}
+			}
+		}
+	}
+
+	public void testParadaAntecipada() {
+		DigrafoPonderado<Integer> G = aleatorio(300, 1500, 9);
+		double[] esperado = bellmanFord(G, 0);
+		CaminhoMinimo busca = new CaminhoMinimo();
+
+		for (int t = 0; t < 300; t++) {
+			assertEquals(esperado[t], busca.dijkstra(G, 0, t));
+			assertEquals(esperado[t], busca.aEstrela(G, 0, t, (v, destino) -> 0));
+		}
+	}
+
+	private static final int LADO = 60;
+
+	private DigrafoPonderado<Integer> grade() {
+		DigrafoPonderado<Integer> G = new DigrafoPonderado<Integer>();
+
+		for (int i = 0; i < LADO * LADO; i++)
+			G.adicionarVertice(i);
+
+		for (int x = 0; x < LADO; x++)
+			for (int y = 0; y < LADO; y++) {
+				int v = x * LADO + y;
+
+				if (x + 1 < LADO) {
+					G.adicionarAresta(v, v + LADO, 1);
+					G.adicionarAresta(v + LADO, v, 1);
+				}
+
+				if (y + 1 < LADO) {
+					G.adicionarAresta(v, v + 1, 1);
+					G.adicionarAresta(v + 1, v, 1);
+				}
+			}
+
+		return G;
+	}
+
+	public void testAEstrelaExploraMenos() {
+		DigrafoPonderado<Integer> G = grade();
+		CaminhoMinimo busca = new CaminhoMinimo();
+		Heuristica manhattan = (v, t) -> Math.abs(v / LADO - t / LADO) + Math.abs(v % LADO - t % LADO);
+		int origem = 0, destino = 20 * LADO + 30;
+		int dijkstra;
+
+		assertEquals(50.0, busca.dijkstra(G, origem, destino));
+		dijkstra = busca.getExplorados();
+
+		assertEquals(50.0, busca.aEstrela(G, origem, destino, manhattan));
+		assertEquals(51, busca.caminho(destino).length);
+		assertTrue(busca.getExplorados() < dijkstra);
+	}
+
+	public void testSearcher() {
+		DigrafoPonderado<String> G = new DigrafoPonderado<String>();
+
+		G.adicionarVertice("a");
+		G.adicionarVertice("b");
+		G.adicionarVertice("c");
+		G.adicionarVertice("d");
+		G.adicionarAresta("a", "b", 1);
+		G.adicionarAresta("b", "c", 1);
+		G.adicionarAresta("a", "c", 5);
+
+		ArrayList<String> c = Searcher.caminhoMinimo(G, "a", "c");
+		assertEquals(Arrays.asList("a", "b", "c"), c);
+
+		G.setPeso("b", "c", 10);
+		assertEquals(Arrays.asList("a", "c"), Searcher.caminhoMinimo(G, "a", "c"));
+		assertNull(Searcher.caminhoMinimo(G, "a", "d"));
+		assertEquals(6.0, Searcher.dijkstra(G, G.getId("a")).getDistancia(G.getId("b")) + 5);
+
+		try {
+			Searcher.caminhoMinimo(G, "a", "x");
+			fail();
+		} catch (NonVerticeException e) {
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package io.pifg.zepg.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.pifg.zepg.grafo.Digrafo;
+import io.pifg.zepg.grafo.Grafo;
+import junit.framework.TestCase;
+
+public class PercursoTest extends TestCase {
+	private static final int N = 200000;
+
+	private Digrafo<Integer> cadeia() {
+		Digrafo<Integer> G = new Digrafo<Integer>();
+
+		for (int i = 0; i < N; i++)
+			G.adicionarVertice(i);
+
+		for (int i = 1; i < N; i++)
+			G.adicionarAresta(Integer.valueOf(i - 1), Integer.valueOf(i));
+
+		return G;
+	}
+
+	public void testCadeiaLongaSemEstouroDePilha() {
+		Digrafo<Integer> G = cadeia();
+
+		assertEquals(N, G.fechoTransitivoDireto(Integer.valueOf(0)).size());
+		assertEquals(N, G.fechoTransitivoIndireto(Integer.valueOf(N - 1)).size());
+		assertEquals(1, G.fechoTransitivoDireto(Integer.valueOf(N - 1)).size());
+		assertTrue(G.ehConexo());
+		assertTrue(G.ehArvore());
+	}
+
+	/**
+	 * Consultas somente de leitura em threads distintas não compartilham estado de percurso.
+	 */
+	public void testLeitoresConcorrentes() throws Exception {
+		final Digrafo<Integer> G = new Digrafo<Integer>();
+		final int n = 20000;
+		final AtomicReference<Throwable> erro = new AtomicReference<Throwable>();
+		List<Thread> threads = new ArrayList<Thread>();
+
+		for (int i = 0; i < n; i++)
+			G.adicionarVertice(i);
+
+		for (int i = 1; i < n; i++)
+			G.adicionarAresta(Integer.valueOf(i - 1), Integer.valueOf(i));
+
+		for (int t = 0; t < 4; t++) {
+			threads.add(new Thread() {
+				public void run() {
+					try {
+						for (int k = 0; k < 50; k++) {
+							ArrayList<Integer> vis = new ArrayList<Integer>();
+
+							assertEquals(n, G.fechoTransitivoDireto(Integer.valueOf(0)).size());
+							assertEquals(n / 2, G.fechoTransitivoIndireto(Integer.valueOf(n / 2 - 1)).size());
+							assertEquals(Integer.valueOf(n - 1), Searcher.dfs(G, Integer.valueOf(0), Integer.valueOf(n - 1), vis));
+							assertEquals(n - 1, vis.size());
+						}
+					} catch (Throwable e) {
+						erro.compareAndSet(null, e);
+					}
+				}
+			});
+		}
+
+		for (Thread t : threads)
+			t.start();
+
+		for (Thread t : threads)
+			t.join();
+
+		if (erro.get() != null)
+			throw new AssertionError(erro.get());
+	}
+
+	public void testArvoreECiclo() {
+		Grafo<String> G = new Grafo<String>();
+
+		G.adicionarVertice("a");
+		G.adicionarVertice("b");
+		G.adicionarVertice("c");
+		G.adicionarAresta("a", "b");
+		G.adicionarAresta("c", "b");
+
+		assertTrue(G.ehArvore());
+
+		G.adicionarAresta("c", "a");
+		assertFalse(G.ehArvore());
+		assertTrue(G.ehConexo());
+	}
+
+	public void testLacoNaoEhArvore() {
+		Grafo<String> G = new Grafo<String>();
+
+		G.adicionarVertice("a");
+		G.adicionarVertice("b");
+		G.adicionarAresta("a", "b");
+		G.adicionarAresta("b", "b");
+
+		assertTrue(G.ehConexo());
+		assertFalse(G.ehArvore());
+
+		G.removerAresta("b", "b");
+		assertTrue(G.ehArvore());
+	}
+
+	public void testBfsNiveis() {
+		final Digrafo<Integer> G = cadeia();
+		final Percurso p = new Percurso(G);
+		final int[] ultimo = new int[1];
+
+		p.bfs(G.getId(0), Direcao.SUCESSORES, new Visitante() {
+			public boolean visitar(int v, int pai) {
+				assertEquals(G.getObjeto(v).intValue(), p.getNivel());
+				ultimo[0] = v;
+				return true;
+			}
+		});
+
+		assertEquals(N - 1, G.getObjeto(ultimo[0]).intValue());
+	}
+
+	public void testSearcherRespeitaVisitados() {
+		Grafo<String> G = new Grafo<String>();
+		ArrayList<String> vis = new ArrayList<String>();
+
+		G.adicionarVertice("a");
+		G.adicionarVertice("b");
+		G.adicionarVertice("c");
+		G.adicionarAresta("a", "b");
+		G.adicionarAresta("b", "c");
+
+		assertEquals("c", Searcher.dfs(G, "a", "c"));
+		vis.add("b");
+		assertNull(Searcher.dfs(G, "a", "c", vis));
+	}
+}
@@ -0,0 +1,128 @@
+package io.pifg.zepg.search;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import io.pifg.zepg.grafo.Digrafo;
+import io.pifg.zepg.grafo.GrafosAleatorios;
+import junit.framework.TestCase;
+
+public class SearcherTest extends TestCase {
+	private int[] distanciasSequenciais(final Digrafo<Integer> G, int origem, Direcao direcao) {
+		final int[] d = new int[G.getCapacidade()];
+		final Percurso p = new Percurso(G);
+
+		Arrays.fill(d, -1);
+		p.bfs(origem, direcao, new Visitante() {
+			public boolean visitar(int v, int pai) {
+				d[v] = p.getNivel();
+				return true;
+			}
+		});
+
+		return d;
+	}
+
+	public void testBfsParaleloConfereComSequencial() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		for (Direcao direcao : Direcao.values()) {
+			Digrafo<Integer> G = GrafosAleatorios.digrafo(50000, 400000, direcao.ordinal());
+			ResultadoBfs R = Searcher.bfsParalelo(G, 0, direcao, pool);
+			int[] esperado = distanciasSequenciais(G, 0, direcao);
+
+			for (int v = 0; v < G.getCapacidade(); v++) {
+				assertEquals(esperado[v], R.getDistancia(v));
+
+				if (v != 0 && R.alcanca(v)) {
+					int pai = R.getPai(v);
+					assertEquals(R.getDistancia(v) - 1, R.getDistancia(pai));
+				}
+			}
+		}
+
+		pool.shutdown();
+	}
+
+	public void testCaminhoBfsParalelo() {
+		Digrafo<Integer> G = new Digrafo<Integer>();
+
+		for (int i = 0; i < 4; i++)
+			G.adicionarVertice(i);
+
+		G.adicionarAresta(0, 1);
+		G.adicionarAresta(1, 2);
+
+		ResultadoBfs R = Searcher.bfsParalelo(G, Integer.valueOf(0), Direcao.SUCESSORES);
+
+		assertEquals(3, R.caminho(2).length);
+		assertEquals(0, R.caminho(3).length);
+		assertEquals(-1, R.getPai(0));
+	}
+
+	public void testCaminhoBidirecionalMinimo() {
+		Digrafo<Integer> G = GrafosAleatorios.digrafo(5000, 12000, 3);
+		BuscaBidirecional B = new BuscaBidirecional(G);
+		Random r = new Random(11);
+
+		for (int k = 0; k < 200; k++) {
+			int s = r.nextInt(5000), t = r.nextInt(5000);
+			int[] esperado = distanciasSequenciais(G, s, Direcao.SUCESSORES);
+			int[] caminho = B.caminho(s, t, Direcao.SUCESSORES, Integer.MAX_VALUE);
+
+			if (esperado[t] < 0) {
+				assertNull(caminho);
+				continue;
+			}
+
+			assertEquals(esperado[t] + 1, caminho.length);
+			assertEquals(s, caminho[0]);
+			assertEquals(t, caminho[caminho.length - 1]);
+			for (int i = 1; i < caminho.length; i++)
+				assertTrue(G.contemArco(caminho[i - 1], caminho[i]));
+
+			if (esperado[t] > 1)
+				assertNull(B.caminho(s, t, Direcao.SUCESSORES, esperado[t] - 1));
+		}
+	}
+
+	public void testCaminhoBidirecionalReaproveitado() {
+		Digrafo<Integer> grande = GrafosAleatorios.digrafo(3000, 9000, 5);
+		Digrafo<Integer> pequeno = new Digrafo<Integer>();
+		BuscaBidirecional B = new BuscaBidirecional();
+
+		for (int i = 0; i < 3; i++)
+			pequeno.adicionarVertice(i);
+
+		pequeno.adicionarAresta(0, 1);
+		pequeno.adicionarAresta(1, 2);
+
+		for (int k = 0; k < 50; k++) {
+			int s = k * 53 % 3000, t = k * 97 % 3000;
+			int[] esperado = distanciasSequenciais(grande, s, Direcao.SUCESSORES);
+			int[] caminho = B.caminho(grande, s, t, Direcao.SUCESSORES, Integer.MAX_VALUE);
+
+			assertEquals(esperado[t] + 1, caminho == null ? 0 : caminho.length);
+			assertEquals(3, B.caminho(pequeno, 0, 2, Direcao.SUCESSORES, Integer.MAX_VALUE).length);
+			assertNull(B.caminho(pequeno, 2, 0, Direcao.SUCESSORES, Integer.MAX_VALUE));
+		}
+	}
+
+	public void testCaminhoBidirecionalObjetos() {
+		Digrafo<String> G = new Digrafo<String>();
+
+		for (String s : new String[] { "a", "b", "c", "d" })
+			G.adicionarVertice(s);
+
+		G.adicionarAresta("a", "b");
+		G.adicionarAresta("b", "c");
+		G.adicionarAresta("d", "c");
+
+		assertEquals(Arrays.asList("a", "b", "c"), Searcher.caminhoBidirecional(G, "a", "c", Direcao.SUCESSORES));
+		assertNull(Searcher.caminhoBidirecional(G, "a", "d", Direcao.SUCESSORES));
+		assertEquals(Arrays.asList("a", "b", "c", "d"),
+				Searcher.caminhoBidirecional(G, "a", "d", Direcao.ADJACENTES));
+		assertNull(Searcher.caminhoBidirecional(G, "a", "d", Direcao.ADJACENTES, 2));
+	}
+}